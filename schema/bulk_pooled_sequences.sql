@@ -0,0 +1,15 @@
+-- =====================================================
+-- POOLED SEQUENCES FOR BULK-LOADED ENTITIES
+-- Asset, Site, Invoice and Voucher ids are generated from their identity
+-- sequences with a Hibernate allocation size of 50, which lets bulk uploads
+-- batch their inserts. The sequence increment must match the allocation size.
+-- Run once against existing databases before deploying.
+-- =====================================================
+BEGIN;
+
+ALTER TABLE public.asset ALTER COLUMN id SET INCREMENT BY 50;
+ALTER TABLE public.site ALTER COLUMN id SET INCREMENT BY 50;
+ALTER TABLE public.invoice ALTER COLUMN id SET INCREMENT BY 50;
+ALTER TABLE public.voucher ALTER COLUMN id SET INCREMENT BY 50;
+
+COMMIT;
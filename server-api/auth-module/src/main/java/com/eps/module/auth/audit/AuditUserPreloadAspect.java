@@ -0,0 +1,28 @@
+package com.eps.module.auth.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Resolves the createdBy and updatedBy names of every page or list of entities a repository returns,
+ * before the service maps it, so mapping N rows costs at most one user query instead of one per row.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class AuditUserPreloadAspect {
+
+    private final AuditUserResolver auditUserResolver;
+
+    @AfterReturning(pointcut = "execution(* org.springframework.data.repository.Repository+.*(..))", returning = "result")
+    public void preloadAuditUsers(Object result) {
+        // Pages, slices, windows and lists; a single entity costs at most one lookup anyway
+        if (result instanceof Iterable<?> entities && !(result instanceof Collection<?> collection && collection.size() < 2)) {
+            auditUserResolver.preload(entities);
+        }
+    }
+}
@@ -1,73 +1,162 @@
 package com.eps.module.auth.audit;
 
-import com.eps.module.auth.entity.User;
 import com.eps.module.auth.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.eps.module.common.entity.BaseEntity;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 
 /**
  * Helper component for resolving user IDs to user names.
  * Used by MapStruct mappers to convert createdBy/updatedBy IDs to readable names.
- * Includes simple caching to avoid repeated database lookups.
+ * Names are kept in a size-bounded cache whose entries expire, so renamed users are picked up;
+ * pages and lists are resolved ahead of mapping with one query through {@link #preload(Iterable)}.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class AuditUserResolver {
 
     private final UserRepository userRepository;
-    
-    // Simple cache for user names to avoid repeated DB lookups
-    // In production, consider using a proper cache like Caffeine or Redis
-    private final Map<Long, String> userNameCache = new ConcurrentHashMap<>();
+    private final TransactionTemplate lookupTransaction;
+
+    /**
+     * Most user names kept in the cache
+     */
+    @Value("${audit.user-name-cache.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * How long a resolved name is used before it is read again
+     */
+    @Value("${audit.user-name-cache.ttl:10m}")
+    private Duration ttl;
+
+    // Access-ordered, so the least recently used names are evicted first
+    private final Map<Long, CachedName> userNameCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedName> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    public AuditUserResolver(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        // Look users up outside the caller's transaction, so the query cannot trigger a flush and re-enter auditing
+        this.lookupTransaction = new TransactionTemplate(transactionManager);
+        this.lookupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        this.lookupTransaction.setReadOnly(true);
+    }
 
     /**
      * Resolve a user ID to the user's name.
-     * Uses a separate read-only transaction to avoid interfering with the main transaction.
-     * 
+     * A cache miss is read in a separate read-only transaction to avoid interfering with the main transaction.
+     *
      * @param userId the user ID to resolve
      * @return the user's name, or null if userId is null or user not found
      */
-    @Transactional(readOnly = true, propagation = Propagation.NOT_SUPPORTED)
     public String resolveUserName(Long userId) {
         if (userId == null) {
             return null;
         }
+        synchronized (userNameCache) {
+            CachedName cached = userNameCache.get(userId);
+            if (cached != null && System.nanoTime() - cached.expiresAtNanos() < 0) {
+                return cached.name();
+            }
+        }
+        return resolveUserNames(List.of(userId)).get(userId);
+    }
+
+    /**
+     * Resolve user IDs to user names, reading every ID missing from the cache with one query.
+     *
+     * @param userIds the user IDs to resolve; nulls are ignored
+     * @return the name of each user found, by ID
+     */
+    public Map<Long, String> resolveUserNames(Collection<Long> userIds) {
+        Map<Long, String> names = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        long now = System.nanoTime();
 
-        // Check cache first
-        String cachedName = userNameCache.get(userId);
-        if (cachedName != null) {
-            return cachedName;
+        synchronized (userNameCache) {
+            for (Long userId : userIds) {
+                if (userId == null) {
+                    continue;
+                }
+                CachedName cached = userNameCache.get(userId);
+                if (cached != null && now - cached.expiresAtNanos() < 0) {
+                    if (cached.name() != null) {
+                        names.put(userId, cached.name());
+                    }
+                } else {
+                    missing.add(userId);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return names;
         }
 
-        // Lookup from database
+        Map<Long, String> loaded = new HashMap<>();
         try {
-            Optional<User> user = userRepository.findById(userId);
-            if (user.isPresent()) {
-                String name = user.get().getName();
-                if (name != null && !name.isEmpty()) {
-                    userNameCache.put(userId, name);
-                    return name;
-                }
+            List<UserRepository.UserNameView> users = lookupTransaction.execute(status -> userRepository.findNamesByIdIn(missing));
+            for (UserRepository.UserNameView user : users) {
                 // Fall back to email if name is empty
-                String email = user.get().getEmail();
-                userNameCache.put(userId, email);
-                return email;
+                String name = user.getName() != null && !user.getName().isEmpty() ? user.getName() : user.getEmail();
+                loaded.put(user.getId(), name);
             }
         } catch (Exception e) {
-            log.warn("Error resolving user name for ID {}: {}", userId, e.getMessage());
-            return null;
+            log.warn("Error resolving user names for IDs {}: {}", missing, e.getMessage());
+            return names;
+        }
+
+        long expiresAtNanos = System.nanoTime() + ttl.toNanos();
+        synchronized (userNameCache) {
+            for (Long userId : missing) {
+                String name = loaded.get(userId);
+                if (name == null) {
+                    log.warn("User not found for ID: {}", userId);
+                }
+                // Unknown IDs are cached too, so they are not looked up again for every row
+                userNameCache.put(userId, new CachedName(name, expiresAtNanos));
+            }
         }
+        names.putAll(loaded);
+        return names;
+    }
 
-        log.warn("User not found for ID: {}", userId);
-        return null;
+    /**
+     * Resolve the createdBy and updatedBy users of every entity ahead of mapping,
+     * so the per-row {@link #resolveUserName(Long)} calls are answered from the cache.
+     * Elements that are not entities are skipped.
+     */
+    public void preload(Iterable<?> entities) {
+        Set<Long> userIds = new HashSet<>();
+        for (Object entity : entities) {
+            if (entity instanceof BaseEntity audited) {
+                if (audited.getCreatedBy() != null) {
+                    userIds.add(audited.getCreatedBy());
+                }
+                if (audited.getUpdatedBy() != null) {
+                    userIds.add(audited.getUpdatedBy());
+                }
+            }
+        }
+        if (!userIds.isEmpty()) {
+            resolveUserNames(userIds);
+        }
     }
 
     /**
@@ -75,19 +164,29 @@ public class AuditUserResolver {
      * Call this when users are updated or deleted.
      */
     public void clearCache() {
-        userNameCache.clear();
+        synchronized (userNameCache) {
+            userNameCache.clear();
+        }
         log.debug("User name cache cleared");
     }
 
     /**
      * Remove a specific user from the cache.
-     * 
+     *
      * @param userId the user ID to remove from cache
      */
     public void evictFromCache(Long userId) {
         if (userId != null) {
-            userNameCache.remove(userId);
+            synchronized (userNameCache) {
+                userNameCache.remove(userId);
+            }
             log.debug("User {} evicted from name cache", userId);
         }
     }
+
+    /**
+     * A resolved name, null for an unknown user
+     */
+    private record CachedName(String name, long expiresAtNanos) {
+    }
 }
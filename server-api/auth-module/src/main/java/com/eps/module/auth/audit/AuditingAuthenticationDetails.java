@@ -18,4 +18,12 @@ public class AuditingAuthenticationDetails extends WebAuthenticationDetails {
         super(request);
         this.userId = userId;
     }
+
+    /**
+     * Details of an authentication built outside a request
+     */
+    public AuditingAuthenticationDetails(Long userId) {
+        super(null, null);
+        this.userId = userId;
+    }
 }
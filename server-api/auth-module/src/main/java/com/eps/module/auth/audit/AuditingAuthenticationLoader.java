@@ -0,0 +1,35 @@
+package com.eps.module.auth.audit;
+
+import com.eps.module.auth.rbac.service.UserPermissionCache;
+import com.eps.module.auth.rbac.service.UserPermissionCache.UserPermissions;
+import com.eps.module.common.security.UserAuthenticationLoader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Builds a user's authentication from the cached user permissions, the same way
+ * JwtAuthenticationFilter does for a request, with the user ID in the details for auditing
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditingAuthenticationLoader implements UserAuthenticationLoader {
+
+    private final UserPermissionCache userPermissionCache;
+
+    @Override
+    public Optional<Authentication> load(Long userId) {
+        UserPermissions user = userId != null ? userPermissionCache.get(userId) : null;
+        if (user == null || !user.active()) {
+            return Optional.empty();
+        }
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                user.email(), null, user.authorities());
+        authToken.setDetails(new AuditingAuthenticationDetails(user.userId()));
+        return Optional.of(authToken);
+    }
+}
@@ -1,6 +1,9 @@
 package com.eps.module.auth.config.security;
 
 import com.eps.module.auth.audit.AuditingAuthenticationDetails;
+import com.eps.module.auth.config.security.JwtUtil.VerifiedToken;
+import com.eps.module.auth.rbac.service.UserPermissionCache;
+import com.eps.module.auth.rbac.service.UserPermissionCache.UserPermissions;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -11,12 +14,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.eps.module.auth.service.CustomUserDetailsService;
-
 import java.io.IOException;
 
 @Slf4j
@@ -24,8 +24,8 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserPermissionCache userPermissionCache;
 
     @Value("${jwt.cookie-name}")
     private String cookieName;
@@ -47,7 +47,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String token = null;
-        String username = null;
 
         // Extract JWT from Cookie
         if (request.getCookies() != null) {
@@ -67,46 +66,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         }
 
-        // Extract username from token
+        // Verify the token once; repeat requests with the same token are served from the cache
+        VerifiedToken verified = null;
         if (token != null) {
             try {
-                username = jwtUtil.extractUsername(token);
-                log.debug("JWT token found, extracted username: {}", username);
+                verified = verifiedTokenCache.verify(token);
+                log.debug("JWT token found, extracted username: {}", verified.username());
             } catch (Exception e) {
-                log.warn("Failed to extract username from JWT token: {}", e.getMessage());
+                log.warn("JWT token validation failed: {}", e.getMessage());
             }
         }
 
-        // Validate token and set authentication
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Set authentication from the cached user permissions, without loading the user
+        if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String username = verified.username();
             try {
-                log.debug("Attempting to authenticate user: {}", username);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserPermissions user = verified.userId() != null
+                        ? userPermissionCache.get(verified.userId())
+                        : userPermissionCache.getByEmail(username);
 
-                if (jwtUtil.validateToken(token, userDetails)) {
-                    log.debug("JWT token validated successfully for user: {}", username);
-                    
-                    // Extract user ID from token for auditing
-                    Long userId = jwtUtil.extractUserId(token);
-                    
+                if (user != null && user.active() && username.equals(user.email())) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities()
+                            username, null, user.authorities()
                     );
                     
                     // Set custom authentication details with user ID for auditing
-                    authToken.setDetails(new AuditingAuthenticationDetails(request, userId));
+                    authToken.setDetails(new AuditingAuthenticationDetails(request, user.userId()));
                     
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.debug("Authentication set for user: {} (ID: {}) with {} authorities", username, userId, userDetails.getAuthorities().size());
+                    log.debug("Authentication set for user: {} (ID: {}) with {} authorities", username, user.userId(), user.authorities().size());
                 } else {
-                    log.warn("JWT token validation failed for user: {}", username);
+                    log.warn("JWT token rejected for user: {} (unknown, disabled or email changed)", username);
                 }
             } catch (Exception e) {
                 log.error("Authentication error for user {}: {}", username, e.getMessage());
                 // Don't set authentication, let the request continue without auth
                 // Spring Security will handle the unauthorized access
             }
-        } else if (token != null) {
+        } else if (verified != null) {
             log.debug("User already authenticated, skipping JWT validation");
         }
 
@@ -1,8 +1,10 @@
 package com.eps.module.auth.config.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -25,6 +27,25 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    private SecretKey signKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        // The key and parser are immutable and thread-safe, so they are built once
+        signKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signKey).build();
+    }
+
+    /**
+     * Verify the token's signature and expiry, reading its claims in a single parse
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedToken(claims.getSubject(), userIdOf(claims), claims.getExpiration().getTime());
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -39,25 +60,18 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        boolean isValid = (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        final String username = claims.getSubject();
+        final boolean expired = claims.getExpiration().before(new Date());
+        boolean isValid = (username.equals(userDetails.getUsername()) && !expired);
         
         if (!isValid) {
             log.warn("JWT token validation failed for user: {}", username);
-            if (isTokenExpired(token)) {
+            if (expired) {
                 log.warn("JWT token expired for user: {}", username);
             }
             if (!username.equals(userDetails.getUsername())) {
@@ -89,24 +103,27 @@ public class JwtUtil {
 
     public Long extractUserId(String token) {
         try {
-            Claims claims = extractAllClaims(token);
-            Object userId = claims.get("userId");
-            if (userId != null) {
-                if (userId instanceof Integer) {
-                    return ((Integer) userId).longValue();
-                } else if (userId instanceof Long) {
-                    return (Long) userId;
-                } else if (userId instanceof Number) {
-                    return ((Number) userId).longValue();
-                }
-            }
-            return null;
+            return userIdOf(extractAllClaims(token));
         } catch (Exception e) {
             log.warn("Failed to extract userId from token: {}", e.getMessage());
             return null;
         }
     }
 
+    private static Long userIdOf(Claims claims) {
+        Object userId = claims.get("userId");
+        if (userId != null) {
+            if (userId instanceof Integer) {
+                return ((Integer) userId).longValue();
+            } else if (userId instanceof Long) {
+                return (Long) userId;
+            } else if (userId instanceof Number) {
+                return ((Number) userId).longValue();
+            }
+        }
+        return null;
+    }
+
     private String createToken(Map<String, Object> claims, String username) {
         return Jwts
                 .builder()
@@ -114,12 +131,20 @@ public class JwtUtil {
                 .subject(username)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey())
+                .signWith(signKey)
                 .compact();
     }
 
-    private SecretKey getSignKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Claims of a token whose signature has been verified
+     * @param username        subject of the token, the user's email
+     * @param userId          id of the user, or null for tokens issued without one
+     * @param expiresAtMillis expiry time of the token
+     */
+    public record VerifiedToken(String username, Long userId, long expiresAtMillis) {
+
+        public boolean isExpired() {
+            return expiresAtMillis <= System.currentTimeMillis();
+        }
     }
 }
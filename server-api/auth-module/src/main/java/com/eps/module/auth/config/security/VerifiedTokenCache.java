@@ -0,0 +1,57 @@
+package com.eps.module.auth.config.security;
+
+import com.eps.module.auth.config.security.JwtUtil.VerifiedToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of verified tokens, so a token presented on every request has its signature checked once.
+ * Holds only what the token itself proves; the user's status and permissions are looked up separately,
+ * so they follow role and user changes while the token is cached.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final Map<String, VerifiedToken> tokens;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, @Value("${jwt.token-cache-size:10000}") int maxSize) {
+        this.jwtUtil = jwtUtil;
+        // Access-ordered, evicting the least recently used token once full
+        this.tokens = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Claims of the token, verifying it if it is not cached
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified;
+        synchronized (tokens) {
+            verified = tokens.get(token);
+            if (verified != null && verified.isExpired()) {
+                tokens.remove(token);
+            }
+        }
+        if (verified != null && !verified.isExpired()) {
+            return verified;
+        }
+
+        // Expired tokens are rejected here and never cached
+        verified = jwtUtil.verify(token);
+        synchronized (tokens) {
+            tokens.put(token, verified);
+        }
+        return verified;
+    }
+}
@@ -63,8 +63,7 @@ public class PermissionAspect {
             throw new UnauthorizedException("Authentication required");
         }
 
-        var user = permissionService.getCurrentUser();
-        if (user == null || !permissionService.hasAnyPermission(user, permissions)) {
+        if (!permissionService.hasAnyPermission(authentication, permissions)) {
             log.warn("User {} attempted to access method requiring any of permissions: {}", 
                     authentication.getName(), (Object) permissions);
             throw new ForbiddenException("Access denied. Required at least one of: " + String.join(", ", permissions));
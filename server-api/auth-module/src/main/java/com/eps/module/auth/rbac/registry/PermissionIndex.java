@@ -0,0 +1,85 @@
+package com.eps.module.auth.rbac.registry;
+
+import com.eps.module.auth.rbac.constants.Permissions;
+import com.eps.module.auth.rbac.dto.PermissionDefinition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maps permission names to dense integer ids, so a user's permissions can be held as a bitset.
+ * Ids are assigned at startup from {@link PermissionRegistry} and {@link Permissions};
+ * names found only in the database are given the next free id when first seen.
+ */
+@Slf4j
+@Component
+public class PermissionIndex {
+
+    /**
+     * Id of the super admin permission, which grants every other permission
+     */
+    public static final int ALL_ID = 0;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    public PermissionIndex(PermissionRegistry permissionRegistry) {
+        idOf(Permissions.ALL);
+        for (PermissionDefinition definition : permissionRegistry.getAllPermissions()) {
+            idOf(definition.getName());
+        }
+        for (Field field : Permissions.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                try {
+                    idOf((String) field.get(null));
+                } catch (IllegalAccessException e) {
+                    log.warn("Could not read permission constant {}: {}", field.getName(), e.getMessage());
+                }
+            }
+        }
+        log.info("Indexed {} permissions", size());
+    }
+
+    /**
+     * Id of the permission, assigning the next free id to a name not seen before
+     */
+    public int idOf(String permission) {
+        Integer id = ids.get(permission);
+        return id != null ? id : ids.computeIfAbsent(permission, name -> nextId.getAndIncrement());
+    }
+
+    /**
+     * Ids of the permissions, as a bitset of {@code long} words
+     */
+    public long[] toBits(Collection<String> permissions) {
+        long[] bits = new long[0];
+        for (String permission : permissions) {
+            int id = idOf(permission);
+            int word = id >>> 6;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, word + 1);
+            }
+            bits[word] |= 1L << id;
+        }
+        return bits;
+    }
+
+    /**
+     * Whether the bitset holds the permission
+     */
+    public static boolean contains(long[] bits, int id) {
+        int word = id >>> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+    }
+
+    public int size() {
+        return nextId.get();
+    }
+}
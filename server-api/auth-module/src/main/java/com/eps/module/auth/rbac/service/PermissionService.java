@@ -1,28 +1,33 @@
 package com.eps.module.auth.rbac.service;
 
-import com.eps.module.auth.entity.Permission;
-import com.eps.module.auth.entity.Role;
 import com.eps.module.auth.entity.User;
+import com.eps.module.auth.rbac.constants.Permissions;
+import com.eps.module.auth.rbac.registry.PermissionIndex;
+import com.eps.module.auth.rbac.service.UserPermissionCache.UserPermissions;
 import com.eps.module.auth.repository.UserRepository;
+import com.eps.module.common.security.PermissionChecker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Service for checking user permissions.
  * Supports multi-role permission resolution (user has permission if ANY of their roles grants it).
+ * Checks are answered from the {@link UserPermissionCache} bitsets rather than the user's roles.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class PermissionService {
+public class PermissionService implements PermissionChecker {
 
     private final UserRepository userRepository;
+    private final UserPermissionCache userPermissionCache;
+    private final PermissionIndex permissionIndex;
 
     /**
      * Check if the currently authenticated user has a specific permission
@@ -38,19 +43,26 @@ public class PermissionService {
     /**
      * Check if the authenticated user has a specific permission
      */
+    @Override
     public boolean hasPermission(Authentication authentication, String permission) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return false;
         }
 
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email).orElse(null);
-        
-        if (user == null || !user.getIsActive()) {
+        UserPermissions userPermissions = userPermissionCache.get(authentication);
+        return userPermissions != null && userPermissions.has(permissionIndex.idOf(permission));
+    }
+
+    /**
+     * Check if the authenticated user has at least one of the specified permissions
+     */
+    public boolean hasAnyPermission(Authentication authentication, String... permissions) {
+        if (authentication == null || !authentication.isAuthenticated()) {
             return false;
         }
 
-        return hasPermission(user, permission);
+        UserPermissions userPermissions = userPermissionCache.get(authentication);
+        return userPermissions != null && hasAny(userPermissions, permissions);
     }
 
     /**
@@ -62,14 +74,8 @@ public class PermissionService {
             return false;
         }
 
-        Set<String> userPermissions = getUserPermissions(user);
-        
-        // Check if user has ALL permission (super admin)
-        if (userPermissions.contains("ALL")) {
-            return true;
-        }
-
-        return userPermissions.contains(permission);
+        UserPermissions userPermissions = permissionsOf(user);
+        return userPermissions != null && userPermissions.has(permissionIndex.idOf(permission));
     }
 
     /**
@@ -80,19 +86,8 @@ public class PermissionService {
             return false;
         }
 
-        Set<String> userPermissions = getUserPermissions(user);
-        
-        // Check if user has ALL permission (super admin)
-        if (userPermissions.contains("ALL")) {
-            return true;
-        }
-
-        for (String permission : permissions) {
-            if (userPermissions.contains(permission)) {
-                return true;
-            }
-        }
-        return false;
+        UserPermissions userPermissions = permissionsOf(user);
+        return userPermissions != null && hasAny(userPermissions, permissions);
     }
 
     /**
@@ -103,15 +98,12 @@ public class PermissionService {
             return false;
         }
 
-        Set<String> userPermissions = getUserPermissions(user);
-        
-        // Check if user has ALL permission (super admin)
-        if (userPermissions.contains("ALL")) {
-            return true;
+        UserPermissions userPermissions = permissionsOf(user);
+        if (userPermissions == null) {
+            return false;
         }
-
         for (String permission : permissions) {
-            if (!userPermissions.contains(permission)) {
+            if (!userPermissions.has(permissionIndex.idOf(permission))) {
                 return false;
             }
         }
@@ -126,26 +118,21 @@ public class PermissionService {
             return Set.of();
         }
 
-        return user.getRoles().stream()
-                .filter(Role::getIsActive)
-                .flatMap(role -> role.getPermissions().stream())
-                .filter(Permission::getIsActive)
-                .map(Permission::getName)
-                .collect(Collectors.toSet());
+        return UserPermissionCache.effectivePermissions(user);
     }
 
     /**
      * Check if user is an admin (has ALL permission)
      */
     public boolean isAdmin(User user) {
-        return hasPermission(user, "ALL");
+        return hasPermission(user, Permissions.ALL);
     }
 
     /**
      * Check if currently authenticated user is an admin
      */
     public boolean isAdmin() {
-        return hasPermission("ALL");
+        return hasPermission(Permissions.ALL);
     }
 
     /**
@@ -160,4 +147,24 @@ public class PermissionService {
         String email = authentication.getName();
         return userRepository.findByEmail(email).orElse(null);
     }
+
+    private boolean hasAny(UserPermissions userPermissions, String... permissions) {
+        for (String permission : permissions) {
+            if (userPermissions.has(permissionIndex.idOf(permission))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cached permissions of a saved user; a user not yet saved is compiled directly
+     */
+    private UserPermissions permissionsOf(User user) {
+        if (user.getId() != null) {
+            return userPermissionCache.get(user.getId());
+        }
+        return new UserPermissions(0, null, user.getEmail(), true,
+                permissionIndex.toBits(UserPermissionCache.effectivePermissions(user)), List.of());
+    }
 }
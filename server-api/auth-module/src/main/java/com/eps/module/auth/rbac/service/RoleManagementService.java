@@ -31,6 +31,7 @@ public class RoleManagementService {
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
     private final RoleMapper roleMapper;
+    private final UserPermissionCache userPermissionCache;
 
     /**
      * Get all roles
@@ -125,6 +126,7 @@ public class RoleManagementService {
         }
 
         roleRepository.delete(role);
+        userPermissionCache.invalidateAll();
         log.info("Deleted role: {}", role.getName());
     }
 
@@ -152,6 +154,7 @@ public class RoleManagementService {
 
         role.setPermissions(permissions);
         role = roleRepository.save(role);
+        userPermissionCache.invalidateAll();
         log.info("Updated permissions for role: {}", role.getName());
         
         return roleMapper.toDTO(role);
@@ -1,5 +1,6 @@
 package com.eps.module.auth.rbac.service;
 
+import com.eps.module.auth.audit.AuditUserResolver;
 import com.eps.module.auth.rbac.dto.CreateUserRequest;
 import com.eps.module.auth.rbac.dto.UpdateUserRequest;
 import com.eps.module.auth.dto.UserDTO;
@@ -36,6 +37,8 @@ public class UserManagementService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final UserPermissionCache userPermissionCache;
+    private final AuditUserResolver auditUserResolver;
 
     /**
      * Get all users
@@ -144,6 +147,9 @@ public class UserManagementService {
         }
 
         user = userRepository.save(user);
+        // Active status and email are cached with the user's permissions
+        userPermissionCache.invalidateAll();
+        auditUserResolver.evictFromCache(user.getId());
         log.info("Updated user: {}", user.getEmail());
 
         return userMapper.toDTO(user);
@@ -161,6 +167,8 @@ public class UserManagementService {
         passwordResetTokenRepository.deleteByUser(user);
 
         userRepository.delete(user);
+        userPermissionCache.invalidateAll();
+        auditUserResolver.evictFromCache(user.getId());
         log.info("Deleted user: {}", user.getEmail());
     }
 }
@@ -0,0 +1,162 @@
+package com.eps.module.auth.rbac.service;
+
+import com.eps.module.auth.audit.AuditingAuthenticationDetails;
+import com.eps.module.auth.entity.Permission;
+import com.eps.module.auth.entity.Role;
+import com.eps.module.auth.entity.User;
+import com.eps.module.auth.rbac.registry.PermissionIndex;
+import com.eps.module.auth.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Caches each user's effective permissions as a bitset over {@link PermissionIndex} ids,
+ * so permission checks are answered from memory without loading the user, their roles and permissions.
+ * The JWT filter authenticates requests from the same entries, including the user's active status and authorities.
+ * Entries are keyed by user id and stamped with a permission version; any change to roles,
+ * role permissions or user roles bumps the version through {@link #invalidateAll()}, which discards every entry.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserPermissionCache {
+
+    private final UserRepository userRepository;
+    private final PermissionIndex permissionIndex;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<Long, UserPermissions> permissionsByUserId = new ConcurrentHashMap<>();
+    private final Map<String, Long> userIdsByEmail = new ConcurrentHashMap<>();
+
+    /**
+     * Permissions of the authenticated user, or null if the user no longer exists
+     */
+    public UserPermissions get(Authentication authentication) {
+        if (authentication.getDetails() instanceof AuditingAuthenticationDetails details && details.getUserId() != null) {
+            return get(details.getUserId());
+        }
+        return getByEmail(authentication.getName());
+    }
+
+    /**
+     * Permissions of the user signing in with the email, or null if there is no such user
+     */
+    public UserPermissions getByEmail(String email) {
+        Long userId = userIdsByEmail.get(email);
+        if (userId != null) {
+            return get(userId);
+        }
+        long loadedVersion = version.get();
+        return userRepository.findByEmail(email)
+                .map(user -> store(user, loadedVersion))
+                .orElse(null);
+    }
+
+    /**
+     * Permissions of the user, or null if the user does not exist
+     */
+    public UserPermissions get(Long userId) {
+        UserPermissions cached = permissionsByUserId.get(userId);
+        if (cached != null && cached.version() == version.get()) {
+            return cached;
+        }
+        long loadedVersion = version.get();
+        return userRepository.findById(userId)
+                .map(user -> store(user, loadedVersion))
+                .orElse(null);
+    }
+
+    /**
+     * Discard every cached entry. Called when roles, role permissions, user roles or user status change;
+     * inside a transaction the entries are discarded again after commit, so none loaded in the meantime survive.
+     */
+    public void invalidateAll() {
+        discard();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    discard();
+                }
+            });
+        }
+    }
+
+    private void discard() {
+        long newVersion = version.incrementAndGet();
+        permissionsByUserId.clear();
+        userIdsByEmail.clear();
+        log.debug("Permission cache invalidated, now at version {}", newVersion);
+    }
+
+    private UserPermissions store(User user, long loadedVersion) {
+        Set<String> names = effectivePermissions(user);
+        UserPermissions permissions = new UserPermissions(loadedVersion, user.getId(), user.getEmail(),
+                Boolean.TRUE.equals(user.getIsActive()), permissionIndex.toBits(names), authorities(user, names));
+        // An entry loaded before an invalidation is returned to this caller but not kept
+        if (loadedVersion == version.get()) {
+            permissionsByUserId.put(user.getId(), permissions);
+            userIdsByEmail.put(user.getEmail(), user.getId());
+        }
+        return permissions;
+    }
+
+    /**
+     * Names of the permissions granted by the user's active roles, skipping inactive permissions
+     */
+    static Set<String> effectivePermissions(User user) {
+        return user.getRoles().stream()
+                .filter(Role::getIsActive)
+                .flatMap(role -> role.getPermissions().stream())
+                .filter(Permission::getIsActive)
+                .map(Permission::getName)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Authorities of an authenticated user: a ROLE_ authority per active role and the permission names
+     */
+    private static List<GrantedAuthority> authorities(User user, Set<String> permissionNames) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        user.getRoles().stream()
+                .filter(Role::getIsActive)
+                .forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role.getName())));
+        permissionNames.forEach(name -> authorities.add(new SimpleGrantedAuthority(name)));
+        return List.copyOf(authorities);
+    }
+
+    /**
+     * A user's compiled permissions
+     * @param version     permission version the entry was loaded at
+     * @param userId      id of the user
+     * @param email       email the user signs in with
+     * @param active      whether the user is active; inactive users hold no permissions
+     * @param bits        permission ids, as a bitset of {@code long} words
+     * @param authorities the same roles and permissions as Spring Security authorities
+     */
+    public record UserPermissions(long version, Long userId, String email, boolean active, long[] bits,
+                                  List<GrantedAuthority> authorities) {
+
+        /**
+         * Whether the permission is granted, directly or through ALL
+         */
+        public boolean has(int permissionId) {
+            return active && (PermissionIndex.contains(bits, PermissionIndex.ALL_ID)
+                    || PermissionIndex.contains(bits, permissionId));
+        }
+    }
+}
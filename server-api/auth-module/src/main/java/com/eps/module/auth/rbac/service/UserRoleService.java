@@ -21,6 +21,7 @@ public class UserRoleService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PermissionService permissionService;
+    private final UserPermissionCache userPermissionCache;
 
     /**
      * Assign role to user (ADMIN only)
@@ -35,6 +36,7 @@ public class UserRoleService {
 
         user.getRoles().add(role);
         userRepository.save(user);
+        userPermissionCache.invalidateAll();
         
         log.info("Assigned role {} to user {}", role.getName(), user.getEmail());
     }
@@ -55,6 +57,7 @@ public class UserRoleService {
         }
 
         userRepository.save(user);
+        userPermissionCache.invalidateAll();
         
         log.info("Removed role {} from user {}", role.getName(), user.getEmail());
     }
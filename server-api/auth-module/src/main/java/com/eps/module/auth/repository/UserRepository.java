@@ -5,6 +5,8 @@ import org.springframework.stereotype.Repository;
 
 import com.eps.module.auth.entity.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +15,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     Boolean existsByEmail(String email);
+
+    /**
+     * Names of the users, reading only the name columns
+     */
+    List<UserNameView> findNamesByIdIn(Collection<Long> ids);
+
+    interface UserNameView {
+        Long getId();
+
+        String getName();
+
+        String getEmail();
+    }
 }
@@ -0,0 +1,123 @@
+package com.eps.module.common.bulk.controller;
+
+import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
+import com.eps.module.common.bulk.dto.BulkUploadProgressDto;
+import com.eps.module.common.bulk.job.BulkJob;
+import com.eps.module.common.bulk.job.BulkJobRegistry;
+import com.eps.module.common.bulk.processor.BulkUploadProcessor;
+import com.eps.module.common.bulk.service.BulkUploadService;
+import com.eps.module.common.constant.CommonErrorMessages;
+import com.eps.module.common.exception.BadRequestException;
+import com.eps.module.common.exception.ForbiddenException;
+import com.eps.module.common.exception.UnauthorizedException;
+import com.eps.module.common.response.ApiResponse;
+import com.eps.module.common.response.ResponseBuilder;
+import com.eps.module.common.security.PermissionChecker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Endpoints for bulk upload jobs, shared by every entity type.
+ * A job can be read by the user who started it, while they still hold the permission its upload required,
+ * and by administrators; job errors carry the uploaded row data.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/bulk-jobs")
+@RequiredArgsConstructor
+public class BulkJobController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final BulkJobRegistry bulkJobRegistry;
+    private final List<BulkUploadService<?, ?>> bulkUploadServices;
+    private final PermissionChecker permissionChecker;
+    private final AuditorAware<Long> auditorAware;
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<BulkUploadProgressDto>> getJob(@PathVariable String jobId) {
+        log.info("GET /api/bulk-jobs/{} - Fetching bulk job progress", jobId);
+
+        return ResponseBuilder.success(getAccessibleJob(jobId).getProgress(), "Bulk job retrieved successfully");
+    }
+
+    /**
+     * Re-attach to a job's progress stream, e.g. after the upload connection dropped.
+     * Sends the latest progress straight away and completes once the job has finished.
+     */
+    @GetMapping(value = "/{jobId}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getProgress(@PathVariable String jobId) {
+        log.info("GET /api/bulk-jobs/{}/progress - Attaching to bulk job progress", jobId);
+
+        BulkJob job = getAccessibleJob(jobId);
+        SseEmitter emitter = BulkUploadProcessor.createEmitter();
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<ApiResponse<Page<BulkUploadErrorDto>>> getErrors(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        log.info("GET /api/bulk-jobs/{}/errors - page: {}, size: {}", jobId, page, size);
+
+        BulkJob job = getAccessibleJob(jobId);
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        List<BulkUploadErrorDto> errors = job.getErrors().page((int) pageRequest.getOffset(), pageRequest.getPageSize());
+
+        return ResponseBuilder.success(new PageImpl<>(errors, pageRequest, job.getErrors().size()),
+                "Bulk job errors retrieved successfully");
+    }
+
+    @GetMapping("/{jobId}/error-report.xlsx")
+    public ResponseEntity<StreamingResponseBody> getErrorReport(@PathVariable String jobId) throws IOException {
+        log.info("GET /api/bulk-jobs/{}/error-report.xlsx - Exporting error report", jobId);
+
+        BulkJob job = getAccessibleJob(jobId);
+        BulkUploadService<?, ?> service = bulkUploadServices.stream()
+                .filter(candidate -> candidate.getEntityName().equals(job.getEntityName()))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(
+                        String.format(CommonErrorMessages.BULK_JOB_REPORT_UNSUPPORTED, job.getEntityName())));
+
+        return service.exportErrorReport(job);
+    }
+
+    /**
+     * Find a job the current user may read: an administrator, or the job's owner holding the upload's permission
+     */
+    private BulkJob getAccessibleJob(String jobId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("Authentication required");
+        }
+
+        BulkJob job = bulkJobRegistry.get(jobId);
+        if (permissionChecker.hasPermission(authentication, PermissionChecker.ADMIN)) {
+            return job;
+        }
+
+        Long userId = auditorAware.getCurrentAuditor().orElse(null);
+        boolean owner = userId != null && userId.equals(job.getOwnerId());
+        if (!owner || (job.getPermission() != null && !permissionChecker.hasPermission(authentication, job.getPermission()))) {
+            log.warn("User {} attempted to access bulk job {} for {}", authentication.getName(), jobId, job.getEntityName());
+            throw new ForbiddenException(String.format(CommonErrorMessages.BULK_JOB_ACCESS_DENIED, jobId));
+        }
+        return job;
+    }
+}
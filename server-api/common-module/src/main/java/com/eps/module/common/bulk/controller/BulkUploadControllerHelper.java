@@ -1,12 +1,14 @@
 package com.eps.module.common.bulk.controller;
 
 import com.eps.module.common.bulk.dto.BulkUploadProgressDto;
+import com.eps.module.common.bulk.job.BulkUploadMode;
 import com.eps.module.common.bulk.service.BulkUploadService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 
@@ -29,16 +31,50 @@ public class BulkUploadControllerHelper {
         return service.bulkUpload(file);
     }
     
+    /**
+     * Handle bulk upload with SSE progress tracking in the given mode
+     */
+    public <T, E> SseEmitter bulkUpload(
+            MultipartFile file,
+            BulkUploadMode mode,
+            BulkUploadService<T, E> service
+    ) throws IOException {
+        log.debug("BulkUploadControllerHelper: Processing bulk upload in {} mode", mode);
+        return service.bulkUpload(file, mode);
+    }
+    
+    /**
+     * Validate an upload in the given mode without persisting it
+     */
+    public <T, E> BulkUploadProgressDto validate(
+            MultipartFile file,
+            BulkUploadMode mode,
+            BulkUploadService<T, E> service
+    ) throws IOException {
+        log.debug("BulkUploadControllerHelper: Validating bulk upload in {} mode", mode);
+        return service.validateUpload(file, mode);
+    }
+    
     /**
      * Export all entities to Excel
      */
-    public <T, E> ResponseEntity<byte[]> export(
+    public <T, E> ResponseEntity<StreamingResponseBody> export(
             BulkUploadService<T, E> service
     ) throws IOException {
         log.debug("BulkUploadControllerHelper: Exporting entities");
         return service.exportToExcel();
     }
     
+    /**
+     * Export all entities to CSV
+     */
+    public <T, E> ResponseEntity<StreamingResponseBody> exportCsv(
+            BulkUploadService<T, E> service
+    ) throws IOException {
+        log.debug("BulkUploadControllerHelper: Exporting entities to CSV");
+        return service.exportToCsv();
+    }
+    
     /**
      * Download bulk upload template
      */
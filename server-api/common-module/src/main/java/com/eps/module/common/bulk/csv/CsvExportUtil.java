@@ -0,0 +1,135 @@
+package com.eps.module.common.bulk.csv;
+
+import com.eps.module.common.bulk.excel.ExcelColumnMetadata;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Utility class for writing CSV files from the same {@link com.eps.module.common.bulk.excel.ExcelColumn}
+ * metadata as Excel exports, so an export can be uploaded again unchanged.
+ * Text that a spreadsheet would run as a formula is written with a leading {@code '}, which
+ * {@link CsvImportUtil} removes again.
+ */
+@Slf4j
+@Component
+public class CsvExportUtil {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final char FORMULA_ESCAPE = '\'';
+
+    /**
+     * Export data to UTF-8 CSV, writing to the given stream as rows are consumed.
+     * The file starts with a byte order mark so spreadsheet applications detect the encoding.
+     * The stream is flushed but not closed.
+     */
+    public <T> void exportToCsv(Iterator<T> data, Class<T> clazz, OutputStream outputStream) throws IOException {
+        List<ExcelColumnMetadata.Column> columns = ExcelColumnMetadata.of(clazz).getColumns();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(BYTE_ORDER_MARK);
+
+        for (int i = 0; i < columns.size(); i++) {
+            ExcelColumnMetadata.Column column = columns.get(i);
+            writeField(writer, i, column.required() ? column.header() + " *" : column.header());
+        }
+        writer.write("\r\n");
+
+        while (data.hasNext()) {
+            T item = data.next();
+            for (int i = 0; i < columns.size(); i++) {
+                Object value = columns.get(i).get(item);
+                if (value instanceof String text && isFormula(text)) {
+                    writeField(writer, i, FORMULA_ESCAPE + text, true);
+                } else {
+                    writeField(writer, i, format(value));
+                }
+            }
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    private void writeField(Writer writer, int index, String value) throws IOException {
+        writeField(writer, index, value, false);
+    }
+
+    private void writeField(Writer writer, int index, String value, boolean quote) throws IOException {
+        if (index > 0) {
+            writer.write(',');
+        }
+        if (!quote && !needsQuoting(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a spreadsheet would read the text as a formula, after any quotes escaping one.
+     * Text already starting with the escape is escaped again, so removing one escape on import restores it.
+     */
+    static boolean isFormula(String text) {
+        int i = 0;
+        while (i < text.length() && text.charAt(i) == FORMULA_ESCAPE) {
+            i++;
+        }
+        if (i == text.length()) {
+            return false;
+        }
+        char c = text.charAt(i);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    /**
+     * Remove the escape written in front of text that would be read as a formula
+     */
+    static String unescapeFormula(String text) {
+        return !text.isEmpty() && text.charAt(0) == FORMULA_ESCAPE && isFormula(text) ? text.substring(1) : text;
+    }
+
+    /**
+     * Format a value the way Excel exports write it
+     */
+    private static String format(Object value) {
+        return switch (value) {
+            case null -> "";
+            case BigDecimal d -> d.toPlainString();
+            case LocalDate d -> d.format(DATE_FORMATTER);
+            case LocalDateTime dt -> dt.format(DATETIME_FORMATTER);
+            default -> value.toString();
+        };
+    }
+}
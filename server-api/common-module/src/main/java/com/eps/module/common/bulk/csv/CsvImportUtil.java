@@ -0,0 +1,214 @@
+package com.eps.module.common.bulk.csv;
+
+import com.eps.module.common.bulk.excel.ExcelColumnMetadata;
+import com.eps.module.common.bulk.excel.ExcelRow;
+import com.eps.module.common.bulk.excel.ExcelRowReader;
+import com.eps.module.common.constant.CommonErrorMessages;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Utility class for reading CSV uploads into the same DTOs as Excel uploads.
+ * Headers are matched against {@link com.eps.module.common.bulk.excel.ExcelColumn} names,
+ * and rows are decoded straight from the file, so a CSV feeds the bulk upload pipeline
+ * without an intermediate workbook.
+ */
+@Slf4j
+@Component
+public class CsvImportUtil {
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final int HEADER_SNIFF_CHARS = 16 * 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private static boolean isGzip(byte[] head) {
+        return head.length == 2 && (head[0] & 0xff) == 0x1f && (head[1] & 0xff) == 0x8b;
+    }
+
+    /**
+     * Open a lazy row reader over a UTF-8 CSV file on disk, gzip-compressed or not.
+     * The delimiter (comma, semicolon, tab or pipe) is taken from the header row.
+     * Rows that fail to parse are returned with a parse error instead of aborting the whole file.
+     */
+    public <T> ExcelRowReader<T> openRowReader(Path path, Class<T> clazz, Closeable onClose) throws IOException {
+        CsvParser parser = null;
+        try {
+            BufferedReader reader = openReader(path);
+            char delimiter = detectDelimiter(reader);
+            parser = new CsvParser(reader, delimiter);
+
+            List<String> header = parser.next();
+            if (header == null) {
+                throw new IllegalArgumentException(CommonErrorMessages.CSV_EMPTY_FILE);
+            }
+
+            ExcelColumnMetadata<T> metadata = ExcelColumnMetadata.of(clazz);
+            ExcelColumnMetadata.Column[] columnMapping = buildColumnMapping(header, metadata);
+            if (Arrays.stream(columnMapping).allMatch(Objects::isNull)) {
+                throw new IllegalArgumentException(CommonErrorMessages.CSV_NO_COLUMNS);
+            }
+            log.debug("Opened CSV file {} with delimiter '{}' and {} columns", path.getFileName(), delimiter, header.size());
+
+            CsvParser openParser = parser;
+            Closeable resource = () -> {
+                try {
+                    openParser.close();
+                } finally {
+                    onClose.close();
+                }
+            };
+            return new ExcelRowReader<>(new DataRowIterator<>(parser, columnMapping, metadata), -1, resource);
+        } catch (IOException | RuntimeException e) {
+            if (parser != null) {
+                parser.close();
+            }
+            onClose.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open the file as UTF-8 text, decompressing gzip and dropping a leading byte order mark
+     */
+    private BufferedReader openReader(Path path) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), STREAM_BUFFER_SIZE);
+        try {
+            in.mark(2);
+            boolean gzip = isGzip(in.readNBytes(2));
+            in.reset();
+            if (gzip) {
+                in = new GZIPInputStream(in, STREAM_BUFFER_SIZE);
+            }
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), STREAM_BUFFER_SIZE);
+            reader.mark(1);
+            if (reader.read() != BYTE_ORDER_MARK) {
+                reader.reset();
+            }
+            return reader;
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private char detectDelimiter(BufferedReader reader) throws IOException {
+        reader.mark(HEADER_SNIFF_CHARS);
+        char[] head = new char[HEADER_SNIFF_CHARS];
+        int length = reader.read(head, 0, head.length);
+        reader.reset();
+
+        int end = 0;
+        while (end < length && head[end] != '\n' && head[end] != '\r') {
+            end++;
+        }
+        return CsvParser.detectDelimiter(new String(head, 0, end));
+    }
+
+    /**
+     * Build column index to field mapping; unmapped columns are null
+     */
+    private ExcelColumnMetadata.Column[] buildColumnMapping(List<String> header, ExcelColumnMetadata<?> metadata) {
+        ExcelColumnMetadata.Column[] columnMapping = new ExcelColumnMetadata.Column[header.size()];
+        for (int i = 0; i < header.size(); i++) {
+            // Remove asterisk if present (required marker)
+            String normalizedHeader = header.get(i).trim().replaceAll("\\s*\\*$", "").trim();
+            columnMapping[i] = metadata.getColumn(normalizedHeader);
+            if (columnMapping[i] == null) {
+                log.debug("Column {} '{}' not found in expected columns", i, normalizedHeader);
+            }
+        }
+        return columnMapping;
+    }
+
+    /**
+     * Iterator that parses records lazily, skipping blank lines.
+     * Row numbers are record numbers, so the first data row is row 2 as in a sheet.
+     */
+    private static class DataRowIterator<T> implements Iterator<ExcelRow<T>> {
+
+        private final CsvParser parser;
+        private final ExcelColumnMetadata.Column[] columnMapping;
+        private final ExcelColumnMetadata<T> metadata;
+        private List<String> pending;
+
+        DataRowIterator(CsvParser parser, ExcelColumnMetadata.Column[] columnMapping, ExcelColumnMetadata<T> metadata) {
+            this.parser = parser;
+            this.columnMapping = columnMapping;
+            this.metadata = metadata;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (pending == null) {
+                    List<String> record = parser.next();
+                    if (record == null) {
+                        return false;
+                    }
+                    if (!isBlank(record)) {
+                        pending = record;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public ExcelRow<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<String> record = pending;
+            pending = null;
+            int rowNumber = parser.getRecordNumber();
+            try {
+                return ExcelRow.of(rowNumber, parseRow(record));
+            } catch (Exception e) {
+                log.error("Error parsing row {}: {}", rowNumber, e.getMessage());
+                return ExcelRow.failed(rowNumber, e.getMessage());
+            }
+        }
+
+        private T parseRow(List<String> record) {
+            T dto = metadata.newInstance();
+            int columns = Math.min(columnMapping.length, record.size());
+            for (int i = 0; i < columns; i++) {
+                ExcelColumnMetadata.Column column = columnMapping[i];
+                if (column != null) {
+                    // Exports escape text that would be read as a formula
+                    column.setFromCell(dto, CsvExportUtil.unescapeFormula(record.get(i).trim()));
+                }
+            }
+            return dto;
+        }
+
+        private static boolean isBlank(List<String> record) {
+            for (String value : record) {
+                if (!value.isBlank()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
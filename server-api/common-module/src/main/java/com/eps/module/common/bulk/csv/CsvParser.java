@@ -0,0 +1,166 @@
+package com.eps.module.common.bulk.csv;
+
+import com.eps.module.common.constant.CommonErrorMessages;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forward-only RFC 4180 record parser.
+ * Quoted fields may contain delimiters, doubled quotes and line breaks; records end at LF, CRLF or CR.
+ * Characters are read through a fixed buffer, so memory use is bounded by the longest record.
+ */
+final class CsvParser implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int EOF = -1;
+    private static final char QUOTE = '"';
+    private static final char[] CANDIDATE_DELIMITERS = {',', ';', '\t', '|'};
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private int recordNumber;
+    private int expectedFields = 16;
+
+    CsvParser(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Pick the delimiter occurring most often, outside quotes, in the first line of the text
+     */
+    static char detectDelimiter(String firstLine) {
+        int[] counts = new int[CANDIDATE_DELIMITERS.length];
+        boolean quoted = false;
+        for (int i = 0; i < firstLine.length(); i++) {
+            char c = firstLine.charAt(i);
+            if (c == QUOTE) {
+                quoted = !quoted;
+            } else if (!quoted) {
+                for (int d = 0; d < CANDIDATE_DELIMITERS.length; d++) {
+                    if (c == CANDIDATE_DELIMITERS[d]) {
+                        counts[d]++;
+                    }
+                }
+            }
+        }
+        int best = 0;
+        for (int d = 1; d < CANDIDATE_DELIMITERS.length; d++) {
+            if (counts[d] > counts[best]) {
+                best = d;
+            }
+        }
+        return CANDIDATE_DELIMITERS[best];
+    }
+
+    /**
+     * Number of the last record returned, starting at 1
+     */
+    int getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Read the next record
+     * @return the record's fields, or null at the end of the input
+     * @throws IllegalArgumentException if a quoted field is not terminated
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+        recordNumber++;
+
+        List<String> fields = new ArrayList<>(expectedFields);
+        field.setLength(0);
+        boolean fieldStart = true;
+        while (true) {
+            if (c == QUOTE && fieldStart) {
+                c = readQuoted();
+                fieldStart = false;
+                continue;
+            }
+            if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else if (c == '\n' || c == EOF) {
+                break;
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    position++;
+                }
+                break;
+            } else {
+                field.append((char) c);
+                fieldStart = false;
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        expectedFields = Math.max(expectedFields, fields.size());
+        return fields;
+    }
+
+    /**
+     * Read a quoted field up to its closing quote
+     * @return the character following the closing quote
+     */
+    private int readQuoted() throws IOException {
+        int startRecord = recordNumber;
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                throw new IllegalArgumentException(String.format(CommonErrorMessages.CSV_UNTERMINATED_QUOTE, startRecord));
+            }
+            if (c == QUOTE) {
+                c = read();
+                if (c != QUOTE) {
+                    return c;
+                }
+            }
+            field.append((char) c);
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Map;
 public class BulkUploadErrorDto {
     
     private Integer rowNumber;
+    private String sheetName; // Set for workbook imports
     private String fieldName;
     private String errorMessage;
     private String rejectedValue;
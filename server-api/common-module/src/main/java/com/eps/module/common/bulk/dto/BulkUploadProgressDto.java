@@ -16,15 +16,21 @@ import java.util.List;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class BulkUploadProgressDto {
     
-    private String status; // PROCESSING, COMPLETED, FAILED
+    private String jobId;
+    private String status; // QUEUED, PROCESSING, COMPLETED, COMPLETED_WITH_ERRORS, FAILED
+    private Integer queuePosition; // Set while the job waits for the bulk job scheduler
+    private Boolean dryRun; // Set for validate-only jobs, whose counts are what an upload would do
     private Integer totalRecords;
     private Integer processedRecords;
     private Integer successCount;
     private Integer failureCount;
     private Integer duplicateCount;
     private Integer skippedCount;
+    private Integer errorCount;
     private Double progressPercentage;
     private String message;
+    private String errorsUrl; // Server-side error pages, set once the job has errors
+    private String errorReportUrl; // Excel error report, set on the final event of a job with errors
     private List<BulkUploadErrorDto> errors;
     
     @Builder.Default
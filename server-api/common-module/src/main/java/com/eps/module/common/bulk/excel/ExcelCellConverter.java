@@ -0,0 +1,19 @@
+package com.eps.module.common.bulk.excel;
+
+import org.dhatim.fastexcel.reader.Cell;
+
+/**
+ * Converts a cell to a DTO field type from the cell's native type (number, date, text)
+ * rather than round-tripping every value through its text.
+ * Created per column with {@link ExcelColumnMetadata.Column#newCellConverter()}.
+ */
+@FunctionalInterface
+public interface ExcelCellConverter {
+
+    /**
+     * Convert a cell
+     * @return the field value, or null for an empty cell
+     * @throws IllegalArgumentException if the cell is not a valid value for the field type
+     */
+    Object convert(Cell cell);
+}
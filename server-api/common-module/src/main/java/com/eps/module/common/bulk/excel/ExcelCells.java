@@ -0,0 +1,195 @@
+package com.eps.module.common.bulk.excel;
+
+import org.dhatim.fastexcel.reader.Cell;
+import org.dhatim.fastexcel.reader.CellType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cell conversions shared by the Excel readers
+ */
+final class ExcelCells {
+
+    private static final DateTimeFormatter DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final ExcelDateParser DATE_PARSER = ExcelDateParser.standard();
+    private static final Map<String, Boolean> DATE_FORMATS = new ConcurrentHashMap<>();
+
+    private ExcelCells() {
+    }
+
+    /**
+     * Create a converter for a field type. Number, date and boolean cells are read natively; text cells
+     * go through the column's text conversion, except dates, which accept the same text patterns as the validators.
+     */
+    static ExcelCellConverter forType(Class<?> targetType, ExcelColumnMetadata.Column column) {
+        return switch (targetType.getName()) {
+            case "java.lang.String" -> cell -> emptyToNull(text(cell));
+            case "java.lang.Integer", "int" -> cell -> isNumber(cell) ? (Object) number(cell).intValue() : column.convertText(text(cell));
+            case "java.lang.Long", "long" -> cell -> isNumber(cell) ? (Object) number(cell).longValue() : column.convertText(text(cell));
+            case "java.lang.Double", "double" -> cell -> isNumber(cell) ? (Object) number(cell).doubleValue() : column.convertText(text(cell));
+            case "java.math.BigDecimal" -> cell -> isNumber(cell) ? stripped(number(cell)) : column.convertText(text(cell));
+            case "java.lang.Boolean", "boolean" -> cell -> cell != null && cell.getType() == CellType.BOOLEAN
+                    ? cell.getValue() : column.convertText(text(cell));
+            case "java.time.LocalDate" -> cell -> {
+                if (isNumber(cell)) {
+                    return cell.asDate().toLocalDate();
+                }
+                String text = text(cell);
+                if (text.isEmpty()) {
+                    return null;
+                }
+                LocalDate date = DATE_PARSER.parse(text);
+                if (date == null) {
+                    throw column.invalidValue(text);
+                }
+                return date;
+            };
+            case "java.time.LocalDateTime" -> cell -> isNumber(cell) ? cell.asDate() : column.convertText(text(cell));
+            default -> cell -> column.convertText(text(cell));
+        };
+    }
+
+    /**
+     * Text of a cell as typed by the user: numbers without floating-point noise in their trailing zeros,
+     * date-formatted numbers as ISO dates, and formulas as their cached result. Never null.
+     */
+    static String text(Cell cell) {
+        if (cell == null) {
+            return "";
+        }
+        return switch (cell.getType()) {
+            case NUMBER -> isDateFormatted(cell) ? dateText(cell.asDate()) : numberText(cell.getRawValue());
+            case BOOLEAN -> String.valueOf(cell.getValue());
+            case EMPTY -> "";
+            case FORMULA -> cell.getValue() instanceof BigDecimal ? numberText(cell.getRawValue()) : trim(cell.getRawValue());
+            default -> decimalText(trim(cell.getRawValue()));
+        };
+    }
+
+    /**
+     * Whether a cell holds nothing but whitespace, checked without converting it
+     */
+    static boolean isBlank(Cell cell) {
+        if (cell == null || cell.getType() == CellType.EMPTY) {
+            return true;
+        }
+        if (cell.getType() == CellType.STRING) {
+            return cell.getValue() == null || ((String) cell.getValue()).isBlank();
+        }
+        return cell.getRawValue() == null || cell.getRawValue().isBlank();
+    }
+
+    private static boolean isNumber(Cell cell) {
+        return cell != null && cell.getType() == CellType.NUMBER;
+    }
+
+    private static BigDecimal number(Cell cell) {
+        return (BigDecimal) cell.getValue();
+    }
+
+    private static BigDecimal stripped(BigDecimal value) {
+        BigDecimal stripped = value.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+    }
+
+    private static String numberText(String raw) {
+        if (raw == null) {
+            return "";
+        }
+        String trimmed = raw.trim();
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c == '.' || c == 'E' || c == 'e') {
+                return stripped(new BigDecimal(trimmed)).toPlainString();
+            }
+        }
+        return trimmed;
+    }
+
+    /**
+     * Text typed as a plain decimal (e.g. "12.50") loses its trailing zeros like a number cell would
+     */
+    private static String decimalText(String text) {
+        int start = text.startsWith("-") ? 1 : 0;
+        int dot = -1;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '.' && dot < 0) {
+                dot = i;
+            } else if (c < '0' || c > '9') {
+                return text;
+            }
+        }
+        return dot > start && dot < text.length() - 1 ? stripped(new BigDecimal(text)).toPlainString() : text;
+    }
+
+    private static String dateText(LocalDateTime value) {
+        return value.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? value.toLocalDate().toString()
+                : value.format(DATETIME);
+    }
+
+    private static String trim(String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    private static Object emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Whether a number cell is displayed as a date or time, judged from its number format
+     */
+    private static boolean isDateFormatted(Cell cell) {
+        Integer formatId = cell.getDataFormatId();
+        if (formatId == null) {
+            return false;
+        }
+        if ((formatId >= 14 && formatId <= 22) || (formatId >= 45 && formatId <= 47)) {
+            return true;
+        }
+        String format = cell.getDataFormatString();
+        return format != null && DATE_FORMATS.computeIfAbsent(format, ExcelCells::isDateFormat);
+    }
+
+    /**
+     * A number format is a date format if it has date or time placeholders outside quoted text,
+     * escaped characters and bracketed colors or locales
+     */
+    private static boolean isDateFormat(String format) {
+        boolean quoted = false;
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (quoted) {
+                continue;
+            } else if (c == '\\' || c == '_' || c == '*') {
+                i++;
+            } else if (c == '[') {
+                int end = format.indexOf(']', i);
+                String section = end < 0 ? "" : format.substring(i + 1, end).toLowerCase();
+                // [h], [mm] and [ss] are elapsed time
+                if (!section.isEmpty() && section.chars().allMatch(ch -> ch == 'h' || ch == 'm' || ch == 's')) {
+                    return true;
+                }
+                i = end < 0 ? format.length() : end;
+            } else {
+                switch (Character.toLowerCase(c)) {
+                    case 'y', 'm', 'd', 'h', 's' -> {
+                        return true;
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
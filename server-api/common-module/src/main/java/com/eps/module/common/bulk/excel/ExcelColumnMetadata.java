@@ -0,0 +1,318 @@
+package com.eps.module.common.bulk.excel;
+
+import org.dhatim.fastexcel.reader.Cell;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cached description of the {@code @ExcelColumn} fields of a DTO.
+ * Each class is scanned once; field access goes through generated accessors
+ * (the Lombok getters/setters where present, field method handles otherwise)
+ * and every column gets its cell converter chosen up front from the field type.
+ * Accessors are only generated with a full-privilege lookup on the DTO; otherwise, for example when the DTO
+ * was loaded by another class loader such as the devtools restart loader, the method handles are used directly.
+ *
+ * @param <T> The DTO type
+ */
+public final class ExcelColumnMetadata<T> {
+
+    private static final ExcelDateParser DATE_PARSER = ExcelDateParser.standard();
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+
+    private static final ClassValue<ExcelColumnMetadata<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected ExcelColumnMetadata<?> computeValue(Class<?> type) {
+            return new ExcelColumnMetadata<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final Supplier<T> constructor;
+    private final List<Column> columns;
+    private final Map<String, Column> columnsByHeader;
+
+    /**
+     * Get the metadata for a DTO class, scanning it on first use
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ExcelColumnMetadata<T> of(Class<T> type) {
+        return (ExcelColumnMetadata<T>) CACHE.get(type);
+    }
+
+    private ExcelColumnMetadata(Class<T> type) {
+        this.type = type;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            this.constructor = constructor(lookup, type);
+
+            List<Column> scanned = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
+                if (annotation != null && !Modifier.isStatic(field.getModifiers())) {
+                    scanned.add(new Column(field, annotation, getter(lookup, field), setter(lookup, field),
+                            converterFor(field.getType())));
+                }
+            }
+            scanned.sort(Comparator.comparingInt(Column::order));
+            this.columns = List.copyOf(scanned);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot read Excel columns of " + type.getName() + ": " + e.getMessage(), e);
+        }
+
+        Map<String, Column> byHeader = new HashMap<>();
+        for (Column column : columns) {
+            byHeader.put(column.header(), column);
+        }
+        this.columnsByHeader = Map.copyOf(byHeader);
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Columns ordered by {@link ExcelColumn#order()}
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Find a column by its header name (without the required marker)
+     */
+    public Column getColumn(String header) {
+        return columnsByHeader.get(header);
+    }
+
+    public T newInstance() {
+        return constructor.get();
+    }
+
+    /**
+     * A single {@code @ExcelColumn} field
+     */
+    public static final class Column {
+        private final Field field;
+        private final ExcelColumn annotation;
+        private final Function<Object, Object> getter;
+        private final BiConsumer<Object, Object> setter;
+        private final Function<String, Object> converter;
+
+        private Column(Field field, ExcelColumn annotation, Function<Object, Object> getter,
+                       BiConsumer<Object, Object> setter, Function<String, Object> converter) {
+            this.field = field;
+            this.annotation = annotation;
+            this.getter = getter;
+            this.setter = setter;
+            this.converter = converter;
+        }
+
+        public String header() {
+            return annotation.value();
+        }
+
+        public int order() {
+            return annotation.order();
+        }
+
+        public boolean required() {
+            return annotation.required();
+        }
+
+        public String example() {
+            return annotation.example();
+        }
+
+        public String fieldName() {
+            return field.getName();
+        }
+
+        public Class<?> fieldType() {
+            return field.getType();
+        }
+
+        public Object get(Object bean) {
+            return getter.apply(bean);
+        }
+
+        public void set(Object bean, Object value) {
+            setter.accept(bean, value);
+        }
+
+        /**
+         * Convert a non-empty cell text to the field type
+         * @throws IllegalArgumentException if the text is not a valid value for the field type
+         */
+        public Object convert(String cellValue) {
+            try {
+                Object value = converter.apply(cellValue);
+                if (value == null) {
+                    throw invalidValue(cellValue);
+                }
+                return value;
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw invalidValue(cellValue);
+            }
+        }
+
+        /**
+         * Convert the cell text and assign it to the field. Empty cells leave the field untouched.
+         */
+        public void setFromCell(Object bean, String cellValue) {
+            if (!cellValue.isEmpty()) {
+                set(bean, convert(cellValue));
+            }
+        }
+
+        /**
+         * Create a converter reading cells of this column by their native type
+         */
+        public ExcelCellConverter newCellConverter() {
+            return ExcelCells.forType(field.getType(), this);
+        }
+
+        /**
+         * Convert a cell and assign it to the field. Empty cells leave the field untouched.
+         */
+        public void setFromCell(Object bean, ExcelCellConverter cellConverter, Cell cell) {
+            Object value = cellConverter.convert(cell);
+            if (value != null) {
+                set(bean, value);
+            }
+        }
+
+        /**
+         * Convert text read from a cell, returning null for empty text
+         */
+        Object convertText(String cellValue) {
+            return cellValue.isEmpty() ? null : convert(cellValue);
+        }
+
+        IllegalArgumentException invalidValue(String cellValue) {
+            return new IllegalArgumentException("Invalid value '" + cellValue + "' for type " + field.getType().getSimpleName());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> constructor(MethodHandles.Lookup lookup, Class<T> type) throws Throwable {
+        MethodHandle target = lookup.findConstructor(type, MethodType.methodType(void.class));
+        if (lookup.hasFullPrivilegeAccess()) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class), target, MethodType.methodType(type));
+                return (Supplier<T>) site.getTarget().invokeExact();
+            } catch (ReflectiveOperationException | LambdaConversionException | LinkageError ignored) {
+                // fall back to the constructor handle below
+            }
+        }
+        MethodHandle handle = target.asType(MethodType.methodType(Object.class));
+        return () -> (T) invoke(() -> handle.invokeExact());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(MethodHandles.Lookup lookup, Field field) throws Throwable {
+        Method accessor = findAccessor(field, field.getType() == boolean.class ? "is" : "get");
+        if (accessor != null && accessor.getReturnType() == field.getType() && lookup.hasFullPrivilegeAccess()) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class), lookup.unreflect(accessor),
+                        MethodType.methodType(wrap(field.getType()), field.getDeclaringClass()));
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            } catch (ReflectiveOperationException | LambdaConversionException | LinkageError ignored) {
+                // fall back to the field handle below
+            }
+        }
+        MethodHandle handle = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+        return bean -> invoke(() -> handle.invokeExact(bean));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(MethodHandles.Lookup lookup, Field field) throws Throwable {
+        Method accessor = findAccessor(field, "set", field.getType());
+        if (accessor != null && accessor.getReturnType() == void.class && lookup.hasFullPrivilegeAccess()) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class), lookup.unreflect(accessor),
+                        MethodType.methodType(void.class, field.getDeclaringClass(), wrap(field.getType())));
+                return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+            } catch (ReflectiveOperationException | LambdaConversionException | LinkageError ignored) {
+                // fall back to the field handle below
+            }
+        }
+        MethodHandle handle = lookup.unreflectSetter(field)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (bean, value) -> invoke(() -> {
+            handle.invokeExact(bean, value);
+            return null;
+        });
+    }
+
+    private static Method findAccessor(Field field, String prefix, Class<?>... parameterTypes) {
+        String name = prefix + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        try {
+            Method method = field.getDeclaringClass().getDeclaredMethod(name, parameterTypes);
+            return Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static Object invoke(Invocation invocation) {
+        try {
+            return invocation.invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke() throws Throwable;
+    }
+
+    /**
+     * Pick the text converter for a field type
+     */
+    private static Function<String, Object> converterFor(Class<?> targetType) {
+        return switch (targetType.getName()) {
+            case "java.lang.String" -> cellValue -> cellValue;
+            // Handle decimal values from Excel
+            case "java.lang.Integer", "int" -> cellValue -> cellValue.contains(".")
+                    ? (int) Double.parseDouble(cellValue) : Integer.parseInt(cellValue);
+            case "java.lang.Long", "long" -> cellValue -> cellValue.contains(".")
+                    ? (long) Double.parseDouble(cellValue) : Long.parseLong(cellValue);
+            case "java.lang.Double", "double" -> Double::parseDouble;
+            case "java.math.BigDecimal" -> BigDecimal::new;
+            case "java.lang.Boolean", "boolean" -> Boolean::parseBoolean;
+            case "java.time.LocalDate" -> DATE_PARSER::parse;
+            case "java.time.LocalDateTime" -> cellValue -> LocalDateTime.parse(cellValue, DATETIME_FORMATTER);
+            default -> cellValue -> cellValue;
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package com.eps.module.common.bulk.excel;
+
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+
+/**
+ * Parses date text from uploaded files against a fixed list of accepted patterns without throwing.
+ * Patterns are always tried in the given order, so a value valid in several patterns, such as 03/04/2024
+ * for dd/MM/yyyy and MM/dd/yyyy, always resolves to the first one whatever was parsed before.
+ * A pattern that does not match fails at its first mismatching character, so trying several stays cheap.
+ * Instances hold no state and can be shared.
+ */
+public final class ExcelDateParser {
+
+    /**
+     * Patterns accepted by default, in order of preference for ambiguous values
+     */
+    public static final String[] DEFAULT_PATTERNS = {"yyyy-MM-dd", "dd-MM-yyyy", "dd/MM/yyyy", "MM/dd/yyyy", "yyyy/MM/dd"};
+
+    // Excel's epoch is 1899-12-30 (due to Excel's leap year bug)
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+    private static final int MAX_EXCEL_SERIAL = 100000;
+
+    private final DateTimeFormatter[] formatters;
+    private final boolean acceptExcelSerials;
+
+    private ExcelDateParser(DateTimeFormatter[] formatters, boolean acceptExcelSerials) {
+        this.formatters = formatters;
+        this.acceptExcelSerials = acceptExcelSerials;
+    }
+
+    /**
+     * Parser for the default patterns that also accepts Excel date serials (e.g. 44927)
+     */
+    public static ExcelDateParser standard() {
+        return of(DEFAULT_PATTERNS).withExcelSerials();
+    }
+
+    /**
+     * Parser for the given {@link DateTimeFormatter} patterns, tried in order
+     */
+    public static ExcelDateParser of(String... patterns) {
+        return new ExcelDateParser(Arrays.stream(patterns).map(DateTimeFormatter::ofPattern).toArray(DateTimeFormatter[]::new), false);
+    }
+
+    /**
+     * Copy of this parser that also accepts Excel date serials between 1 and 100000
+     */
+    public ExcelDateParser withExcelSerials() {
+        return new ExcelDateParser(formatters, true);
+    }
+
+    /**
+     * Parse a date, returning null for blank or unparseable text
+     */
+    public LocalDate parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String value = text.trim();
+        if (value.isEmpty()) {
+            return null;
+        }
+
+        for (DateTimeFormatter formatter : formatters) {
+            LocalDate date = tryParse(formatter, value);
+            if (date != null) {
+                return date;
+            }
+        }
+        return acceptExcelSerials ? parseExcelSerial(value) : null;
+    }
+
+    /**
+     * Whether the text is blank or a date this parser accepts
+     */
+    public boolean isValid(String text) {
+        return text == null || text.trim().isEmpty() || parse(text) != null;
+    }
+
+    /**
+     * Parse without resolving, so a mismatch returns null instead of throwing.
+     * Resolves like the default SMART resolver: a day past the end of the month is clamped to its last day.
+     */
+    private static LocalDate tryParse(DateTimeFormatter formatter, String value) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = formatter.parseUnresolved(value, position);
+        if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != value.length()) {
+            return null;
+        }
+
+        ChronoField yearField = parsed.isSupported(ChronoField.YEAR_OF_ERA) ? ChronoField.YEAR_OF_ERA : ChronoField.YEAR;
+        if (!parsed.isSupported(yearField) || !parsed.isSupported(ChronoField.MONTH_OF_YEAR)
+                || !parsed.isSupported(ChronoField.DAY_OF_MONTH)) {
+            return null;
+        }
+        long year = parsed.getLong(yearField);
+        long month = parsed.getLong(ChronoField.MONTH_OF_YEAR);
+        long day = parsed.getLong(ChronoField.DAY_OF_MONTH);
+        if (year < 1 || year > 9999 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+
+        LocalDate firstOfMonth = LocalDate.of((int) year, (int) month, 1);
+        return firstOfMonth.withDayOfMonth((int) Math.min(day, firstOfMonth.lengthOfMonth()));
+    }
+
+    private static LocalDate parseExcelSerial(String value) {
+        long days = 0;
+        int i = 0;
+        for (; i < value.length() && value.charAt(i) != '.'; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9' || days >= MAX_EXCEL_SERIAL) {
+                return null;
+            }
+            days = days * 10 + (c - '0');
+        }
+        if (i == 0 || i == value.length() - 1) {
+            return null;
+        }
+        for (i++; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        return days >= 1 && days < MAX_EXCEL_SERIAL ? EXCEL_EPOCH.plusDays(days) : null;
+    }
+}
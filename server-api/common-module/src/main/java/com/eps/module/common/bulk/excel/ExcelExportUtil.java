@@ -7,12 +7,11 @@ import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Utility class for generating Excel files using FastExcel
@@ -24,33 +23,45 @@ public class ExcelExportUtil {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
     
+    /**
+     * Number of data rows buffered by the worksheet before they are flushed to the output
+     */
+    private static final int FLUSH_INTERVAL_ROWS = 500;
+    
     /**
      * Export data to Excel file
      */
     public <T> byte[] exportToExcel(List<T> data, Class<T> clazz, String sheetName) throws IOException {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        
+        exportToExcel(data.iterator(), clazz, sheetName, outputStream);
+        return outputStream.toByteArray();
+    }
+    
+    /**
+     * Export data to Excel, writing to the given stream as rows are consumed.
+     * Rows are flushed every few hundred rows, so memory use does not grow with the number of rows
+     * and the first bytes reach the output before the data has been read completely.
+     */
+    public <T> void exportToExcel(Iterator<T> data, Class<T> clazz, String sheetName, OutputStream outputStream) throws IOException {
         try (Workbook workbook = new Workbook(outputStream, "EPSimple", "1.0")) {
             Worksheet worksheet = workbook.newWorksheet(sheetName);
             
             // Get annotated fields
-            List<FieldInfo> fieldInfos = getAnnotatedFields(clazz);
+            List<ExcelColumnMetadata.Column> columns = ExcelColumnMetadata.of(clazz).getColumns();
+            
+            // Column widths are part of the sheet header, so set them before the first flush
+            for (int i = 0; i < columns.size(); i++) {
+                worksheet.width(i, 20);
+            }
             
             // Write header row
-            writeHeaderRow(worksheet, fieldInfos);
+            writeHeaderRow(worksheet, columns);
             
             // Write data rows
-            writeDataRows(worksheet, data, fieldInfos);
-            
-            // Auto-size columns
-            for (int i = 0; i < fieldInfos.size(); i++) {
-                worksheet.width(i, 20);
-            }
+            writeDataRows(worksheet, data, columns);
             
             workbook.finish();
         }
-        
-        return outputStream.toByteArray();
     }
     
     /**
@@ -63,16 +74,16 @@ public class ExcelExportUtil {
             Worksheet worksheet = workbook.newWorksheet(sheetName);
             
             // Get annotated fields
-            List<FieldInfo> fieldInfos = getAnnotatedFields(clazz);
+            List<ExcelColumnMetadata.Column> columns = ExcelColumnMetadata.of(clazz).getColumns();
             
             // Write header row
-            writeHeaderRow(worksheet, fieldInfos);
+            writeHeaderRow(worksheet, columns);
             
             // Write example row
-            writeExampleRow(worksheet, fieldInfos);
+            writeExampleRow(worksheet, columns);
             
             // Auto-size columns
-            for (int i = 0; i < fieldInfos.size(); i++) {
+            for (int i = 0; i < columns.size(); i++) {
                 worksheet.width(i, 20);
             }
             
@@ -82,33 +93,14 @@ public class ExcelExportUtil {
         return outputStream.toByteArray();
     }
     
-    /**
-     * Get list of fields annotated with @ExcelColumn
-     */
-    private <T> List<FieldInfo> getAnnotatedFields(Class<T> clazz) {
-        List<FieldInfo> fieldInfos = new ArrayList<>();
-        
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(ExcelColumn.class)) {
-                ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
-                fieldInfos.add(new FieldInfo(field, annotation));
-            }
-        }
-        
-        // Sort by order
-        fieldInfos.sort(Comparator.comparingInt(f -> f.annotation.order()));
-        
-        return fieldInfos;
-    }
-    
     /**
      * Write header row
      */
-    private void writeHeaderRow(Worksheet worksheet, List<FieldInfo> fieldInfos) {
-        for (int i = 0; i < fieldInfos.size(); i++) {
-            FieldInfo fieldInfo = fieldInfos.get(i);
-            String header = fieldInfo.annotation.value();
-            if (fieldInfo.annotation.required()) {
+    private void writeHeaderRow(Worksheet worksheet, List<ExcelColumnMetadata.Column> columns) {
+        for (int i = 0; i < columns.size(); i++) {
+            ExcelColumnMetadata.Column column = columns.get(i);
+            String header = column.header();
+            if (column.required()) {
                 header += " *";
             }
             worksheet.value(0, i, header);
@@ -119,28 +111,31 @@ public class ExcelExportUtil {
     /**
      * Write data rows
      */
-    private <T> void writeDataRows(Worksheet worksheet, List<T> data, List<FieldInfo> fieldInfos) {
-        for (int rowIndex = 0; rowIndex < data.size(); rowIndex++) {
-            T item = data.get(rowIndex);
-            
-            for (int colIndex = 0; colIndex < fieldInfos.size(); colIndex++) {
-                FieldInfo fieldInfo = fieldInfos.get(colIndex);
-                Object value = getFieldValue(item, fieldInfo.field);
+    private <T> void writeDataRows(Worksheet worksheet, Iterator<T> data, List<ExcelColumnMetadata.Column> columns) throws IOException {
+        int rowIndex = 0;
+        while (data.hasNext()) {
+            T item = data.next();
+            for (int colIndex = 0; colIndex < columns.size(); colIndex++) {
+                Object value = columns.get(colIndex).get(item);
                 
                 if (value != null) {
                     setCellValue(worksheet, rowIndex + 1, colIndex, value);
                 }
             }
+            rowIndex++;
+            
+            if (rowIndex % FLUSH_INTERVAL_ROWS == 0) {
+                worksheet.flush();
+            }
         }
     }
     
     /**
      * Write example row
      */
-    private void writeExampleRow(Worksheet worksheet, List<FieldInfo> fieldInfos) {
-        for (int i = 0; i < fieldInfos.size(); i++) {
-            FieldInfo fieldInfo = fieldInfos.get(i);
-            String example = fieldInfo.annotation.example();
+    private void writeExampleRow(Worksheet worksheet, List<ExcelColumnMetadata.Column> columns) {
+        for (int i = 0; i < columns.size(); i++) {
+            String example = columns.get(i).example();
             
             if (!example.isEmpty()) {
                 worksheet.value(1, i, example);
@@ -149,19 +144,6 @@ public class ExcelExportUtil {
         }
     }
     
-    /**
-     * Get field value using reflection
-     */
-    private Object getFieldValue(Object obj, Field field) {
-        try {
-            field.setAccessible(true);
-            return field.get(obj);
-        } catch (IllegalAccessException e) {
-            log.error("Error accessing field {}: {}", field.getName(), e.getMessage());
-            return null;
-        }
-    }
-    
     /**
      * Set cell value with appropriate type handling
      */
@@ -175,17 +157,4 @@ public class ExcelExportUtil {
             case null, default -> worksheet.value(row, col, value != null ? value.toString() : "");
         }
     }
-    
-    /**
-     * Helper class to hold field information
-     */
-    private static class FieldInfo {
-        Field field;
-        ExcelColumn annotation;
-        
-        FieldInfo(Field field, ExcelColumn annotation) {
-            this.field = field;
-            this.annotation = annotation;
-        }
-    }
 }
@@ -3,21 +3,26 @@ package com.eps.module.common.bulk.excel;
 import com.eps.module.common.constant.CommonErrorMessages;
 import com.eps.module.common.exception.BadRequestException;
 import lombok.extern.slf4j.Slf4j;
+import org.dhatim.fastexcel.reader.Cell;
 import org.dhatim.fastexcel.reader.ReadableWorkbook;
+import org.dhatim.fastexcel.reader.ReadingOptions;
 import org.dhatim.fastexcel.reader.Row;
 import org.dhatim.fastexcel.reader.Sheet;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * Utility class for reading Excel files using FastExcel Reader
@@ -26,9 +31,13 @@ import java.util.stream.Stream;
 @Component
 public class ExcelImportUtil {
     
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-    private static final DateTimeFormatter ISO_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+    private static final Pattern DIMENSION_PATTERN = Pattern.compile("<dimension\\s+ref=\"[A-Z]+\\d+(?::[A-Z]+(\\d+))?\"");
+    private static final int DIMENSION_SNIFF_BYTES = 4096;
+    
+    /**
+     * Read number formats so date cells can be told apart from plain numbers
+     */
+    private static final ReadingOptions READING_OPTIONS = new ReadingOptions(true, false);
     
     /**
      * Parse Excel file and convert to list of DTOs
@@ -36,93 +45,210 @@ public class ExcelImportUtil {
     public <T> List<T> parseExcelFile(MultipartFile file, Class<T> clazz) throws IOException {
         List<T> results = new ArrayList<>();
         
-        log.debug("Parsing Excel file: name={}, size={}, contentType={}", 
+        try (ExcelRowReader<T> reader = openRowReader(file, clazz)) {
+            while (reader.hasNext()) {
+                ExcelRow<T> row = reader.next();
+                if (row.hasParseError()) {
+                    throw new BadRequestException(CommonErrorMessages.EXCEL_PARSE_ERROR + row.rowNumber() + ": " + row.parseError());
+                }
+                results.add(row.data());
+            }
+        }
+        
+        if (results.isEmpty()) {
+            throw new IllegalArgumentException(CommonErrorMessages.EXCEL_NO_DATA);
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Open a lazy row reader over the first sheet of an Excel file.
+     * The upload is spooled to a temporary file so rows can be streamed after the request has completed;
+     * the temporary file is deleted when the reader is closed.
+     * Rows that fail to parse are returned with a parse error instead of aborting the whole file.
+     */
+    public <T> ExcelRowReader<T> openRowReader(MultipartFile file, Class<T> clazz) throws IOException {
+        log.debug("Opening Excel file for streaming: name={}, size={}, contentType={}", 
                 file.getOriginalFilename(), file.getSize(), file.getContentType());
         
-        try (ReadableWorkbook workbook = new ReadableWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getFirstSheet();
-            log.debug("Sheet name: {}", sheet.getName());
+        Path tempFile = Files.createTempFile("bulk-upload-", ".xlsx");
+        try {
+            file.transferTo(tempFile);
+            return openRowReader(tempFile, clazz, () -> Files.deleteIfExists(tempFile));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+    
+    /**
+     * Open a lazy row reader over the first sheet of an Excel file on disk
+     */
+    public <T> ExcelRowReader<T> openRowReader(Path path, Class<T> clazz, Closeable onClose) throws IOException {
+        return openRowReader(path, null, clazz, onClose);
+    }
+    
+    /**
+     * Open a lazy row reader over the named sheet of an Excel file on disk, or the first sheet if the name is null
+     */
+    public <T> ExcelRowReader<T> openRowReader(Path path, String sheetName, Class<T> clazz, Closeable onClose) throws IOException {
+        ReadableWorkbook workbook = new ReadableWorkbook(path.toFile(), READING_OPTIONS);
+        Stream<Row> rows = null;
+        try {
+            Sheet sheet = sheetName == null ? workbook.getFirstSheet() : workbook.findSheet(sheetName)
+                    .orElseThrow(() -> new IllegalArgumentException(String.format(CommonErrorMessages.EXCEL_SHEET_NOT_FOUND, sheetName)));
+            int estimatedRows = estimateDataRowCount(path, sheet.getIndex());
+            log.debug("Sheet name: {}, estimated data rows: {}", sheet.getName(), estimatedRows);
             
             // Get annotated fields
-            Map<String, FieldInfo> fieldMap = getFieldMap(clazz);
+            ExcelColumnMetadata<T> metadata = ExcelColumnMetadata.of(clazz);
             
-            try (Stream<Row> rows = sheet.openStream()) {
-                List<Row> rowList = rows.toList();
-                log.debug("Total rows in sheet: {}", rowList.size());
-                
-                if (rowList.isEmpty()) {
-                    throw new IllegalArgumentException("Excel file is empty");
-                }
-                
-                // Log first few rows for debugging
-                for (int i = 0; i < Math.min(3, rowList.size()); i++) {
-                    Row r = rowList.get(i);
-                    StringBuilder rowContent = new StringBuilder();
-                    for (int j = 0; j < r.getCellCount(); j++) {
-                        if (j > 0) rowContent.append(" | ");
-                        rowContent.append("[").append(j).append("]=").append(getCellValueAsString(r, j));
-                    }
-                    log.debug("Row {} content: {}", i, rowContent);
-                }
-                
-                // Read header row
-                Row headerRow = rowList.get(0);
-                Map<Integer, String> columnMapping = buildColumnMapping(headerRow, fieldMap);
-                
-                if (columnMapping.isEmpty()) {
-                    throw new IllegalArgumentException("No valid columns found in Excel file");
-                }
-                
-                // Read data rows
-                for (int rowNumber = 1; rowNumber < rowList.size(); rowNumber++) {
-                    Row row = rowList.get(rowNumber);
-                    
-                    if (isEmptyRow(row)) {
-                        continue;
-                    }
-                    
-                    try {
-                        T dto = parseRow(row, columnMapping, fieldMap, clazz);
-                        results.add(dto);
-                    } catch (Exception e) {
-                        log.error("Error parsing row {}: {}", rowNumber + 1, e.getMessage());
-                        throw new BadRequestException(CommonErrorMessages.EXCEL_PARSE_ERROR + (rowNumber + 1) + ": " + e.getMessage());
-                    }
+            rows = sheet.openStream();
+            Iterator<Row> rowIterator = rows.iterator();
+            
+            if (!rowIterator.hasNext()) {
+                throw new IllegalArgumentException(CommonErrorMessages.EXCEL_EMPTY_FILE);
+            }
+            
+            // Read header row
+            ExcelColumnMetadata.Column[] columnMapping = buildColumnMapping(rowIterator.next(), metadata);
+            
+            if (Arrays.stream(columnMapping).allMatch(Objects::isNull)) {
+                throw new IllegalArgumentException(CommonErrorMessages.EXCEL_NO_COLUMNS);
+            }
+            
+            Stream<Row> openRows = rows;
+            Closeable resource = () -> {
+                try {
+                    openRows.close();
+                    workbook.close();
+                } finally {
+                    onClose.close();
                 }
+            };
+            
+            return new ExcelRowReader<>(new DataRowIterator<>(rowIterator, columnMapping, metadata),
+                    estimatedRows, resource);
+        } catch (IOException | RuntimeException e) {
+            if (rows != null) {
+                rows.close();
             }
+            workbook.close();
+            onClose.close();
+            throw e;
         }
-        
-        if (results.isEmpty()) {
-            throw new IllegalArgumentException("Excel file must contain at least one data row");
+    }
+    
+    /**
+     * Names of the sheets of an Excel file on disk, in workbook order
+     */
+    public List<String> getSheetNames(Path path) throws IOException {
+        try (ReadableWorkbook workbook = new ReadableWorkbook(path.toFile())) {
+            return workbook.getSheets().map(Sheet::getName).toList();
         }
-        
-        return results;
     }
     
     /**
-     * Get map of field names to FieldInfo
+     * Estimate the number of data rows of the named sheet, or -1 when it cannot be told without reading the sheet
      */
-    private <T> Map<String, FieldInfo> getFieldMap(Class<T> clazz) {
-        Map<String, FieldInfo> fieldMap = new HashMap<>();
+    public int estimateDataRowCount(Path path, String sheetName) throws IOException {
+        try (ReadableWorkbook workbook = new ReadableWorkbook(path.toFile())) {
+            return workbook.findSheet(sheetName)
+                    .map(sheet -> estimateDataRowCount(path, sheet.getIndex()))
+                    .orElse(-1);
+        }
+    }
+    
+    /**
+     * Estimate the number of data rows from the dimension declared by a worksheet,
+     * assuming the usual part name for its position in the workbook.
+     * Only the beginning of the sheet XML is read; returns -1 when no dimension is declared.
+     */
+    private int estimateDataRowCount(Path path, int sheetIndex) {
+        try (ZipFile zipFile = new ZipFile(path.toFile())) {
+            ZipEntry entry = zipFile.getEntry("xl/worksheets/sheet" + (sheetIndex + 1) + ".xml");
+            if (entry == null) {
+                return -1;
+            }
+            try (InputStream in = zipFile.getInputStream(entry)) {
+                String head = new String(in.readNBytes(DIMENSION_SNIFF_BYTES), StandardCharsets.UTF_8);
+                Matcher matcher = DIMENSION_PATTERN.matcher(head);
+                if (matcher.find() && matcher.group(1) != null) {
+                    return Math.max(Integer.parseInt(matcher.group(1)) - 1, 0);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.debug("Could not read sheet dimension: {}", e.getMessage());
+        }
+        return -1;
+    }
+    
+    /**
+     * Iterator that parses data rows lazily, skipping empty rows.
+     * Each mapped column gets its cell converter once, up front.
+     */
+    private class DataRowIterator<T> implements Iterator<ExcelRow<T>> {
+        
+        private final Iterator<Row> rows;
+        private final ExcelColumnMetadata.Column[] columnMapping;
+        private final ExcelCellConverter[] converters;
+        private final ExcelColumnMetadata<T> metadata;
+        private int dataRowIndex = 0;
+        private Row pending;
+        
+        DataRowIterator(Iterator<Row> rows, ExcelColumnMetadata.Column[] columnMapping,
+                        ExcelColumnMetadata<T> metadata) {
+            this.rows = rows;
+            this.columnMapping = columnMapping;
+            this.metadata = metadata;
+            this.converters = new ExcelCellConverter[columnMapping.length];
+            for (int i = 0; i < columnMapping.length; i++) {
+                if (columnMapping[i] != null) {
+                    converters[i] = columnMapping[i].newCellConverter();
+                }
+            }
+        }
         
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(ExcelColumn.class)) {
-                ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
-                fieldMap.put(annotation.value(), new FieldInfo(field, annotation));
+        @Override
+        public boolean hasNext() {
+            while (pending == null && rows.hasNext()) {
+                Row row = rows.next();
+                if (!isEmptyRow(row)) {
+                    pending = row;
+                }
             }
+            return pending != null;
         }
         
-        return fieldMap;
+        @Override
+        public ExcelRow<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Row row = pending;
+            pending = null;
+            // +2 because row 1 is header and data rows are 0-indexed
+            int rowNumber = dataRowIndex++ + 2;
+            try {
+                return ExcelRow.of(rowNumber, parseRow(row, columnMapping, converters, metadata));
+            } catch (Exception e) {
+                log.error("Error parsing row {}: {}", rowNumber, e.getMessage());
+                return ExcelRow.failed(rowNumber, e.getMessage());
+            }
+        }
     }
     
     /**
-     * Build column index to field name mapping
+     * Build column index to field mapping; unmapped columns are null
      */
-    private Map<Integer, String> buildColumnMapping(Row headerRow, Map<String, FieldInfo> fieldMap) {
-        Map<Integer, String> columnMapping = new HashMap<>();
+    private ExcelColumnMetadata.Column[] buildColumnMapping(Row headerRow, ExcelColumnMetadata<?> metadata) {
+        ExcelColumnMetadata.Column[] columnMapping = new ExcelColumnMetadata.Column[headerRow.getCellCount()];
         
-        log.debug("Expected columns from DTO: {}", fieldMap.keySet());
-        log.debug("Header row cell count: {}", headerRow.getCellCount());
+        if (log.isDebugEnabled()) {
+            log.debug("Expected columns from DTO: {}", metadata.getColumns().stream().map(ExcelColumnMetadata.Column::header).toList());
+            log.debug("Header row cell count: {}", headerRow.getCellCount());
+        }
         
         for (int i = 0; i < headerRow.getCellCount(); i++) {
             String rawHeaderName = getCellValueAsString(headerRow, i);
@@ -133,148 +259,49 @@ public class ExcelImportUtil {
             String normalizedHeader = headerName.replaceAll("\\s*\\*$", "").trim();
             log.debug("Column {} normalized: '{}'", i, normalizedHeader);
             
-            if (fieldMap.containsKey(normalizedHeader)) {
-                columnMapping.put(i, normalizedHeader);
+            ExcelColumnMetadata.Column column = metadata.getColumn(normalizedHeader);
+            if (column != null) {
+                columnMapping[i] = column;
                 log.debug("Column {} mapped to field: {}", i, normalizedHeader);
             } else {
                 log.debug("Column {} '{}' not found in expected columns", i, normalizedHeader);
             }
         }
         
-        log.debug("Final column mapping: {}", columnMapping);
         return columnMapping;
     }
     
     /**
      * Parse a single row into DTO
      */
-    private <T> T parseRow(Row row, Map<Integer, String> columnMapping, 
-                          Map<String, FieldInfo> fieldMap, Class<T> clazz) throws Exception {
-        T dto = clazz.getDeclaredConstructor().newInstance();
+    private <T> T parseRow(Row row, ExcelColumnMetadata.Column[] columnMapping, ExcelCellConverter[] converters,
+                           ExcelColumnMetadata<T> metadata) {
+        T dto = metadata.newInstance();
         
-        for (Map.Entry<Integer, String> entry : columnMapping.entrySet()) {
-            int colIndex = entry.getKey();
-            String fieldName = entry.getValue();
-            FieldInfo fieldInfo = fieldMap.get(fieldName);
-            
-            String cellValue = getCellValueAsString(row, colIndex).trim();
-            if (!cellValue.isEmpty()) {
-                Object value = parseCellValue(cellValue, fieldInfo.field.getType());
-                setFieldValue(dto, fieldInfo.field, value);
+        for (int colIndex = 0; colIndex < columnMapping.length; colIndex++) {
+            ExcelColumnMetadata.Column column = columnMapping[colIndex];
+            if (column != null) {
+                column.setFromCell(dto, converters[colIndex], getCell(row, colIndex));
             }
         }
         
         return dto;
     }
     
-    /**
-     * Parse cell value based on target field type
-     */
-    private Object parseCellValue(String cellValue, Class<?> targetType) {
-        if (cellValue.isEmpty()) {
-            return null;
-        }
-        
-        try {
-            return switch (targetType.getName()) {
-                case "java.lang.String" -> cellValue;
-                case "java.lang.Integer", "int" -> {
-                    // Handle decimal values from Excel
-                    if (cellValue.contains(".")) {
-                        yield (int) Double.parseDouble(cellValue);
-                    }
-                    yield Integer.parseInt(cellValue);
-                }
-                case "java.lang.Long", "long" -> {
-                    if (cellValue.contains(".")) {
-                        yield (long) Double.parseDouble(cellValue);
-                    }
-                    yield Long.parseLong(cellValue);
-                }
-                case "java.lang.Double", "double" -> Double.parseDouble(cellValue);
-                case "java.math.BigDecimal" -> new BigDecimal(cellValue);
-                case "java.lang.Boolean", "boolean" -> Boolean.parseBoolean(cellValue);
-                case "java.time.LocalDate" -> parseLocalDate(cellValue);
-                case "java.time.LocalDateTime" -> LocalDateTime.parse(cellValue, DATETIME_FORMATTER);
-                default -> cellValue;
-            };
-        } catch (NumberFormatException | DateTimeParseException e) {
-            throw new IllegalArgumentException("Invalid value '" + cellValue + "' for type " + targetType.getSimpleName());
-        }
-    }
-    
-    /**
-     * Parse LocalDate with multiple format support
-     */
-    private LocalDate parseLocalDate(String dateValue) {
-        if (dateValue == null || dateValue.trim().isEmpty()) {
-            return null;
-        }
-        
-        // Try ISO format first (yyyy-MM-dd)
-        try {
-            return LocalDate.parse(dateValue, ISO_DATE_FORMATTER);
-        } catch (DateTimeParseException e1) {
-            // Try dd-MM-yyyy format
-            try {
-                return LocalDate.parse(dateValue, DATE_FORMATTER);
-            } catch (DateTimeParseException e2) {
-                // Try ISO standard format (default)
-                try {
-                    return LocalDate.parse(dateValue);
-                } catch (DateTimeParseException e3) {
-                    throw new DateTimeParseException("Unable to parse date: " + dateValue, dateValue, 0);
-                }
-            }
-        }
-    }
-    
     /**
      * Get cell value as string
      */
     private String getCellValueAsString(Row row, int columnIndex) {
         try {
-            if (columnIndex >= row.getCellCount()) {
-                return "";
-            }
-            
-            // Use getCellText() which returns the cached computed value for formulas
-            // This works for STRING, NUMBER, and FORMULA cells
-            String cellText = row.getCellText(columnIndex);
-            if (cellText != null && !cellText.isEmpty()) {
-                String trimmed = cellText.trim();
-                
-                // Fix floating-point precision issues: if the value looks like a decimal with trailing zeros
-                // or unnecessary precision, clean it up
-                if (trimmed.matches("^-?\\d+\\.\\d+$")) {
-                    try {
-                        // Parse as BigDecimal to preserve precision, then strip trailing zeros
-                        BigDecimal bd = new BigDecimal(trimmed);
-                        // Remove trailing zeros and unnecessary decimal point
-                        return bd.stripTrailingZeros().toPlainString();
-                    } catch (NumberFormatException e) {
-                        // If parsing fails, return as-is
-                        return trimmed;
-                    }
-                }
-                
-                return trimmed;
-            }
-            
-            return "";
-
+            return ExcelCells.text(getCell(row, columnIndex));
         } catch (Exception e) {
             log.warn("Error reading cell at column {}: {}", columnIndex, e.getMessage());
             return "";
         }
     }
     
-    /**
-     * Set field value using reflection
-     */
-    private void setFieldValue(Object obj, Field field, Object value) throws IllegalAccessException {
-        field.setAccessible(true);
-        field.set(obj, value);
+    private Cell getCell(Row row, int columnIndex) {
+        return columnIndex < row.getCellCount() ? row.getCell(columnIndex) : null;
     }
     
     /**
@@ -282,24 +309,10 @@ public class ExcelImportUtil {
      */
     private boolean isEmptyRow(Row row) {
         for (int i = 0; i < row.getCellCount(); i++) {
-            String value = getCellValueAsString(row, i);
-            if (!value.isEmpty()) {
+            if (!ExcelCells.isBlank(row.getCell(i))) {
                 return false;
             }
         }
         return true;
     }
-    
-    /**
-     * Helper class to hold field information
-     */
-    private static class FieldInfo {
-        Field field;
-        ExcelColumn annotation;
-        
-        FieldInfo(Field field, ExcelColumn annotation) {
-            this.field = field;
-            this.annotation = annotation;
-        }
-    }
 }
@@ -0,0 +1,24 @@
+package com.eps.module.common.bulk.excel;
+
+/**
+ * A single parsed data row together with its row number in the upload
+ *
+ * @param rowNumber  Row number used for error reporting (header row is 1)
+ * @param data       Parsed DTO, or null when the row could not be parsed
+ * @param parseError Parse error message, or null when the row was parsed successfully
+ * @param <T>        The DTO type for row data
+ */
+public record ExcelRow<T>(int rowNumber, T data, String parseError) {
+
+    public static <T> ExcelRow<T> of(int rowNumber, T data) {
+        return new ExcelRow<>(rowNumber, data, null);
+    }
+
+    public static <T> ExcelRow<T> failed(int rowNumber, String parseError) {
+        return new ExcelRow<>(rowNumber, null, parseError);
+    }
+
+    public boolean hasParseError() {
+        return parseError != null;
+    }
+}
@@ -0,0 +1,119 @@
+package com.eps.module.common.bulk.excel;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy, forward-only reader over the data rows of an uploaded file.
+ * Rows are parsed one at a time as they are requested, so only the rows
+ * currently held by the caller are kept in memory.
+ * Must be closed to release the underlying workbook and temporary file.
+ *
+ * @param <T> The DTO type for row data
+ */
+@Slf4j
+public class ExcelRowReader<T> implements Iterator<ExcelRow<T>>, Closeable {
+
+    private final Iterator<ExcelRow<T>> source;
+    private final int estimatedRowCount;
+    private final Closeable resource;
+    private ExcelRow<T> next;
+    private boolean closed;
+
+    public ExcelRowReader(Iterator<ExcelRow<T>> source, int estimatedRowCount, Closeable resource) {
+        this.source = source;
+        this.estimatedRowCount = estimatedRowCount;
+        this.resource = resource;
+    }
+
+    /**
+     * Estimated number of data rows, taken from the sheet dimension.
+     * Returns -1 when the file does not declare it.
+     */
+    public int getEstimatedRowCount() {
+        return estimatedRowCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !closed && source.hasNext()) {
+            next = source.next();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ExcelRow<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ExcelRow<T> row = next;
+        next = null;
+        return row;
+    }
+
+    /**
+     * Read up to {@code maxRows} rows into a new buffer
+     */
+    public List<ExcelRow<T>> nextChunk(int maxRows) {
+        List<ExcelRow<T>> chunk = new ArrayList<>(Math.min(maxRows, 1024));
+        while (chunk.size() < maxRows && hasNext()) {
+            chunk.add(next());
+        }
+        return chunk;
+    }
+
+    /**
+     * Skip every row up to and including {@code rowNumber}, used to resume a job after its last committed row
+     * @return the number of rows skipped
+     */
+    public int skipThrough(int rowNumber) {
+        int skipped = 0;
+        while (hasNext() && next.rowNumber() <= rowNumber) {
+            next = null;
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        next = null;
+        try {
+            resource.close();
+        } catch (IOException e) {
+            log.warn("Error closing row reader: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Wrap an already materialized list of DTOs, numbering rows as if read from a sheet with a header row
+     */
+    public static <T> ExcelRowReader<T> fromList(List<T> data) {
+        Iterator<T> iterator = data.iterator();
+        Iterator<ExcelRow<T>> rows = new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public ExcelRow<T> next() {
+                return ExcelRow.of(index++ + 2, iterator.next());
+            }
+        };
+        return new ExcelRowReader<>(rows, data.size(), () -> { });
+    }
+}
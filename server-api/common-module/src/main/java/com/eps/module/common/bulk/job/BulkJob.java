@@ -0,0 +1,197 @@
+package com.eps.module.common.bulk.job;
+
+import com.eps.module.common.bulk.dto.BulkUploadProgressDto;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A single bulk upload run, identified by a job id that clients use to follow its progress and fetch its errors.
+ * Progress events are broadcast to every attached SSE client; a client that disconnects is dropped without
+ * affecting the job, and can attach again by job id.
+ */
+@Slf4j
+@Getter
+public class BulkJob {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_PROCESSING = "PROCESSING";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private final String id;
+    private final String entityName;
+    private final String fileName;
+    private final Long ownerId;
+    private final String permission;
+    private final BulkUploadMode mode;
+    private final boolean dryRun;
+    private final LocalDateTime createdAt;
+    private final Path uploadFile;
+    private final BulkJobErrorStore errors;
+
+    @Getter(AccessLevel.NONE)
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    @Setter(AccessLevel.PACKAGE)
+    private volatile BulkJobCheckpoint checkpoint;
+    @Setter(AccessLevel.PACKAGE)
+    private volatile String message;
+    private volatile String status = STATUS_PROCESSING;
+    private volatile LocalDateTime finishedAt;
+    private volatile BulkUploadProgressDto lastProgress;
+    @Getter(AccessLevel.NONE)
+    private boolean completed;
+
+    BulkJob(String id, String entityName, String fileName, Long ownerId, String permission, BulkUploadMode mode,
+            boolean dryRun, LocalDateTime createdAt, Path uploadFile, BulkJobErrorStore errors, BulkJobCheckpoint checkpoint) {
+        this.id = id;
+        this.entityName = entityName;
+        this.fileName = fileName;
+        this.ownerId = ownerId;
+        this.permission = permission;
+        this.mode = mode;
+        this.dryRun = dryRun;
+        this.createdAt = createdAt;
+        this.uploadFile = uploadFile;
+        this.errors = errors;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Mark the job as finished with its final status
+     */
+    void finish(String status, LocalDateTime finishedAt) {
+        this.status = status;
+        this.finishedAt = finishedAt;
+    }
+
+    /**
+     * Attach a client to this job's progress. The latest progress is sent straight away;
+     * if the job has already sent its final event the emitter is completed after it.
+     */
+    public synchronized void subscribe(SseEmitter emitter) {
+        subscribers.add(emitter);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+
+        if (!send(emitter, getProgress())) {
+            return;
+        }
+        if (completed) {
+            subscribers.remove(emitter);
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Send a progress event to every attached client, dropping clients that have gone away
+     */
+    public synchronized void publish(BulkUploadProgressDto progress) {
+        this.lastProgress = progress;
+        for (SseEmitter emitter : subscribers) {
+            send(emitter, progress);
+        }
+    }
+
+    /**
+     * Complete every attached client, with an error if the job failed.
+     * Clients attaching later receive the last event and are completed straight away.
+     */
+    public synchronized void completeSubscribers(Throwable failure) {
+        completed = true;
+        for (SseEmitter emitter : subscribers) {
+            subscribers.remove(emitter);
+            if (failure != null) {
+                emitter.completeWithError(failure);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Tell attached clients the job is waiting for the scheduler, at the given 1-based queue position
+     */
+    public void publishQueued(int position) {
+        BulkUploadProgressDto progress = fromCheckpoint(STATUS_QUEUED, String.format("Queued, position %d", position));
+        progress.setQueuePosition(position);
+        publish(progress);
+    }
+
+    /**
+     * Send the job's final state, rebuilt from its checkpoint, to every attached client
+     */
+    public void publishFinished() {
+        publish(fromCheckpoint(status, message));
+    }
+
+    /**
+     * Latest progress of the job, rebuilt from its checkpoint when no event has been sent by this instance
+     */
+    public BulkUploadProgressDto getProgress() {
+        BulkUploadProgressDto progress = lastProgress;
+        return progress != null ? progress : fromCheckpoint(status, message);
+    }
+
+    private BulkUploadProgressDto fromCheckpoint(String status, String message) {
+        BulkJobCheckpoint current = checkpoint;
+        boolean hasErrors = current.errorCount() > 0;
+        return BulkUploadProgressDto.builder()
+                .jobId(id)
+                .status(status)
+                .dryRun(dryRun ? Boolean.TRUE : null)
+                .totalRecords(current.totalRecords())
+                .processedRecords(current.processedRecords())
+                .successCount(current.successCount())
+                .failureCount(current.failureCount())
+                .duplicateCount(current.duplicateCount())
+                .skippedCount(current.skippedCount())
+                .errorCount(current.errorCount())
+                .progressPercentage(current.totalRecords() > 0
+                        ? (current.processedRecords() * 100.0) / current.totalRecords() : 0.0)
+                .message(message)
+                .errorsUrl(hasErrors ? getErrorsUrl() : null)
+                .errorReportUrl(hasErrors && isFinished() ? getErrorReportUrl() : null)
+                .build();
+    }
+
+    /**
+     * Path of the endpoint that pages through this job's errors
+     */
+    public String getErrorsUrl() {
+        return "/api/bulk-jobs/" + id + "/errors";
+    }
+
+    /**
+     * Path of the endpoint that streams this job's errors as an Excel report
+     */
+    public String getErrorReportUrl() {
+        return "/api/bulk-jobs/" + id + "/error-report.xlsx";
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    private boolean send(SseEmitter emitter, BulkUploadProgressDto progress) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("progress")
+                    .data(progress));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping progress subscriber of bulk job {}: {}", id, e.getMessage());
+            subscribers.remove(emitter);
+            return false;
+        }
+    }
+}
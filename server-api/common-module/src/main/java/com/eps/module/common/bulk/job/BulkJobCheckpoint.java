@@ -0,0 +1,15 @@
+package com.eps.module.common.bulk.job;
+
+/**
+ * Progress of a bulk job up to its last committed chunk
+ *
+ * @param lastCommittedRow Row number of the last row whose outcome is committed (0 before the first chunk)
+ * @param totalRecords     Total number of rows, estimated until the file has been read completely
+ * @param errorCount       Number of errors stored for the committed rows
+ */
+public record BulkJobCheckpoint(int lastCommittedRow, int totalRecords, int processedRecords,
+                                int successCount, int failureCount, int duplicateCount, int skippedCount,
+                                int errorCount) {
+
+    public static final BulkJobCheckpoint START = new BulkJobCheckpoint(0, 0, 0, 0, 0, 0, 0, 0);
+}
@@ -0,0 +1,227 @@
+package com.eps.module.common.bulk.job;
+
+import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Errors collected by one bulk job, kept on the server so they do not have to travel over SSE.
+ * Every error is appended to the job's JSON-lines file, indexed by offset so any page can be read
+ * back directly; the first errors are also held in memory. The file outlives a restart, so the
+ * store can be reopened at a job's last checkpoint.
+ */
+@Slf4j
+public class BulkJobErrorStore implements Closeable {
+
+    private final ObjectMapper objectMapper;
+    private final int memoryLimit;
+    private final Path file;
+    private final List<BulkUploadErrorDto> inMemory = new ArrayList<>();
+
+    private OutputStream out;
+    private long[] offsets = new long[64];
+    private long bytes;
+    private int count;
+    private boolean closed;
+
+    private BulkJobErrorStore(ObjectMapper objectMapper, int memoryLimit, Path file) {
+        this.objectMapper = objectMapper;
+        this.memoryLimit = Math.max(memoryLimit, 0);
+        this.file = file;
+    }
+
+    /**
+     * Create an empty store backed by a new file
+     */
+    public static BulkJobErrorStore create(ObjectMapper objectMapper, int memoryLimit, Path file) throws IOException {
+        BulkJobErrorStore store = new BulkJobErrorStore(objectMapper, memoryLimit, file);
+        store.out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+        return store;
+    }
+
+    /**
+     * Reopen the store of an earlier run, keeping only its first {@code keep} errors.
+     * Errors written after the job's last checkpoint are discarded because those rows are processed again.
+     */
+    public static BulkJobErrorStore reopen(ObjectMapper objectMapper, int memoryLimit, Path file, int keep) throws IOException {
+        BulkJobErrorStore store = new BulkJobErrorStore(objectMapper, memoryLimit, file);
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while (store.count < keep && (line = reader.readLine()) != null) {
+                    if (store.inMemory.size() < store.memoryLimit) {
+                        store.inMemory.add(store.readError(line));
+                    }
+                    store.index(line.getBytes(StandardCharsets.UTF_8).length + 1);
+                }
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(store.bytes);
+            }
+        }
+        store.out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE));
+        return store;
+    }
+
+    public synchronized void add(BulkUploadErrorDto error) {
+        if (closed) {
+            return;
+        }
+        try {
+            byte[] line = objectMapper.writeValueAsBytes(error);
+            out.write(line);
+            out.write('\n');
+            index(line.length + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store bulk upload error", e);
+        }
+        if (inMemory.size() < memoryLimit) {
+            inMemory.add(error);
+        }
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Flush buffered errors to the file, before the job records a checkpoint that counts them
+     */
+    public synchronized void sync() {
+        if (closed) {
+            return;
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store bulk upload errors", e);
+        }
+    }
+
+    /**
+     * Read up to {@code limit} errors starting at {@code offset}, in the order they were added
+     */
+    public synchronized List<BulkUploadErrorDto> page(int offset, int limit) {
+        int end = Math.min(count, offset + Math.max(limit, 0));
+        if (offset < 0 || offset >= end) {
+            return List.of();
+        }
+
+        List<BulkUploadErrorDto> page = new ArrayList<>(end - offset);
+        for (int i = offset; i < Math.min(end, inMemory.size()); i++) {
+            page.add(inMemory.get(i));
+        }
+        if (end > inMemory.size()) {
+            readFromFile(Math.max(offset, inMemory.size()), end, page::add);
+        }
+        return page;
+    }
+
+    /**
+     * Stream the errors stored so far in the order they were added.
+     * Errors beyond the in-memory ones are read lazily from disk; close the stream to release the file.
+     */
+    public synchronized Stream<BulkUploadErrorDto> stream() {
+        List<BulkUploadErrorDto> memorySnapshot = List.copyOf(inMemory);
+        if (count == memorySnapshot.size()) {
+            return memorySnapshot.stream();
+        }
+        try {
+            if (!closed) {
+                out.flush();
+            }
+            Stream<BulkUploadErrorDto> rest = Files.lines(file)
+                    .skip(memorySnapshot.size())
+                    .limit(count - memorySnapshot.size())
+                    .map(this::readError);
+            return Stream.concat(memorySnapshot.stream(), rest);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read stored bulk upload errors", e);
+        }
+    }
+
+    /**
+     * Flush and close the file, keeping it on disk. Further errors are ignored.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Could not close bulk error file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Close the store and delete its file. The store is empty afterwards.
+     */
+    public synchronized void delete() {
+        close();
+        inMemory.clear();
+        count = 0;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete bulk error file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void index(int lineLength) {
+        if (count + 1 >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        bytes += lineLength;
+        offsets[++count] = bytes;
+    }
+
+    private BulkUploadErrorDto readError(String line) {
+        try {
+            return objectMapper.readValue(line, BulkUploadErrorDto.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read stored bulk upload error", e);
+        }
+    }
+
+    private void readFromFile(int from, int to, Consumer<BulkUploadErrorDto> action) {
+        try {
+            if (!closed) {
+                out.flush();
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+                raf.seek(offsets[from]);
+                for (int i = from; i < to; i++) {
+                    byte[] line = new byte[(int) (offsets[i + 1] - offsets[i] - 1)];
+                    raf.readFully(line);
+                    raf.skipBytes(1);
+                    action.accept(objectMapper.readValue(line, BulkUploadErrorDto.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read stored bulk upload errors", e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.eps.module.common.bulk.job;
+
+import com.eps.module.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted state of a bulk upload job, updated at every committed chunk so the job can be resumed.
+ * The job's owner is the user recorded as {@code createdBy}.
+ */
+@Entity
+@Table(name = "bulk_jobs", indexes = {
+        @Index(name = "idx_bulk_jobs_status", columnList = "status"),
+        @Index(name = "idx_bulk_jobs_finished_at", columnList = "finished_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkJobRecord extends BaseEntity {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "entity_name", nullable = false, length = 100)
+    private String entityName;
+
+    @Column(nullable = false, length = 30)
+    private String status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private BulkUploadMode mode;
+
+    @Column(name = "dry_run")
+    private Boolean dryRun;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    /**
+     * Permission the upload required, which the owner still needs to read the job; null if it required none
+     */
+    @Column(length = 100)
+    private String permission;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(name = "last_committed_row", nullable = false)
+    private Integer lastCommittedRow;
+
+    @Column(name = "total_records", nullable = false)
+    private Integer totalRecords;
+
+    @Column(name = "processed_records", nullable = false)
+    private Integer processedRecords;
+
+    @Column(name = "success_count", nullable = false)
+    private Integer successCount;
+
+    @Column(name = "failure_count", nullable = false)
+    private Integer failureCount;
+
+    @Column(name = "duplicate_count", nullable = false)
+    private Integer duplicateCount;
+
+    @Column(name = "skipped_count", nullable = false)
+    private Integer skippedCount;
+
+    @Column(name = "error_count", nullable = false)
+    private Integer errorCount;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public BulkJobCheckpoint toCheckpoint() {
+        return new BulkJobCheckpoint(lastCommittedRow, totalRecords, processedRecords,
+                successCount, failureCount, duplicateCount, skippedCount, errorCount);
+    }
+
+    public void applyCheckpoint(BulkJobCheckpoint checkpoint) {
+        this.lastCommittedRow = checkpoint.lastCommittedRow();
+        this.totalRecords = checkpoint.totalRecords();
+        this.processedRecords = checkpoint.processedRecords();
+        this.successCount = checkpoint.successCount();
+        this.failureCount = checkpoint.failureCount();
+        this.duplicateCount = checkpoint.duplicateCount();
+        this.skippedCount = checkpoint.skippedCount();
+        this.errorCount = checkpoint.errorCount();
+    }
+}
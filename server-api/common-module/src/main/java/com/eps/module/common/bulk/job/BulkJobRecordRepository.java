@@ -0,0 +1,16 @@
+package com.eps.module.common.bulk.job;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BulkJobRecordRepository extends JpaRepository<BulkJobRecord, String> {
+
+    List<BulkJobRecord> findByStatusInOrderByCreatedAtAsc(Collection<String> statuses);
+
+    List<BulkJobRecord> findByFinishedAtBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,285 @@
+package com.eps.module.common.bulk.job;
+
+import com.eps.module.common.constant.CommonErrorMessages;
+import com.eps.module.common.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps bulk jobs, their uploaded files and their errors on the server, persisting each job's
+ * status and last committed chunk in the bulk_jobs table. Jobs interrupted by a restart keep their
+ * upload file so they can be resumed; finished jobs stay available for a retention window.
+ * Job files live on local disk, so a job can only be resumed by the instance that started it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkJobRegistry {
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final BulkJobRecordRepository bulkJobRecordRepository;
+    private final AuditorAware<Long> auditorAware;
+    private final Map<String, BulkJob> jobs = new ConcurrentHashMap<>();
+    private final Set<String> startedHere = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean shuttingDown;
+
+    /**
+     * Errors kept in memory per job; all errors are also written to the job's error file
+     */
+    @Value("${bulk.upload.errors-in-memory:500}")
+    private int errorsInMemory;
+
+    /**
+     * How long a finished job and its errors stay available
+     */
+    @Value("${bulk.upload.job-retention:24h}")
+    private Duration retention;
+
+    /**
+     * Directory holding each job's uploaded file and error file
+     */
+    @Value("${bulk.upload.job-dir:${java.io.tmpdir}/bulk-jobs}")
+    private Path jobDir;
+
+    /**
+     * Register a new insert-only job for an upload of the given entity type
+     * @param permission the permission the upload required, null if it required none
+     */
+    @Transactional
+    public BulkJob create(String entityName, String permission, String fileName) throws IOException {
+        return create(entityName, permission, fileName, BulkUploadMode.INSERT);
+    }
+
+    /**
+     * Register a new job for an upload of the given entity type
+     * @param permission the permission the upload required, null if it required none
+     */
+    @Transactional
+    public BulkJob create(String entityName, String permission, String fileName, BulkUploadMode mode) throws IOException {
+        return create(entityName, permission, fileName, mode, false);
+    }
+
+    /**
+     * Register a new job for an upload of the given entity type; a dry-run job only validates the file.
+     * The current user becomes the job's owner; only the owner, still holding the permission the upload required,
+     * and administrators can read the job. The caller stores the uploaded file at {@link BulkJob#getUploadFile()}.
+     * @param permission the permission the upload required, null if it required none
+     */
+    @Transactional
+    public BulkJob create(String entityName, String permission, String fileName, BulkUploadMode mode, boolean dryRun)
+            throws IOException {
+        purgeExpired();
+        Files.createDirectories(jobDir);
+
+        String id = UUID.randomUUID().toString();
+        Long ownerId = auditorAware.getCurrentAuditor().orElse(null);
+        BulkJob job = new BulkJob(id, entityName, fileName, ownerId, permission, mode, dryRun, LocalDateTime.now(),
+                uploadFile(id), BulkJobErrorStore.create(objectMapper, errorsInMemory, errorFile(id)), BulkJobCheckpoint.START);
+
+        BulkJobRecord record = BulkJobRecord.builder()
+                .id(id)
+                .entityName(entityName)
+                .status(job.getStatus())
+                .mode(mode)
+                .dryRun(dryRun)
+                .fileName(fileName)
+                .permission(permission)
+                .build();
+        record.setCreatedBy(ownerId);
+        record.applyCheckpoint(BulkJobCheckpoint.START);
+        bulkJobRecordRepository.save(record);
+
+        jobs.put(id, job);
+        startedHere.add(id);
+        log.info("Created {} {} for {}", dryRun ? "dry-run bulk job" : "bulk job", id, entityName);
+        return job;
+    }
+
+    /**
+     * Find a job by id, loading it from the database if it was started before the last restart.
+     * A job found expired in the database is purged on the way, files included; the purge is committed
+     * even though the job is then reported as not found.
+     */
+    @Transactional(noRollbackFor = ResourceNotFoundException.class)
+    public BulkJob get(String jobId) {
+        evictExpired();
+        BulkJob job = jobs.get(jobId);
+        if (job != null) {
+            return job;
+        }
+
+        BulkJobRecord record = bulkJobRecordRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException(String.format(CommonErrorMessages.BULK_JOB_NOT_FOUND, jobId)));
+        if (record.getFinishedAt() != null && isExpired(record.getFinishedAt())) {
+            purge(record);
+            throw new ResourceNotFoundException(String.format(CommonErrorMessages.BULK_JOB_NOT_FOUND, jobId));
+        }
+        return jobs.computeIfAbsent(jobId, id -> load(record));
+    }
+
+    /**
+     * Load the jobs that were still processing or queued when this instance last stopped, oldest first,
+     * marking them as started here
+     */
+    @Transactional(readOnly = true)
+    public List<BulkJob> loadInterrupted() {
+        return bulkJobRecordRepository.findByStatusInOrderByCreatedAtAsc(List.of(BulkJob.STATUS_PROCESSING)).stream()
+                .filter(record -> startedHere.add(record.getId()))
+                .map(record -> jobs.computeIfAbsent(record.getId(), id -> load(record)))
+                .toList();
+    }
+
+    /**
+     * Record that every row up to the checkpoint is committed.
+     * Joins the caller's transaction, so a chunk and its checkpoint can be committed together.
+     */
+    @Transactional
+    public void checkpoint(BulkJob job, BulkJobCheckpoint checkpoint) {
+        job.getErrors().sync();
+        findRecord(job.getId()).applyCheckpoint(checkpoint);
+        job.setCheckpoint(checkpoint);
+    }
+
+    /**
+     * Mark the job as finished and delete its uploaded file once that is committed.
+     * A job failing because the application is shutting down is left processing so it is resumed on restart.
+     */
+    @Transactional
+    public void finish(BulkJob job, String status, String message, BulkJobCheckpoint checkpoint) {
+        if (shuttingDown && BulkJob.STATUS_FAILED.equals(status)) {
+            log.info("Bulk job {} interrupted by shutdown at row {}, leaving it to resume",
+                    job.getId(), job.getCheckpoint().lastCommittedRow());
+            return;
+        }
+
+        job.getErrors().close();
+        LocalDateTime finishedAt = LocalDateTime.now();
+
+        BulkJobRecord record = findRecord(job.getId());
+        record.applyCheckpoint(checkpoint);
+        record.setStatus(status);
+        record.setMessage(message != null && message.length() > MAX_MESSAGE_LENGTH
+                ? message.substring(0, MAX_MESSAGE_LENGTH) : message);
+        record.setFinishedAt(finishedAt);
+
+        job.setCheckpoint(checkpoint);
+        job.setMessage(message);
+        job.finish(status, finishedAt);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteQuietly(job.getUploadFile());
+            }
+        });
+    }
+
+    /**
+     * Drop finished jobs older than the retention window, deleting their files
+     */
+    @Transactional
+    public void purgeExpired() {
+        evictExpired();
+        for (BulkJobRecord record : bulkJobRecordRepository.findByFinishedAtBefore(LocalDateTime.now().minus(retention))) {
+            purge(record);
+        }
+    }
+
+    /**
+     * Delete an expired job's files and record
+     */
+    private void purge(BulkJobRecord record) {
+        deleteQuietly(errorFile(record.getId()));
+        deleteQuietly(uploadFile(record.getId()));
+        bulkJobRecordRepository.delete(record);
+        log.debug("Purged bulk job {}", record.getId());
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void onShutdown() {
+        shuttingDown = true;
+    }
+
+    private void evictExpired() {
+        jobs.values().removeIf(job -> {
+            if (job.isFinished() && isExpired(job.getFinishedAt())) {
+                job.getErrors().delete();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private boolean isExpired(LocalDateTime finishedAt) {
+        return finishedAt.isBefore(LocalDateTime.now().minus(retention));
+    }
+
+    /**
+     * Rebuild a job from its record, keeping only the errors counted by its last checkpoint
+     */
+    private BulkJob load(BulkJobRecord record) {
+        BulkJobCheckpoint checkpoint = record.toCheckpoint();
+        try {
+            BulkJobErrorStore errors = BulkJobErrorStore.reopen(objectMapper, errorsInMemory,
+                    errorFile(record.getId()), checkpoint.errorCount());
+            BulkUploadMode mode = record.getMode() != null ? record.getMode() : BulkUploadMode.INSERT;
+            BulkJob job = new BulkJob(record.getId(), record.getEntityName(), record.getFileName(), record.getCreatedBy(),
+                    record.getPermission(), mode, Boolean.TRUE.equals(record.getDryRun()), record.getCreatedAt(),
+                    uploadFile(record.getId()), errors, checkpoint);
+            job.setMessage(record.getMessage());
+            if (record.getFinishedAt() != null) {
+                errors.close();
+                job.finish(record.getStatus(), record.getFinishedAt());
+                job.completeSubscribers(null);
+            }
+            return job;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load bulk job " + record.getId(), e);
+        }
+    }
+
+    private BulkJobRecord findRecord(String jobId) {
+        return bulkJobRecordRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException(String.format(CommonErrorMessages.BULK_JOB_NOT_FOUND, jobId)));
+    }
+
+    private Path uploadFile(String jobId) {
+        return jobDir.resolve(jobId + ".upload");
+    }
+
+    private Path errorFile(String jobId) {
+        return jobDir.resolve(jobId + ".errors.jsonl");
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete bulk job file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.eps.module.common.bulk.job;
+
+import com.eps.module.common.bulk.service.BulkUploadService;
+import com.eps.module.common.security.UserAuthenticationLoader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resumes bulk jobs that were still processing when the application stopped.
+ * Each job continues after its last committed chunk, as its owner, so the rows it saves are audited
+ * as theirs; jobs whose upload file is gone, whose entity type has no bulk upload service,
+ * or whose owner is no longer active, are marked as failed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkJobResumer {
+
+    private final BulkJobRegistry bulkJobRegistry;
+    private final List<BulkUploadService<?, ?>> bulkUploadServices;
+    private final UserAuthenticationLoader userAuthenticationLoader;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        List<BulkJob> interrupted = bulkJobRegistry.loadInterrupted();
+        if (interrupted.isEmpty()) {
+            return;
+        }
+        log.info("Resuming {} interrupted bulk jobs", interrupted.size());
+
+        for (BulkJob job : interrupted) {
+            // A dry run answers the request that started it, so there is nobody left to resume it for
+            if (job.isDryRun()) {
+                fail(job, "Validation was interrupted by a restart");
+                continue;
+            }
+
+            Optional<BulkUploadService<?, ?>> service = bulkUploadServices.stream()
+                    .filter(candidate -> candidate.getEntityName().equals(job.getEntityName()))
+                    .findFirst();
+
+            if (service.isEmpty() || !Files.exists(job.getUploadFile())) {
+                log.warn("Bulk job {} for {} cannot be resumed", job.getId(), job.getEntityName());
+                fail(job, "Upload was interrupted by a restart and cannot be resumed");
+                continue;
+            }
+
+            Optional<Authentication> owner = userAuthenticationLoader.load(job.getOwnerId());
+            if (owner.isEmpty()) {
+                log.warn("Bulk job {} for {} cannot be resumed: owner {} is not an active user",
+                        job.getId(), job.getEntityName(), job.getOwnerId());
+                fail(job, "Upload was interrupted by a restart and cannot be resumed for an inactive user");
+                continue;
+            }
+
+            // The scheduler runs the job with the security context it is submitted with
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(owner.get());
+            SecurityContextHolder.setContext(context);
+            try {
+                service.get().resumeBulkUpload(job);
+            } catch (Exception e) {
+                log.error("Could not resume bulk job {}: {}", job.getId(), e.getMessage(), e);
+                fail(job, "Upload could not be resumed: " + e.getMessage());
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+    }
+
+    private void fail(BulkJob job, String message) {
+        bulkJobRegistry.finish(job, BulkJob.STATUS_FAILED, message, job.getCheckpoint());
+        job.completeSubscribers(null);
+    }
+}
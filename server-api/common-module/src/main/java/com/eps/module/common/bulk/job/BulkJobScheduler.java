@@ -0,0 +1,247 @@
+package com.eps.module.common.bulk.job;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for bulk jobs. Jobs run on the task executor only while global and per-entity
+ * permits are available; the rest wait in arrival order and are told their queue position.
+ * Running jobs share a budget of pool connections, the pool less a share kept free for interactive requests,
+ * and each job is charged the connections it holds at peak: its chunk transaction plus one per row an upload
+ * validates in parallel, or one per row a dry run validates in parallel. A job that does not fit waits,
+ * and so do the jobs queued behind it, so that a wide job is not overtaken indefinitely by narrow ones.
+ * Dry runs count against the budget and the global limit but take no per-entity permit, since they write nothing.
+ */
+@Slf4j
+@Component
+public class BulkJobScheduler {
+
+    private final Executor taskExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final List<QueuedJob> queue = new LinkedList<>();
+    private final Map<String, Integer> runningPerEntity = new HashMap<>();
+    private int running;
+    private int connectionBudget;
+    private int usedConnections;
+
+    /**
+     * Upper bound on bulk jobs running at once, whatever the pool size
+     */
+    @Value("${bulk.scheduler.max-concurrent-jobs:3}")
+    private int maxConcurrentJobs;
+
+    /**
+     * Bulk jobs of the same entity type running at once; uploads of one type compete for the same keys
+     */
+    @Value("${bulk.scheduler.max-concurrent-jobs-per-entity:1}")
+    private int maxConcurrentJobsPerEntity;
+
+    /**
+     * Pool connections kept free for interactive requests
+     */
+    @Value("${bulk.scheduler.reserved-connections:4}")
+    private int reservedConnections;
+
+    /**
+     * Rows an upload validates in parallel, each of which may hold a connection for its lookups
+     */
+    @Value("${bulk.upload.validation-concurrency:1}")
+    private int validationConcurrency;
+
+    /**
+     * Rows a dry run validates in parallel
+     */
+    @Value("${bulk.upload.dry-run-concurrency:4}")
+    private int dryRunConcurrency;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    public BulkJobScheduler(@Qualifier("taskExecutor") Executor taskExecutor, MeterRegistry meterRegistry) {
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        connectionBudget = Math.max(1, poolSize - reservedConnections);
+        log.info("Bulk job scheduler allows {} concurrent jobs ({} per entity) within {} of {} connections, "
+                        + "charging {} connections per upload and {} per dry run",
+                maxConcurrentJobs, maxConcurrentJobsPerEntity, connectionBudget, poolSize,
+                connectionsOf(false), connectionsOf(true));
+
+        Gauge.builder("bulk.jobs.queued", this, BulkJobScheduler::getQueuedCount)
+                .description("Bulk jobs waiting for a permit")
+                .register(meterRegistry);
+        Gauge.builder("bulk.jobs.running", this, BulkJobScheduler::getRunningCount)
+                .description("Bulk jobs currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the job's task as soon as permits allow. Runs with the caller's security context.
+     */
+    public void submit(BulkJob job, Runnable task) {
+        submit(job, task, () -> { });
+    }
+
+    /**
+     * Run the job's task as soon as permits allow and wait for its result, e.g. to answer a dry run's request.
+     * Runs with the caller's security context.
+     * @throws IllegalStateException if the job cannot be started because the application is shutting down
+     */
+    public <R> R call(BulkJob job, Supplier<R> task) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        submit(job, () -> {
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        }, () -> result.completeExceptionally(new IllegalStateException("Bulk job " + job.getId() + " could not be started")));
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void submit(BulkJob job, Runnable task, Runnable onRejected) {
+        QueuedJob queued = new QueuedJob(job,
+                DelegatingSecurityContextRunnable.create(task, SecurityContextHolder.getContext()), onRejected, System.nanoTime());
+        List<QueuedJob> waiting;
+        synchronized (this) {
+            queue.add(queued);
+            waiting = dispatch();
+        }
+        if (waiting.contains(queued)) {
+            log.info("Bulk job {} for {} queued at position {}", job.getId(), job.getEntityName(), waiting.indexOf(queued) + 1);
+        }
+        notifyPositions(waiting);
+    }
+
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    private void release(BulkJob job) {
+        List<QueuedJob> waiting;
+        synchronized (this) {
+            running--;
+            usedConnections -= connectionsOf(job.isDryRun());
+            if (!job.isDryRun()) {
+                runningPerEntity.merge(job.getEntityName(), -1, Integer::sum);
+            }
+            waiting = dispatch();
+        }
+        notifyPositions(waiting);
+    }
+
+    /**
+     * Start queued jobs oldest first while permits and connections last. A job whose entity is at its limit
+     * keeps its place without holding up jobs of other entities behind it; a job whose connections
+     * are not free holds up every job behind it.
+     * @return the jobs still waiting, in queue order
+     */
+    private List<QueuedJob> dispatch() {
+        Iterator<QueuedJob> iterator = queue.iterator();
+        while (running < maxConcurrentJobs && iterator.hasNext()) {
+            QueuedJob next = iterator.next();
+            String entityName = next.job().getEntityName();
+            if (!next.job().isDryRun() && runningPerEntity.getOrDefault(entityName, 0) >= maxConcurrentJobsPerEntity) {
+                continue;
+            }
+            if (usedConnections + connectionsOf(next.job().isDryRun()) > connectionBudget) {
+                break;
+            }
+            iterator.remove();
+            start(next);
+        }
+        return List.copyOf(queue);
+    }
+
+    private void start(QueuedJob queued) {
+        BulkJob job = queued.job();
+        String entityName = job.getEntityName();
+        long waitedNanos = System.nanoTime() - queued.enqueuedNanos();
+        Timer.builder("bulk.jobs.queue.wait")
+                .description("Time bulk jobs wait for a permit")
+                .tag("entity", entityName)
+                .register(meterRegistry)
+                .record(waitedNanos, TimeUnit.NANOSECONDS);
+
+        running++;
+        usedConnections += connectionsOf(job.isDryRun());
+        if (!job.isDryRun()) {
+            runningPerEntity.merge(entityName, 1, Integer::sum);
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    queued.task().run();
+                } finally {
+                    release(job);
+                }
+            });
+            log.debug("Started bulk job {} after waiting {} ms", job.getId(), TimeUnit.NANOSECONDS.toMillis(waitedNanos));
+        } catch (RejectedExecutionException e) {
+            // Only happens while shutting down; the job is still processing in the database and resumes on restart
+            running--;
+            usedConnections -= connectionsOf(job.isDryRun());
+            if (!job.isDryRun()) {
+                runningPerEntity.merge(entityName, -1, Integer::sum);
+            }
+            log.warn("Could not start bulk job {}: {}", job.getId(), e.getMessage());
+            queued.onRejected().run();
+        }
+    }
+
+    /**
+     * Connections a job holds at peak: an upload's chunk transaction plus one per row validated in parallel,
+     * or one per row a dry run validates in parallel. Capped at the budget so that any job can run alone.
+     */
+    private int connectionsOf(boolean dryRun) {
+        int connections = dryRun ? Math.max(dryRunConcurrency, 1) : 1 + Math.max(validationConcurrency, 1);
+        return Math.min(connections, connectionBudget);
+    }
+
+    private void notifyPositions(List<QueuedJob> waiting) {
+        for (int i = 0; i < waiting.size(); i++) {
+            waiting.get(i).job().publishQueued(i + 1);
+        }
+    }
+
+    private record QueuedJob(BulkJob job, Runnable task, Runnable onRejected, long enqueuedNanos) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.eps.module.common.bulk.job;
+
+/**
+ * How a bulk upload treats rows whose natural key already exists
+ */
+public enum BulkUploadMode {
+
+    /**
+     * Existing records are reported as duplicates and left unchanged
+     */
+    INSERT,
+
+    /**
+     * Existing records are updated from the row; blank cells keep the stored value
+     */
+    UPSERT
+}
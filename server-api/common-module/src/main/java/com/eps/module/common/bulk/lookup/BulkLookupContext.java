@@ -0,0 +1,204 @@
+package com.eps.module.common.bulk.lookup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Per-upload cache of reference data shared by a bulk validator and its processor.
+ * Lookups are registered once with a loader that resolves many keys in a single IN query;
+ * distinct keys of a chunk are then prefetched together and served from memory.
+ * Misses are remembered too, so a missing reference is only queried once per upload.
+ * Records saved by the upload can be remembered as well, so later lookups of them need no query;
+ * a workbook import shares one context between its sheets this way.
+ * Safe to use from several threads.
+ */
+public class BulkLookupContext {
+
+    /**
+     * Upper bound for the number of keys bound to a single IN query
+     */
+    private static final int MAX_KEYS_PER_QUERY = 1000;
+
+    private final Map<Key<?>, Lookup<?>> lookups = new ConcurrentHashMap<>();
+    private final Map<Key<?>, Map<String, Object>> remembered = new ConcurrentHashMap<>();
+    private volatile boolean upsert;
+
+    /**
+     * Whether rows matching an existing record by natural key update it instead of being rejected.
+     * Validators use this to accept values that already belong to the record being updated.
+     */
+    public boolean isUpsert() {
+        return upsert;
+    }
+
+    public void setUpsert(boolean upsert) {
+        this.upsert = upsert;
+    }
+
+    /**
+     * Register the loader for a lookup. Has no effect if the key is already registered.
+     * @param key          The lookup key
+     * @param loader       Loads all entities matching the given normalized keys
+     * @param keyExtractor Extracts the lookup value from a loaded entity
+     */
+    @SuppressWarnings("unchecked")
+    public <V> void register(Key<V> key, Function<Collection<String>, Collection<V>> loader, Function<V, String> keyExtractor) {
+        lookups.computeIfAbsent(key, k -> {
+            Lookup<V> lookup = new Lookup<>(key, loader, keyExtractor);
+            Map<String, Object> saved = remembered.remove(key);
+            if (saved != null) {
+                saved.forEach((normalized, value) -> lookup.put(normalized, (V) value));
+            }
+            return lookup;
+        });
+    }
+
+    /**
+     * Make a record saved during the upload resolvable by value without a query.
+     * Works whether or not the lookup has been registered yet.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> void remember(Key<V> key, String value, V entity) {
+        String normalized = key.normalize(value);
+        if (normalized == null) {
+            return;
+        }
+        Lookup<V> lookup = (Lookup<V>) lookups.get(key);
+        if (lookup != null) {
+            lookup.put(normalized, entity);
+        } else {
+            remembered.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(normalized, entity);
+        }
+    }
+
+    /**
+     * Resolve all values not yet known to this context with as few queries as possible
+     */
+    public <V> void prefetch(Key<V> key, Collection<String> values) {
+        lookup(key).load(values);
+    }
+
+    /**
+     * Resolve the values read from each row by the given getter
+     */
+    public <V, R> void prefetch(Key<V> key, Collection<R> rows, Function<R, String> valueGetter) {
+        List<String> values = new ArrayList<>(rows.size());
+        for (R row : rows) {
+            values.add(valueGetter.apply(row));
+        }
+        prefetch(key, values);
+    }
+
+    /**
+     * Find a reference by value, loading it on demand if it was not prefetched
+     */
+    public <V> Optional<V> find(Key<V> key, String value) {
+        Lookup<V> lookup = lookup(key);
+        String normalized = key.normalize(value);
+        if (normalized == null) {
+            return Optional.empty();
+        }
+        if (!lookup.resolved.contains(normalized)) {
+            lookup.load(List.of(value));
+        }
+        return Optional.ofNullable(lookup.hits.get(normalized));
+    }
+
+    public boolean contains(Key<?> key, String value) {
+        return find(key, value).isPresent();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> Lookup<V> lookup(Key<V> key) {
+        Lookup<V> lookup = (Lookup<V>) lookups.get(key);
+        if (lookup == null) {
+            throw new IllegalStateException("No loader registered for lookup: " + key.name());
+        }
+        return lookup;
+    }
+
+    /**
+     * Typed lookup key. Case-insensitive keys are lower-cased before they reach the loader,
+     * so loaders for them should compare against LOWER(column).
+     */
+    public record Key<V>(String name, boolean ignoreCase) {
+
+        public static <V> Key<V> ignoreCase(String name) {
+            return new Key<>(name, true);
+        }
+
+        public static <V> Key<V> exact(String name) {
+            return new Key<>(name, false);
+        }
+
+        String normalize(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return null;
+            }
+            String trimmed = value.trim();
+            return ignoreCase ? trimmed.toLowerCase(Locale.ROOT) : trimmed;
+        }
+    }
+
+    private static final class Lookup<V> {
+        private final Key<V> key;
+        private final Function<Collection<String>, Collection<V>> loader;
+        private final Function<V, String> keyExtractor;
+        private final Map<String, V> hits = new ConcurrentHashMap<>();
+        private final Set<String> resolved = ConcurrentHashMap.newKeySet();
+
+        private Lookup(Key<V> key, Function<Collection<String>, Collection<V>> loader, Function<V, String> keyExtractor) {
+            this.key = key;
+            this.loader = loader;
+            this.keyExtractor = keyExtractor;
+        }
+
+        private void put(String normalized, V value) {
+            hits.put(normalized, value);
+            resolved.add(normalized);
+        }
+
+        private void load(Collection<String> values) {
+            Set<String> pending = new LinkedHashSet<>();
+            for (String value : values) {
+                String normalized = key.normalize(value);
+                if (normalized != null && !resolved.contains(normalized)) {
+                    pending.add(normalized);
+                }
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            List<String> batch = new ArrayList<>(Math.min(pending.size(), MAX_KEYS_PER_QUERY));
+            for (String normalized : pending) {
+                batch.add(normalized);
+                if (batch.size() == MAX_KEYS_PER_QUERY) {
+                    loadBatch(batch);
+                    batch = new ArrayList<>(MAX_KEYS_PER_QUERY);
+                }
+            }
+            if (!batch.isEmpty()) {
+                loadBatch(batch);
+            }
+        }
+
+        private void loadBatch(List<String> batch) {
+            for (V entity : loader.apply(batch)) {
+                String normalized = key.normalize(keyExtractor.apply(entity));
+                if (normalized != null) {
+                    hits.putIfAbsent(normalized, entity);
+                }
+            }
+            resolved.addAll(batch);
+        }
+    }
+}
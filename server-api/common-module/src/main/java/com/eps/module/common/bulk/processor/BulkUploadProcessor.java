@@ -2,22 +2,49 @@ package com.eps.module.common.bulk.processor;
 
 import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
 import com.eps.module.common.bulk.dto.BulkUploadProgressDto;
-import com.eps.module.common.bulk.dto.BulkUploadResultDto;
+import com.eps.module.common.bulk.excel.ExcelRow;
+import com.eps.module.common.bulk.excel.ExcelRowReader;
+import com.eps.module.common.bulk.job.BulkJob;
+import com.eps.module.common.bulk.job.BulkJobCheckpoint;
+import com.eps.module.common.bulk.job.BulkJobErrorStore;
+import com.eps.module.common.bulk.job.BulkJobRegistry;
+import com.eps.module.common.bulk.job.BulkJobScheduler;
+import com.eps.module.common.bulk.job.BulkUploadMode;
+import com.eps.module.common.bulk.lookup.BulkLookupContext;
+import com.eps.module.common.bulk.staging.BulkStagingWriter;
+import com.eps.module.common.bulk.staging.StagingTable;
 import com.eps.module.common.bulk.validator.BulkRowValidator;
+import com.eps.module.common.constant.CommonErrorMessages;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * Generic processor for handling bulk uploads with SSE progress tracking
- * Uses Virtual Threads (Java 21+) for efficient concurrent processing
+ * Jobs are admitted by the BulkJobScheduler and run on Virtual Threads (Java 21+)
  * @param <T> The DTO type for row data
  * @param <E> The Entity type to persist
  */
@@ -26,157 +53,643 @@ public abstract class BulkUploadProcessor<T, E> {
     
     private static final long SSE_TIMEOUT = 30 * 60 * 1000L; // 30 minutes
     
+    /**
+     * Chunks that may be read and validated ahead of the chunk currently being persisted
+     */
+    private static final int MAX_CHUNKS_IN_FLIGHT = 2;
+    
+    /**
+     * Errors returned inline with a dry-run result; the rest are paged from the job
+     */
+    private static final int DRY_RUN_ERROR_PAGE_SIZE = 100;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private BulkJobRegistry bulkJobRegistry;
+    
+    @Autowired
+    private BulkJobScheduler bulkJobScheduler;
+
+    @Autowired
+    private BulkStagingWriter bulkStagingWriter;
+    
+    /**
+     * Number of rows read, validated and persisted together
+     * In chunked persistence mode each chunk is saved in a single transaction
+     */
+    @Value("${bulk.upload.chunk-size:200}")
+    private int chunkSize;
+    
+    /**
+     * Maximum number of rows validated at the same time
+     * With 1, rows are validated inline, one after the other, exactly as they are persisted
+     */
+    @Value("${bulk.upload.validation-concurrency:1}")
+    private int validationConcurrency;
+    
+    /**
+     * Minimum time between two progress events
+     */
+    @Value("${bulk.upload.progress-interval-ms:250}")
+    private long progressIntervalMs;
+    
+    /**
+     * Maximum number of rows validated at the same time during a dry run
+     */
+    @Value("${bulk.upload.dry-run-concurrency:4}")
+    private int dryRunConcurrency;
+    
     /**
      * Process the bulk upload with SSE progress updates
-     * Runs asynchronously using virtual threads for better performance
-     */
-    @Async("taskExecutor")
-    public void processBulkUpload(List<T> rowDataList, SseEmitter emitter) {
-        List<BulkUploadErrorDto> errors = new ArrayList<>();
-        AtomicInteger processedCount = new AtomicInteger(0);
-        AtomicInteger successCount = new AtomicInteger(0);
-        AtomicInteger failureCount = new AtomicInteger(0);
-        AtomicInteger duplicateCount = new AtomicInteger(0);
-        AtomicInteger skippedCount = new AtomicInteger(0);
-        
-        int totalRecords = rowDataList.size();
-        
-        try {
-            // Send initial progress
-            sendProgress(emitter, "PROCESSING", totalRecords, 0, 0, 0, 0, 0, "Starting bulk upload...", null);
-            
+     * Queued with the bulk job scheduler, then run on virtual threads
+     */
+    public void processBulkUpload(BulkJob job, List<T> rowDataList, SseEmitter emitter) {
+        processBulkUpload(job, ExcelRowReader.fromList(rowDataList), emitter);
+    }
+    
+    /**
+     * Process a streamed bulk upload with SSE progress updates
+     * Rows are pulled from the reader in bounded chunks, so memory use does not grow with file size.
+     * The job waits in the scheduler queue until a permit is free; the emitter is told its position meanwhile.
+     */
+    public void processBulkUpload(BulkJob job, ExcelRowReader<T> reader, SseEmitter emitter) {
+        bulkJobScheduler.submit(job, () -> processRows(job, reader));
+        job.subscribe(emitter);
+    }
+    
+    /**
+     * Resume a job interrupted by a restart, reading from the row after its last checkpoint.
+     * Progress is broadcast to clients that attach to the job by id.
+     */
+    public void resumeBulkUpload(BulkJob job, ExcelRowReader<T> reader) {
+        bulkJobScheduler.submit(job, () -> processRows(job, reader));
+    }
+    
+    /**
+     * Validate every row of a dry-run job without persisting anything, closing the reader when done.
+     * The dry run waits for a permit from the bulk job scheduler like an upload, while the caller waits for its result.
+     * Rows go through the same parse, validation and duplicate checks as an upload; each chunk's reference data
+     * and existing keys are loaded in one read-only transaction and its rows are validated in parallel.
+     * Rows that pass are counted as successes; failures that would only occur on conversion or save are not detected.
+     * @return the final counts, with the first page of errors
+     */
+    public BulkUploadProgressDto validateUpload(BulkJob job, ExcelRowReader<T> reader) {
+        return bulkJobScheduler.call(job, () -> validateRows(job, reader));
+    }
+    
+    private BulkUploadProgressDto validateRows(BulkJob job, ExcelRowReader<T> reader) {
+        UploadState state = new UploadState(job, new BulkLookupContext(), null);
+        String status;
+        String message;
+        long startNanos = System.nanoTime();
+    
+        TransactionTemplate readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Semaphore permits = new Semaphore(Math.max(dryRunConcurrency, 1));
+        Deque<PendingChunk<T>> inFlight = new ArrayDeque<>(MAX_CHUNKS_IN_FLIGHT);
+    
+        try (reader) {
             BulkRowValidator<T> validator = getValidator();
-            
-            for (int i = 0; i < rowDataList.size(); i++) {
-                T rowData = rowDataList.get(i);
-                int rowNumber = i + 2; // +2 because row 1 is header and arrays are 0-indexed
-                
-                try {
-                    // Check if this is an empty row first
-                    boolean isEmptyRow = isEmptyRow(rowData);
-                    
-                    if (isEmptyRow) {
-                        // Skip empty rows silently - don't count as anything
-                        processedCount.incrementAndGet();
-                        continue;
-                    }
-                    
-                    // Validate the row
-                    List<BulkUploadErrorDto> rowErrors = validator.validate(rowData, rowNumber);
-                    
-                    if (!rowErrors.isEmpty()) {
-                        // Combine all validation errors for this row into a single error message
-                        String combinedMessage = rowErrors.stream()
-                                .map(BulkUploadErrorDto::getErrorMessage)
-                                .collect(Collectors.joining("; "));
-                        
-                        // Create a single error entry for all validation errors
-                        BulkUploadErrorDto combinedError = BulkUploadErrorDto.builder()
-                                .rowNumber(rowNumber)
-                                .errorMessage(combinedMessage)
-                                .errorType("VALIDATION")
-                                .rowData(getRowDataAsMap(rowData))
-                                .build();
-                        
-                        errors.add(combinedError);
-                        failureCount.incrementAndGet();
-                        skippedCount.incrementAndGet();
-                    } else if (validator.isDuplicate(rowData)) {
-                        errors.add(BulkUploadErrorDto.builder()
-                                .rowNumber(rowNumber)
-                                .errorMessage("Duplicate record found")
-                                .errorType("DUPLICATE")
-                                .rowData(getRowDataAsMap(rowData))
-                                .build());
-                        duplicateCount.incrementAndGet();
-                        skippedCount.incrementAndGet();
-                    } else {
-                        // Convert DTO to Entity and save
-                        E entity = convertToEntity(rowData);
-                        saveEntity(entity);
-                        successCount.incrementAndGet();
+            while (reader.hasNext() || !inFlight.isEmpty()) {
+                while (inFlight.size() < MAX_CHUNKS_IN_FLIGHT && reader.hasNext()) {
+                    PendingChunk<T> chunk = readOnlyTemplate.execute(tx -> readChunk(reader, validator, state));
+                    inFlight.add(submitValidation(chunk, validator, state.lookups, executor, permits));
+                }
+                PendingChunk<T> chunk = inFlight.poll();
+                for (int i = 0; i < chunk.rows().size(); i++) {
+                    ExcelRow<T> row = chunk.rows().get(i);
+                    try {
+                        if (checkRow(chunk, i, validator, state)) {
+                            state.successCount.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        recordRowError(row.rowNumber(), row.data(), e, state);
                     }
-                } catch (Exception e) {
-                    log.error("Error processing row {}: {}", rowNumber, e.getMessage(), e);
-                    errors.add(BulkUploadErrorDto.builder()
-                            .rowNumber(rowNumber)
-                            .errorMessage("Error: " + e.getMessage())
-                            .errorType("ERROR")
-                            .rowData(getRowDataAsMap(rowData))
-                            .build());
-                    failureCount.incrementAndGet();
-                    skippedCount.incrementAndGet();
                 }
-                
-                processedCount.incrementAndGet();
-                
-                // Send progress update every 10 records or on last record
-                if (processedCount.get() % 10 == 0 || processedCount.get() == totalRecords) {
-                    double progress = (processedCount.get() * 100.0) / totalRecords;
-                    sendProgress(emitter, "PROCESSING", totalRecords, processedCount.get(), 
-                            successCount.get(), failureCount.get(), duplicateCount.get(), skippedCount.get(),
-                            String.format("Processing... %d/%d records", processedCount.get(), totalRecords),
-                            null);
+                state.processedCount.addAndGet(chunk.rows().size());
+            }
+    
+            status = state.failureCount.get() > 0 || state.duplicateCount.get() > 0 ? "COMPLETED_WITH_ERRORS" : "COMPLETED";
+            message = String.format("Validation completed. Valid: %d, Failed: %d, Duplicates: %d, Skipped: %d",
+                    state.successCount.get(), state.failureCount.get(), state.duplicateCount.get(), state.skippedCount.get());
+            log.info("Dry run {} validated {} rows in {} ms - Status: {}, Valid: {}, Failed: {}, Duplicates: {}",
+                    job.getId(), state.processedCount.get(), (System.nanoTime() - startNanos) / 1_000_000, status,
+                    state.successCount.get(), state.failureCount.get(), state.duplicateCount.get());
+        } catch (Exception e) {
+            log.error("Fatal error during dry run {}: {}", job.getId(), e.getMessage(), e);
+            status = BulkJob.STATUS_FAILED;
+            message = "Validation failed: " + e.getMessage();
+        } finally {
+            executor.shutdownNow();
+        }
+    
+        int totalRecords = state.processedCount.get();
+        bulkJobRegistry.finish(job, status, message, snapshot(state, totalRecords, 0, 0));
+        sendProgress(state, status, totalRecords, message);
+        job.completeSubscribers(null);
+    
+        BulkUploadProgressDto result = buildProgress(state, status, totalRecords, message);
+        result.setErrors(state.errors.page(0, DRY_RUN_ERROR_PAGE_SIZE));
+        return result;
+    }
+    
+    /**
+     * Consume rows from the reader chunk by chunk, closing the reader when done.
+     * Errors are collected in the job's error store; progress events only carry counters.
+     * Each persisted chunk is checkpointed, so the job can be resumed after its last committed row.
+     */
+    protected void processRows(BulkJob job, ExcelRowReader<T> reader) {
+        UploadState state = new UploadState(job, new BulkLookupContext(), null);
+        int resumeAfterRow = state.lastCommittedRow;
+    
+        // Total is an estimate while streaming; it is replaced by the exact count once the file is exhausted
+        int totalRecords = Math.max(reader.getEstimatedRowCount(), job.getCheckpoint().totalRecords());
+        String status;
+        String message;
+        Exception failure = null;
+    
+        try (reader) {
+            // Send initial progress
+            sendProgress(state, "PROCESSING", totalRecords, resumeAfterRow > 0
+                    ? String.format("Resuming bulk upload after row %d...", resumeAfterRow)
+                    : "Starting bulk upload...");
+    
+            processAll(reader, state, totalRecords);
+            totalRecords = state.processedCount.get();
+    
+            status = state.failureCount.get() > 0 || state.duplicateCount.get() > 0 ? "COMPLETED_WITH_ERRORS" : "COMPLETED";
+            message = String.format("Upload completed. Success: %d, Failed: %d, Duplicates: %d, Skipped: %d",
+                    state.successCount.get(), state.failureCount.get(), state.duplicateCount.get(), state.skippedCount.get());
+    
+            log.info("Bulk upload {} completed - Status: {}, Success: {}, Failed: {}, Duplicates: {}, Skipped: {}, Errors count: {}",
+                    job.getId(), status, state.successCount.get(), state.failureCount.get(), state.duplicateCount.get(), state.skippedCount.get(), state.errors.size());
+    
+        } catch (Exception e) {
+            log.error("Fatal error during bulk upload {}: {}", job.getId(), e.getMessage(), e);
+            failure = e;
+            status = BulkJob.STATUS_FAILED;
+            message = "Upload failed: " + e.getMessage();
+            totalRecords = Math.max(totalRecords, state.processedCount.get());
+        }
+    
+        // Record the outcome before the final event, so clients attaching afterwards get the same result
+        try {
+            bulkJobRegistry.finish(job, status, message, snapshot(state, totalRecords, 0, 0));
+        } catch (Exception e) {
+            log.error("Could not record the outcome of bulk job {}: {}", job.getId(), e.getMessage(), e);
+        }
+    
+        // Send final result
+        sendProgress(state, status, totalRecords, message);
+        job.completeSubscribers(failure);
+        log.info("Final SSE event sent for bulk job {}", job.getId());
+    }
+    
+    /**
+     * Process one sheet of a workbook import on the calling thread, closing the reader when done.
+     * Counters continue from the job's checkpoint, and reference data is shared with the job's other sheets
+     * through the given lookup context. The caller finishes the job once every sheet is done.
+     * @return the job's total records to report, raised if the sheet had more rows than estimated
+     */
+    public int processSheet(BulkJob job, String sheetName, ExcelRowReader<T> reader, BulkLookupContext lookups, int totalRecords) {
+        UploadState state = new UploadState(job, lookups, sheetName);
+        try (reader) {
+            sendProgress(state, "PROCESSING", totalRecords, String.format("Processing sheet %s...", sheetName));
+            totalRecords = processAll(reader, state, totalRecords);
+        }
+        log.info("Bulk job {} finished sheet {} - Processed: {}, Success: {}, Failed: {}, Duplicates: {}",
+                job.getId(), sheetName, state.processedCount.get(), state.successCount.get(),
+                state.failureCount.get(), state.duplicateCount.get());
+        return totalRecords;
+    }
+    
+    /**
+     * Validate and persist every row of the reader, chunk by chunk
+     * @return the total to report, raised if more rows were read than estimated
+     */
+    private int processAll(ExcelRowReader<T> reader, UploadState state, int totalRecords) {
+        BulkRowValidator<T> validator = getValidator();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    
+        if (validationConcurrency <= 1) {
+            while (reader.hasNext()) {
+                PendingChunk<T> chunk = readChunk(reader, validator, state);
+                totalRecords = persistChunk(chunk, validator, transactionTemplate, state, totalRecords);
+            }
+            return totalRecords;
+        }
+        return processPipelined(reader, validator, transactionTemplate, state, totalRecords);
+    }
+    
+    /**
+     * Read the next chunk and resolve its reference data and existing natural keys up front
+     */
+    private PendingChunk<T> readChunk(ExcelRowReader<T> reader, BulkRowValidator<T> validator, UploadState state) {
+        List<ExcelRow<T>> rows = reader.nextChunk(Math.max(chunkSize, 1));
+    
+        List<T> chunkData = rows.stream()
+                .map(ExcelRow::data)
+                .filter(Objects::nonNull)
+                .toList();
+        validator.prefetch(chunkData, state.lookups);
+    
+        // In upsert mode rows matching a stored record update it, so only in-file duplicates are rejected
+        Set<String> existingKeys = state.upsert ? Set.of() : findExistingKeys(chunkData);
+        return new PendingChunk<>(rows, existingKeys, null);
+    }
+    
+    /**
+     * Pipelined processing: chunks are read and validated on virtual threads ahead of persistence,
+     * while rows are still checked for duplicates, converted and saved strictly in file order.
+     * At most MAX_CHUNKS_IN_FLIGHT chunks are held at once, so reading waits while persistence catches up.
+     */
+    private int processPipelined(ExcelRowReader<T> reader, BulkRowValidator<T> validator,
+                                 TransactionTemplate transactionTemplate, UploadState state, int totalRecords) {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Semaphore permits = new Semaphore(validationConcurrency);
+        Deque<PendingChunk<T>> inFlight = new ArrayDeque<>(MAX_CHUNKS_IN_FLIGHT);
+    
+        try {
+            while (reader.hasNext() || !inFlight.isEmpty()) {
+                while (inFlight.size() < MAX_CHUNKS_IN_FLIGHT && reader.hasNext()) {
+                    PendingChunk<T> chunk = readChunk(reader, validator, state);
+                    inFlight.add(submitValidation(chunk, validator, state.lookups, executor, permits));
                 }
+                totalRecords = persistChunk(inFlight.poll(), validator, transactionTemplate, state, totalRecords);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return totalRecords;
+    }
+    
+    /**
+     * Start validating every parsed, non-empty row of the chunk, at most validationConcurrency rows at a time
+     */
+    private PendingChunk<T> submitValidation(PendingChunk<T> chunk, BulkRowValidator<T> validator, BulkLookupContext lookups,
+                                             ExecutorService executor, Semaphore permits) {
+        List<Future<List<BulkUploadErrorDto>>> validations = new ArrayList<>(chunk.rows().size());
+        for (ExcelRow<T> row : chunk.rows()) {
+            if (row.hasParseError() || isEmptyRow(row.data())) {
+                validations.add(null);
+                continue;
+            }
+            validations.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return validator.validate(row.data(), row.rowNumber(), lookups);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        return new PendingChunk<>(chunk.rows(), chunk.existingKeys(), validations);
+    }
+    
+    /**
+     * Persist a chunk in row order, report progress and checkpoint the job
+     */
+    private int persistChunk(PendingChunk<T> chunk, BulkRowValidator<T> validator,
+                             TransactionTemplate transactionTemplate, UploadState state, int totalRecords) {
+        if (supportsChunkedPersistence()) {
+            boolean checkpointed = processChunk(chunk, validator, transactionTemplate, state, totalRecords);
+            totalRecords = advanceProgress(state, chunk.rows().size(), totalRecords);
+            if (!checkpointed) {
+                checkpoint(state, chunk, totalRecords, 0, 0);
+            }
+            return totalRecords;
+        }
+        for (int i = 0; i < chunk.rows().size(); i++) {
+            processRow(chunk, i, validator, state);
+            totalRecords = advanceProgress(state, 1, totalRecords);
+        }
+        // Rows are saved one by one here; a restart before this point replays the chunk,
+        // and rows saved already are reported as duplicates
+        checkpoint(state, chunk, totalRecords, 0, 0);
+        return totalRecords;
+    }
+    
+    /**
+     * Record every row of the chunk as committed. Counts not yet added to the upload state are passed
+     * as pending, for checkpoints taken inside the chunk transaction.
+     */
+    private void checkpoint(UploadState state, PendingChunk<T> chunk, int totalRecords, int pendingRows, int pendingSuccesses) {
+        state.lastCommittedRow = chunk.rows().get(chunk.rows().size() - 1).rowNumber();
+        bulkJobRegistry.checkpoint(state.job, snapshot(state, totalRecords, pendingRows, pendingSuccesses));
+    }
+    
+    private BulkJobCheckpoint snapshot(UploadState state, int totalRecords, int pendingRows, int pendingSuccesses) {
+        int processed = state.processedCount.get() + pendingRows;
+        return new BulkJobCheckpoint(state.lastCommittedRow, Math.max(totalRecords, processed), processed,
+                state.successCount.get() + pendingSuccesses, state.failureCount.get(), state.duplicateCount.get(),
+                state.skippedCount.get(), state.errors.size());
+    }
+    
+    /**
+     * Count processed rows and send a progress update at most once per progress interval
+     * @return the total to report, raised if more rows were read than estimated
+     */
+    private int advanceProgress(UploadState state, int rows, int totalRecords) {
+        int processed = state.processedCount.addAndGet(rows);
+        totalRecords = Math.max(totalRecords, processed);
+    
+        long now = System.nanoTime();
+        if (now - state.lastProgressNanos >= progressIntervalMs * 1_000_000L) {
+            state.lastProgressNanos = now;
+            sendProgress(state, "PROCESSING", totalRecords, state.sheetName != null
+                    ? String.format("Processing %s... %d/%d records", state.sheetName, processed, totalRecords)
+                    : String.format("Processing... %d/%d records", processed, totalRecords));
+        }
+        return totalRecords;
+    }
+    
+    /**
+     * Validate, convert and persist a single row, recording the outcome in the upload state
+     */
+    private void processRow(PendingChunk<T> chunk, int index, BulkRowValidator<T> validator, UploadState state) {
+        ExcelRow<T> row = chunk.rows().get(index);
+        T rowData = row.data();
+        try {
+            if (checkRow(chunk, index, validator, state)) {
+                // Convert DTO to Entity and save
+                E entity = convertToEntity(rowData, state.lookups);
+                if (state.upsert) {
+                    upsertEntities(List.of(entity));
+                } else {
+                    saveEntity(entity);
+                    rememberSaved(List.of(entity), state.lookups);
+                }
+                state.successCount.incrementAndGet();
             }
-            
-            // Send final result
-            String status = failureCount.get() > 0 || duplicateCount.get() > 0 ? "COMPLETED_WITH_ERRORS" : "COMPLETED";
-            String message = String.format("Upload completed. Success: %d, Failed: %d, Duplicates: %d, Skipped: %d", 
-                    successCount.get(), failureCount.get(), duplicateCount.get(), skippedCount.get());
-            
-            log.info("Bulk upload completed - Status: {}, Success: {}, Failed: {}, Duplicates: {}, Skipped: {}, Errors count: {}", 
-                    status, successCount.get(), failureCount.get(), duplicateCount.get(), skippedCount.get(), errors.size());
-            
-            sendProgress(emitter, status, totalRecords, processedCount.get(), 
-                    successCount.get(), failureCount.get(), duplicateCount.get(), skippedCount.get(), message, errors);
-            
-            log.info("Final SSE event sent, completing emitter");
-            emitter.complete();
-            log.info("Emitter completed successfully");
-            
         } catch (Exception e) {
-            log.error("Fatal error during bulk upload: {}", e.getMessage(), e);
+            recordRowError(row.rowNumber(), rowData, e, state);
+        }
+    }
+    
+    /**
+     * Validate and convert every row of the chunk, then persist all valid entities in one transaction
+     * together with the job checkpoint. If the chunk transaction fails, rows are re-converted and saved
+     * one by one so the failure is attributed to the right row number.
+     * @return true if the chunk was checkpointed in its own transaction
+     */
+    private boolean processChunk(PendingChunk<T> chunk, BulkRowValidator<T> validator,
+                                 TransactionTemplate transactionTemplate, UploadState state, int totalRecords) {
+        List<ExcelRow<T>> pendingRows = new ArrayList<>(chunk.rows().size());
+        List<E> pendingEntities = new ArrayList<>(chunk.rows().size());
+    
+        for (int i = 0; i < chunk.rows().size(); i++) {
+            ExcelRow<T> row = chunk.rows().get(i);
             try {
-                sendProgress(emitter, "FAILED", totalRecords, processedCount.get(), 
-                        successCount.get(), failureCount.get(), duplicateCount.get(), skippedCount.get(),
-                        "Upload failed: " + e.getMessage(), errors);
-                emitter.completeWithError(e);
-            } catch (IOException ioException) {
-                log.error("Error sending failure notification: {}", ioException.getMessage());
+                if (checkRow(chunk, i, validator, state)) {
+                    pendingEntities.add(convertToEntity(row.data(), state.lookups));
+                    pendingRows.add(row);
+                }
+            } catch (Exception e) {
+                recordRowError(row.rowNumber(), row.data(), e, state);
+            }
+        }
+    
+        if (pendingEntities.isEmpty()) {
+            return false;
+        }
+    
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (state.upsert) {
+                    upsertEntities(pendingEntities);
+                } else {
+                    saveEntities(pendingEntities);
+                }
+                checkpoint(state, chunk, totalRecords, chunk.rows().size(), pendingEntities.size());
+            });
+            state.successCount.addAndGet(pendingEntities.size());
+            if (!state.upsert) {
+                rememberSaved(pendingEntities, state.lookups);
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("Chunk of {} rows starting at row {} failed, falling back to per-row saves: {}",
+                    pendingRows.size(), pendingRows.get(0).rowNumber(), e.getMessage());
+        }
+    
+        // Entities from the rolled-back transaction may already carry generated ids, so convert again
+        for (ExcelRow<T> row : pendingRows) {
+            try {
+                E entity = convertToEntity(row.data(), state.lookups);
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (state.upsert) {
+                        upsertEntities(List.of(entity));
+                    } else {
+                        saveEntity(entity);
+                    }
+                });
+                state.successCount.incrementAndGet();
+                if (!state.upsert) {
+                    rememberSaved(List.of(entity), state.lookups);
+                }
+            } catch (Exception e) {
+                recordRowError(row.rowNumber(), row.data(), e, state);
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Run the parse, empty-row, validation and duplicate checks for a row
+     * @return true if the row should be persisted
+     */
+    private boolean checkRow(PendingChunk<T> chunk, int index, BulkRowValidator<T> validator, UploadState state) {
+        ExcelRow<T> row = chunk.rows().get(index);
+        int rowNumber = row.rowNumber();
+        T rowData = row.data();
+    
+        if (row.hasParseError()) {
+            state.errors.add(BulkUploadErrorDto.builder()
+                    .rowNumber(rowNumber)
+                    .sheetName(state.sheetName)
+                    .errorMessage(CommonErrorMessages.EXCEL_PARSE_ERROR + rowNumber + ": " + row.parseError())
+                    .errorType("ERROR")
+                    .build());
+            state.failureCount.incrementAndGet();
+            state.skippedCount.incrementAndGet();
+            return false;
+        }
+    
+        // Skip empty rows silently - don't count as anything
+        if (isEmptyRow(rowData)) {
+            return false;
+        }
+    
+        // Validate the row, unless it was already validated ahead of time
+        List<BulkUploadErrorDto> rowErrors = chunk.validations() != null
+                ? awaitValidation(chunk.validations().get(index))
+                : validator.validate(rowData, rowNumber, state.lookups);
+    
+        if (!rowErrors.isEmpty()) {
+            // Combine all validation errors for this row into a single error message
+            String combinedMessage = rowErrors.stream()
+                    .map(BulkUploadErrorDto::getErrorMessage)
+                    .collect(Collectors.joining("; "));
+    
+            // Create a single error entry for all validation errors
+            state.errors.add(BulkUploadErrorDto.builder()
+                    .rowNumber(rowNumber)
+                    .sheetName(state.sheetName)
+                    .errorMessage(combinedMessage)
+                    .errorType("VALIDATION")
+                    .rowData(getRowDataAsMap(rowData))
+                    .build());
+            state.failureCount.incrementAndGet();
+            state.skippedCount.incrementAndGet();
+            return false;
+        }
+    
+        String duplicateMessage = checkDuplicate(rowData, rowNumber, chunk.existingKeys(), validator, state);
+        if (duplicateMessage != null) {
+            state.errors.add(BulkUploadErrorDto.builder()
+                    .rowNumber(rowNumber)
+                    .sheetName(state.sheetName)
+                    .errorMessage(duplicateMessage)
+                    .errorType("DUPLICATE")
+                    .rowData(getRowDataAsMap(rowData))
+                    .build());
+            state.duplicateCount.incrementAndGet();
+            state.skippedCount.incrementAndGet();
+            return false;
+        }
+    
+        return true;
+    }
+    
+    /**
+     * Check a validated row against the database and against earlier rows of the same file
+     * Rows without a natural key fall back to the validator's per-row duplicate check.
+     * The validator's unique values are checked against earlier rows too, since those may not be saved yet.
+     * @return the duplicate error message, or null if the row is not a duplicate
+     */
+    private String checkDuplicate(T rowData, int rowNumber, Set<String> existingKeys, BulkRowValidator<T> validator, UploadState state) {
+        String naturalKey = getNaturalKey(rowData);
+        if (naturalKey == null) {
+            if (validator.isDuplicate(rowData, state.lookups)) {
+                return CommonErrorMessages.DUPLICATE_RECORD;
+            }
+        } else if (existingKeys.contains(naturalKey)) {
+            return String.format(CommonErrorMessages.DUPLICATE_RECORD_EXISTS, naturalKey);
+        } else if (state.seenKeys.containsKey(naturalKey)) {
+            return String.format(CommonErrorMessages.DUPLICATE_RECORD_IN_FILE, naturalKey, state.seenKeys.get(naturalKey));
+        }
+    
+        Map<String, String> uniqueValues = new LinkedHashMap<>();
+        validator.getUniqueValues(rowData).forEach((field, value) -> {
+            if (value != null && !value.isBlank()) {
+                uniqueValues.put(field + '\u0000' + value.trim(), field);
+            }
+        });
+        for (Map.Entry<String, String> value : uniqueValues.entrySet()) {
+            Integer firstRow = state.seenValues.get(value.getKey());
+            if (firstRow != null) {
+                return String.format(CommonErrorMessages.DUPLICATE_VALUE_IN_FILE, value.getValue(), firstRow);
+            }
+        }
+    
+        // First row with a key or value claims it; later rows in the file are reported against it
+        if (naturalKey != null) {
+            state.seenKeys.put(naturalKey, rowNumber);
+        }
+        uniqueValues.keySet().forEach(value -> state.seenValues.put(value, rowNumber));
+        return null;
+    }
+    
+    /**
+     * Wait for a row's ahead-of-time validation, rethrowing its failure as if it had run inline
+     */
+    private List<BulkUploadErrorDto> awaitValidation(Future<List<BulkUploadErrorDto>> validation) {
+        try {
+            return validation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for row validation", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    
+    /**
+     * Look up which natural keys of the chunk are already stored, in one batched query
+     */
+    private Set<String> findExistingKeys(List<T> chunkData) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (T rowData : chunkData) {
+            String naturalKey = isEmptyRow(rowData) ? null : getNaturalKey(rowData);
+            if (naturalKey != null) {
+                keys.add(naturalKey);
             }
         }
+        return keys.isEmpty() ? Set.of() : new HashSet<>(findExistingNaturalKeys(keys));
     }
     
     /**
-     * Send progress update via SSE
+     * Insert or update the entities through the processor's staging table
      */
-    private void sendProgress(SseEmitter emitter, String status, int total, int processed, 
-                              int success, int failure, int duplicate, int skipped, String message, 
-                              List<BulkUploadErrorDto> errors) throws IOException {
+    private void upsertEntities(List<E> entities) {
+        log.debug("Upserting chunk of {} entities in {}", entities.size(), getClass().getSimpleName());
+        bulkStagingWriter.upsert(stagingTable(), entities);
+    }
+    
+    private void recordRowError(int rowNumber, T rowData, Exception e, UploadState state) {
+        log.error("Error processing row {}: {}", rowNumber, e.getMessage(), e);
+        state.errors.add(BulkUploadErrorDto.builder()
+                .rowNumber(rowNumber)
+                .sheetName(state.sheetName)
+                .errorMessage("Error: " + e.getMessage())
+                .errorType("ERROR")
+                .rowData(getRowDataAsMap(rowData))
+                .build());
+        state.failureCount.incrementAndGet();
+        state.skippedCount.incrementAndGet();
+    }
+    
+    /**
+     * Send the current counters to the job's SSE clients. Errors stay in the job's error store;
+     * events only link to them, so every event stays small regardless of how many rows failed.
+     */
+    private void sendProgress(UploadState state, String status, int total, String message) {
+        BulkUploadProgressDto progressDto = buildProgress(state, status, total, message);
+    
+        log.debug("Sending SSE progress: job={}, status={}, processed={}/{}, success={}, failed={}, duplicates={}, errors={}",
+                state.job.getId(), status, progressDto.getProcessedRecords(), total, progressDto.getSuccessCount(),
+                progressDto.getFailureCount(), progressDto.getDuplicateCount(), progressDto.getErrorCount());
+    
+        state.job.publish(progressDto);
+    }
+    
+    private BulkUploadProgressDto buildProgress(UploadState state, String status, int total, String message) {
+        int processed = state.processedCount.get();
+        int errorCount = state.errors.size();
         double progress = total > 0 ? (processed * 100.0) / total : 0;
-        
-        BulkUploadProgressDto progressDto = BulkUploadProgressDto.builder()
+    
+        return BulkUploadProgressDto.builder()
+                .jobId(state.job.getId())
                 .status(status)
+                .dryRun(state.job.isDryRun() ? Boolean.TRUE : null)
                 .totalRecords(total)
                 .processedRecords(processed)
-                .successCount(success)
-                .failureCount(failure)
-                .duplicateCount(duplicate)
-                .skippedCount(skipped)
+                .successCount(state.successCount.get())
+                .failureCount(state.failureCount.get())
+                .duplicateCount(state.duplicateCount.get())
+                .skippedCount(state.skippedCount.get())
+                .errorCount(errorCount)
+                .errorsUrl(errorCount > 0 ? state.job.getErrorsUrl() : null)
+                .errorReportUrl(errorCount > 0 && state.job.isFinished() ? state.job.getErrorReportUrl() : null)
                 .progressPercentage(progress)
                 .message(message)
-                .errors(errors)
                 .build();
-        
-        log.debug("Sending SSE progress: status={}, processed={}/{}, success={}, failed={}, duplicates={}, errors={}", 
-                status, processed, total, success, failure, duplicate, errors != null ? errors.size() : 0);
-        
-        emitter.send(SseEmitter.event()
-                .name("progress")
-                .data(progressDto));
-        
-        log.debug("SSE progress sent successfully");
     }
     
     /**
@@ -189,15 +702,81 @@ public abstract class BulkUploadProcessor<T, E> {
      */
     protected abstract E convertToEntity(T dto);
     
+    /**
+     * Convert DTO to Entity using reference data already resolved for this upload
+     * Override to avoid repeating the lookups done by the validator
+     */
+    protected E convertToEntity(T dto, BulkLookupContext lookups) {
+        return convertToEntity(dto);
+    }
+    
     /**
      * Save the entity to database
      */
     protected abstract void saveEntity(E entity);
     
+    /**
+     * Save a chunk of entities to database
+     * Called inside a single transaction when chunked persistence is enabled.
+     * Override with a saveAll-style call so Hibernate can batch the inserts.
+     */
+    protected void saveEntities(List<E> entities) {
+        entities.forEach(this::saveEntity);
+    }
+    
+    /**
+     * Staging table through which uploads in {@link BulkUploadMode#UPSERT} mode insert new entities and update
+     * those whose natural key is already stored, in one set-based statement; null if the entity cannot be upserted
+     */
+    protected StagingTable<E> stagingTable() {
+        return null;
+    }
+    
+    /**
+     * Make saved entities resolvable through the upload's lookup context, so later rows, or later sheets
+     * of a workbook import, that reference them need no query. Called once the entities are saved,
+     * in insert mode only; upserted rows may keep the id of the record they updated.
+     */
+    protected void rememberSaved(List<E> entities, BulkLookupContext lookups) {
+    }
+    
+    /**
+     * Whether uploads of this entity can run in {@link BulkUploadMode#UPSERT} mode, i.e. it has a staging table
+     */
+    public final boolean supportsUpsert() {
+        return stagingTable() != null;
+    }
+    
+    /**
+     * Whether rows are converted first and then persisted one chunk per transaction.
+     * Only enable this when convertToEntity and saveEntity do not depend on being called back-to-back for the same row.
+     */
+    protected boolean supportsChunkedPersistence() {
+        return false;
+    }
+    
+    /**
+     * Natural key identifying the record a row would create, used for set-based duplicate detection.
+     * Return null when the row has no key (e.g. it is generated on save); such rows are checked
+     * with the validator's isDuplicate instead. Keys are compared exactly, so normalize case here
+     * if the column is unique case-insensitively.
+     */
+    protected String getNaturalKey(T dto) {
+        return null;
+    }
+    
+    /**
+     * Return those of the given natural keys that already exist in the database
+     * Override with a single IN query whenever getNaturalKey is overridden.
+     */
+    protected Collection<String> findExistingNaturalKeys(Collection<String> naturalKeys) {
+        return List.of();
+    }
+    
     /**
      * Convert row data to Map for error reporting
      */
-    protected abstract java.util.Map<String, Object> getRowDataAsMap(T dto);
+    protected abstract Map<String, Object> getRowDataAsMap(T dto);
     
     /**
      * Check if the row is empty (all required fields are null or empty)
@@ -211,4 +790,49 @@ public abstract class BulkUploadProcessor<T, E> {
     public static SseEmitter createEmitter() {
         return new SseEmitter(SSE_TIMEOUT);
     }
+    
+    /**
+     * Mutable counters, errors and reference data collected while processing one upload or one sheet of a workbook,
+     * starting from the job's last checkpoint
+     */
+    private static class UploadState {
+        final BulkJob job;
+        final BulkJobErrorStore errors;
+        final BulkLookupContext lookups;
+        final String sheetName;
+        final Map<String, Integer> seenKeys = new ConcurrentHashMap<>();
+        final Map<String, Integer> seenValues = new ConcurrentHashMap<>();
+        final boolean upsert;
+        final AtomicInteger processedCount;
+        final AtomicInteger successCount;
+        final AtomicInteger failureCount;
+        final AtomicInteger duplicateCount;
+        final AtomicInteger skippedCount;
+        int lastCommittedRow;
+        long lastProgressNanos = System.nanoTime();
+    
+        UploadState(BulkJob job, BulkLookupContext lookups, String sheetName) {
+            BulkJobCheckpoint checkpoint = job.getCheckpoint();
+            this.job = job;
+            this.lookups = lookups;
+            this.sheetName = sheetName;
+            this.errors = job.getErrors();
+            this.processedCount = new AtomicInteger(checkpoint.processedRecords());
+            this.successCount = new AtomicInteger(checkpoint.successCount());
+            this.failureCount = new AtomicInteger(checkpoint.failureCount());
+            this.duplicateCount = new AtomicInteger(checkpoint.duplicateCount());
+            this.skippedCount = new AtomicInteger(checkpoint.skippedCount());
+            this.lastCommittedRow = checkpoint.lastCommittedRow();
+            this.upsert = job.getMode() == BulkUploadMode.UPSERT;
+            this.lookups.setUpsert(upsert);
+        }
+    }
+    
+    /**
+     * A chunk of rows with its existing natural keys and, when validated ahead of time,
+     * one validation result per row (null for rows that are not validated)
+     */
+    private record PendingChunk<T>(List<ExcelRow<T>> rows, Set<String> existingKeys,
+                                   List<Future<List<BulkUploadErrorDto>>> validations) {
+    }
 }
@@ -1,10 +1,21 @@
 package com.eps.module.common.bulk.service;
 
+import com.eps.module.common.bulk.csv.CsvExportUtil;
+import com.eps.module.common.bulk.csv.CsvImportUtil;
 import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
 import com.eps.module.common.bulk.dto.BulkUploadProgressDto;
 import com.eps.module.common.bulk.excel.ExcelExportUtil;
 import com.eps.module.common.bulk.excel.ExcelImportUtil;
+import com.eps.module.common.bulk.excel.ExcelRowReader;
+import com.eps.module.common.bulk.job.BulkJob;
+import com.eps.module.common.bulk.job.BulkJobCheckpoint;
+import com.eps.module.common.bulk.job.BulkJobRegistry;
+import com.eps.module.common.bulk.job.BulkUploadMode;
+import com.eps.module.common.bulk.lookup.BulkLookupContext;
 import com.eps.module.common.bulk.processor.BulkUploadProcessor;
+import com.eps.module.common.constant.CommonErrorMessages;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
@@ -12,14 +23,25 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Base class for bulk upload service implementations
@@ -31,12 +53,32 @@ import java.util.stream.Collectors;
 @Slf4j
 public abstract class BaseBulkUploadService<T, E> implements BulkUploadService<T, E> {
     
+    /**
+     * Number of exported entities after which the persistence context is cleared
+     */
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+    
     @Autowired
     protected ExcelImportUtil excelImportUtil;
     
     @Autowired
     protected ExcelExportUtil excelExportUtil;
     
+    @Autowired
+    protected CsvImportUtil csvImportUtil;
+    
+    @Autowired
+    protected CsvExportUtil csvExportUtil;
+    
+    @Autowired
+    protected BulkJobRegistry bulkJobRegistry;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     /**
      * Get the processor for this entity type
      */
@@ -55,21 +97,19 @@ public abstract class BaseBulkUploadService<T, E> implements BulkUploadService<T
     
     @Override
     public SseEmitter bulkUpload(MultipartFile file) throws IOException {
-        log.info("Starting bulk upload for {}", getEntityName());
-        
-        // Validate file
-        if (file.isEmpty()) {
-            throw new IllegalArgumentException("File is empty");
-        }
+        return bulkUpload(file, BulkUploadMode.INSERT);
+    }
+    
+    @Override
+    public SseEmitter bulkUpload(MultipartFile file, BulkUploadMode mode) throws IOException {
+        log.info("Starting bulk upload for {} in {} mode", getEntityName(), mode);
         
-        if (!file.getOriginalFilename().endsWith(".xlsx")) {
-            throw new IllegalArgumentException("Invalid file format. Please upload an Excel file (.xlsx)");
-        }
+        validateUploadRequest(file, mode);
         
-        // Parse Excel file
-        List<T> uploadData = excelImportUtil.parseExcelFile(file, getBulkUploadDtoClass());
+        BulkJob job = bulkJobRegistry.create(getEntityName(), getBulkUploadPermission(), file.getOriginalFilename(), mode);
+        ExcelRowReader<T> reader = openUpload(job, file);
         
-        log.info("Parsed {} records from Excel file for {}", uploadData.size(), getEntityName());
+        log.info("Streaming {} for {} (estimated {} records)", file.getOriginalFilename(), getEntityName(), reader.getEstimatedRowCount());
         
         // Create SSE emitter
         SseEmitter emitter = BulkUploadProcessor.createEmitter();
@@ -79,34 +119,178 @@ public abstract class BaseBulkUploadService<T, E> implements BulkUploadService<T
         emitter.onTimeout(() -> log.warn("SSE emitter timeout for {}", getEntityName()));
         emitter.onError((ex) -> log.error("SSE emitter error for {}: {}", getEntityName(), ex.getMessage()));
         
-        // Process async with virtual threads (processor handles @Async internally)
-        getProcessor().processBulkUpload(uploadData, emitter);
+        // Process async with virtual threads once the bulk job scheduler admits the job
+        getProcessor().processBulkUpload(job, reader, emitter);
         
-        log.info("Bulk upload processing started asynchronously for {}", getEntityName());
+        log.info("Bulk upload processing started asynchronously for {} (job {})", getEntityName(), job.getId());
         
         return emitter;
     }
     
     @Override
-    public ResponseEntity<byte[]> exportToExcel() throws IOException {
-        log.info("Exporting all {} to Excel", getEntityName());
+    public BulkUploadProgressDto validateUpload(MultipartFile file, BulkUploadMode mode) throws IOException {
+        log.info("Starting dry run for {} in {} mode", getEntityName(), mode);
         
-        List<E> entities = getAllEntitiesForExport();
+        validateUploadRequest(file, mode);
         
-        List<T> exportData = entities.stream()
-                .map(getEntityToDtoMapper())
-                .collect(Collectors.toList());
+        BulkJob job = bulkJobRegistry.create(getEntityName(), getBulkUploadPermission(), file.getOriginalFilename(), mode, true);
+        ExcelRowReader<T> reader = openUpload(job, file);
+        return getProcessor().validateUpload(job, reader);
+    }
+    
+    /**
+     * Reject empty files, unsupported formats and modes the processor cannot run
+     */
+    private void validateUploadRequest(MultipartFile file, BulkUploadMode mode) {
+        if (mode == BulkUploadMode.UPSERT && !supportsUpsert()) {
+            throw new IllegalArgumentException(String.format(CommonErrorMessages.BULK_UPSERT_UNSUPPORTED, getEntityName()));
+        }
         
-        byte[] excelData = excelExportUtil.exportToExcel(
-                exportData,
-                getBulkUploadDtoClass(),
-                getEntityName() + "s"
-        );
+        // Validate file
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        
+        if (!BulkFileFormat.isAccepted(file.getOriginalFilename())) {
+            throw new IllegalArgumentException(CommonErrorMessages.BULK_INVALID_FORMAT);
+        }
+    }
+    
+    /**
+     * Keep the upload with the job so it can be resumed, then open it for streaming;
+     * rows are parsed lazily by the processor. The job is failed if the file has no data rows.
+     */
+    private ExcelRowReader<T> openUpload(BulkJob job, MultipartFile file) throws IOException {
+        ExcelRowReader<T> reader;
+        try {
+            file.transferTo(job.getUploadFile());
+            reader = openRowReader(job.getUploadFile());
+        } catch (IOException | RuntimeException e) {
+            bulkJobRegistry.finish(job, BulkJob.STATUS_FAILED, e.getMessage(), BulkJobCheckpoint.START);
+            throw e;
+        }
+        
+        if (!reader.hasNext()) {
+            reader.close();
+            bulkJobRegistry.finish(job, BulkJob.STATUS_FAILED, CommonErrorMessages.BULK_NO_DATA, BulkJobCheckpoint.START);
+            throw new IllegalArgumentException(CommonErrorMessages.BULK_NO_DATA);
+        }
+        return reader;
+    }
+    
+    @Override
+    public boolean supportsUpsert() {
+        return getProcessor().supportsUpsert();
+    }
+    
+    @Override
+    public int processWorkbookSheet(BulkJob job, Path workbook, String sheetName, BulkLookupContext lookups,
+                                    int totalRecords) throws IOException {
+        ExcelRowReader<T> reader = excelImportUtil.openRowReader(workbook, sheetName, getBulkUploadDtoClass(), () -> { });
+        return getProcessor().processSheet(job, sheetName, reader, lookups, totalRecords);
+    }
+    
+    @Override
+    public void resumeBulkUpload(BulkJob job) throws IOException {
+        int resumeAfterRow = job.getCheckpoint().lastCommittedRow();
+        log.info("Resuming bulk upload {} for {} after row {}", job.getId(), getEntityName(), resumeAfterRow);
+        
+        ExcelRowReader<T> reader = openRowReader(job.getUploadFile());
+        reader.skipThrough(resumeAfterRow);
+        getProcessor().resumeBulkUpload(job, reader);
+    }
+    
+    /**
+     * Open a job's uploaded file as Excel or CSV, depending on its content
+     */
+    private ExcelRowReader<T> openRowReader(Path uploadFile) throws IOException {
+        return switch (BulkFileFormat.detect(uploadFile)) {
+            case XLSX -> excelImportUtil.openRowReader(uploadFile, getBulkUploadDtoClass(), () -> { });
+            case CSV -> csvImportUtil.openRowReader(uploadFile, getBulkUploadDtoClass(), () -> { });
+        };
+    }
+    
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportToExcel() throws IOException {
+        log.info("Exporting all {} to Excel", getEntityName());
         
         String filename = getEntityName() + "_Export_" +
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
         
-        return buildFileResponse(excelData, filename);
+        StreamingResponseBody body = streamExport("Excel", (data, outputStream) ->
+                excelExportUtil.exportToExcel(data, getBulkUploadDtoClass(), getEntityName() + "s", outputStream));
+        
+        return buildStreamingFileResponse(body, filename);
+    }
+    
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportToCsv() throws IOException {
+        log.info("Exporting all {} to CSV", getEntityName());
+        
+        String filename = getEntityName() + "_Export_" +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".csv";
+        
+        StreamingResponseBody body = streamExport("CSV", (data, outputStream) ->
+                csvExportUtil.exportToCsv(data, getBulkUploadDtoClass(), outputStream));
+        
+        return buildStreamingFileResponse(body, filename);
+    }
+    
+    /**
+     * Writes the exported DTOs to the response stream
+     */
+    @FunctionalInterface
+    private interface ExportWriter<T> {
+        void write(Iterator<T> data, OutputStream outputStream) throws IOException;
+    }
+    
+    /**
+     * Stream all entities through the export writer.
+     * Entities are read and written after the controller returns, inside their own read-only transaction.
+     */
+    private StreamingResponseBody streamExport(String format, ExportWriter<T> writer) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        
+        return outputStream -> transactionTemplate.executeWithoutResult(status -> {
+            int[] exported = {0};
+            
+            try (Stream<E> entities = streamAllEntitiesForExport()) {
+                Iterator<E> source = entities.iterator();
+                // Entities are mapped a chunk at a time, then dropped from the persistence context
+                Iterator<T> exportData = new Iterator<>() {
+                    private Iterator<T> chunk = Collections.emptyIterator();
+                    
+                    @Override
+                    public boolean hasNext() {
+                        while (!chunk.hasNext() && source.hasNext()) {
+                            List<E> batch = new ArrayList<>(EXPORT_CLEAR_INTERVAL);
+                            while (batch.size() < EXPORT_CLEAR_INTERVAL && source.hasNext()) {
+                                batch.add(source.next());
+                            }
+                            chunk = mapAllForExport(batch).iterator();
+                            exported[0] += batch.size();
+                            entityManager.clear();
+                        }
+                        return chunk.hasNext();
+                    }
+                    
+                    @Override
+                    public T next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return chunk.next();
+                    }
+                };
+                
+                writer.write(exportData, outputStream);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            
+            log.info("Exported {} {} records to {}", exported[0], getEntityName(), format);
+        });
     }
     
     @Override
@@ -145,6 +329,35 @@ public abstract class BaseBulkUploadService<T, E> implements BulkUploadService<T
         return buildFileResponse(errorReport, filename);
     }
     
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportErrorReport(BulkJob job) throws IOException {
+        log.info("Generating error report for {} bulk job {}", getEntityName(), job.getId());
+        
+        if (job.getErrors().size() == 0) {
+            throw new IllegalArgumentException("No errors to export");
+        }
+        
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<BulkUploadErrorDto> errors = job.getErrors().stream()) {
+                Iterator<Object> errorReports = errors.map(this::buildErrorReportDto).iterator();
+                streamErrorReportHelper(errorReports, getErrorReportDtoClass(), outputStream);
+            }
+        };
+        
+        String filename = getEntityName() + "_Upload_Errors_" +
+                job.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
+        
+        return buildStreamingFileResponse(body, filename);
+    }
+    
+    /**
+     * Streaming counterpart of exportErrorReportHelper
+     */
+    @SuppressWarnings("unchecked")
+    private <R> void streamErrorReportHelper(Iterator<Object> data, Class<?> clazz, OutputStream outputStream) throws IOException {
+        excelExportUtil.exportToExcel((Iterator<R>) data, (Class<R>) clazz, "Upload Errors", outputStream);
+    }
+    
     /**
      * Helper method to handle generic type casting for error report export
      * This is needed because we're building a list of error report DTOs dynamically
@@ -165,4 +378,15 @@ public abstract class BaseBulkUploadService<T, E> implements BulkUploadService<T
         
         return new ResponseEntity<>(data, headers, HttpStatus.OK);
     }
+    
+    /**
+     * Build HTTP response for a file written directly to the response stream
+     */
+    protected ResponseEntity<StreamingResponseBody> buildStreamingFileResponse(StreamingResponseBody body, String filename) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", filename);
+        
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
 }
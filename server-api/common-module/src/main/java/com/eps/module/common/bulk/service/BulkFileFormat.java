@@ -0,0 +1,40 @@
+package com.eps.module.common.bulk.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Formats accepted for bulk uploads
+ */
+enum BulkFileFormat {
+
+    XLSX,
+    /**
+     * UTF-8 CSV, optionally gzip-compressed
+     */
+    CSV;
+
+    /**
+     * Whether the uploaded file name has an accepted extension
+     */
+    static boolean isAccepted(String fileName) {
+        if (fileName == null) {
+            return false;
+        }
+        String name = fileName.toLowerCase(Locale.ROOT);
+        return name.endsWith(".xlsx") || name.endsWith(".csv") || name.endsWith(".csv.gz");
+    }
+
+    /**
+     * Detect the format from the file content: an .xlsx file is a zip archive, anything else is read as CSV
+     */
+    static BulkFileFormat detect(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] head = in.readNBytes(4);
+            return head.length == 4 && head[0] == 'P' && head[1] == 'K' && head[2] == 3 && head[3] == 4 ? XLSX : CSV;
+        }
+    }
+}
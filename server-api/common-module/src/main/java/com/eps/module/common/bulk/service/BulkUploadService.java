@@ -1,13 +1,20 @@
 package com.eps.module.common.bulk.service;
 
 import com.eps.module.common.bulk.dto.BulkUploadProgressDto;
+import com.eps.module.common.bulk.job.BulkJob;
+import com.eps.module.common.bulk.job.BulkUploadMode;
+import com.eps.module.common.bulk.lookup.BulkLookupContext;
+import com.eps.module.common.security.PermissionChecker;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Generic interface for bulk upload operations
@@ -22,9 +29,43 @@ public interface BulkUploadService<T, E> {
     SseEmitter bulkUpload(MultipartFile file) throws IOException;
     
     /**
-     * Export all entities to Excel
+     * Handle bulk upload with SSE progress tracking, updating existing records in {@link BulkUploadMode#UPSERT} mode
      */
-    ResponseEntity<byte[]> exportToExcel() throws IOException;
+    SseEmitter bulkUpload(MultipartFile file, BulkUploadMode mode) throws IOException;
+    
+    /**
+     * Validate an upload without persisting anything: rows go through parsing, validation and duplicate detection
+     * as in {@link #bulkUpload(MultipartFile, BulkUploadMode)}. Returns the counts and the first page of errors;
+     * all errors can be paged from the dry-run job.
+     */
+    BulkUploadProgressDto validateUpload(MultipartFile file, BulkUploadMode mode) throws IOException;
+    
+    /**
+     * Whether uploads can run in {@link BulkUploadMode#UPSERT} mode
+     */
+    boolean supportsUpsert();
+    
+    /**
+     * Process one sheet of a workbook import job on the calling thread.
+     * Reference data is shared with the job's other sheets through the lookup context.
+     * @return the job's total records to report
+     */
+    int processWorkbookSheet(BulkJob job, Path workbook, String sheetName, BulkLookupContext lookups, int totalRecords) throws IOException;
+    
+    /**
+     * Resume a bulk upload interrupted by a restart, after the job's last committed row
+     */
+    void resumeBulkUpload(BulkJob job) throws IOException;
+    
+    /**
+     * Export all entities to Excel, streaming the workbook to the response as it is written
+     */
+    ResponseEntity<StreamingResponseBody> exportToExcel() throws IOException;
+    
+    /**
+     * Export all entities to CSV with the same columns as the Excel export, streamed to the response
+     */
+    ResponseEntity<StreamingResponseBody> exportToCsv() throws IOException;
     
     /**
      * Download template for bulk upload
@@ -32,10 +73,15 @@ public interface BulkUploadService<T, E> {
     ResponseEntity<byte[]> downloadTemplate() throws IOException;
     
     /**
-     * Export error report from bulk upload
+     * Export error report from bulk upload, built from the errors posted back by the client
      */
     ResponseEntity<byte[]> exportErrorReport(BulkUploadProgressDto progressData) throws IOException;
     
+    /**
+     * Export the error report of a bulk job straight from the job's server-side error store
+     */
+    ResponseEntity<StreamingResponseBody> exportErrorReport(BulkJob job) throws IOException;
+    
     // Entity-specific methods to implement
     
     /**
@@ -48,13 +94,38 @@ public interface BulkUploadService<T, E> {
      */
     String getEntityName();
     
+    /**
+     * Get the permission the upload endpoints require, which the owner of a bulk job still needs to read it.
+     * Defaults to the administrator permission, for entities whose uploads are admin-only.
+     */
+    default String getBulkUploadPermission() {
+        return PermissionChecker.ADMIN;
+    }
+    
     /**
      * Get all entities for export
      */
     List<E> getAllEntitiesForExport();
     
+    /**
+     * Stream all entities for export. Called inside a read-only transaction; the stream is closed after the export.
+     * Override with a repository {@code Stream} query to avoid loading every entity up front.
+     */
+    default Stream<E> streamAllEntitiesForExport() {
+        return getAllEntitiesForExport().stream();
+    }
+    
     /**
      * Get mapper function from Entity to DTO
      */
     Function<E, T> getEntityToDtoMapper();
+    
+    /**
+     * Map a chunk of exported entities to DTOs, in order.
+     * Override when rows are cheaper to convert together, e.g. to decrypt a chunk's encrypted fields in one batch.
+     */
+    default List<T> mapAllForExport(List<E> entities) {
+        Function<E, T> mapper = getEntityToDtoMapper();
+        return entities.stream().map(mapper).toList();
+    }
 }
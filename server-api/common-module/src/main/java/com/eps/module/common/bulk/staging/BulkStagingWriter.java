@@ -0,0 +1,158 @@
+package com.eps.module.common.bulk.staging;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.Generator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.Temporal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads entities with PostgreSQL COPY into a staging table and merges them into their target table
+ * in one set-based statement, instead of one INSERT or UPDATE per row. Runs on the connection of the
+ * current transaction, so the merge commits or rolls back with it; ids for new rows come from the
+ * entity's Hibernate id generator, sharing its pooled sequence with regular saves.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkStagingWriter {
+
+    private final ObjectProvider<AuditorAware<?>> auditorAware;
+    private final Set<String> createdTables = ConcurrentHashMap.newKeySet();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Insert the entities, updating stored rows that share their natural key.
+     * Must be called inside a transaction.
+     * @return the number of rows inserted or updated
+     */
+    public <E> int upsert(StagingTable<E> table, List<E> entities) {
+        if (entities.isEmpty()) {
+            return 0;
+        }
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        BeforeExecutionGenerator idGenerator = idGenerator(session, table.entityClass());
+        UUID batchId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        Object auditor = currentAuditor();
+
+        return session.doReturningWork(connection -> {
+            ensureStagingTable(connection, table);
+            copyRows(connection, table, entities, batchId, now, auditor, session, idGenerator);
+
+            int merged;
+            try (PreparedStatement merge = connection.prepareStatement(table.mergeSql())) {
+                merge.setObject(1, batchId);
+                merged = merge.executeUpdate();
+            }
+            try (PreparedStatement delete = connection.prepareStatement(table.deleteSql())) {
+                delete.setObject(1, batchId);
+                delete.executeUpdate();
+            }
+            log.debug("Merged {} staged rows into {}", merged, table.targetTable());
+            return merged;
+        });
+    }
+
+    private <E> void copyRows(Connection connection, StagingTable<E> table, List<E> entities, UUID batchId,
+                              LocalDateTime now, Object auditor, SessionImplementor session,
+                              BeforeExecutionGenerator idGenerator) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(table.copySql());
+        try {
+            StringBuilder line = new StringBuilder(256);
+            for (int i = 0; i < entities.size(); i++) {
+                E entity = entities.get(i);
+                line.setLength(0);
+                line.append(batchId).append(',').append(i).append(',')
+                        .append(idGenerator.generate(session, entity, null, EventType.INSERT));
+                for (StagingColumn<E> column : table.columns()) {
+                    line.append(',');
+                    appendValue(line, column.value().apply(entity));
+                }
+                line.append(',').append(now).append(',').append(now).append(',');
+                appendValue(line, auditor);
+                line.append(',');
+                appendValue(line, auditor);
+                line.append('\n');
+
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * Append a value in COPY csv format: null as an empty unquoted field, text quoted
+     */
+    private void appendValue(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number || value instanceof Temporal) {
+            line.append(value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString());
+            return;
+        }
+        line.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+    }
+
+    private void ensureStagingTable(Connection connection, StagingTable<?> table) throws SQLException {
+        if (createdTables.contains(table.stagingTable())) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(table.createSql());
+            statement.execute(table.createIndexSql());
+        }
+        // DDL is transactional in PostgreSQL, so the table only surely exists once this transaction commits
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                createdTables.add(table.stagingTable());
+            }
+        });
+    }
+
+    private BeforeExecutionGenerator idGenerator(SessionImplementor session, Class<?> entityClass) {
+        Generator generator = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass).getGenerator();
+        if (generator instanceof BeforeExecutionGenerator beforeExecutionGenerator) {
+            return beforeExecutionGenerator;
+        }
+        throw new IllegalStateException(entityClass.getSimpleName() + " ids are not generated before insert");
+    }
+
+    private Object currentAuditor() {
+        AuditorAware<?> provider = auditorAware.getIfAvailable();
+        return provider != null ? provider.getCurrentAuditor().orElse(null) : null;
+    }
+}
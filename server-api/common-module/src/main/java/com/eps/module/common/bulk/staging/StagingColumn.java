@@ -0,0 +1,27 @@
+package com.eps.module.common.bulk.staging;
+
+import java.util.function.Function;
+
+/**
+ * A target table column loaded through a staging table
+ * @param name column name, identical in the staging and target table
+ * @param sqlType PostgreSQL type of the staging column
+ * @param value reads the column value from the entity; may return null
+ * @param <E> The Entity type
+ */
+public record StagingColumn<E>(String name, String sqlType, Function<E, ?> value) {
+
+    public static <E> StagingColumn<E> of(String name, String sqlType, Function<E, ?> value) {
+        return new StagingColumn<>(name, sqlType, value);
+    }
+
+    /**
+     * A bigint foreign key column read from a related entity, null when the relation is not set
+     */
+    public static <E, R> StagingColumn<E> reference(String name, Function<E, R> relation, Function<R, Long> id) {
+        return new StagingColumn<>(name, "bigint", entity -> {
+            R related = relation.apply(entity);
+            return related != null ? id.apply(related) : null;
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package com.eps.module.common.bulk.staging;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Describes how entities of one type are bulk loaded: rows are copied into an unlogged staging table
+ * and merged into the target table with a single {@code INSERT ... ON CONFLICT DO UPDATE}.
+ * On conflict, blank staged values keep the stored value; audit columns follow BaseEntity.
+ * @param entityClass entity whose id generator supplies ids for new rows
+ * @param targetTable table the rows are merged into
+ * @param conflictColumn unique natural key column matching staged rows to stored rows
+ * @param columns columns loaded from the entity, including the conflict column
+ * @param <E> The Entity type
+ */
+public record StagingTable<E>(Class<E> entityClass, String targetTable, String conflictColumn, List<StagingColumn<E>> columns) {
+
+    private static final List<String> AUDIT_COLUMNS = List.of("created_at", "updated_at", "created_by", "updated_by");
+
+    public String stagingTable() {
+        return targetTable + "_bulk_staging";
+    }
+
+    public String createSql() {
+        String columnDefinitions = columns.stream()
+                .map(column -> column.name() + " " + column.sqlType())
+                .collect(Collectors.joining(", "));
+        return "CREATE UNLOGGED TABLE IF NOT EXISTS " + stagingTable() + " (batch_id uuid NOT NULL, row_index int NOT NULL, "
+                + "id bigint NOT NULL, " + columnDefinitions + ", created_at timestamp NOT NULL, updated_at timestamp NOT NULL, "
+                + "created_by bigint, updated_by bigint)";
+    }
+
+    public String createIndexSql() {
+        return "CREATE INDEX IF NOT EXISTS " + stagingTable() + "_batch_idx ON " + stagingTable() + " (batch_id)";
+    }
+
+    public String copySql() {
+        return "COPY " + stagingTable() + " (" + String.join(", ", stagedColumns()) + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    public String mergeSql() {
+        List<String> targetColumns = Stream.concat(Stream.of("id"),
+                Stream.concat(columns.stream().map(StagingColumn::name), AUDIT_COLUMNS.stream())).toList();
+        String updates = Stream.concat(
+                        columns.stream()
+                                .map(StagingColumn::name)
+                                .filter(name -> !name.equals(conflictColumn))
+                                .map(name -> name + " = COALESCE(EXCLUDED." + name + ", t." + name + ")"),
+                        Stream.of("updated_at = EXCLUDED.updated_at", "updated_by = EXCLUDED.updated_by"))
+                .collect(Collectors.joining(", "));
+        String columnList = String.join(", ", targetColumns);
+        return "INSERT INTO " + targetTable + " AS t (" + columnList + ") "
+                + "SELECT " + columnList + " FROM " + stagingTable() + " WHERE batch_id = ? ORDER BY row_index "
+                + "ON CONFLICT (" + conflictColumn + ") DO UPDATE SET " + updates;
+    }
+
+    public String deleteSql() {
+        return "DELETE FROM " + stagingTable() + " WHERE batch_id = ?";
+    }
+
+    /**
+     * Staging columns in COPY order
+     */
+    List<String> stagedColumns() {
+        return Stream.concat(Stream.of("batch_id", "row_index", "id"),
+                Stream.concat(columns.stream().map(StagingColumn::name), AUDIT_COLUMNS.stream())).toList();
+    }
+}
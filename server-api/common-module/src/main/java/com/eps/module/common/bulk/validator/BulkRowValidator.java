@@ -1,8 +1,11 @@
 package com.eps.module.common.bulk.validator;
 
 import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
+import com.eps.module.common.bulk.lookup.BulkLookupContext;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Generic interface for validating bulk upload rows
@@ -24,4 +27,44 @@ public interface BulkRowValidator<T> {
      * @return true if duplicate, false otherwise
      */
     boolean isDuplicate(T rowData);
+    
+    /**
+     * Register lookups and prefetch the reference data needed by a chunk of rows
+     * Called once per chunk before its rows are validated
+     * @param rows The parsed rows of the chunk
+     * @param context The lookup context shared with the processor for this upload
+     */
+    default void prefetch(List<T> rows, BulkLookupContext context) {
+    }
+    
+    /**
+     * Validates a single row using reference data from the lookup context
+     */
+    default List<BulkUploadErrorDto> validate(T rowData, int rowNumber, BulkLookupContext context) {
+        return validate(rowData, rowNumber);
+    }
+    
+    /**
+     * Checks if the row already exists in the database using the lookup context
+     */
+    default boolean isDuplicate(T rowData, BulkLookupContext context) {
+        return isDuplicate(rowData);
+    }
+    
+    /**
+     * Values of the row that must be unique, by field name, such as the values isDuplicate looks up.
+     * The processor checks them in file order against earlier rows of the same upload, which may not be
+     * saved yet when this row is checked. Blank values are ignored and the others are compared exactly,
+     * so normalize case here if the column is unique case-insensitively.
+     */
+    default Map<String, String> getUniqueValues(T rowData) {
+        return Map.of();
+    }
+    
+    /**
+     * A unique value of a column that is unique case-insensitively, or null for a null value
+     */
+    static String ignoreCase(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,267 @@
+package com.eps.module.common.bulk.workbook;
+
+import com.eps.module.common.bulk.excel.ExcelImportUtil;
+import com.eps.module.common.bulk.job.BulkJob;
+import com.eps.module.common.bulk.job.BulkJobCheckpoint;
+import com.eps.module.common.bulk.job.BulkJobRegistry;
+import com.eps.module.common.bulk.job.BulkJobScheduler;
+import com.eps.module.common.bulk.job.BulkUploadMode;
+import com.eps.module.common.bulk.lookup.BulkLookupContext;
+import com.eps.module.common.bulk.processor.BulkUploadProcessor;
+import com.eps.module.common.bulk.service.BulkUploadService;
+import com.eps.module.common.constant.CommonErrorMessages;
+import com.eps.module.common.security.PermissionChecker;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Imports a workbook holding one sheet per entity type as a single bulk job.
+ * Sheets are matched to bulk upload services by entity name and processed one after the other in foreign key
+ * order, taken from the entity mappings, so each sheet can reference records created by the sheets before it.
+ * All sheets share one lookup context, and the job reports one combined progress stream.
+ * Workbook jobs are not resumed after a restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkWorkbookImporter {
+
+    /**
+     * Entity name recorded for workbook jobs
+     */
+    public static final String ENTITY_NAME = "Workbook";
+
+    private final List<BulkUploadService<?, ?>> bulkUploadServices;
+    private final BulkJobRegistry bulkJobRegistry;
+    private final BulkJobScheduler bulkJobScheduler;
+    private final ExcelImportUtil excelImportUtil;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Check and order the workbook's sheets, then queue the import as one bulk job
+     * @throws IllegalArgumentException if a sheet matches no bulk upload, or the mode is not supported by every sheet
+     */
+    public SseEmitter importWorkbook(MultipartFile file, BulkUploadMode mode) throws IOException {
+        log.info("Starting workbook import in {} mode", mode);
+
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        String fileName = file.getOriginalFilename();
+        if (fileName == null || !fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx")) {
+            throw new IllegalArgumentException(CommonErrorMessages.BULK_WORKBOOK_INVALID_FORMAT);
+        }
+
+        BulkJob job = bulkJobRegistry.create(ENTITY_NAME, PermissionChecker.ADMIN, fileName, mode);
+        List<WorkbookSheet> sheets;
+        try {
+            file.transferTo(job.getUploadFile());
+            sheets = planSheets(job.getUploadFile(), mode);
+        } catch (IOException | RuntimeException e) {
+            bulkJobRegistry.finish(job, BulkJob.STATUS_FAILED, e.getMessage(), BulkJobCheckpoint.START);
+            throw e;
+        }
+        log.info("Workbook import {} will load sheets in order: {}", job.getId(),
+                sheets.stream().map(WorkbookSheet::name).toList());
+
+        SseEmitter emitter = BulkUploadProcessor.createEmitter();
+        bulkJobScheduler.submit(job, () -> importSheets(job, sheets));
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    /**
+     * Process every sheet in order. A sheet that cannot be read stops the import, since later sheets may depend on it.
+     */
+    private void importSheets(BulkJob job, List<WorkbookSheet> sheets) {
+        BulkLookupContext lookups = new BulkLookupContext();
+        int totalRecords = sheets.stream().mapToInt(sheet -> Math.max(sheet.estimatedRows(), 0)).sum();
+        String status;
+        String message;
+        Exception failure = null;
+        String currentSheet = null;
+
+        try {
+            for (WorkbookSheet sheet : sheets) {
+                currentSheet = sheet.name();
+                totalRecords = sheet.service().processWorkbookSheet(job, job.getUploadFile(), sheet.name(), lookups, totalRecords);
+            }
+
+            BulkJobCheckpoint checkpoint = job.getCheckpoint();
+            status = checkpoint.failureCount() > 0 || checkpoint.duplicateCount() > 0 ? "COMPLETED_WITH_ERRORS" : "COMPLETED";
+            message = String.format("Imported %d sheets. Success: %d, Failed: %d, Duplicates: %d, Skipped: %d",
+                    sheets.size(), checkpoint.successCount(), checkpoint.failureCount(), checkpoint.duplicateCount(),
+                    checkpoint.skippedCount());
+            log.info("Workbook import {} completed - {}", job.getId(), message);
+        } catch (Exception e) {
+            log.error("Workbook import {} failed on sheet {}: {}", job.getId(), currentSheet, e.getMessage(), e);
+            failure = e;
+            status = BulkJob.STATUS_FAILED;
+            message = String.format("Import failed on sheet %s: %s", currentSheet, e.getMessage());
+        }
+
+        // The total is exact once every sheet has been read
+        BulkJobCheckpoint checkpoint = job.getCheckpoint();
+        BulkJobCheckpoint finalCheckpoint = new BulkJobCheckpoint(checkpoint.lastCommittedRow(),
+                failure == null ? checkpoint.processedRecords() : Math.max(totalRecords, checkpoint.processedRecords()),
+                checkpoint.processedRecords(), checkpoint.successCount(), checkpoint.failureCount(),
+                checkpoint.duplicateCount(), checkpoint.skippedCount(), checkpoint.errorCount());
+        try {
+            bulkJobRegistry.finish(job, status, message, finalCheckpoint);
+        } catch (Exception e) {
+            log.error("Could not record the outcome of workbook import {}: {}", job.getId(), e.getMessage(), e);
+        }
+
+        job.publishFinished();
+        job.completeSubscribers(failure);
+    }
+
+    /**
+     * Match every sheet to a bulk upload service and order the sheets so referenced entities are loaded first
+     */
+    private List<WorkbookSheet> planSheets(Path workbook, BulkUploadMode mode) throws IOException {
+        Map<BulkUploadService<?, ?>, String> sheetByService = new LinkedHashMap<>();
+        List<WorkbookSheet> sheets = new ArrayList<>();
+
+        for (String sheetName : excelImportUtil.getSheetNames(workbook)) {
+            BulkUploadService<?, ?> service = findService(sheetName)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            String.format(CommonErrorMessages.BULK_WORKBOOK_UNKNOWN_SHEET, sheetName)));
+
+            String previous = sheetByService.putIfAbsent(service, sheetName);
+            if (previous != null) {
+                throw new IllegalArgumentException(String.format(CommonErrorMessages.BULK_WORKBOOK_DUPLICATE_SHEET,
+                        previous, sheetName, service.getEntityName()));
+            }
+            if (mode == BulkUploadMode.UPSERT && !service.supportsUpsert()) {
+                throw new IllegalArgumentException(String.format(CommonErrorMessages.BULK_UPSERT_UNSUPPORTED, service.getEntityName()));
+            }
+
+            sheets.add(new WorkbookSheet(sheetName, service, entityClass(service),
+                    excelImportUtil.estimateDataRowCount(workbook, sheetName)));
+        }
+        return sortByDependencies(sheets);
+    }
+
+    /**
+     * Find the service whose entity name matches the sheet name, ignoring case, spaces, punctuation,
+     * a plural ending and a trailing "Template" or "Upload Template" as in the downloaded templates.
+     * Exact entity names win over plurals, so "Activities" is not taken for the plural of "Activity".
+     */
+    private Optional<BulkUploadService<?, ?>> findService(String sheetName) {
+        String name = normalize(sheetName);
+        for (String suffix : List.of("template", "upload")) {
+            if (name.endsWith(suffix) && name.length() > suffix.length()) {
+                name = name.substring(0, name.length() - suffix.length());
+            }
+        }
+
+        String sheet = name;
+        return bulkUploadServices.stream()
+                .filter(service -> normalize(service.getEntityName()).equals(sheet))
+                .findFirst()
+                .or(() -> bulkUploadServices.stream()
+                        .filter(service -> pluralForms(normalize(service.getEntityName())).contains(sheet))
+                        .findFirst());
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    private static Set<String> pluralForms(String name) {
+        Set<String> forms = new HashSet<>(List.of(name + "s", name + "es"));
+        if (name.endsWith("y")) {
+            forms.add(name.substring(0, name.length() - 1) + "ies");
+        }
+        return forms;
+    }
+
+    /**
+     * Order sheets so every sheet comes after the sheets holding the entities it references,
+     * otherwise keeping workbook order. Sheets in a reference cycle keep their workbook order.
+     */
+    private List<WorkbookSheet> sortByDependencies(List<WorkbookSheet> sheets) {
+        Map<WorkbookSheet, Set<Class<?>>> references = new LinkedHashMap<>();
+        for (WorkbookSheet sheet : sheets) {
+            references.put(sheet, referencedEntities(sheet.entityClass()));
+        }
+
+        List<WorkbookSheet> remaining = new ArrayList<>(sheets);
+        List<WorkbookSheet> ordered = new ArrayList<>(sheets.size());
+        while (!remaining.isEmpty()) {
+            WorkbookSheet next = remaining.stream()
+                    .filter(sheet -> remaining.stream().noneMatch(other -> other != sheet
+                            && references.get(sheet).stream().anyMatch(type -> type.isAssignableFrom(other.entityClass()))))
+                    .findFirst()
+                    .orElseGet(() -> {
+                        log.warn("Sheets {} reference each other; loading them in workbook order",
+                                remaining.stream().map(WorkbookSheet::name).toList());
+                        return remaining.get(0);
+                    });
+            remaining.remove(next);
+            ordered.add(next);
+        }
+        return ordered;
+    }
+
+    /**
+     * Entity types referenced by the entity's foreign keys: many-to-one and owning one-to-one associations
+     */
+    private Set<Class<?>> referencedEntities(Class<?> entityClass) {
+        Set<Class<?>> referenced = new HashSet<>();
+        try {
+            for (SingularAttribute<?, ?> attribute : entityManagerFactory.getMetamodel().entity(entityClass).getSingularAttributes()) {
+                Attribute.PersistentAttributeType type = attribute.getPersistentAttributeType();
+                if (type == Attribute.PersistentAttributeType.MANY_TO_ONE
+                        || type == Attribute.PersistentAttributeType.ONE_TO_ONE && isOwningSide(attribute)) {
+                    referenced.add(attribute.getJavaType());
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("{} is not a mapped entity: {}", entityClass.getSimpleName(), e.getMessage());
+        }
+        referenced.remove(entityClass);
+        return referenced;
+    }
+
+    private static boolean isOwningSide(Attribute<?, ?> attribute) {
+        if (attribute.getJavaMember() instanceof Field field) {
+            OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+            return oneToOne == null || oneToOne.mappedBy().isEmpty();
+        }
+        return true;
+    }
+
+    private static Class<?> entityClass(BulkUploadService<?, ?> service) {
+        Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(ClassUtils.getUserClass(service), BulkUploadService.class);
+        if (typeArguments == null) {
+            throw new IllegalStateException("Cannot resolve the entity type of " + service.getClass().getSimpleName());
+        }
+        return typeArguments[1];
+    }
+
+    private record WorkbookSheet(String name, BulkUploadService<?, ?> service, Class<?> entityClass, int estimatedRows) {
+    }
+}
@@ -6,9 +6,33 @@ public class CommonErrorMessages {
     public static final String EXCEL_NO_COLUMNS = "No valid columns found in Excel file";
     public static final String EXCEL_NO_DATA = "Excel file must contain at least one data row";
     public static final String EXCEL_INVALID_VALUE = "Invalid value '%s' for type %s";
+    public static final String EXCEL_SHEET_NOT_FOUND = "Sheet '%s' not found in Excel file";
+    
+    public static final String CSV_EMPTY_FILE = "CSV file is empty";
+    public static final String CSV_NO_COLUMNS = "No valid columns found in CSV file";
+    public static final String CSV_UNTERMINATED_QUOTE = "Unterminated quoted field starting in record %d";
+    
+    public static final String BULK_INVALID_FORMAT = "Invalid file format. Please upload an Excel file (.xlsx) or a CSV file (.csv, .csv.gz)";
+    public static final String BULK_NO_DATA = "Uploaded file must contain at least one data row";
     
     public static final String SEEDER_FAILURE = "Failed to seed ";
     
+    public static final String DUPLICATE_RECORD = "Duplicate record found";
+    public static final String DUPLICATE_RECORD_EXISTS = "Duplicate record found: '%s' already exists";
+    public static final String DUPLICATE_RECORD_IN_FILE = "Duplicate record found: '%s' already appears in row %d";
+    public static final String DUPLICATE_VALUE_IN_FILE = "Duplicate record found: %s already appears in row %d";
+    
+    public static final String BULK_JOB_NOT_FOUND = "Bulk job not found: %s";
+    public static final String BULK_JOB_ACCESS_DENIED = "Access denied. Bulk job %s belongs to another user";
+    public static final String BULK_JOB_REPORT_UNSUPPORTED = "Error report is not available for %s uploads";
+    public static final String BULK_UPSERT_UNSUPPORTED = "Upsert mode is not available for %s uploads";
+    public static final String BULK_WORKBOOK_INVALID_FORMAT = "Invalid file format. Please upload an Excel workbook (.xlsx)";
+    public static final String BULK_WORKBOOK_UNKNOWN_SHEET = "No bulk upload matches sheet '%s'";
+    public static final String BULK_WORKBOOK_DUPLICATE_SHEET = "Sheets '%s' and '%s' both hold %s records";
+    
+    public static final String INVALID_PAGE_CURSOR = "Invalid pagination cursor";
+    public static final String PAGE_CURSOR_SORT_MISMATCH = "Pagination cursor was issued for a different sort order";
+    
     public static final String DTO_CONVERSION_ERROR = "Error converting DTO to entity: ";
     public static final String ENTITY_SAVE_ERROR = "Error saving entity: ";
     
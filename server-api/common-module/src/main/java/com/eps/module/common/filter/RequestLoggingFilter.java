@@ -15,10 +15,9 @@ import org.springframework.core.annotation.Order;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
@@ -34,6 +33,8 @@ import java.util.UUID;
  * Body Logging Strategy:
  * - DEV: Always log request/response body (for debugging)
  * - PROD: Log body ONLY for failures (status >= 400) - masked and truncated
+ * - Bodies are teed as they are read and written, keeping at most max-length bytes;
+ *   binary, multipart and event-stream bodies are passed through without being copied
  * 
  * Uses MDC (Mapped Diagnostic Context) for thread-safe logging context.
  * Runs before Spring Security to capture all requests including auth failures.
@@ -78,9 +79,13 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             MDC.put("clientIP", clientIp);
         }
 
-        // Wrap request and response to cache body for logging
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        // Wrap request and response to copy the start of the body for logging, without holding the whole body
+        HttpServletRequest wrappedRequest = logRequestBody && shouldLogBody(request)
+                ? new TeeHttpServletRequest(request, maxBodyLength)
+                : request;
+        HttpServletResponse wrappedResponse = logRequestBody
+                ? new TeeHttpServletResponse(response, maxBodyLength, this::shouldLogResponseBody)
+                : response;
 
         // Start timer for duration calculation
         long startTime = System.currentTimeMillis();
@@ -99,9 +104,6 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             // Log response with body if needed
             logResponse(wrappedRequest, wrappedResponse, requestId, duration);
 
-            // Copy cached response body back to actual response
-            wrappedResponse.copyBodyToResponse();
-
             // Clear MDC to prevent memory leaks
             MDC.clear();
         }
@@ -110,7 +112,7 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
     /**
      * Logs the incoming HTTP request with masked sensitive data.
      */
-    private void logRequest(ContentCachingRequestWrapper request, String requestId, boolean includeBody) {
+    private void logRequest(HttpServletRequest request, String requestId, boolean includeBody) {
         String method = request.getMethod();
         String uri = request.getRequestURI();
         String queryString = request.getQueryString();
@@ -128,8 +130,7 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             String requestBody = getRequestBody(request);
             if (requestBody != null && !requestBody.isEmpty()) {
                 String maskedBody = sensitiveDataMasker.maskRequestBody(requestBody);
-                String truncatedBody = truncateIfNeeded(maskedBody);
-                log.info("[REQUEST BODY] {} | {}", requestId, truncatedBody);
+                log.info("[REQUEST BODY] {} | {}", requestId, maskedBody);
             }
         }
     }
@@ -139,8 +140,8 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
      * In production, logs request/response body ONLY for failures (status >= 400).
      * In development, always logs body.
      */
-    private void logResponse(ContentCachingRequestWrapper request,
-                            ContentCachingResponseWrapper response,
+    private void logResponse(HttpServletRequest request,
+                            HttpServletResponse response,
                             String requestId,
                             long duration) {
         String method = request.getMethod();
@@ -158,27 +159,25 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             String requestBody = getRequestBody(request);
             if (requestBody != null && !requestBody.isEmpty()) {
                 String maskedBody = sensitiveDataMasker.maskRequestBody(requestBody);
-                String truncatedBody = truncateIfNeeded(maskedBody);
                 
                 if (isError) {
-                    log.error("[REQUEST BODY] {} | {}", requestId, truncatedBody);
+                    log.error("[REQUEST BODY] {} | {}", requestId, maskedBody);
                 } else {
-                    log.info("[REQUEST BODY] {} | {}", requestId, truncatedBody);
+                    log.info("[REQUEST BODY] {} | {}", requestId, maskedBody);
                 }
             }
         }
 
         // Log response body for errors or in dev mode
-        if (shouldLogBodyNow && shouldLogBody(response)) {
+        if (shouldLogBodyNow && response instanceof TeeHttpServletResponse) {
             String responseBody = getResponseBody(response);
             if (responseBody != null && !responseBody.isEmpty()) {
                 String maskedBody = sensitiveDataMasker.maskRequestBody(responseBody);
-                String truncatedBody = truncateIfNeeded(maskedBody);
                 
                 if (isError) {
-                    log.error("[RESPONSE BODY] {} | {}", requestId, truncatedBody);
+                    log.error("[RESPONSE BODY] {} | {}", requestId, maskedBody);
                 } else {
-                    log.info("[RESPONSE BODY] {} | {}", requestId, truncatedBody);
+                    log.info("[RESPONSE BODY] {} | {}", requestId, maskedBody);
                 }
             }
         }
@@ -199,27 +198,37 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Extract request body from cached wrapper.
+     * Extract the captured start of the request body from the tee wrapper.
      */
-    private String getRequestBody(ContentCachingRequestWrapper request) {
-        byte[] content = request.getContentAsByteArray();
-        if (content.length > 0) {
-            return new String(content, StandardCharsets.UTF_8);
+    private String getRequestBody(HttpServletRequest request) {
+        if (request instanceof TeeHttpServletRequest teeRequest) {
+            return toBody(teeRequest.getCapturedBody(), teeRequest.isTruncated(), request.getCharacterEncoding());
         }
         return null;
     }
 
     /**
-     * Extract response body from cached wrapper.
+     * Extract the captured start of the response body from the tee wrapper.
      */
-    private String getResponseBody(ContentCachingResponseWrapper response) {
-        byte[] content = response.getContentAsByteArray();
-        if (content.length > 0) {
-            return new String(content, StandardCharsets.UTF_8);
+    private String getResponseBody(HttpServletResponse response) {
+        if (response instanceof TeeHttpServletResponse teeResponse) {
+            return toBody(teeResponse.getCapturedBody(), teeResponse.isTruncated(), response.getCharacterEncoding());
         }
         return null;
     }
 
+    /**
+     * Decode a captured body, marking where it was cut off.
+     */
+    private String toBody(byte[] content, boolean truncated, String encoding) {
+        if (content.length == 0) {
+            return null;
+        }
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        String body = new String(content, charset);
+        return truncated ? body + "... [TRUNCATED at " + content.length + " bytes]" : body;
+    }
+
     /**
      * Check if we should log the body based on content type.
      */
@@ -238,9 +247,9 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
 
     /**
      * Check if we should log the response body based on content type.
+     * Binary, multipart and text/event-stream bodies are never copied, so downloads and SSE streams pass straight through.
      */
-    private boolean shouldLogBody(ContentCachingResponseWrapper response) {
-        String contentType = response.getContentType();
+    private boolean shouldLogResponseBody(String contentType) {
         if (contentType == null) {
             return false;
         }
@@ -251,21 +260,6 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
                contentType.contains(MediaType.TEXT_PLAIN_VALUE);
     }
 
-    /**
-     * Truncate body if it exceeds max length to prevent log bloat.
-     */
-    private String truncateIfNeeded(String body) {
-        if (body == null) {
-            return "";
-        }
-        
-        if (body.length() > maxBodyLength) {
-            return body.substring(0, maxBodyLength) + "... [TRUNCATED - " + body.length() + " total chars]";
-        }
-        
-        return body;
-    }
-
     /**
      * Extracts the client IP address from the request.
      * Checks common proxy headers first, falls back to remote address.
@@ -328,12 +322,6 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             return true;
         }
 
-        // Skip bulk upload endpoints (SSE streaming) to prevent response buffering
-        // ContentCachingResponseWrapper buffers the response which breaks SSE
-        if (path.contains("/bulk-upload")) {
-            return true;
-        }
-
         return false;
     }
 }
@@ -0,0 +1,152 @@
+package com.eps.module.common.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Wrapper that copies the first bytes of the request body as it is read, so they can be logged.
+ * Unlike {@link CachedBodyHttpServletRequest}, the body is not read up front and at most
+ * {@code maxLength} bytes are kept, whatever the size of the body.
+ */
+public class TeeHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    private final int maxLength;
+    private boolean truncated;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    public TeeHttpServletRequest(HttpServletRequest request, int maxLength) {
+        super(request);
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new TeeServletInputStream(getRequest().getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), getCharset()));
+        }
+        return reader;
+    }
+
+    /**
+     * The captured start of the body. A form body parsed by the container into parameters
+     * never passes through the stream, so it is rebuilt from the parameters instead.
+     */
+    public byte[] getCapturedBody() {
+        if (captured.size() == 0 && getContentType() != null
+                && getContentType().contains(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
+            captureFormParameters();
+        }
+        return captured.toByteArray();
+    }
+
+    /**
+     * Whether the body is longer than what was captured
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    private void captureFormParameters() {
+        Charset charset = getCharset();
+        StringBuilder form = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : getParameterMap().entrySet()) {
+            for (String value : parameter.getValue()) {
+                if (!form.isEmpty()) {
+                    form.append('&');
+                }
+                form.append(URLEncoder.encode(parameter.getKey(), charset)).append('=').append(URLEncoder.encode(value, charset));
+            }
+        }
+        byte[] bytes = form.toString().getBytes(charset);
+        capture(bytes, 0, bytes.length);
+    }
+
+    private Charset getCharset() {
+        String encoding = getCharacterEncoding();
+        return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        int room = maxLength - captured.size();
+        if (length > room) {
+            truncated = true;
+        }
+        if (room > 0) {
+            captured.write(bytes, offset, Math.min(length, room));
+        }
+    }
+
+    private void capture(int b) {
+        if (captured.size() < maxLength) {
+            captured.write(b);
+        } else {
+            truncated = true;
+        }
+    }
+
+    /**
+     * ServletInputStream that reads from the original stream, copying the bytes read until the capture is full
+     */
+    private class TeeServletInputStream extends ServletInputStream {
+        private final ServletInputStream originalInputStream;
+
+        TeeServletInputStream(ServletInputStream originalInputStream) {
+            this.originalInputStream = originalInputStream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = originalInputStream.read();
+            if (b != -1) {
+                capture(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = originalInputStream.read(b, off, len);
+            if (count > 0) {
+                capture(b, off, count);
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return originalInputStream.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return originalInputStream.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            originalInputStream.setReadListener(listener);
+        }
+    }
+}
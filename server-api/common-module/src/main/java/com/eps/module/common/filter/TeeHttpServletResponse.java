@@ -0,0 +1,208 @@
+package com.eps.module.common.filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.function.Predicate;
+
+/**
+ * Wrapper that copies the first bytes of the response body as it is written, so they can be logged.
+ * Unlike {@link CachedBodyHttpServletResponse}, every write and flush goes straight to the original response,
+ * so streamed and flushed responses behave as without the wrapper, and at most {@code maxLength} bytes are kept.
+ * Bodies whose content type is not accepted when writing starts are not copied at all.
+ */
+public class TeeHttpServletResponse extends HttpServletResponseWrapper {
+
+    private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    private final int maxLength;
+    private final Predicate<String> capturedContentType;
+    private Boolean capturing;
+    private boolean truncated;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    /**
+     * @param capturedContentType content types whose body is copied; a null content type is passed to it as well
+     */
+    public TeeHttpServletResponse(HttpServletResponse response, int maxLength, Predicate<String> capturedContentType) {
+        super(response);
+        this.maxLength = maxLength;
+        this.capturedContentType = capturedContentType;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeServletOutputStream(getResponse().getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new TeePrintWriter(getResponse().getWriter());
+        }
+        return writer;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        resetCapture();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        resetCapture();
+    }
+
+    /**
+     * The captured start of the body
+     */
+    public byte[] getCapturedBody() {
+        return captured.toByteArray();
+    }
+
+    /**
+     * Whether the body is longer than what was captured
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Whether the body is copied, decided from the content type when the first bytes are written
+     */
+    private boolean isCapturing() {
+        if (capturing == null) {
+            capturing = capturedContentType.test(getContentType());
+        }
+        return capturing;
+    }
+
+    private void resetCapture() {
+        captured.reset();
+        capturing = null;
+        truncated = false;
+    }
+
+    private void capture(int b) {
+        if (!isCapturing()) {
+            return;
+        }
+        if (captured.size() < maxLength) {
+            captured.write(b);
+        } else {
+            truncated = true;
+        }
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        if (!isCapturing()) {
+            return;
+        }
+        int room = maxLength - captured.size();
+        if (length > room) {
+            truncated = true;
+        }
+        if (room > 0) {
+            captured.write(bytes, offset, Math.min(length, room));
+        }
+    }
+
+    private void capture(CharSequence chars) {
+        if (!isCapturing()) {
+            return;
+        }
+        int room = maxLength - captured.size();
+        if (chars.length() > room) {
+            truncated = true;
+        }
+        if (room > 0) {
+            // A character takes at least one byte, so no more characters than the remaining bytes are encoded
+            byte[] bytes = chars.subSequence(0, Math.min(chars.length(), room)).toString()
+                    .getBytes(Charset.forName(getCharacterEncoding()));
+            capture(bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * ServletOutputStream that writes to the original stream and copies the bytes until the capture is full
+     */
+    private class TeeServletOutputStream extends ServletOutputStream {
+        private final ServletOutputStream originalOutputStream;
+
+        TeeServletOutputStream(ServletOutputStream originalOutputStream) {
+            this.originalOutputStream = originalOutputStream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            originalOutputStream.write(b);
+            capture(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            originalOutputStream.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            originalOutputStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            originalOutputStream.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return originalOutputStream.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            originalOutputStream.setWriteListener(listener);
+        }
+    }
+
+    /**
+     * PrintWriter that writes to the original writer, keeping its buffering and flushing, and copies the characters
+     */
+    private class TeePrintWriter extends PrintWriter {
+
+        TeePrintWriter(PrintWriter originalWriter) {
+            super(originalWriter);
+        }
+
+        @Override
+        public void write(int c) {
+            super.write(c);
+            capture(String.valueOf((char) c));
+        }
+
+        @Override
+        public void write(char[] buf, int off, int len) {
+            super.write(buf, off, len);
+            capture(CharBuffer.wrap(buf, off, len));
+        }
+
+        @Override
+        public void write(String s, int off, int len) {
+            super.write(s, off, len);
+            capture(CharBuffer.wrap(s, off, off + len));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.eps.module.common.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Parameters of a keyset-paginated request
+ * @param cursor         cursor from the previous page, or blank for the first page
+ * @param size           page size
+ * @param sort           sort order; the id is appended as a tie-breaker
+ * @param estimateTotal  whether to include the planner's row estimate for the table
+ */
+public record CursorPageRequest(String cursor, int size, Sort sort, boolean estimateTotal) {
+
+    public static final int MAX_SIZE = 500;
+    public static final String DEFAULT_SORT_PROPERTY = "id";
+
+    public CursorPageRequest {
+        size = Math.clamp(size, 1, MAX_SIZE);
+    }
+
+    /**
+     * Build a request from the usual sortBy / sortDirection parameters of the paged endpoints.
+     * Keyset paging compares sort keys with {@code >}, which never matches a NULL, so rows with a null key
+     * would end the scroll early; sorting on a property outside {@code sortProperties} falls back to the id.
+     * @param sortProperties  properties of the entity that may be sorted on, all of them non-null columns
+     */
+    public static CursorPageRequest of(String cursor, int size, String sortBy, String sortDirection, boolean estimateTotal,
+                                       Set<String> sortProperties) {
+        Sort.Direction direction = "DESC".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        String property = sortProperties.contains(sortBy) ? sortBy : DEFAULT_SORT_PROPERTY;
+        return new CursorPageRequest(cursor, size, Sort.by(direction, property), estimateTotal);
+    }
+
+    public boolean isFirstPage() {
+        return cursor == null || cursor.isBlank();
+    }
+}
@@ -0,0 +1,149 @@
+package com.eps.module.common.pagination;
+
+import com.eps.module.common.constant.CommonErrorMessages;
+import com.eps.module.common.exception.BadRequestException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.stereotype.Component;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination over any repository that extends {@link JpaSpecificationExecutor}.
+ * Pages are read with {@code WHERE (sort key, id) > (last sort key, last id)} instead of an OFFSET,
+ * so deep pages cost the same as the first, and no COUNT query is issued.
+ * The cursor is an opaque token carrying the sort key and id of the last row of the previous page.
+ * The total, when asked for, is the planner's row estimate from {@code pg_class.reltuples}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeysetPaginator {
+
+    private static final Base64.Encoder CURSOR_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder CURSOR_DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read one page. Run inside a read-only transaction when the mapper touches lazy relationships.
+     * @param repository   repository of the entity
+     * @param entityClass  entity type, used to decode the cursor and find the table for the estimate
+     * @param filter       search filter, or null for all rows
+     * @param request      cursor, size and sort
+     * @param mapper       maps each entity to its response DTO
+     * @param fetch        relationships to fetch with the page, as property paths
+     * @throws BadRequestException if the cursor is malformed or was issued for another sort order
+     */
+    public <E, T> CursorPage<T> page(JpaSpecificationExecutor<E> repository, Class<E> entityClass, Specification<E> filter,
+                                     CursorPageRequest request, Function<E, T> mapper, String... fetch) {
+        ScrollPosition position = request.isFirstPage()
+                ? ScrollPosition.keyset()
+                : decodeCursor(request.cursor(), request, entityClass);
+        Specification<E> spec = filter != null ? filter : (root, query, cb) -> null;
+
+        Window<E> window = repository.findBy(spec, query -> query
+                .sortBy(request.sort())
+                .limit(request.size())
+                .project(fetch)
+                .scroll(position));
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encodeCursor((KeysetScrollPosition) window.positionAt(window.size() - 1), request)
+                : null;
+
+        return CursorPage.<T>builder()
+                .content(window.getContent().stream().map(mapper).toList())
+                .size(window.size())
+                .hasNext(window.hasNext())
+                .nextCursor(nextCursor)
+                .estimatedTotal(request.estimateTotal() ? estimateRowCount(entityClass) : null)
+                .build();
+    }
+
+    private String encodeCursor(KeysetScrollPosition position, CursorPageRequest request) {
+        Map<String, Object> cursor = new LinkedHashMap<>();
+        cursor.put("s", request.sort().toString());
+        cursor.put("k", position.getKeys());
+        try {
+            return CURSOR_ENCODER.encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not encode pagination cursor", e);
+        }
+    }
+
+    /**
+     * Decode a cursor, converting each key back to the type of the property it was read from
+     */
+    private KeysetScrollPosition decodeCursor(String token, CursorPageRequest request, Class<?> entityClass) {
+        Map<String, Object> cursor;
+        try {
+            cursor = objectMapper.readValue(CURSOR_DECODER.decode(token), new TypeReference<>() {});
+        } catch (Exception e) {
+            throw new BadRequestException(CommonErrorMessages.INVALID_PAGE_CURSOR);
+        }
+
+        if (!request.sort().toString().equals(cursor.get("s"))) {
+            throw new BadRequestException(CommonErrorMessages.PAGE_CURSOR_SORT_MISMATCH);
+        }
+        if (!(cursor.get("k") instanceof Map<?, ?> rawKeys) || rawKeys.isEmpty()) {
+            throw new BadRequestException(CommonErrorMessages.INVALID_PAGE_CURSOR);
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<?, ?> key : rawKeys.entrySet()) {
+                String property = key.getKey().toString();
+                Class<?> type = PropertyPath.from(property, entityClass).getLeafType();
+                keys.put(property, objectMapper.convertValue(key.getValue(), type));
+            }
+        } catch (RuntimeException e) {
+            throw new BadRequestException(CommonErrorMessages.INVALID_PAGE_CURSOR);
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Row count estimate kept by ANALYZE and autovacuum, or null if the table has not been analyzed yet
+     */
+    private Long estimateRowCount(Class<?> entityClass) {
+        EntityPersister persister = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+        if (!(persister instanceof AbstractEntityPersister entityPersister)) {
+            return null;
+        }
+
+        List<?> result = entityManager
+                .createNativeQuery("SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass(:tableName)")
+                .setParameter("tableName", entityPersister.getTableName())
+                .getResultList();
+        if (result.isEmpty() || result.get(0) == null) {
+            return null;
+        }
+        long estimate = ((Number) result.get(0)).longValue();
+        return estimate >= 0 ? estimate : null;
+    }
+}
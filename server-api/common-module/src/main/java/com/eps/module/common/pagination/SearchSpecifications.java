@@ -0,0 +1,57 @@
+package com.eps.module.common.pagination;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Specifications matching the free-text searches of the paged search endpoints
+ */
+public final class SearchSpecifications {
+
+    private SearchSpecifications() {}
+
+    /**
+     * Case-insensitive substring match of the term against any of the given properties.
+     * Dotted paths such as {@code "vendor.vendorDetails.firstName"} are reached through left joins,
+     * so rows with a missing relationship are still matched on their other properties.
+     * @return the specification, or null for a blank term so every row matches
+     */
+    public static <E> Specification<E> containsIgnoreCase(String searchTerm, String... properties) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + searchTerm.trim().toLowerCase(Locale.ROOT) + "%";
+
+        return (root, query, cb) -> cb.or(Arrays.stream(properties)
+                .map(property -> cb.like(cb.lower(path(root, property)), pattern))
+                .toArray(Predicate[]::new));
+    }
+
+    private static Expression<String> path(From<?, ?> root, String property) {
+        String[] parts = property.split("\\.");
+        From<?, ?> from = root;
+        for (int i = 0; i < parts.length - 1; i++) {
+            from = join(from, parts[i]);
+        }
+        return from.get(parts[parts.length - 1]);
+    }
+
+    /**
+     * Reuse the left join to the attribute if an earlier property already made it
+     */
+    private static From<?, ?> join(From<?, ?> from, String attribute) {
+        for (Join<?, ?> join : from.getJoins()) {
+            if (join.getAttribute().getName().equals(attribute) && join.getJoinType() == JoinType.LEFT) {
+                return join;
+            }
+        }
+        return from.join(attribute, JoinType.LEFT);
+    }
+}
@@ -0,0 +1,101 @@
+package com.eps.module.common.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes query results as newline-delimited JSON, one response DTO per line.
+ * Used by the /list endpoints when the client sends {@code Accept: application/x-ndjson}:
+ * entities are read from a database cursor, mapped and written one at a time, so memory use
+ * does not grow with the table and the first rows reach the client before the query is exhausted.
+ */
+@Slf4j
+@Component
+public class NdjsonStreamer {
+
+    /**
+     * Entities kept in the persistence context before it is cleared
+     */
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final ObjectWriter writer;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public NdjsonStreamer(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        // Rows are flushed by the generator's buffer, not one by one
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Stream the query's entities as NDJSON.
+     * The query runs after the controller returns, inside its own read-only transaction,
+     * so it must return a cursor-backed stream (a repository method returning {@link Stream}).
+     * @param name    what is being listed, for logging
+     * @param query   opens the entity stream; it is closed once written
+     * @param mapper  maps each entity to its response DTO while it is still attached
+     */
+    public <E, T> ResponseEntity<StreamingResponseBody> stream(String name, Supplier<Stream<E>> query, Function<E, T> mapper) {
+        StreamingResponseBody body = outputStream -> transactionTemplate.executeWithoutResult(status -> {
+            long startNanos = System.nanoTime();
+            int written = 0;
+
+            try (Stream<E> entities = query.get();
+                 JsonGenerator generator = writer.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(new SerializedString("\n"));
+
+                Iterator<E> iterator = entities.iterator();
+                while (iterator.hasNext()) {
+                    E entity = iterator.next();
+                    writer.writeValue(generator, mapper.apply(entity));
+
+                    // Detach as we go; periodically drop whatever the mapper loaded alongside
+                    entityManager.detach(entity);
+                    if (++written % CLEAR_INTERVAL == 0) {
+                        entityManager.clear();
+                    }
+                    if (written == 1) {
+                        // Get the first row to the client without waiting for the buffer to fill
+                        generator.flush();
+                    }
+                }
+                if (written > 0) {
+                    generator.writeRaw('\n');
+                }
+            } catch (IOException e) {
+                log.warn("Streaming {} stopped after {} records: {}", name, written, e.getMessage());
+                throw new UncheckedIOException(e);
+            }
+
+            log.info("Streamed {} {} records as NDJSON in {} ms", written, name, (System.nanoTime() - startNanos) / 1_000_000);
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
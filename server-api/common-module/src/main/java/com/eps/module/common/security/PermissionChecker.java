@@ -0,0 +1,20 @@
+package com.eps.module.common.security;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * Permission checks for code in modules that cannot depend on the auth module,
+ * implemented by the auth module's permission service
+ */
+public interface PermissionChecker {
+
+    /**
+     * Permission held by administrators, granting every other permission
+     */
+    String ADMIN = "ALL";
+
+    /**
+     * Check if the authenticated user has a specific permission
+     */
+    boolean hasPermission(Authentication authentication, String permission);
+}
@@ -0,0 +1,18 @@
+package com.eps.module.common.security;
+
+import org.springframework.security.core.Authentication;
+
+import java.util.Optional;
+
+/**
+ * Rebuilds a user's authentication outside a request, e.g. to resume work a user started before a restart,
+ * implemented by the auth module
+ */
+public interface UserAuthenticationLoader {
+
+    /**
+     * Authentication of an active user as their requests carry it, so auditing records them
+     * @return empty if the user is unknown or disabled
+     */
+    Optional<Authentication> load(Long userId);
+}
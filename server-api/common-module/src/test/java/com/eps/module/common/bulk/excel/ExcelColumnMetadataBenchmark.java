@@ -0,0 +1,199 @@
+package com.eps.module.common.bulk.excel;
+
+import lombok.Data;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares mapping rows to a DTO through ExcelColumnMetadata with the reflective path it replaced
+ * (getDeclaredConstructor per row, a type-name switch per cell, setAccessible and Field.set/get).
+ * Not a test; run it by hand after changing ExcelColumnMetadata:
+ * <pre>
+ * mvn -pl common-module test-compile
+ * java -cp "common-module/target/test-classes:common-module/target/classes" \
+ *     com.eps.module.common.bulk.excel.ExcelColumnMetadataBenchmark [rows]
+ * </pre>
+ * Each phase is warmed up, then timed over the given number of rows (200000 by default); the best run is printed.
+ */
+public class ExcelColumnMetadataBenchmark {
+
+    private static final int RUNS = 5;
+    private static final DateTimeFormatter ISO_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        ExcelColumnMetadata<BenchmarkRow> metadata = ExcelColumnMetadata.of(BenchmarkRow.class);
+        List<ExcelColumnMetadata.Column> columns = metadata.getColumns();
+        List<Field> fields = new ArrayList<>();
+        for (ExcelColumnMetadata.Column column : columns) {
+            fields.add(BenchmarkRow.class.getDeclaredField(column.fieldName()));
+        }
+        String[] cells = sampleCells(columns);
+
+        System.out.printf("%d rows x %d columns, best of %d runs%n", rows, columns.size(), RUNS);
+        report("map cells, reflective", rows, () -> mapReflective(fields, cells, rows));
+        report("map cells, metadata  ", rows, () -> mapMetadata(metadata, columns, cells, rows));
+
+        List<BenchmarkRow> beans = mapMetadata(metadata, columns, cells, Math.min(rows, 10_000));
+        report("read cells, reflective", rows, () -> readReflective(fields, beans, rows));
+        report("read cells, metadata  ", rows, () -> readMetadata(columns, beans, rows));
+    }
+
+    private static void report(String name, int rows, Phase phase) throws Exception {
+        long best = Long.MAX_VALUE;
+        Object sink = null;
+        for (int run = 0; run < RUNS + 2; run++) {
+            long start = System.nanoTime();
+            sink = phase.run();
+            long elapsed = System.nanoTime() - start;
+            // The first two runs are warm-up
+            if (run >= 2) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        System.out.printf("%s: %6d ms (%s)%n", name, best / 1_000_000, sink instanceof List<?> list ? list.size() : sink);
+    }
+
+    private static List<BenchmarkRow> mapReflective(List<Field> fields, String[] cells, int rows) throws Exception {
+        List<BenchmarkRow> beans = new ArrayList<>(Math.min(rows, 10_000));
+        for (int row = 0; row < rows; row++) {
+            BenchmarkRow bean = BenchmarkRow.class.getDeclaredConstructor().newInstance();
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                field.setAccessible(true);
+                field.set(bean, parseReflective(cells[i], field.getType()));
+            }
+            if (beans.size() < 10_000) {
+                beans.add(bean);
+            }
+        }
+        return beans;
+    }
+
+    private static List<BenchmarkRow> mapMetadata(ExcelColumnMetadata<BenchmarkRow> metadata, List<ExcelColumnMetadata.Column> columns,
+                                                  String[] cells, int rows) {
+        List<BenchmarkRow> beans = new ArrayList<>(Math.min(rows, 10_000));
+        for (int row = 0; row < rows; row++) {
+            BenchmarkRow bean = metadata.newInstance();
+            for (int i = 0; i < columns.size(); i++) {
+                columns.get(i).setFromCell(bean, cells[i]);
+            }
+            if (beans.size() < 10_000) {
+                beans.add(bean);
+            }
+        }
+        return beans;
+    }
+
+    private static Long readReflective(List<Field> fields, List<BenchmarkRow> beans, int rows) throws Exception {
+        long nonNull = 0;
+        for (int row = 0; row < rows; row++) {
+            BenchmarkRow bean = beans.get(row % beans.size());
+            for (Field field : fields) {
+                field.setAccessible(true);
+                if (field.get(bean) != null) {
+                    nonNull++;
+                }
+            }
+        }
+        return nonNull;
+    }
+
+    private static Long readMetadata(List<ExcelColumnMetadata.Column> columns, List<BenchmarkRow> beans, int rows) {
+        long nonNull = 0;
+        for (int row = 0; row < rows; row++) {
+            BenchmarkRow bean = beans.get(row % beans.size());
+            for (ExcelColumnMetadata.Column column : columns) {
+                if (column.get(bean) != null) {
+                    nonNull++;
+                }
+            }
+        }
+        return nonNull;
+    }
+
+    /**
+     * The per-cell conversion of the reflective import, a switch on the field type name
+     */
+    private static Object parseReflective(String cellValue, Class<?> targetType) {
+        return switch (targetType.getName()) {
+            case "java.lang.String" -> cellValue;
+            case "java.lang.Integer", "int" -> cellValue.contains(".") ? (int) Double.parseDouble(cellValue) : Integer.parseInt(cellValue);
+            case "java.lang.Long", "long" -> cellValue.contains(".") ? (long) Double.parseDouble(cellValue) : Long.parseLong(cellValue);
+            case "java.lang.Double", "double" -> Double.parseDouble(cellValue);
+            case "java.math.BigDecimal" -> new BigDecimal(cellValue);
+            case "java.lang.Boolean", "boolean" -> Boolean.parseBoolean(cellValue);
+            case "java.time.LocalDate" -> LocalDate.parse(cellValue, ISO_DATE_FORMATTER);
+            default -> cellValue;
+        };
+    }
+
+    private static String[] sampleCells(List<ExcelColumnMetadata.Column> columns) {
+        String[] cells = new String[columns.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = columns.get(i).example();
+        }
+        return cells;
+    }
+
+    @FunctionalInterface
+    private interface Phase {
+        Object run() throws Exception;
+    }
+
+    /**
+     * A DTO shaped like the bulk upload DTOs: mostly text columns, with some numbers, decimals and dates
+     */
+    @Data
+    public static class BenchmarkRow {
+        @ExcelColumn(value = "Asset Tag ID", order = 1, example = "AST12345")
+        private String assetTagId;
+        @ExcelColumn(value = "Asset Name", order = 2, example = "Dell Laptop")
+        private String assetName;
+        @ExcelColumn(value = "Asset Type", order = 3, example = "Laptop")
+        private String assetTypeName;
+        @ExcelColumn(value = "Asset Category", order = 4, example = "Computer")
+        private String assetCategoryName;
+        @ExcelColumn(value = "Vendor Code", order = 5, example = "VEN001")
+        private String vendorCode;
+        @ExcelColumn(value = "Lender Bank", order = 6, example = "State Bank of India")
+        private String lenderBankName;
+        @ExcelColumn(value = "Serial Number", order = 7, example = "SN-2024-0001")
+        private String serialNumber;
+        @ExcelColumn(value = "Model Number", order = 8, example = "LAT-5420")
+        private String modelNumber;
+        @ExcelColumn(value = "Purchase Order Number", order = 9, example = "PO-2024-001")
+        private String purchaseOrderNumber;
+        @ExcelColumn(value = "Purchase Order Date", order = 10, example = "2024-01-15")
+        private LocalDate purchaseOrderDate;
+        @ExcelColumn(value = "Purchase Order Cost", order = 11, example = "54999.50")
+        private BigDecimal purchaseOrderCost;
+        @ExcelColumn(value = "Dispatch Order Number", order = 12, example = "DO-2024-001")
+        private String dispatchOrderNumber;
+        @ExcelColumn(value = "Dispatch Order Date", order = 13, example = "2024-01-20")
+        private LocalDate dispatchOrderDate;
+        @ExcelColumn(value = "Warranty Period", order = 14, example = "36")
+        private Integer warrantyPeriod;
+        @ExcelColumn(value = "Warranty Expiry Date", order = 15, example = "2027-01-15")
+        private LocalDate warrantyExpiryDate;
+        @ExcelColumn(value = "Quantity", order = 16, example = "12")
+        private Long quantity;
+        @ExcelColumn(value = "Unit Weight", order = 17, example = "1.8")
+        private Double unitWeight;
+        @ExcelColumn(value = "Refurbished", order = 18, example = "false")
+        private Boolean refurbished;
+        @ExcelColumn(value = "Status Code", order = 19, example = "ACTIVE")
+        private String statusCode;
+        @ExcelColumn(value = "Location Code", order = 20, example = "SITE-MUM-001")
+        private String locationCode;
+        @ExcelColumn(value = "Placement Status Code", order = 21, example = "PLACED")
+        private String placementStatusCode;
+        @ExcelColumn(value = "Remarks", order = 22, example = "Issued to branch")
+        private String remarks;
+    }
+}
@@ -1,24 +1,54 @@
 package com.eps.module.crypto.config;
 
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 import jakarta.annotation.PostConstruct;
 
+import java.util.Map;
+
 /**
  * Configuration class for cryptographic operations.
  * Reads encryption key from environment variable.
+ * To rotate the key, configure the new key with the next {@code crypto.encryption.key-version}
+ * and keep the old one as {@code crypto.encryption.retired-keys.<version>} until its ciphertext is re-encrypted.
+ * Blind indexes derived from the encryption key need {@code crypto.blind-index.key} set to that key before rotating.
  */
 @Slf4j
 @Getter
 @Configuration
+@RequiredArgsConstructor
 public class CryptoConfiguration {
 
+    private final Environment environment;
+
     @Value("${crypto.encryption.key:#{null}}")
     private String encryptionKey;
 
+    /**
+     * Version of the encryption key; new ciphertext is tagged with it
+     */
+    @Value("${crypto.encryption.key-version:1}")
+    private int keyVersion;
+
+    /**
+     * Keys of earlier versions, by version, still used to decrypt ciphertext written with them
+     */
+    private Map<Integer, String> retiredKeys = Map.of();
+
+    /**
+     * Key of the blind indexes; when not set, one is derived from the encryption key.
+     * Required once retired keys are configured, so rotating the encryption key leaves the indexes valid.
+     */
+    @Value("${crypto.blind-index.key:#{null}}")
+    private String blindIndexKey;
+
     @PostConstruct
     public void init() {
         // Try to get from environment variable if not set in properties
@@ -39,5 +69,37 @@ public class CryptoConfiguration {
         }
 
         log.info("✓ Encryption key loaded successfully (length: {})", encryptionKey.length());
+
+        if (keyVersion < 1) {
+            throw new IllegalStateException("Encryption key version must be at least 1");
+        }
+        retiredKeys = Binder.get(environment)
+                .bind("crypto.encryption.retired-keys", Bindable.mapOf(Integer.class, String.class))
+                .orElse(Map.of());
+        retiredKeys.forEach((version, key) -> {
+            if (version < 1 || version == keyVersion) {
+                throw new IllegalStateException("Retired encryption key version " + version + " is not valid");
+            }
+            if (key == null || key.length() < 32) {
+                throw new IllegalStateException("Retired encryption key " + version + " must be at least 32 characters long");
+            }
+        });
+        if (!retiredKeys.isEmpty()) {
+            log.info("✓ Encryption key version {} in use, retired versions {} kept for decryption", keyVersion, retiredKeys.keySet());
+        }
+
+        if (blindIndexKey == null || blindIndexKey.trim().isEmpty()) {
+            blindIndexKey = System.getenv("EPS_BLIND_INDEX_KEY");
+        }
+        if (blindIndexKey != null && !blindIndexKey.trim().isEmpty() && blindIndexKey.length() < 32) {
+            throw new IllegalStateException("Blind index key must be at least 32 characters long");
+        }
+        // A derived index key would change with the encryption key, and existing indexes would stop matching
+        if ((blindIndexKey == null || blindIndexKey.trim().isEmpty()) && !retiredKeys.isEmpty()) {
+            log.error("⚠️ Encryption key was rotated without a blind index key; set EPS_BLIND_INDEX_KEY to the encryption key "
+                    + "the indexes were derived from (the first key version) to keep them valid");
+            throw new IllegalStateException("Blind index key not configured while retired encryption keys are. "
+                    + "Set EPS_BLIND_INDEX_KEY before rotating the encryption key.");
+        }
     }
 }
@@ -0,0 +1,45 @@
+package com.eps.module.crypto.service;
+
+/**
+ * Keyed blind indexes for searching encrypted columns.
+ * A blind index is an HMAC-SHA256 of the normalized plaintext, so equal values give equal indexes
+ * and can be found with an equality lookup on an indexed column, while the index cannot be reversed
+ * or recomputed without the key. Unlike {@link CryptoService#hash(String)}, guessing a value such as
+ * a PAN and hashing it does not reveal which row holds it.
+ */
+public interface BlindIndexService {
+
+    /**
+     * Number of trailing characters covered by {@link #lastDigitsIndex(String, String)}
+     */
+    int LAST_DIGITS_LENGTH = 4;
+
+    /**
+     * Blind index of the whole value, for exact lookups.
+     * Spaces and dashes are ignored and letters are compared case-insensitively.
+     *
+     * @param field     name of the indexed field, such as {@code "payee.pan"}; equal values of different fields get different indexes
+     * @param plaintext the value to index
+     * @return 64 hex characters, or null for a null or blank value
+     * @throws com.eps.module.crypto.exception.CryptoException if the index cannot be computed
+     */
+    String index(String field, String plaintext);
+
+    /**
+     * Blind index of the last {@value #LAST_DIGITS_LENGTH} characters of the value, for "ends with" searches
+     * such as the last four digits of an account number.
+     *
+     * @param field     name of the indexed field
+     * @param plaintext the value to index
+     * @return 64 hex characters, or null if the normalized value is shorter than {@value #LAST_DIGITS_LENGTH} characters
+     * @throws com.eps.module.crypto.exception.CryptoException if the index cannot be computed
+     */
+    String lastDigitsIndex(String field, String plaintext);
+
+    /**
+     * The value as it is indexed: without spaces and dashes, in upper case
+     *
+     * @return the normalized value, or null for a null value
+     */
+    String normalize(String plaintext);
+}
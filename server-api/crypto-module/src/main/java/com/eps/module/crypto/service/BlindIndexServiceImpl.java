@@ -0,0 +1,112 @@
+package com.eps.module.crypto.service;
+
+import com.eps.module.crypto.config.CryptoConfiguration;
+import com.eps.module.crypto.exception.CryptoException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Implementation of BlindIndexService using HMAC-SHA256.
+ * The index key is {@code crypto.blind-index.key} (or the EPS_BLIND_INDEX_KEY environment variable);
+ * without one it is derived from the encryption key, which CryptoConfiguration only allows until the key is rotated.
+ * Setting the blind index key to the encryption key the indexes were derived from keeps them valid across rotations.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlindIndexServiceImpl implements BlindIndexService {
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final byte[] KEY_DERIVATION_LABEL = "eps-blind-index-v1".getBytes(StandardCharsets.UTF_8);
+    private static final String LAST_DIGITS_SUFFIX = ":last" + LAST_DIGITS_LENGTH;
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    private final CryptoConfiguration cryptoConfiguration;
+
+    // Mac is not thread-safe; instances initialised with the index key are borrowed from a pool
+    private InstancePool<Mac> macs;
+
+    /**
+     * Derive the index key once, as the HMAC of a fixed label under the configured key
+     */
+    @PostConstruct
+    void init() {
+        String key = cryptoConfiguration.getBlindIndexKey();
+        if (key == null || key.isBlank()) {
+            log.info("No blind index key configured, deriving one from the encryption key");
+            key = cryptoConfiguration.getEncryptionKey();
+        }
+        Mac mac = newMac(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM));
+        SecretKey indexKey = new SecretKeySpec(mac.doFinal(KEY_DERIVATION_LABEL), MAC_ALGORITHM);
+        macs = InstancePool.of(() -> newMac(indexKey));
+    }
+
+    @Override
+    public String index(String field, String plaintext) {
+        String normalized = normalize(plaintext);
+        if (normalized == null || normalized.isEmpty()) {
+            return null;
+        }
+        return hmac(field, normalized);
+    }
+
+    @Override
+    public String lastDigitsIndex(String field, String plaintext) {
+        String normalized = normalize(plaintext);
+        if (normalized == null || normalized.length() < LAST_DIGITS_LENGTH) {
+            return null;
+        }
+        return hmac(field + LAST_DIGITS_SUFFIX, normalized.substring(normalized.length() - LAST_DIGITS_LENGTH));
+    }
+
+    @Override
+    public String normalize(String plaintext) {
+        if (plaintext == null) {
+            return null;
+        }
+        StringBuilder normalized = new StringBuilder(plaintext.length());
+        for (int i = 0; i < plaintext.length(); i++) {
+            char c = plaintext.charAt(i);
+            if (c != '-' && !Character.isWhitespace(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * HMAC of the field name and value; the field name keeps equal values of different fields apart
+     */
+    private String hmac(String field, String value) {
+        try {
+            Mac mac = macs.borrow();
+            mac.update(field.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            String index = HEX_FORMAT.formatHex(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+            macs.release(mac);
+            return index;
+        } catch (Exception e) {
+            log.error("Blind index computation failed", e);
+            throw new CryptoException("Failed to compute blind index", e);
+        }
+    }
+
+    private static Mac newMac(SecretKey key) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (Exception e) {
+            throw new CryptoException("Failed to initialise " + MAC_ALGORITHM, e);
+        }
+    }
+}
@@ -1,16 +1,33 @@
 package com.eps.module.crypto.service;
 
+import java.util.List;
+import java.util.Set;
+
 /**
  * Generic service interface for encryption, decryption, and hashing operations.
  * Can be used across any project for securing sensitive data.
+ * Ciphertext is tagged with the version of the key that wrote it, so keys can be rotated
+ * while ciphertext of older versions is still decrypted and gradually re-encrypted.
  */
 public interface CryptoService {
 
+    /**
+     * Key version of ciphertext written before ciphertext was tagged with a version
+     */
+    int LEGACY_KEY_VERSION = 1;
+
+    /**
+     * Prefix tagging ciphertext with the version of its key, such as {@code "v2:"}
+     */
+    static String keyVersionPrefix(int version) {
+        return "v" + version + ":";
+    }
+
     /**
      * Encrypts the given plaintext data using AES-256-GCM encryption
      *
      * @param plaintext The data to encrypt
-     * @return Base64 encoded encrypted data with IV prepended
+     * @return Base64 encoded encrypted data with IV prepended, tagged with the current key version
      * @throws com.eps.module.crypto.exception.CryptoException if encryption fails
      */
     String encrypt(String plaintext);
@@ -25,7 +42,61 @@ public interface CryptoService {
     String decrypt(String encryptedData);
 
     /**
-     * Checks if the given data appears to be encrypted (Base64 encoded with sufficient length)
+     * Version of the key new ciphertext is encrypted with
+     */
+    int getCurrentKeyVersion();
+
+    /**
+     * Versions of every key that can decrypt, the current one included
+     */
+    Set<Integer> getKeyVersions();
+
+    /**
+     * Version of the key the data was encrypted with
+     *
+     * @param encryptedData The encrypted data
+     * @return the key version, or null if the data does not appear to be encrypted
+     */
+    Integer keyVersionOf(String encryptedData);
+
+    /**
+     * Checks if the data is encrypted with a key other than the current one
+     *
+     * @param encryptedData The encrypted data
+     * @return true if the data should be re-encrypted with the current key
+     */
+    boolean needsReEncryption(String encryptedData);
+
+    /**
+     * Decrypts the data and encrypts it again with the current key
+     *
+     * @param encryptedData The encrypted data
+     * @return The data encrypted with the current key, or the data as-is if it already is or does not appear to be encrypted
+     * @throws com.eps.module.crypto.exception.CryptoException if decryption or encryption fails
+     */
+    String reEncrypt(String encryptedData);
+
+    /**
+     * Encrypts every value, in parallel for large batches.
+     * Useful for bulk uploads and exports that handle many values at once.
+     *
+     * @param plaintexts The data to encrypt; null and empty values are returned as-is
+     * @return The encrypted values, in the same order
+     * @throws com.eps.module.crypto.exception.CryptoException if encryption of any value fails
+     */
+    List<String> encryptAll(List<String> plaintexts);
+
+    /**
+     * Decrypts every value, in parallel for large batches.
+     *
+     * @param encryptedData The data to decrypt; values that do not look encrypted are returned as-is
+     * @return The decrypted values, in the same order
+     * @throws com.eps.module.crypto.exception.CryptoException if decryption of any value fails
+     */
+    List<String> decryptAll(List<String> encryptedData);
+
+    /**
+     * Checks if the given data appears to be encrypted (Base64 encoded with sufficient length, optionally tagged with a key version)
      *
      * @param data The data to check
      * @return true if the data appears to be encrypted, false otherwise
@@ -2,6 +2,7 @@ package com.eps.module.crypto.service;
 
 import com.eps.module.crypto.config.CryptoConfiguration;
 import com.eps.module.crypto.exception.CryptoException;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,12 +14,22 @@ import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of CryptoService using AES-256-GCM for encryption and SHA-256 for hashing.
  * This service is designed to be generic and reusable across any project.
+ * The AES key is derived once at startup, and Cipher and MessageDigest instances are reused from small pools.
+ * Ciphertext is prefixed with the key version ({@code "v2:"}); ciphertext without a prefix
+ * predates versioning and is decrypted with key version {@value CryptoService#LEGACY_KEY_VERSION}.
  */
 @Slf4j
 @Service
@@ -31,10 +42,40 @@ public class CryptoServiceImpl implements CryptoService {
     private static final int GCM_TAG_LENGTH = 128; // bits
     private static final int GCM_IV_LENGTH = 12; // bytes (96 bits recommended for GCM)
     private static final int KEY_SIZE = 32; // 256 bits
+    private static final int MIN_ENCRYPTED_LENGTH = 40; // IV (12 bytes) + tag (16 bytes) + some data, in Base64 chars
+    private static final int PARALLEL_BATCH_THRESHOLD = 64; // smaller batches are not worth forking
+
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getEncoder();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getDecoder();
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    // Cipher and MessageDigest are not thread-safe but can be re-initialised, so they are borrowed from pools
+    private static final InstancePool<Cipher> CIPHERS = InstancePool.of(() -> Cipher.getInstance(ENCRYPTION_ALGORITHM));
+    private static final InstancePool<MessageDigest> DIGESTS = InstancePool.of(() -> MessageDigest.getInstance(HASH_ALGORITHM));
 
     private final CryptoConfiguration cryptoConfiguration;
     private final SecureRandom secureRandom = new SecureRandom();
 
+    private SecretKey secretKey;
+    private int currentKeyVersion;
+    private String currentKeyPrefix;
+    private Map<Integer, SecretKey> keysByVersion;
+
+    /**
+     * Derive the AES keys once; the configured keys do not change while the application runs
+     */
+    @PostConstruct
+    void init() {
+        secretKey = deriveKey(cryptoConfiguration.getEncryptionKey());
+        currentKeyVersion = cryptoConfiguration.getKeyVersion();
+        currentKeyPrefix = CryptoService.keyVersionPrefix(currentKeyVersion);
+
+        Map<Integer, SecretKey> keys = new HashMap<>();
+        cryptoConfiguration.getRetiredKeys().forEach((version, key) -> keys.put(version, deriveKey(key)));
+        keys.put(currentKeyVersion, secretKey);
+        keysByVersion = Map.copyOf(keys);
+    }
+
     @Override
     public String encrypt(String plaintext) {
         if (plaintext == null || plaintext.isEmpty()) {
@@ -42,28 +83,25 @@ public class CryptoServiceImpl implements CryptoService {
         }
 
         try {
-            // Generate a secret key from the configured encryption key
-            SecretKey secretKey = deriveKey(cryptoConfiguration.getEncryptionKey());
-
             // Generate a random IV
             byte[] iv = new byte[GCM_IV_LENGTH];
             secureRandom.nextBytes(iv);
 
-            // Initialize cipher
-            Cipher cipher = Cipher.getInstance(ENCRYPTION_ALGORITHM);
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey, parameterSpec);
-
-            // Encrypt the data
-            byte[] encryptedData = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            // Initialize cipher; a fresh IV makes re-initialising the same key safe
+            Cipher cipher = CIPHERS.borrow();
+            cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
 
-            // Prepend IV to encrypted data
-            byte[] combined = new byte[iv.length + encryptedData.length];
-            System.arraycopy(iv, 0, combined, 0, iv.length);
-            System.arraycopy(encryptedData, 0, combined, iv.length, encryptedData.length);
+            // Encrypt straight into the buffer after the IV, so IV and ciphertext are not copied
+            byte[] input = plaintext.getBytes(StandardCharsets.UTF_8);
+            byte[] combined = new byte[GCM_IV_LENGTH + cipher.getOutputSize(input.length)];
+            System.arraycopy(iv, 0, combined, 0, GCM_IV_LENGTH);
+            int length = cipher.doFinal(input, 0, input.length, combined, GCM_IV_LENGTH);
+            CIPHERS.release(cipher);
 
-            // Return Base64 encoded result
-            return Base64.getEncoder().encodeToString(combined);
+            // Return Base64 encoded result, tagged with the key version
+            return currentKeyPrefix + (GCM_IV_LENGTH + length == combined.length
+                    ? BASE64_ENCODER.encodeToString(combined)
+                    : BASE64_ENCODER.encodeToString(Arrays.copyOf(combined, GCM_IV_LENGTH + length)));
 
         } catch (Exception e) {
             log.error("Encryption failed", e);
@@ -77,14 +115,26 @@ public class CryptoServiceImpl implements CryptoService {
             return false;
         }
         
-        // Check if it looks like Base64 encoded data with sufficient length
+        // Check if it looks like Base64 encoded data with sufficient length, after the key version prefix if any
         // Encrypted data should be at least IV (12 bytes) + tag (16 bytes) + some data = ~40+ Base64 chars
-        if (data.length() < 40) {
+        int start = keyVersionPrefixLength(data);
+        if (data.length() - start < MIN_ENCRYPTED_LENGTH) {
             return false;
         }
         
-        // Check if it contains only valid Base64 characters
-        return data.matches("^[A-Za-z0-9+/]*={0,2}$");
+        // Check if it contains only valid Base64 characters, with at most two '=' of padding at the end
+        int end = data.length();
+        int padding = 0;
+        while (padding < 2 && data.charAt(end - 1 - padding) == '=') {
+            padding++;
+        }
+        for (int i = start; i < end - padding; i++) {
+            char c = data.charAt(i);
+            if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '+' || c == '/')) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -100,38 +150,30 @@ public class CryptoServiceImpl implements CryptoService {
             return encryptedData;
         }
 
-        try {
-            log.debug("Attempting to decrypt data (length: {} chars)", encryptedData.length());
-            
-            // Decode Base64
-            byte[] combined = Base64.getDecoder().decode(encryptedData);
-            log.debug("Base64 decoded, combined length: {} bytes", combined.length);
+        int start = keyVersionPrefixLength(encryptedData);
+        int version = keyVersion(encryptedData, start);
+        SecretKey key = keysByVersion.get(version);
+        if (key == null) {
+            log.error("No encryption key configured for version {}", version);
+            throw new CryptoException("Failed to decrypt data: no key for version " + version);
+        }
 
-            // Extract IV and encrypted data
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            byte[] ciphertext = new byte[combined.length - GCM_IV_LENGTH];
-            log.debug("Extracting IV ({}  bytes) and ciphertext ({} bytes)", GCM_IV_LENGTH, ciphertext.length);
-            
-            if (ciphertext.length < 0) {
-                log.error("Invalid encrypted data: ciphertext length is negative ({}). Combined length: {}, IV length: {}", 
-                    ciphertext.length, combined.length, GCM_IV_LENGTH);
-                log.error("This usually means the input is not encrypted data. Input value: '{}'", encryptedData);
+        try {
+            // Decode Base64; the IV and ciphertext are read in place
+            byte[] combined = BASE64_DECODER.decode(encryptedData.substring(start));
+            if (combined.length <= GCM_IV_LENGTH) {
+                log.error("Invalid encrypted data: combined length {} is not longer than the IV ({} bytes)",
+                    combined.length, GCM_IV_LENGTH);
                 throw new IllegalArgumentException("Invalid encrypted data: data too short or not encrypted");
             }
-            
-            System.arraycopy(combined, 0, iv, 0, GCM_IV_LENGTH);
-            System.arraycopy(combined, GCM_IV_LENGTH, ciphertext, 0, ciphertext.length);
-
-            // Generate secret key
-            SecretKey secretKey = deriveKey(cryptoConfiguration.getEncryptionKey());
 
             // Initialize cipher for decryption
-            Cipher cipher = Cipher.getInstance(ENCRYPTION_ALGORITHM);
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, parameterSpec);
+            Cipher cipher = CIPHERS.borrow();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH, combined, 0, GCM_IV_LENGTH));
 
             // Decrypt the data
-            byte[] decryptedData = cipher.doFinal(ciphertext);
+            byte[] decryptedData = cipher.doFinal(combined, GCM_IV_LENGTH, combined.length - GCM_IV_LENGTH);
+            CIPHERS.release(cipher);
 
             return new String(decryptedData, StandardCharsets.UTF_8);
 
@@ -141,6 +183,80 @@ public class CryptoServiceImpl implements CryptoService {
         }
     }
 
+    @Override
+    public int getCurrentKeyVersion() {
+        return currentKeyVersion;
+    }
+
+    @Override
+    public Set<Integer> getKeyVersions() {
+        return keysByVersion.keySet();
+    }
+
+    @Override
+    public Integer keyVersionOf(String encryptedData) {
+        if (!isEncrypted(encryptedData)) {
+            return null;
+        }
+        return keyVersion(encryptedData, keyVersionPrefixLength(encryptedData));
+    }
+
+    @Override
+    public boolean needsReEncryption(String encryptedData) {
+        Integer version = keyVersionOf(encryptedData);
+        return version != null && version != currentKeyVersion;
+    }
+
+    @Override
+    public String reEncrypt(String encryptedData) {
+        return needsReEncryption(encryptedData) ? encrypt(decrypt(encryptedData)) : encryptedData;
+    }
+
+    /**
+     * Length of the key version prefix ({@code "v<digits>:"}) the data starts with, or 0 if it has none.
+     * Base64 has no ':', so untagged ciphertext is never mistaken for a prefix.
+     */
+    private static int keyVersionPrefixLength(String data) {
+        if (data.isEmpty() || data.charAt(0) != 'v') {
+            return 0;
+        }
+        int i = 1;
+        while (i < data.length() && i < 10 && Character.isDigit(data.charAt(i))) {
+            i++;
+        }
+        return i > 1 && i < data.length() && data.charAt(i) == ':' ? i + 1 : 0;
+    }
+
+    /**
+     * Key version given by a prefix of the given length, or the legacy version for untagged ciphertext
+     */
+    private static int keyVersion(String data, int prefixLength) {
+        return prefixLength == 0 ? LEGACY_KEY_VERSION : Integer.parseInt(data, 1, prefixLength - 1, 10);
+    }
+
+    @Override
+    public List<String> encryptAll(List<String> plaintexts) {
+        return mapAll(plaintexts, this::encrypt);
+    }
+
+    @Override
+    public List<String> decryptAll(List<String> encryptedData) {
+        return mapAll(encryptedData, this::decrypt);
+    }
+
+    /**
+     * Apply the operation to every value, in parallel for large batches, keeping the input order
+     */
+    private static List<String> mapAll(List<String> values, UnaryOperator<String> operation) {
+        String[] results = new String[values.size()];
+        IntStream indexes = IntStream.range(0, results.length);
+        if (results.length >= PARALLEL_BATCH_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> results[i] = operation.apply(values.get(i)));
+        return Arrays.asList(results);
+    }
+
     @Override
     public String hash(String data) {
         if (data == null || data.isEmpty()) {
@@ -148,9 +264,10 @@ public class CryptoServiceImpl implements CryptoService {
         }
 
         try {
-            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            MessageDigest digest = DIGESTS.borrow();
             byte[] hash = digest.digest(data.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
+            DIGESTS.release(digest);
+            return HEX_FORMAT.formatHex(hash);
         } catch (Exception e) {
             log.error("Hashing failed", e);
             throw new CryptoException("Failed to hash data", e);
@@ -180,11 +297,10 @@ public class CryptoServiceImpl implements CryptoService {
     /**
      * Derives a fixed-length AES key from the configured encryption key using SHA-256
      */
-    private SecretKey deriveKey(String key) throws Exception {
-        MessageDigest sha = MessageDigest.getInstance(HASH_ALGORITHM);
+    private static SecretKey deriveKey(String key) {
+        MessageDigest sha = DIGESTS.borrow();
         byte[] keyBytes = sha.digest(key.getBytes(StandardCharsets.UTF_8));
-        byte[] aesKey = new byte[KEY_SIZE];
-        System.arraycopy(keyBytes, 0, aesKey, 0, KEY_SIZE);
-        return new SecretKeySpec(aesKey, KEY_ALGORITHM);
+        DIGESTS.release(sha);
+        return new SecretKeySpec(keyBytes, 0, KEY_SIZE, KEY_ALGORITHM);
     }
 }
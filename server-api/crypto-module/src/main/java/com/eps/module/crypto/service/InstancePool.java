@@ -0,0 +1,67 @@
+package com.eps.module.crypto.service;
+
+import com.eps.module.crypto.exception.CryptoException;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of JCA objects that are costly to create and not thread-safe, such as Cipher, MessageDigest and Mac.
+ * Requests run on virtual threads, one per request, so a ThreadLocal would create an instance per request;
+ * instances borrowed from the pool are shared across threads instead.
+ * At most {@code capacity} idle instances are kept; instances returned beyond that are dropped.
+ * An instance whose use failed part way should not be returned, since it may hold partial state.
+ *
+ * @param <T> The pooled type
+ */
+final class InstancePool<T> {
+
+    private static final int DEFAULT_CAPACITY = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final Callable<T> factory;
+    private final int capacity;
+    private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private InstancePool(Callable<T> factory, int capacity) {
+        this.factory = factory;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Pool keeping up to twice as many idle instances as there are processors
+     */
+    static <T> InstancePool<T> of(Callable<T> factory) {
+        return new InstancePool<>(factory, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Take an idle instance, or create one if none is idle
+     * @throws CryptoException if a new instance cannot be created
+     */
+    T borrow() {
+        T instance = idle.poll();
+        if (instance != null) {
+            idleCount.decrementAndGet();
+            return instance;
+        }
+        try {
+            return factory.call();
+        } catch (Exception e) {
+            throw new CryptoException("Failed to create a cryptographic instance", e);
+        }
+    }
+
+    /**
+     * Return an instance after a successful use, keeping it if the pool is not full
+     */
+    void release(T instance) {
+        if (idleCount.incrementAndGet() <= capacity) {
+            idle.offer(instance);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.eps.module.crypto.service;
+
+import com.eps.module.crypto.config.CryptoConfiguration;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares CryptoServiceImpl with the implementation it replaced, which derived the AES key and created
+ * its Cipher and MessageDigest on every call. Not a test; run it by hand after changing CryptoServiceImpl:
+ * <pre>
+ * mvn -pl crypto-module test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp "crypto-module/target/test-classes:crypto-module/target/classes:$(cat crypto-module/target/cp.txt)" \
+ *     com.eps.module.crypto.service.CryptoServiceBenchmark [operations]
+ * </pre>
+ * Each phase is warmed up, then timed over the given number of operations (200000 by default); the best run is printed.
+ * Phases run once on a single thread, and once with every operation on its own virtual thread,
+ * the way requests run with {@code spring.threads.virtual.enabled}.
+ * Before timing, it checks that values encrypted by the old implementation decrypt with the new one,
+ * and that both hash alike.
+ */
+public class CryptoServiceBenchmark {
+
+    private static final int RUNS = 5;
+    private static final String KEY = "benchmark-encryption-key-of-at-least-32-chars";
+    private static final String VALUE = "ABCDE1234F-0001";
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        CryptoServiceImpl current = newCryptoService();
+        LegacyCrypto legacy = new LegacyCrypto(KEY);
+        check(current, legacy);
+
+        String legacyCiphertext = legacy.encrypt(VALUE);
+        String currentCiphertext = current.encrypt(VALUE);
+
+        System.out.printf("%d operations on a %d-character value, best of %d runs%n", operations, VALUE.length(), RUNS);
+        for (boolean virtualThreads : new boolean[] {false, true}) {
+            String threads = virtualThreads ? "thread per op" : "one thread   ";
+            report("encrypt, before, " + threads, operations, virtualThreads, i -> legacy.encrypt(VALUE));
+            report("encrypt, after,  " + threads, operations, virtualThreads, i -> current.encrypt(VALUE));
+            report("decrypt, before, " + threads, operations, virtualThreads, i -> legacy.decrypt(legacyCiphertext));
+            report("decrypt, after,  " + threads, operations, virtualThreads, i -> current.decrypt(currentCiphertext));
+            report("hash,    before, " + threads, operations, virtualThreads, i -> legacy.hash(VALUE));
+            report("hash,    after,  " + threads, operations, virtualThreads, i -> current.hash(VALUE));
+        }
+    }
+
+    private static CryptoServiceImpl newCryptoService() {
+        CryptoConfiguration configuration = new CryptoConfiguration(new MockEnvironment());
+        ReflectionTestUtils.setField(configuration, "encryptionKey", KEY);
+        ReflectionTestUtils.setField(configuration, "keyVersion", CryptoService.LEGACY_KEY_VERSION);
+        configuration.init();
+
+        CryptoServiceImpl service = new CryptoServiceImpl(configuration);
+        service.init();
+        return service;
+    }
+
+    private static void check(CryptoServiceImpl current, LegacyCrypto legacy) {
+        if (!VALUE.equals(current.decrypt(legacy.encrypt(VALUE)))) {
+            throw new IllegalStateException("Ciphertext of the old implementation does not decrypt");
+        }
+        if (!VALUE.equals(current.decrypt(current.encrypt(VALUE)))) {
+            throw new IllegalStateException("Ciphertext does not round-trip");
+        }
+        if (!legacy.hash(VALUE).equals(current.hash(VALUE))) {
+            throw new IllegalStateException("Hashes differ from the old implementation");
+        }
+    }
+
+    private static void report(String name, int operations, boolean virtualThreads, Operation operation) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS + 2; run++) {
+            long start = System.nanoTime();
+            if (virtualThreads) {
+                runOnVirtualThreads(operations, operation);
+            } else {
+                for (int i = 0; i < operations; i++) {
+                    operation.apply(i);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            // The first two runs are warm-up
+            if (run >= 2) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        System.out.printf("%s: %6.2f us/op%n", name, best / 1_000.0 / operations);
+    }
+
+    /**
+     * Run each operation on a new virtual thread, waiting for one batch of threads at a time
+     */
+    private static void runOnVirtualThreads(int operations, Operation operation) throws Exception {
+        int batch = 1_000;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?>[] futures = new Future<?>[batch];
+            for (int first = 0; first < operations; first += batch) {
+                int count = Math.min(batch, operations - first);
+                for (int i = 0; i < count; i++) {
+                    int index = first + i;
+                    futures[i] = executor.submit(() -> operation.apply(index));
+                }
+                for (int i = 0; i < count; i++) {
+                    futures[i].get();
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object apply(int index);
+    }
+
+    /**
+     * The encrypt, decrypt and hash of CryptoServiceImpl before the key was cached and instances were reused
+     */
+    private static final class LegacyCrypto {
+        private static final int GCM_TAG_LENGTH = 128;
+        private static final int GCM_IV_LENGTH = 12;
+        private static final int KEY_SIZE = 32;
+
+        private final String encryptionKey;
+        private final SecureRandom secureRandom = new SecureRandom();
+
+        private LegacyCrypto(String encryptionKey) {
+            this.encryptionKey = encryptionKey;
+        }
+
+        String encrypt(String plaintext) {
+            try {
+                SecretKey secretKey = deriveKey(encryptionKey);
+                byte[] iv = new byte[GCM_IV_LENGTH];
+                secureRandom.nextBytes(iv);
+
+                Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+                cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+                byte[] encryptedData = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+
+                byte[] combined = new byte[iv.length + encryptedData.length];
+                System.arraycopy(iv, 0, combined, 0, iv.length);
+                System.arraycopy(encryptedData, 0, combined, iv.length, encryptedData.length);
+                return Base64.getEncoder().encodeToString(combined);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        String decrypt(String encryptedData) {
+            try {
+                if (!encryptedData.matches("^[A-Za-z0-9+/]*={0,2}$")) {
+                    return encryptedData;
+                }
+                byte[] combined = Base64.getDecoder().decode(encryptedData);
+                byte[] iv = new byte[GCM_IV_LENGTH];
+                byte[] ciphertext = new byte[combined.length - GCM_IV_LENGTH];
+                System.arraycopy(combined, 0, iv, 0, GCM_IV_LENGTH);
+                System.arraycopy(combined, GCM_IV_LENGTH, ciphertext, 0, ciphertext.length);
+
+                SecretKey secretKey = deriveKey(encryptionKey);
+                Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+                cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+                return new String(cipher.doFinal(ciphertext), StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        String hash(String data) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                return HexFormat.of().formatHex(digest.digest(data.getBytes(StandardCharsets.UTF_8)));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static SecretKey deriveKey(String key) throws Exception {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            byte[] keyBytes = sha.digest(key.getBytes(StandardCharsets.UTF_8));
+            byte[] aesKey = new byte[KEY_SIZE];
+            System.arraycopy(keyBytes, 0, aesKey, 0, KEY_SIZE);
+            return new SecretKeySpec(aesKey, "AES");
+        }
+    }
+}
@@ -20,8 +20,10 @@ import java.time.LocalDate;
 @Builder
 public class Asset extends BaseEntity {
 
+    // Pooled sequence (allocation 50) so bulk uploads can batch inserts; see schema/bulk_pooled_sequences.sql
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asset_id_seq")
+    @SequenceGenerator(name = "asset_id_seq", sequenceName = "asset_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Asset tag ID is required")
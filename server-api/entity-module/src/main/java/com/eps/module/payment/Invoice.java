@@ -16,8 +16,10 @@ import java.time.LocalDate;
 @Builder
 public class Invoice extends BaseEntity {
 
+    // Pooled sequence (allocation 50) so bulk uploads can batch inserts; see schema/bulk_pooled_sequences.sql
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_id_seq")
+    @SequenceGenerator(name = "invoice_id_seq", sequenceName = "invoice_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "invoice_number", nullable = false, unique = true, length = 100)
@@ -6,7 +6,12 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "payee_details")
+@Table(name = "payee_details", indexes = {
+        @Index(name = "idx_payee_details_pan_number_index", columnList = "pan_number_index"),
+        @Index(name = "idx_payee_details_aadhaar_number_index", columnList = "aadhaar_number_index"),
+        @Index(name = "idx_payee_details_account_number_index", columnList = "account_number_index"),
+        @Index(name = "idx_payee_details_account_number_last4_index", columnList = "account_number_last4_index")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,12 +32,21 @@ public class PayeeDetails extends BaseEntity {
     @Column(name = "pan_number_hash", length = 64)
     private String panNumberHash;
 
+    /**
+     * Keyed blind index of the PAN, for search
+     */
+    @Column(name = "pan_number_index", length = 64)
+    private String panNumberIndex;
+
     @Column(name = "aadhaar_number", length = 512)
     private String aadhaarNumber;
 
     @Column(name = "aadhaar_number_hash", length = 64)
     private String aadhaarNumberHash;
 
+    @Column(name = "aadhaar_number_index", length = 64)
+    private String aadhaarNumberIndex;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bank_id")
     private Bank bank;
@@ -51,4 +65,13 @@ public class PayeeDetails extends BaseEntity {
 
     @Column(name = "account_number_hash", length = 64)
     private String accountNumberHash;
+
+    @Column(name = "account_number_index", length = 64)
+    private String accountNumberIndex;
+
+    /**
+     * Keyed blind index of the last four characters of the account number
+     */
+    @Column(name = "account_number_last4_index", length = 64)
+    private String accountNumberLast4Index;
 }
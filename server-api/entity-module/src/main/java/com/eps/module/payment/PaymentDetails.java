@@ -8,7 +8,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "payment_details")
+@Table(name = "payment_details", indexes = {
+        @Index(name = "idx_payment_details_vpa_index", columnList = "vpa_index"),
+        @Index(name = "idx_payment_details_beneficiary_account_number_index", columnList = "beneficiary_account_number_index"),
+        @Index(name = "idx_payment_details_beneficiary_account_number_last4_index", columnList = "beneficiary_account_number_last4_index")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,6 +43,12 @@ public class PaymentDetails extends BaseEntity {
     @Column(name = "vpa_hash", length = 64)
     private String vpaHash;
 
+    /**
+     * Keyed blind index of the VPA, for search
+     */
+    @Column(name = "vpa_index", length = 64)
+    private String vpaIndex;
+
     @Column(name = "beneficiary_name", length = 512)
     private String beneficiaryName;
 
@@ -51,6 +61,15 @@ public class PaymentDetails extends BaseEntity {
     @Column(name = "beneficiary_account_number_hash", length = 64)
     private String beneficiaryAccountNumberHash;
 
+    @Column(name = "beneficiary_account_number_index", length = 64)
+    private String beneficiaryAccountNumberIndex;
+
+    /**
+     * Keyed blind index of the last four characters of the account number
+     */
+    @Column(name = "beneficiary_account_number_last4_index", length = 64)
+    private String beneficiaryAccountNumberLast4Index;
+
     @Column(name = "payment_remarks", columnDefinition = "TEXT")
     private String paymentRemarks;
 }
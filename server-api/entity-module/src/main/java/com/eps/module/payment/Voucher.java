@@ -16,8 +16,10 @@ import java.time.LocalDate;
 @Builder
 public class Voucher extends BaseEntity {
 
+    // Pooled sequence (allocation 50) so bulk uploads can batch inserts; see schema/bulk_pooled_sequences.sql
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "voucher_id_seq")
+    @SequenceGenerator(name = "voucher_id_seq", sequenceName = "voucher_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "voucher_number", nullable = false, unique = true, length = 100)
@@ -21,8 +21,10 @@ import java.time.LocalDate;
 @Builder
 public class Site extends BaseEntity {
 
+    // Pooled sequence (allocation 50) so bulk uploads can batch inserts; see schema/bulk_pooled_sequences.sql
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "site_id_seq")
+    @SequenceGenerator(name = "site_id_seq", sequenceName = "site_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
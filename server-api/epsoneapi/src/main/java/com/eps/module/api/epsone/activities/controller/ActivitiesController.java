@@ -20,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -49,7 +50,7 @@ public class ActivitiesController {
 
     @GetMapping("/bulk-upload/export")
     @RequirePermission("ACTIVITY_LIST:EXPORT")
-    public ResponseEntity<byte[]> exportData() throws Exception {
+    public ResponseEntity<StreamingResponseBody> exportData() throws Exception {
         log.info("GET /api/activities/bulk-upload/export - Exporting data");
         return bulkUploadControllerHelper.export(activitiesService);
     }
@@ -56,6 +56,11 @@ public class ActivitiesServiceImpl extends BaseBulkUploadService<ActivitiesBulkU
         return "Activities";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "ACTIVITY_LIST:BULK_UPLOAD";
+    }
+
     @Override
     public List<Activities> getAllEntitiesForExport() {
         return activitiesRepository.findAllForExport();
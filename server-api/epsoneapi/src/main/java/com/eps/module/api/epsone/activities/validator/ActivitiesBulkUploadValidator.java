@@ -11,7 +11,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -108,4 +110,11 @@ public class ActivitiesBulkUploadValidator implements BulkRowValidator<Activitie
         
         return exists;
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(ActivitiesBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Activity Name", BulkRowValidator.ignoreCase(rowData.getActivityName()));
+        return values;
+    }
 }
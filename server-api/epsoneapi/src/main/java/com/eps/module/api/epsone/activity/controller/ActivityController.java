@@ -20,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -104,7 +105,7 @@ public class ActivityController {
 
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> exportData() throws Exception {
+    public ResponseEntity<StreamingResponseBody> exportData() throws Exception {
         log.info("GET /api/activity/export - Exporting all activities");
         return bulkUploadControllerHelper.export(activityService);
     }
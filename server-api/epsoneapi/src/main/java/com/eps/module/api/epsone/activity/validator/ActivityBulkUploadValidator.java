@@ -10,7 +10,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -70,4 +72,11 @@ public class ActivityBulkUploadValidator implements BulkRowValidator<ActivityBul
         
         return exists;
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(ActivityBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Activity Name", BulkRowValidator.ignoreCase(rowData.getActivityName()));
+        return values;
+    }
 }
@@ -18,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -96,7 +97,7 @@ public class ActivityWorkController {
 
     @GetMapping("/export")
     @RequirePermission("ACTIVITY_WORK:EXPORT")
-    public ResponseEntity<byte[]> exportData() throws Exception {
+    public ResponseEntity<StreamingResponseBody> exportData() throws Exception {
         log.info("GET /api/activity-works/export - Exporting all activity works");
         return bulkUploadControllerHelper.export(activityWorkService);
     }
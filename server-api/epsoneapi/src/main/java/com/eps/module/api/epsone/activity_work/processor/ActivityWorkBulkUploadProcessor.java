@@ -11,6 +11,7 @@ import com.eps.module.api.epsone.generic_status_type.constant.GenericStatusTypeE
 import com.eps.module.api.epsone.generic_status_type.repository.GenericStatusTypeRepository;
 import com.eps.module.api.epsone.vendor.constant.VendorErrorMessages;
 import com.eps.module.api.epsone.vendor.repository.VendorRepository;
+import com.eps.module.common.bulk.excel.ExcelDateParser;
 import com.eps.module.common.bulk.processor.BulkUploadProcessor;
 import com.eps.module.common.exception.ResourceNotFoundException;
 import com.eps.module.status.GenericStatusType;
@@ -21,8 +22,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -37,12 +36,8 @@ public class ActivityWorkBulkUploadProcessor extends BulkUploadProcessor<Activit
     private final GenericStatusTypeRepository genericStatusTypeRepository;
     private final ActivityWorkBulkUploadValidator validator;
 
-    private static final DateTimeFormatter[] DATE_FORMATTERS = {
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-            DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-            DateTimeFormatter.ofPattern("dd-MM-yyyy")
-    };
+    private static final ExcelDateParser DATE_PARSER =
+            ExcelDateParser.of("yyyy-MM-dd", "dd/MM/yyyy", "MM/dd/yyyy", "dd-MM-yyyy").withExcelSerials();
 
     @Override
     protected ActivityWorkBulkUploadValidator getValidator() {
@@ -118,31 +113,10 @@ public class ActivityWorkBulkUploadProcessor extends BulkUploadProcessor<Activit
         if (dateStr == null || dateStr.trim().isEmpty()) {
             return null;
         }
-
-        String trimmed = dateStr.trim();
-        
-        // Try to parse as Excel serial number first
-        try {
-            double excelSerialNumber = Double.parseDouble(trimmed);
-            if (excelSerialNumber >= 1 && excelSerialNumber < 100000) {
-                // Excel's epoch is 1899-12-30 (due to Excel's leap year bug)
-                return LocalDate.of(1899, 12, 30).plusDays((long) excelSerialNumber);
-            }
-        } catch (NumberFormatException e) {
-            // Not a number, try date formats
-        }
-        
-        // Try standard date formats
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(trimmed, formatter);
-            } catch (DateTimeParseException e) {
-                // Try next formatter
-            }
+        LocalDate date = DATE_PARSER.parse(dateStr);
+        if (date == null) {
+            log.warn("Failed to parse date: {} - This should have been caught by validation", dateStr);
         }
-        
-        // If all parsing fails, return null (validation already passed, so this shouldn't happen)
-        log.warn("Failed to parse date: {} - This should have been caught by validation", dateStr);
-        return null;
+        return date;
     }
 }
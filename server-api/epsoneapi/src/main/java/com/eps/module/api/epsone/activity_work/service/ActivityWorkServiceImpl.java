@@ -64,6 +64,11 @@ public class ActivityWorkServiceImpl extends BaseBulkUploadService<ActivityWorkB
         return "Activity Work";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "ACTIVITY_WORK:BULK_UPLOAD";
+    }
+
     @Override
     public List<ActivityWork> getAllEntitiesForExport() {
         return activityWorkRepository.findAllForExport();
@@ -10,6 +10,9 @@ import com.eps.module.auth.rbac.annotation.RequirePermission;
 import com.eps.module.common.bulk.controller.BulkUploadControllerHelper;
 import com.eps.module.common.bulk.dto.BulkUploadProgressDto;
 import com.eps.module.common.bulk.excel.ExcelExportUtil;
+import com.eps.module.common.bulk.job.BulkUploadMode;
+import com.eps.module.common.pagination.CursorPage;
+import com.eps.module.common.pagination.CursorPageRequest;
 import com.eps.module.common.response.ApiResponse;
 import com.eps.module.common.response.ResponseBuilder;
 import lombok.RequiredArgsConstructor;
@@ -24,11 +27,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -36,6 +41,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AssetController {
 
+    /**
+     * Non-null properties the cursor endpoints can sort on
+     */
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "assetTagId", "createdAt", "updatedAt");
+
     private final AssetService assetService;
     private final BulkUploadControllerHelper bulkUploadHelper;
     private final ExcelExportUtil excelExportUtil;
@@ -44,9 +54,19 @@ public class AssetController {
 
     @RequirePermission("ASSET:BULK_UPLOAD")
     @PostMapping("/bulk/upload")
-    public SseEmitter bulkUpload(@RequestParam("file") MultipartFile file) throws IOException {
+    public SseEmitter bulkUpload(@RequestParam("file") MultipartFile file,
+                                 @RequestParam(defaultValue = "INSERT") BulkUploadMode mode) throws IOException {
         log.info("POST /api/assets/bulk/upload - Starting bulk upload with file: {}", file.getOriginalFilename());
-        return bulkUploadHelper.bulkUpload(file, assetService);
+        return bulkUploadHelper.bulkUpload(file, mode, assetService);
+    }
+
+    @RequirePermission("ASSET:BULK_UPLOAD")
+    @PostMapping("/bulk/validate")
+    public ResponseEntity<ApiResponse<BulkUploadProgressDto>> validateBulkUpload(@RequestParam("file") MultipartFile file,
+                                                                                @RequestParam(defaultValue = "INSERT") BulkUploadMode mode) throws IOException {
+        log.info("POST /api/assets/bulk/validate - Validating bulk upload file: {}", file.getOriginalFilename());
+        BulkUploadProgressDto result = bulkUploadHelper.validate(file, mode, assetService);
+        return ResponseBuilder.success(result, "Bulk upload validated successfully");
     }
 
     @GetMapping("/bulk/export-template")
@@ -84,6 +104,19 @@ public class AssetController {
         return ResponseBuilder.success(assets, "Assets retrieved successfully");
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<AssetResponseDto>>> getAllAssetsByCursor(
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        log.info("GET /api/assets - Fetching assets with cursor pagination");
+        CursorPageRequest request = CursorPageRequest.of(cursor, size, sortBy, sortDirection, estimateTotal, KEYSET_SORT_PROPERTIES);
+        CursorPage<AssetResponseDto> page = assetService.scrollAssets(null, request);
+        return ResponseBuilder.success(page, "Assets retrieved successfully");
+    }
+
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<Page<AssetResponseDto>>> searchAssets(
             @RequestParam(required = false, defaultValue = "") String searchTerm,
@@ -98,21 +131,48 @@ public class AssetController {
         return ResponseBuilder.success(assets, "Assets search completed");
     }
 
+    @GetMapping(value = "/search", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<AssetResponseDto>>> searchAssetsByCursor(
+            @RequestParam(defaultValue = "") String searchTerm,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        log.info("GET /api/assets/search - Searching assets with cursor pagination, term: {}", searchTerm);
+        CursorPageRequest request = CursorPageRequest.of(cursor, size, sortBy, sortDirection, estimateTotal, KEYSET_SORT_PROPERTIES);
+        CursorPage<AssetResponseDto> page = assetService.scrollAssets(searchTerm, request);
+        return ResponseBuilder.success(page, "Assets search completed");
+    }
+
     @GetMapping("/list")
     public ResponseEntity<ApiResponse<List<AssetResponseDto>>> listAssets() {
         List<AssetResponseDto> assets = assetService.listAssets();
         return ResponseBuilder.success(assets, "Assets list retrieved successfully");
     }
 
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAssets() {
+        log.info("GET /api/assets/list - Streaming all assets as NDJSON");
+        return assetService.streamAssets();
+    }
+
     // ========== Export Endpoint (must be before /{id}) ==========
 
     @RequirePermission("ASSET:EXPORT")
     @GetMapping("/export")
-    public ResponseEntity<byte[]> exportData() throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportData() throws IOException {
         log.info("GET /api/assets/export - Exporting all assets");
         return bulkUploadHelper.export(assetService);
     }
 
+    @RequirePermission("ASSET:EXPORT")
+    @GetMapping("/export/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv() throws IOException {
+        log.info("GET /api/assets/export/csv - Exporting all assets to CSV");
+        return bulkUploadHelper.exportCsv(assetService);
+    }
+
     // ========== Financial Export Endpoint ==========
 
     @RequirePermission("ASSET:FINANCIAL_EXPORT")
@@ -4,19 +4,19 @@ import com.eps.module.api.epsone.asset.constant.AssetErrorMessages;
 import com.eps.module.api.epsone.asset.dto.AssetBulkUploadDto;
 import com.eps.module.api.epsone.asset.repository.AssetRepository;
 import com.eps.module.api.epsone.asset.validator.AssetBulkUploadValidator;
-import com.eps.module.api.epsone.asset_category.repository.AssetCategoryRepository;
+import com.eps.module.api.epsone.asset_placement.validator.AssetPlacementBulkUploadValidator;
 import com.eps.module.api.epsone.asset_tag_code.service.AssetTagCodeGeneratorService;
-import com.eps.module.api.epsone.asset_type.repository.AssetTypeRepository;
 import com.eps.module.api.epsone.bank.constant.BankErrorMessages;
-import com.eps.module.api.epsone.bank.repository.BankRepository;
-import com.eps.module.api.epsone.generic_status_type.repository.GenericStatusTypeRepository;
 import com.eps.module.api.epsone.vendor.constant.VendorErrorMessages;
-import com.eps.module.api.epsone.vendor.repository.VendorRepository;
 import com.eps.module.asset.Asset;
 import com.eps.module.asset.AssetCategory;
 import com.eps.module.asset.AssetType;
 import com.eps.module.bank.Bank;
+import com.eps.module.common.bulk.excel.ExcelDateParser;
+import com.eps.module.common.bulk.lookup.BulkLookupContext;
 import com.eps.module.common.bulk.processor.BulkUploadProcessor;
+import com.eps.module.common.bulk.staging.StagingColumn;
+import com.eps.module.common.bulk.staging.StagingTable;
 import com.eps.module.common.bulk.validator.BulkRowValidator;
 import com.eps.module.common.constant.CommonErrorMessages;
 import com.eps.module.common.exception.BadRequestException;
@@ -29,9 +29,9 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -41,23 +41,34 @@ public class AssetBulkUploadProcessor extends BulkUploadProcessor<AssetBulkUploa
 
     private final AssetBulkUploadValidator validator;
     private final AssetRepository assetRepository;
-    private final AssetTypeRepository assetTypeRepository;
-    private final AssetCategoryRepository assetCategoryRepository;
-    private final VendorRepository vendorRepository;
-    private final BankRepository bankRepository;
-    private final GenericStatusTypeRepository genericStatusTypeRepository;
     private final AssetTagCodeGeneratorService assetTagCodeGeneratorService;
 
-    // Thread-local storage for DTO data during processing
-    private final ThreadLocal<AssetBulkUploadDto> currentDto = new ThreadLocal<>();
-
-    private static final DateTimeFormatter[] ACCEPTED_DATE_FORMATTERS = new DateTimeFormatter[] {
-        DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-        DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-        DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-        DateTimeFormatter.ofPattern("yyyy/MM/dd")
-    };
+    /**
+     * Upserts match stored assets by asset tag; blank cells keep the stored value
+     */
+    private static final StagingTable<Asset> STAGING_TABLE = new StagingTable<>(Asset.class, "asset", "asset_tag_id", List.of(
+            StagingColumn.of("asset_tag_id", "varchar(50)", Asset::getAssetTagId),
+            StagingColumn.reference("asset_type_id", Asset::getAssetType, AssetType::getId),
+            StagingColumn.reference("asset_category_id", Asset::getAssetCategory, AssetCategory::getId),
+            StagingColumn.reference("vendor_id", Asset::getVendor, Vendor::getId),
+            StagingColumn.reference("lender_bank_id", Asset::getLenderBank, Bank::getId),
+            StagingColumn.reference("status_type_id", Asset::getStatusType, GenericStatusType::getId),
+            StagingColumn.of("asset_name", "varchar(255)", Asset::getAssetName),
+            StagingColumn.of("serial_number", "varchar(100)", Asset::getSerialNumber),
+            StagingColumn.of("model_number", "varchar(100)", Asset::getModelNumber),
+            StagingColumn.of("purchase_order_number", "varchar(100)", Asset::getPurchaseOrderNumber),
+            StagingColumn.of("purchase_order_date", "date", Asset::getPurchaseOrderDate),
+            StagingColumn.of("purchase_order_cost", "numeric(12,2)", Asset::getPurchaseOrderCost),
+            StagingColumn.of("dispatch_order_number", "varchar(100)", Asset::getDispatchOrderNumber),
+            StagingColumn.of("dispatch_order_date", "date", Asset::getDispatchOrderDate),
+            StagingColumn.of("warranty_period", "integer", Asset::getWarrantyPeriod),
+            StagingColumn.of("warranty_expiry_date", "date", Asset::getWarrantyExpiryDate),
+            StagingColumn.of("end_of_life_date", "date", Asset::getEndOfLifeDate),
+            StagingColumn.of("end_of_support_date", "date", Asset::getEndOfSupportDate),
+            StagingColumn.of("scrapped_on", "date", Asset::getScrappedOn)
+    ));
+
+    private static final ExcelDateParser DATE_PARSER = ExcelDateParser.standard();
 
     @Override
     protected BulkRowValidator<AssetBulkUploadDto> getValidator() {
@@ -66,22 +77,24 @@ public class AssetBulkUploadProcessor extends BulkUploadProcessor<AssetBulkUploa
 
     @Override
     protected Asset convertToEntity(AssetBulkUploadDto dto) {
+        return convertToEntity(dto, validator.lookupsFor(dto));
+    }
+
+    @Override
+    protected Asset convertToEntity(AssetBulkUploadDto dto, BulkLookupContext lookups) {
         try {
             log.debug("Converting DTO to Asset entity: {}", dto.getAssetTagId());
 
-            // Store DTO for later use in saveEntity
-            currentDto.set(dto);
-
             Asset asset = new Asset();
             
             // Get required entities for potential auto-generation
-            AssetCategory assetCategory = assetCategoryRepository.findByCategoryNameIgnoreCase(dto.getAssetCategoryName())
+            AssetCategory assetCategory = lookups.find(AssetBulkUploadValidator.ASSET_CATEGORIES, dto.getAssetCategoryName())
                     .orElseThrow(() -> new ResourceNotFoundException(AssetErrorMessages.ASSET_CATEGORY_NOT_FOUND + dto.getAssetCategoryName()));
             
-            Vendor vendor = vendorRepository.findByVendorCodeIgnoreCase(dto.getVendorCode())
+            Vendor vendor = lookups.find(AssetBulkUploadValidator.VENDORS, dto.getVendorCode())
                     .orElseThrow(() -> new ResourceNotFoundException(VendorErrorMessages.VENDOR_NOT_FOUND_CODE + dto.getVendorCode()));
             
-            Bank lenderBank = bankRepository.findByBankNameIgnoreCase(dto.getLenderBankName())
+            Bank lenderBank = lookups.find(AssetBulkUploadValidator.BANKS, dto.getLenderBankName())
                     .orElseThrow(() -> new ResourceNotFoundException(BankErrorMessages.BANK_NOT_FOUND + dto.getLenderBankName()));
             
             // Handle Asset Tag ID - auto-generate if not provided
@@ -125,7 +138,7 @@ public class AssetBulkUploadProcessor extends BulkUploadProcessor<AssetBulkUploa
             }
 
             // Set Asset Type (required)
-            AssetType assetType = assetTypeRepository.findByTypeNameIgnoreCase(dto.getAssetTypeName())
+            AssetType assetType = lookups.find(AssetBulkUploadValidator.ASSET_TYPES, dto.getAssetTypeName())
                     .orElseThrow(() -> new ResourceNotFoundException(AssetErrorMessages.ASSET_TYPE_NOT_FOUND + dto.getAssetTypeName()));
             asset.setAssetType(assetType);
 
@@ -140,7 +153,7 @@ public class AssetBulkUploadProcessor extends BulkUploadProcessor<AssetBulkUploa
 
             // Set Status (optional)
             if (dto.getStatusCode() != null && !dto.getStatusCode().trim().isEmpty()) {
-                GenericStatusType statusType = genericStatusTypeRepository.findByStatusCodeIgnoreCase(dto.getStatusCode())
+                GenericStatusType statusType = lookups.find(AssetBulkUploadValidator.STATUS_TYPES, dto.getStatusCode())
                         .orElse(null);
                 asset.setStatusType(statusType);
             }
@@ -198,17 +211,51 @@ public class AssetBulkUploadProcessor extends BulkUploadProcessor<AssetBulkUploa
             log.debug("Saving Asset entity: {}", entity.getAssetTagId());
             Asset savedAsset = assetRepository.save(entity);
             log.debug("Successfully saved Asset entity: {}", savedAsset.getAssetTagId());
-            
-            // Clean up thread-local storage
-            currentDto.remove();
         } catch (Exception e) {
-            // Clean up thread-local storage on error
-            currentDto.remove();
             log.error("Error saving Asset entity: {}", e.getMessage(), e);
             throw new BadRequestException(CommonErrorMessages.ENTITY_SAVE_ERROR + e.getMessage());
         }
     }
 
+    @Override
+    protected void saveEntities(List<Asset> entities) {
+        log.debug("Saving chunk of {} Asset entities", entities.size());
+        assetRepository.saveAll(entities);
+    }
+
+    /**
+     * Later sheets of a workbook import resolve these assets by asset tag without a query
+     */
+    @Override
+    protected void rememberSaved(List<Asset> entities, BulkLookupContext lookups) {
+        for (Asset asset : entities) {
+            lookups.remember(AssetPlacementBulkUploadValidator.ASSETS, asset.getAssetTagId(), asset);
+            // Replaces the miss cached for the serial number when the row was validated
+            lookups.remember(AssetBulkUploadValidator.SERIAL_NUMBERS, asset.getSerialNumber(), asset);
+        }
+    }
+
+    @Override
+    protected StagingTable<Asset> stagingTable() {
+        return STAGING_TABLE;
+    }
+
+    @Override
+    protected boolean supportsChunkedPersistence() {
+        return true;
+    }
+
+    @Override
+    protected String getNaturalKey(AssetBulkUploadDto dto) {
+        // Rows without an asset tag get one generated, so they cannot clash
+        return dto.getAssetTagId() == null || dto.getAssetTagId().trim().isEmpty() ? null : dto.getAssetTagId().trim();
+    }
+
+    @Override
+    protected Collection<String> findExistingNaturalKeys(Collection<String> naturalKeys) {
+        return assetRepository.findExistingAssetTagIds(naturalKeys);
+    }
+
     @Override
     protected Map<String, Object> getRowDataAsMap(AssetBulkUploadDto dto) {
         Map<String, Object> data = new HashMap<>();
@@ -246,30 +293,10 @@ public class AssetBulkUploadProcessor extends BulkUploadProcessor<AssetBulkUploa
         if (dateStr == null || dateStr.trim().isEmpty()) {
             return null;
         }
-
-        String s = dateStr.trim();
-
-        // Try Excel serial number first
-        if (s.matches("^\\d+(?:\\.\\d+)?$")) {
-            try {
-                double serial = Double.parseDouble(s);
-                if (serial >= 1 && serial < 100000) {
-                    return LocalDate.of(1899, 12, 30).plusDays((long) Math.floor(serial));
-                }
-            } catch (NumberFormatException e) {
-                // Not a number, try date formats
-            }
+        LocalDate date = DATE_PARSER.parse(dateStr);
+        if (date == null) {
+            log.warn("Failed to parse date: {} - This should have been caught by validation", dateStr);
         }
-
-        // Try standard formatters
-        for (DateTimeFormatter formatter : ACCEPTED_DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(s, formatter);
-            } catch (DateTimeParseException ignored) {
-            }
-        }
-
-        log.warn("Failed to parse date: {} - This should have been caught by validation", dateStr);
-        return null;
+        return date;
     }
 }
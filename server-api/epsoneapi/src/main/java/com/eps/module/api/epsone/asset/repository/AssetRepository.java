@@ -1,18 +1,24 @@
 package com.eps.module.api.epsone.asset.repository;
 
 import com.eps.module.asset.Asset;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AssetRepository extends JpaRepository<Asset, Long> {
+public interface AssetRepository extends JpaRepository<Asset, Long>, JpaSpecificationExecutor<Asset> {
 
     Optional<Asset> findByAssetTagId(String assetTagId);
 
@@ -77,6 +83,21 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
            "ORDER BY a.assetTagId ASC")
     List<Asset> findAllForExport();
 
+    /**
+     * Stream all assets with the relationships used by the export mapping
+     * Rows are fetched from a cursor in batches; must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM Asset a " +
+           "LEFT JOIN FETCH a.assetType at " +
+           "LEFT JOIN FETCH a.assetCategory ac " +
+           "LEFT JOIN FETCH a.vendor v " +
+           "LEFT JOIN FETCH v.vendorDetails vd " +
+           "LEFT JOIN FETCH a.lenderBank lb " +
+           "LEFT JOIN FETCH a.statusType st " +
+           "ORDER BY a.assetTagId ASC")
+    Stream<Asset> streamAllForExport();
+
     /**
      * Check if asset exists by asset tag ID (case-insensitive) - for duplicate checking
      */
@@ -94,4 +115,33 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
      */
     @Query("SELECT COUNT(a) FROM Asset a WHERE a.assetType.id = :typeId")
     long countByAssetTypeId(@Param("typeId") Long typeId);
+
+    /**
+     * Find assets by lower-cased asset tags - for bulk upload lookups
+     */
+    @Query("SELECT a FROM Asset a WHERE LOWER(a.assetTagId) IN :assetTagIds")
+    List<Asset> findByAssetTagIdIgnoreCaseIn(@Param("assetTagIds") Collection<String> assetTagIds);
+
+    /**
+     * Return the given asset tags that are already taken - for bulk upload duplicate detection
+     */
+    @Query("SELECT a.assetTagId FROM Asset a WHERE a.assetTagId IN :assetTagIds")
+    List<String> findExistingAssetTagIds(@Param("assetTagIds") Collection<String> assetTagIds);
+
+    List<Asset> findBySerialNumberIn(Collection<String> serialNumbers);
+
+    /**
+     * Stream all assets with the relationships used by the list mapping for the NDJSON list endpoint
+     * Rows are fetched from a cursor in batches; must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM Asset a " +
+           "JOIN FETCH a.assetCategory " +
+           "JOIN FETCH a.assetType " +
+           "JOIN FETCH a.vendor v " +
+           "JOIN FETCH v.vendorDetails " +
+           "JOIN FETCH a.lenderBank " +
+           "LEFT JOIN FETCH a.statusType " +
+           "ORDER BY a.id")
+    Stream<Asset> streamAllWithDetails();
 }
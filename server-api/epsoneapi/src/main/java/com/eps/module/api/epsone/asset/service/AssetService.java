@@ -8,8 +8,12 @@ import com.eps.module.api.epsone.asset.dto.AssetResponseDto;
 import com.eps.module.api.epsone.asset.dto.AssetBulkUploadDto;
 import com.eps.module.asset.Asset;
 import com.eps.module.common.bulk.service.BulkUploadService;
+import com.eps.module.common.pagination.CursorPage;
+import com.eps.module.common.pagination.CursorPageRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,8 +24,18 @@ public interface AssetService extends BulkUploadService<AssetBulkUploadDto, Asse
 
     Page<AssetResponseDto> searchAssets(String searchTerm, Pageable pageable);
 
+    /**
+     * Keyset-paginated listing; a blank search term lists every asset
+     */
+    CursorPage<AssetResponseDto> scrollAssets(String searchTerm, CursorPageRequest request);
+
     List<AssetResponseDto> listAssets();
 
+    /**
+     * Same records as {@link #listAssets()}, streamed as NDJSON
+     */
+    ResponseEntity<StreamingResponseBody> streamAssets();
+
     AssetResponseDto getAssetById(Long id);
 
     AssetResponseDto updateAsset(Long id, AssetRequestDto requestDto);
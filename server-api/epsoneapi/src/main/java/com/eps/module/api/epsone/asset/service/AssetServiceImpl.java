@@ -21,11 +21,18 @@ import com.eps.module.common.bulk.processor.BulkUploadProcessor;
 import com.eps.module.common.bulk.service.BaseBulkUploadService;
 import com.eps.module.common.exception.ConflictException;
 import com.eps.module.common.exception.ResourceNotFoundException;
+import com.eps.module.common.pagination.CursorPage;
+import com.eps.module.common.pagination.CursorPageRequest;
+import com.eps.module.common.pagination.KeysetPaginator;
+import com.eps.module.common.pagination.SearchSpecifications;
+import com.eps.module.common.response.NdjsonStreamer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -36,17 +43,36 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AssetServiceImpl extends BaseBulkUploadService<AssetBulkUploadDto, Asset> implements AssetService {
 
+    /**
+     * Properties matched by the free-text search of the keyset-paginated listing
+     */
+    private static final String[] SEARCH_PROPERTIES = {
+            "assetTagId",
+            "serialNumber",
+            "modelNumber",
+            "assetName",
+            "assetCategory.categoryName",
+            "assetType.typeName",
+            "vendor.vendorDetails.firstName",
+            "vendor.vendorDetails.lastName",
+            "vendor.vendorDetails.contactNumber",
+            "lenderBank.bankName"
+    };
+
     private final AssetRepository assetRepository;
     private final AssetMapper assetMapper;
     private final AssetsOnSiteRepository assetsOnSiteRepository;
     private final AssetsOnWarehouseRepository assetsOnWarehouseRepository;
     private final AssetsOnDatacenterRepository assetsOnDatacenterRepository;
     private final AssetBulkUploadProcessor assetBulkUploadProcessor;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final KeysetPaginator keysetPaginator;
 
     // ========== Bulk Upload Methods ==========
 
@@ -65,11 +91,21 @@ public class AssetServiceImpl extends BaseBulkUploadService<AssetBulkUploadDto,
         return "Asset";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "ASSET:BULK_UPLOAD";
+    }
+
     @Override
     public List<Asset> getAllEntitiesForExport() {
         return assetRepository.findAllForExport();
     }
 
+    @Override
+    public Stream<Asset> streamAllEntitiesForExport() {
+        return assetRepository.streamAllForExport();
+    }
+
     @Override
     public Function<Asset, AssetBulkUploadDto> getEntityToDtoMapper() {
         return asset -> {
@@ -303,6 +339,15 @@ public class AssetServiceImpl extends BaseBulkUploadService<AssetBulkUploadDto,
                 .map(asset -> enrichWithScrapInfo(assetMapper.toDto(asset), asset));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<AssetResponseDto> scrollAssets(String searchTerm, CursorPageRequest request) {
+        return keysetPaginator.page(assetRepository, Asset.class,
+                SearchSpecifications.containsIgnoreCase(searchTerm, SEARCH_PROPERTIES), request,
+                asset -> enrichWithScrapInfo(assetMapper.toDto(asset), asset),
+                "assetCategory", "assetType", "vendor.vendorDetails", "lenderBank", "statusType");
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<AssetResponseDto> listAssets() {
@@ -311,6 +356,12 @@ public class AssetServiceImpl extends BaseBulkUploadService<AssetBulkUploadDto,
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamAssets() {
+        return ndjsonStreamer.stream("Asset", assetRepository::streamAllWithDetails,
+                asset -> enrichWithScrapInfo(assetMapper.toDto(asset), asset));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public AssetResponseDto getAssetById(Long id) {
@@ -11,18 +11,29 @@ import com.eps.module.api.epsone.generic_status_type.repository.GenericStatusTyp
 import com.eps.module.api.epsone.site.repository.SiteRepository;
 import com.eps.module.api.epsone.vendor.repository.VendorRepository;
 import com.eps.module.api.epsone.warehouse.repository.WarehouseRepository;
+import com.eps.module.asset.Asset;
+import com.eps.module.asset.AssetCategory;
+import com.eps.module.asset.AssetType;
+import com.eps.module.bank.Bank;
 import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
+import com.eps.module.common.bulk.excel.ExcelDateParser;
+import com.eps.module.common.bulk.lookup.BulkLookupContext;
 import com.eps.module.common.bulk.validator.BulkRowValidator;
+import com.eps.module.site.Site;
+import com.eps.module.status.GenericStatusType;
+import com.eps.module.vendor.Vendor;
+import com.eps.module.warehouse.Datacenter;
+import com.eps.module.warehouse.Warehouse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 @Slf4j
@@ -40,17 +51,61 @@ public class AssetBulkUploadValidator implements BulkRowValidator<AssetBulkUploa
     private final DatacenterRepository datacenterRepository;
     private final WarehouseRepository warehouseRepository;
 
+    // Reference data shared with AssetBulkUploadProcessor through the upload's lookup context
+    public static final BulkLookupContext.Key<AssetType> ASSET_TYPES = BulkLookupContext.Key.ignoreCase("assetType");
+    public static final BulkLookupContext.Key<AssetCategory> ASSET_CATEGORIES = BulkLookupContext.Key.ignoreCase("assetCategory");
+    public static final BulkLookupContext.Key<Vendor> VENDORS = BulkLookupContext.Key.ignoreCase("vendor");
+    public static final BulkLookupContext.Key<Bank> BANKS = BulkLookupContext.Key.ignoreCase("bank");
+    public static final BulkLookupContext.Key<GenericStatusType> STATUS_TYPES = BulkLookupContext.Key.ignoreCase("statusType");
+    public static final BulkLookupContext.Key<Asset> SERIAL_NUMBERS = BulkLookupContext.Key.exact("assetSerialNumber");
+    public static final BulkLookupContext.Key<Site> SITES = BulkLookupContext.Key.exact("site");
+    public static final BulkLookupContext.Key<Datacenter> DATACENTERS = BulkLookupContext.Key.exact("datacenter");
+    public static final BulkLookupContext.Key<Warehouse> WAREHOUSES = BulkLookupContext.Key.exact("warehouse");
+
     private static final Pattern ASSET_TAG_PATTERN = Pattern.compile("^[A-Z0-9]{5,50}$");
-    private static final DateTimeFormatter[] ACCEPTED_DATE_FORMATTERS = new DateTimeFormatter[] {
-        DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-        DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-        DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-        DateTimeFormatter.ofPattern("yyyy/MM/dd")
-    };
+    private static final ExcelDateParser DATE_PARSER = ExcelDateParser.standard();
+
+    @Override
+    public void prefetch(List<AssetBulkUploadDto> rows, BulkLookupContext context) {
+        context.register(ASSET_TYPES, assetTypeRepository::findByTypeNameIgnoreCaseIn, AssetType::getTypeName);
+        context.register(ASSET_CATEGORIES, assetCategoryRepository::findByCategoryNameIgnoreCaseIn, AssetCategory::getCategoryName);
+        context.register(VENDORS, vendorRepository::findByVendorCodeIgnoreCaseIn, Vendor::getVendorCodeAlt);
+        context.register(BANKS, bankRepository::findByBankNameIgnoreCaseIn, Bank::getBankName);
+        context.register(STATUS_TYPES, genericStatusTypeRepository::findByStatusCodeIgnoreCaseIn, GenericStatusType::getStatusCode);
+        context.register(SERIAL_NUMBERS, assetRepository::findBySerialNumberIn, Asset::getSerialNumber);
+        context.register(SITES, siteRepository::findBySiteCodeIn, Site::getSiteCode);
+        context.register(DATACENTERS, datacenterRepository::findByDatacenterCodeIn, Datacenter::getDatacenterCode);
+        context.register(WAREHOUSES, warehouseRepository::findByWarehouseCodeIn, Warehouse::getWarehouseCode);
+
+        context.prefetch(ASSET_TYPES, rows, AssetBulkUploadDto::getAssetTypeName);
+        context.prefetch(ASSET_CATEGORIES, rows, AssetBulkUploadDto::getAssetCategoryName);
+        context.prefetch(VENDORS, rows, AssetBulkUploadDto::getVendorCode);
+        context.prefetch(BANKS, rows, AssetBulkUploadDto::getLenderBankName);
+        context.prefetch(STATUS_TYPES, rows, AssetBulkUploadDto::getStatusCode);
+        context.prefetch(STATUS_TYPES, rows, AssetBulkUploadDto::getPlacementStatusCode);
+        context.prefetch(SERIAL_NUMBERS, rows, AssetBulkUploadDto::getSerialNumber);
+        // Location code can be a Site, Datacenter or Warehouse code
+        context.prefetch(SITES, rows, AssetBulkUploadDto::getLocationCode);
+        context.prefetch(DATACENTERS, rows, AssetBulkUploadDto::getLocationCode);
+        context.prefetch(WAREHOUSES, rows, AssetBulkUploadDto::getLocationCode);
+    }
+
+    /**
+     * Lookup context holding the reference data of a single row, for callers outside a bulk upload
+     */
+    public BulkLookupContext lookupsFor(AssetBulkUploadDto rowData) {
+        BulkLookupContext context = new BulkLookupContext();
+        prefetch(List.of(rowData), context);
+        return context;
+    }
 
     @Override
     public List<BulkUploadErrorDto> validate(AssetBulkUploadDto rowData, int rowNumber) {
+        return validate(rowData, rowNumber, lookupsFor(rowData));
+    }
+
+    @Override
+    public List<BulkUploadErrorDto> validate(AssetBulkUploadDto rowData, int rowNumber, BulkLookupContext lookups) {
         List<BulkUploadErrorDto> errors = new ArrayList<>();
 
         log.debug("=== Validating row {} - Asset Tag: '{}', Type: '{}', Category: '{}'", 
@@ -65,10 +120,8 @@ public class AssetBulkUploadValidator implements BulkRowValidator<AssetBulkUploa
             } else if (!ASSET_TAG_PATTERN.matcher(assetTagId).matches()) {
                 errors.add(createError(rowNumber, "VALIDATION_ERROR", 
                         AssetErrorMessages.ASSET_TAG_FORMAT_INVALID));
-            } else if (assetRepository.findByAssetTagId(assetTagId).isPresent()) {
-                errors.add(createError(rowNumber, "DUPLICATE_ERROR", 
-                        AssetErrorMessages.ASSET_TAG_ALREADY_EXISTS + assetTagId));
             }
+            // Existing tags and tags repeated in the file are reported by the processor's duplicate check
         } else {
             log.debug("No asset tag ID provided - will be auto-generated");
         }
@@ -76,7 +129,7 @@ public class AssetBulkUploadValidator implements BulkRowValidator<AssetBulkUploa
         // Validate Asset Type (required)
         if (isBlank(rowData.getAssetTypeName())) {
             errors.add(createError(rowNumber, "VALIDATION_ERROR", AssetErrorMessages.ASSET_TYPE_REQUIRED));
-        } else if (!assetTypeRepository.findByTypeNameIgnoreCase(rowData.getAssetTypeName()).isPresent()) {
+        } else if (!lookups.contains(ASSET_TYPES, rowData.getAssetTypeName())) {
             errors.add(createError(rowNumber, "REFERENCE_ERROR", 
                     AssetErrorMessages.ASSET_TYPE_NOT_FOUND + rowData.getAssetTypeName()));
         }
@@ -84,7 +137,7 @@ public class AssetBulkUploadValidator implements BulkRowValidator<AssetBulkUploa
         // Validate Asset Category (required)
         if (isBlank(rowData.getAssetCategoryName())) {
             errors.add(createError(rowNumber, "VALIDATION_ERROR", AssetErrorMessages.ASSET_CATEGORY_REQUIRED));
-        } else if (!assetCategoryRepository.findByCategoryNameIgnoreCase(rowData.getAssetCategoryName()).isPresent()) {
+        } else if (!lookups.contains(ASSET_CATEGORIES, rowData.getAssetCategoryName())) {
             errors.add(createError(rowNumber, "REFERENCE_ERROR", 
                     AssetErrorMessages.ASSET_CATEGORY_NOT_FOUND + rowData.getAssetCategoryName()));
         }
@@ -92,7 +145,7 @@ public class AssetBulkUploadValidator implements BulkRowValidator<AssetBulkUploa
         // Validate Vendor (required)
         if (isBlank(rowData.getVendorCode())) {
             errors.add(createError(rowNumber, "VALIDATION_ERROR", AssetErrorMessages.VENDOR_CODE_REQUIRED));
-        } else if (!vendorRepository.existsByVendorCodeAlt(rowData.getVendorCode().trim())) {
+        } else if (!lookups.contains(VENDORS, rowData.getVendorCode())) {
             errors.add(createError(rowNumber, "REFERENCE_ERROR", 
                     String.format(AssetErrorMessages.VENDOR_NOT_FOUND_CODE, rowData.getVendorCode())));
         }
@@ -100,14 +153,14 @@ public class AssetBulkUploadValidator implements BulkRowValidator<AssetBulkUploa
         // Validate Lender Bank (required)
         if (isBlank(rowData.getLenderBankName())) {
             errors.add(createError(rowNumber, "VALIDATION_ERROR", AssetErrorMessages.LENDER_BANK_REQUIRED));
-        } else if (!bankRepository.findByBankNameIgnoreCase(rowData.getLenderBankName()).isPresent()) {
+        } else if (!lookups.contains(BANKS, rowData.getLenderBankName())) {
             errors.add(createError(rowNumber, "REFERENCE_ERROR", 
                     String.format(AssetErrorMessages.LENDER_BANK_NOT_FOUND, rowData.getLenderBankName())));
         }
 
         // Validate Status Code (optional)
         if (!isBlank(rowData.getStatusCode())) {
-            if (!genericStatusTypeRepository.findByStatusCodeIgnoreCase(rowData.getStatusCode()).isPresent()) {
+            if (!lookups.contains(STATUS_TYPES, rowData.getStatusCode())) {
                 errors.add(createError(rowNumber, "REFERENCE_ERROR", 
                         String.format(AssetErrorMessages.STATUS_CODE_NOT_FOUND, rowData.getStatusCode())));
             }
@@ -115,7 +168,12 @@ public class AssetBulkUploadValidator implements BulkRowValidator<AssetBulkUploa
 
         // Validate Serial Number uniqueness (optional)
         if (!isBlank(rowData.getSerialNumber())) {
-            if (assetRepository.findBySerialNumber(rowData.getSerialNumber().trim()).isPresent()) {
+            // An upsert may keep the serial number of the asset it updates
+            boolean taken = lookups.find(SERIAL_NUMBERS, rowData.getSerialNumber())
+                    .filter(existing -> !lookups.isUpsert() || isBlank(rowData.getAssetTagId())
+                            || !existing.getAssetTagId().equals(rowData.getAssetTagId().trim()))
+                    .isPresent();
+            if (taken) {
                 errors.add(createError(rowNumber, "DUPLICATE_ERROR", 
                         AssetErrorMessages.SERIAL_NUMBER_ALREADY_EXISTS + rowData.getSerialNumber()));
             }
@@ -155,19 +213,19 @@ public class AssetBulkUploadValidator implements BulkRowValidator<AssetBulkUploa
         // Validate Placement Information (optional)
         // Location Code can be Site Code, Datacenter Code, or Warehouse Code
         if (!isBlank(rowData.getLocationCode())) {
-            validatePlacement(rowData, rowNumber, errors);
+            validatePlacement(rowData, rowNumber, lookups, errors);
         }
 
         return errors;
     }
 
-    private void validatePlacement(AssetBulkUploadDto rowData, int rowNumber, List<BulkUploadErrorDto> errors) {
+    private void validatePlacement(AssetBulkUploadDto rowData, int rowNumber, BulkLookupContext lookups, List<BulkUploadErrorDto> errors) {
         String locationCode = rowData.getLocationCode().trim();
         
         // Try to find the location in order: Site -> Datacenter -> Warehouse
-        boolean foundSite = siteRepository.existsBySiteCode(locationCode);
-        boolean foundDatacenter = !foundSite && datacenterRepository.findByDatacenterCode(locationCode).isPresent();
-        boolean foundWarehouse = !foundSite && !foundDatacenter && warehouseRepository.findByWarehouseCode(locationCode).isPresent();
+        boolean foundSite = lookups.contains(SITES, locationCode);
+        boolean foundDatacenter = !foundSite && lookups.contains(DATACENTERS, locationCode);
+        boolean foundWarehouse = !foundSite && !foundDatacenter && lookups.contains(WAREHOUSES, locationCode);
         
         if (!foundSite && !foundDatacenter && !foundWarehouse) {
             errors.add(createError(rowNumber, "REFERENCE_ERROR", 
@@ -197,7 +255,7 @@ public class AssetBulkUploadValidator implements BulkRowValidator<AssetBulkUploa
         if (isBlank(rowData.getPlacementStatusCode())) {
             errors.add(createError(rowNumber, "VALIDATION_ERROR", 
                     AssetErrorMessages.PLACEMENT_STATUS_REQUIRED));
-        } else if (!genericStatusTypeRepository.findByStatusCodeIgnoreCase(rowData.getPlacementStatusCode()).isPresent()) {
+        } else if (!lookups.contains(STATUS_TYPES, rowData.getPlacementStatusCode())) {
             errors.add(createError(rowNumber, "REFERENCE_ERROR", 
                     String.format(AssetErrorMessages.PLACEMENT_STATUS_NOT_FOUND, rowData.getPlacementStatusCode())));
         }
@@ -217,30 +275,16 @@ public class AssetBulkUploadValidator implements BulkRowValidator<AssetBulkUploa
         return false;
     }
 
-    private void validateDate(String dateStr, String fieldName, int rowNumber, List<BulkUploadErrorDto> errors) {
-        if (dateStr != null && !dateStr.trim().isEmpty()) {
-            String s = dateStr.trim();
-
-            // Try the accepted formatters
-            for (DateTimeFormatter fmt : ACCEPTED_DATE_FORMATTERS) {
-                try {
-                    LocalDate.parse(s, fmt);
-                    return; // valid
-                } catch (DateTimeParseException ignored) {
-                }
-            }
-
-            // Accept Excel numeric date serials (e.g. 44927)
-            if (s.matches("^\\d+(?:\\.\\d+)?$")) {
-                try {
-                    double serial = Double.parseDouble(s);
-                    if (serial >= 1 && serial < 100000) {
-                        return; // valid Excel serial number
-                    }
-                } catch (NumberFormatException ignored) {
-                }
-            }
+    @Override
+    public Map<String, String> getUniqueValues(AssetBulkUploadDto rowData) {
+        // Serial numbers are only checked against saved assets in validate(), so repeats within the file are caught here
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Serial Number", rowData.getSerialNumber());
+        return values;
+    }
 
+    private void validateDate(String dateStr, String fieldName, int rowNumber, List<BulkUploadErrorDto> errors) {
+        if (!DATE_PARSER.isValid(dateStr)) {
             errors.add(createError(rowNumber, "VALIDATION_ERROR",
                     String.format(AssetErrorMessages.DATE_FORMAT_INVALID, fieldName)));
         }
@@ -21,6 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -92,7 +93,7 @@ public class AssetCategoryController {
 
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> exportData() throws Exception {
+    public ResponseEntity<StreamingResponseBody> exportData() throws Exception {
         log.info("GET /api/asset-categories/export - Exporting all asset categories");
         return bulkUploadControllerHelper.export(assetCategoryService);
     }
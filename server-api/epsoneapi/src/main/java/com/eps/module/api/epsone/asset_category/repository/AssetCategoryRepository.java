@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -39,4 +40,10 @@ public interface AssetCategoryRepository extends JpaRepository<AssetCategory, Lo
      */
     @Query("SELECT ac FROM AssetCategory ac WHERE LOWER(ac.categoryName) = LOWER(:categoryName)")
     java.util.Optional<AssetCategory> findByCategoryNameIgnoreCase(@Param("categoryName") String categoryName);
+
+    /**
+     * Find asset categories by lower-cased names - for bulk upload lookups
+     */
+    @Query("SELECT ac FROM AssetCategory ac WHERE LOWER(ac.categoryName) IN :categoryNames")
+    List<AssetCategory> findByCategoryNameIgnoreCaseIn(@Param("categoryNames") Collection<String> categoryNames);
 }
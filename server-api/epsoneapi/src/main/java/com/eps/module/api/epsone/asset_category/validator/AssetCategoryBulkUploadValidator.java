@@ -9,7 +9,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -102,4 +104,13 @@ public class AssetCategoryBulkUploadValidator implements BulkRowValidator<AssetC
                assetCategoryRepository.existsByCategoryCodeIgnoreCase(dto.getCategoryCode()) ||
                assetCategoryRepository.existsByAssetCodeAltIgnoreCase(dto.getAssetCodeAlt());
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(AssetCategoryBulkUploadDto dto) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Category Name", BulkRowValidator.ignoreCase(dto.getCategoryName()));
+        values.put("Category Code", BulkRowValidator.ignoreCase(dto.getCategoryCode()));
+        values.put("Asset Code Alt", BulkRowValidator.ignoreCase(dto.getAssetCodeAlt()));
+        return values;
+    }
 }
@@ -17,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
@@ -42,7 +43,7 @@ public class AssetExpenditureAndActivityWorkController {
     }
 
     @GetMapping("/bulk-upload/export")
-    public ResponseEntity<byte[]> exportData() throws Exception {
+    public ResponseEntity<StreamingResponseBody> exportData() throws Exception {
         log.info("GET /api/asset-expenditure-and-activity-works/bulk-upload/export - Exporting all data");
         return bulkUploadControllerHelper.export(service);
     }
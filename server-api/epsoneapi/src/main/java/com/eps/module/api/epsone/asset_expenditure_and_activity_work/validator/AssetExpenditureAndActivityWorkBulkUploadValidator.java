@@ -14,7 +14,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -133,4 +135,15 @@ public class AssetExpenditureAndActivityWorkBulkUploadValidator implements BulkR
         return assetExpenditureAndActivityWorkRepository.existsByAssetIdAndExpendituresInvoiceIdAndActivityWorkId(
                 assetId, expendituresInvoiceId, activityWorkId);
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(AssetExpenditureAndActivityWorkBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (rowData.getAssetTagId() != null && !rowData.getAssetTagId().isBlank()) {
+            values.put("Asset, Invoice and Activity Work", String.join("|", rowData.getAssetTagId().trim(),
+                    String.valueOf(BulkRowValidator.ignoreCase(rowData.getInvoiceNumber())),
+                    String.valueOf(rowData.getActivityWorkId() == null ? null : rowData.getActivityWorkId().trim())));
+        }
+        return values;
+    }
 }
@@ -1,22 +1,19 @@
 package com.eps.module.api.epsone.asset_placement.processor;
 
-import com.eps.module.api.epsone.asset.repository.AssetRepository;
 import com.eps.module.api.epsone.asset_movement.service.AssetMovementService;
 import com.eps.module.api.epsone.asset_placement.dto.AssetPlacementBulkUploadDto;
 import com.eps.module.api.epsone.asset_placement.repository.AssetsOnDatacenterRepository;
 import com.eps.module.api.epsone.asset_placement.repository.AssetsOnSiteRepository;
 import com.eps.module.api.epsone.asset_placement.repository.AssetsOnWarehouseRepository;
 import com.eps.module.api.epsone.asset_placement.validator.AssetPlacementBulkUploadValidator;
-import com.eps.module.api.epsone.data_center.repository.DatacenterRepository;
-import com.eps.module.api.epsone.generic_status_type.repository.GenericStatusTypeRepository;
 import com.eps.module.api.epsone.movement_type.repository.MovementTypeRepository;
-import com.eps.module.api.epsone.site.repository.SiteRepository;
-import com.eps.module.api.epsone.warehouse.repository.WarehouseRepository;
 import com.eps.module.asset.Asset;
 import com.eps.module.asset.AssetMovementType;
 import com.eps.module.asset.AssetsOnDatacenter;
 import com.eps.module.asset.AssetsOnSite;
 import com.eps.module.asset.AssetsOnWarehouse;
+import com.eps.module.common.bulk.excel.ExcelDateParser;
+import com.eps.module.common.bulk.lookup.BulkLookupContext;
 import com.eps.module.common.bulk.processor.BulkUploadProcessor;
 import com.eps.module.common.bulk.validator.BulkRowValidator;
 import com.eps.module.site.Site;
@@ -30,8 +27,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -46,11 +41,6 @@ import java.util.Optional;
 public class AssetPlacementBulkUploadProcessor extends BulkUploadProcessor<AssetPlacementBulkUploadDto, AssetsOnSite> {
 
     private final AssetPlacementBulkUploadValidator validator;
-    private final AssetRepository assetRepository;
-    private final SiteRepository siteRepository;
-    private final DatacenterRepository datacenterRepository;
-    private final WarehouseRepository warehouseRepository;
-    private final GenericStatusTypeRepository genericStatusTypeRepository;
     private final AssetsOnSiteRepository assetsOnSiteRepository;
     private final AssetsOnDatacenterRepository assetsOnDatacenterRepository;
     private final AssetsOnWarehouseRepository assetsOnWarehouseRepository;
@@ -59,14 +49,11 @@ public class AssetPlacementBulkUploadProcessor extends BulkUploadProcessor<Asset
 
     // Thread-local storage for DTO data during processing
     private final ThreadLocal<AssetPlacementBulkUploadDto> currentDto = new ThreadLocal<>();
+    private final ThreadLocal<BulkLookupContext> currentLookups = new ThreadLocal<>();
 
-    private static final DateTimeFormatter[] ACCEPTED_DATE_FORMATTERS = new DateTimeFormatter[] {
-        DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-        DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-        DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-        DateTimeFormatter.ofPattern("yyyy/MM/dd")
-    };
+    private static final BulkLookupContext.Key<AssetMovementType> MOVEMENT_TYPES = BulkLookupContext.Key.exact("movementType");
+
+    private static final ExcelDateParser DATE_PARSER = ExcelDateParser.standard();
 
     @Override
     protected BulkRowValidator<AssetPlacementBulkUploadDto> getValidator() {
@@ -75,8 +62,15 @@ public class AssetPlacementBulkUploadProcessor extends BulkUploadProcessor<Asset
 
     @Override
     protected AssetsOnSite convertToEntity(AssetPlacementBulkUploadDto dto) {
-        // Store DTO for later use in saveEntity
+        return convertToEntity(dto, validator.lookupsFor(dto));
+    }
+
+    @Override
+    protected AssetsOnSite convertToEntity(AssetPlacementBulkUploadDto dto, BulkLookupContext lookups) {
+        // Store DTO and the upload's reference data for later use in saveEntity
         currentDto.set(dto);
+        currentLookups.set(lookups);
+        lookups.register(MOVEMENT_TYPES, movementTypeRepository::findByMovementTypeIn, AssetMovementType::getMovementType);
         
         // Return a dummy entity - actual placement creation happens in saveEntity
         return new AssetsOnSite();
@@ -86,28 +80,37 @@ public class AssetPlacementBulkUploadProcessor extends BulkUploadProcessor<Asset
     protected void saveEntity(AssetsOnSite entity) {
         try {
             AssetPlacementBulkUploadDto dto = currentDto.get();
-            if (dto == null) {
+            BulkLookupContext lookups = currentLookups.get();
+            if (dto == null || lookups == null) {
                 throw new BadRequestException("DTO not found in thread-local storage");
             }
 
             log.debug("Processing placement for asset: {}", dto.getAssetTagId());
 
             // Get the asset
-            Asset asset = assetRepository.findByAssetTagId(dto.getAssetTagId().trim())
+            Asset asset = lookups.find(AssetPlacementBulkUploadValidator.ASSETS, dto.getAssetTagId())
                     .orElseThrow(() -> new ResourceNotFoundException("Asset not found: " + dto.getAssetTagId()));
 
             String locationCode = dto.getLocationCode().trim();
             
             // Determine location type and create placement
-            if (siteRepository.existsBySiteCode(locationCode)) {
+            Optional<Site> site = lookups.find(AssetPlacementBulkUploadValidator.SITES, locationCode);
+            Optional<Datacenter> datacenter = site.isPresent() ? Optional.empty()
+                    : lookups.find(AssetPlacementBulkUploadValidator.DATACENTERS, locationCode);
+            Optional<Warehouse> warehouse = site.isPresent() || datacenter.isPresent() ? Optional.empty()
+                    : lookups.find(AssetPlacementBulkUploadValidator.WAREHOUSES, locationCode);
+            GenericStatusType placementStatus = lookups.find(AssetPlacementBulkUploadValidator.STATUS_TYPES, dto.getPlacementStatusCode())
+                    .orElseThrow(() -> new ResourceNotFoundException("Placement Status not found: " + dto.getPlacementStatusCode()));
+
+            if (site.isPresent()) {
                 log.debug("Placing asset {} at Site: {}", asset.getAssetTagId(), locationCode);
-                createSitePlacement(dto, asset, locationCode);
-            } else if (datacenterRepository.findByDatacenterCode(locationCode).isPresent()) {
+                createSitePlacement(dto, asset, site.get(), placementStatus);
+            } else if (datacenter.isPresent()) {
                 log.debug("Placing asset {} at Datacenter: {}", asset.getAssetTagId(), locationCode);
-                createDatacenterPlacement(dto, asset, locationCode);
-            } else if (warehouseRepository.findByWarehouseCode(locationCode).isPresent()) {
+                createDatacenterPlacement(dto, asset, datacenter.get(), placementStatus);
+            } else if (warehouse.isPresent()) {
                 log.debug("Placing asset {} at Warehouse: {}", asset.getAssetTagId(), locationCode);
-                createWarehousePlacement(dto, asset, locationCode);
+                createWarehousePlacement(dto, asset, warehouse.get(), placementStatus);
             } else {
                 throw new ResourceNotFoundException("Location code not found: " + locationCode);
             }
@@ -120,16 +123,11 @@ public class AssetPlacementBulkUploadProcessor extends BulkUploadProcessor<Asset
         } finally {
             // Clean up thread-local storage
             currentDto.remove();
+            currentLookups.remove();
         }
     }
 
-    private void createSitePlacement(AssetPlacementBulkUploadDto dto, Asset asset, String siteCode) {
-        Site site = siteRepository.findBySiteCode(siteCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Site not found: " + siteCode));
-
-        GenericStatusType placementStatus = genericStatusTypeRepository.findByStatusCodeIgnoreCase(dto.getPlacementStatusCode())
-                .orElseThrow(() -> new ResourceNotFoundException("Placement Status not found: " + dto.getPlacementStatusCode()));
-
+    private void createSitePlacement(AssetPlacementBulkUploadDto dto, Asset asset, Site site, GenericStatusType placementStatus) {
         // Check for existing active placements and vacate them
         Object fromPlacement = null;
         String fromType = "Factory";
@@ -182,7 +180,7 @@ public class AssetPlacementBulkUploadProcessor extends BulkUploadProcessor<Asset
         // Track movement only if placement is active (vacatedOn is null)
         if (dto.getVacatedOn() == null || dto.getVacatedOn().trim().isEmpty()) {
             try {
-                AssetMovementType movementType = movementTypeRepository.findByMovementType(fromType + " to Site")
+                AssetMovementType movementType = currentLookups.get().find(MOVEMENT_TYPES, fromType + " to Site")
                         .orElse(null);
                 if (movementType != null) {
                     assetMovementService.trackMovement(asset, movementType, fromType.equals("Factory") ? "Factory" : null, fromPlacement, savedPlacement);
@@ -194,13 +192,7 @@ public class AssetPlacementBulkUploadProcessor extends BulkUploadProcessor<Asset
         }
     }
 
-    private void createDatacenterPlacement(AssetPlacementBulkUploadDto dto, Asset asset, String datacenterCode) {
-        Datacenter datacenter = datacenterRepository.findByDatacenterCode(datacenterCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Datacenter not found: " + datacenterCode));
-
-        GenericStatusType placementStatus = genericStatusTypeRepository.findByStatusCodeIgnoreCase(dto.getPlacementStatusCode())
-                .orElseThrow(() -> new ResourceNotFoundException("Placement Status not found: " + dto.getPlacementStatusCode()));
-
+    private void createDatacenterPlacement(AssetPlacementBulkUploadDto dto, Asset asset, Datacenter datacenter, GenericStatusType placementStatus) {
         // Check for existing active placements and vacate them
         Object fromPlacement = null;
         String fromType = "Factory";
@@ -252,7 +244,7 @@ public class AssetPlacementBulkUploadProcessor extends BulkUploadProcessor<Asset
         // Track movement only if placement is active (vacatedOn is null)
         if (dto.getVacatedOn() == null || dto.getVacatedOn().trim().isEmpty()) {
             try {
-                AssetMovementType movementType = movementTypeRepository.findByMovementType(fromType + " to Datacenter")
+                AssetMovementType movementType = currentLookups.get().find(MOVEMENT_TYPES, fromType + " to Datacenter")
                         .orElse(null);
                 if (movementType != null) {
                     assetMovementService.trackMovement(asset, movementType, fromType.equals("Factory") ? "Factory" : null, fromPlacement, savedPlacement);
@@ -264,13 +256,7 @@ public class AssetPlacementBulkUploadProcessor extends BulkUploadProcessor<Asset
         }
     }
 
-    private void createWarehousePlacement(AssetPlacementBulkUploadDto dto, Asset asset, String warehouseCode) {
-        Warehouse warehouse = warehouseRepository.findByWarehouseCode(warehouseCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found: " + warehouseCode));
-
-        GenericStatusType placementStatus = genericStatusTypeRepository.findByStatusCodeIgnoreCase(dto.getPlacementStatusCode())
-                .orElseThrow(() -> new ResourceNotFoundException("Placement Status not found: " + dto.getPlacementStatusCode()));
-
+    private void createWarehousePlacement(AssetPlacementBulkUploadDto dto, Asset asset, Warehouse warehouse, GenericStatusType placementStatus) {
         // Check for existing active placements and vacate them
         Object fromPlacement = null;
         String fromType = "Factory";
@@ -322,7 +308,7 @@ public class AssetPlacementBulkUploadProcessor extends BulkUploadProcessor<Asset
         // Track movement only if placement is active (vacatedOn is null)
         if (dto.getVacatedOn() == null || dto.getVacatedOn().trim().isEmpty()) {
             try {
-                AssetMovementType movementType = movementTypeRepository.findByMovementType(fromType + " to Warehouse")
+                AssetMovementType movementType = currentLookups.get().find(MOVEMENT_TYPES, fromType + " to Warehouse")
                         .orElse(null);
                 if (movementType != null) {
                     assetMovementService.trackMovement(asset, movementType, fromType.equals("Factory") ? "Factory" : null, fromPlacement, savedPlacement);
@@ -361,29 +347,10 @@ public class AssetPlacementBulkUploadProcessor extends BulkUploadProcessor<Asset
         if (dateStr == null || dateStr.trim().isEmpty()) {
             return null;
         }
-
-        String s = dateStr.trim();
-
-        // Try standard formatters
-        for (DateTimeFormatter formatter : ACCEPTED_DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(s, formatter);
-            } catch (DateTimeParseException ignored) {
-            }
+        LocalDate date = DATE_PARSER.parse(dateStr);
+        if (date == null) {
+            log.warn("Failed to parse date: {} - This should have been caught by validation", dateStr);
         }
-
-        // Try Excel serial number
-        if (s.matches("^\\d+(?:\\.\\d+)?$")) {
-            try {
-                double serial = Double.parseDouble(s);
-                LocalDate excelEpoch = LocalDate.of(1899, 12, 30);
-                long days = (long) Math.floor(serial);
-                return excelEpoch.plusDays(days);
-            } catch (Exception ignored) {
-            }
-        }
-
-        log.warn("Could not parse date: {}", dateStr);
-        return null;
+        return date;
     }
 }
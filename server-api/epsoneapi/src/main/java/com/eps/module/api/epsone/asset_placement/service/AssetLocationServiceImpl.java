@@ -15,6 +15,10 @@ import com.eps.module.asset.AssetsOnSite;
 import com.eps.module.asset.AssetsOnWarehouse;
 import com.eps.module.common.bulk.excel.ExcelExportUtil;
 import com.eps.module.common.bulk.excel.ExcelImportUtil;
+import com.eps.module.common.bulk.excel.ExcelRowReader;
+import com.eps.module.common.bulk.job.BulkJob;
+import com.eps.module.common.bulk.job.BulkJobRegistry;
+import com.eps.module.common.constant.CommonErrorMessages;
 import com.eps.module.common.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -46,6 +50,7 @@ public class AssetLocationServiceImpl implements AssetLocationService {
     private final AssetPlacementBulkUploadProcessor bulkUploadProcessor;
     private final ExcelImportUtil excelImportUtil;
     private final ExcelExportUtil excelExportUtil;
+    private final BulkJobRegistry bulkJobRegistry;
 
     @Override
     @Transactional(readOnly = true)
@@ -158,10 +163,15 @@ public class AssetLocationServiceImpl implements AssetLocationService {
             throw new IllegalArgumentException("Invalid file format. Please upload an Excel file (.xlsx)");
         }
         
-        // Parse Excel file
-        List<AssetPlacementBulkUploadDto> uploadData = excelImportUtil.parseExcelFile(file, AssetPlacementBulkUploadDto.class);
+        // Open the Excel file for streaming; rows are parsed lazily by the processor
+        ExcelRowReader<AssetPlacementBulkUploadDto> reader = excelImportUtil.openRowReader(file, AssetPlacementBulkUploadDto.class);
         
-        log.info("Parsed {} placement records from Excel file", uploadData.size());
+        if (!reader.hasNext()) {
+            reader.close();
+            throw new IllegalArgumentException(CommonErrorMessages.EXCEL_NO_DATA);
+        }
+        
+        log.info("Streaming placement Excel file (estimated {} records)", reader.getEstimatedRowCount());
         
         // Create SSE emitter
         SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
@@ -172,9 +182,11 @@ public class AssetLocationServiceImpl implements AssetLocationService {
         emitter.onError((ex) -> log.error("SSE emitter error for asset placement bulk upload: {}", ex.getMessage()));
         
         // Process async
-        bulkUploadProcessor.processBulkUpload(uploadData, emitter);
+        // The placement upload endpoint requires no permission beyond being signed in
+        BulkJob job = bulkJobRegistry.create("AssetPlacement", null, file.getOriginalFilename());
+        bulkUploadProcessor.processBulkUpload(job, reader, emitter);
         
-        log.info("Asset placement bulk upload processing started asynchronously");
+        log.info("Asset placement bulk upload processing started asynchronously (job {})", job.getId());
         
         return emitter;
     }
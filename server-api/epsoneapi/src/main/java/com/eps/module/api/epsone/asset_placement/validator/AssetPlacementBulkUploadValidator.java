@@ -7,8 +7,14 @@ import com.eps.module.api.epsone.data_center.repository.DatacenterRepository;
 import com.eps.module.api.epsone.generic_status_type.repository.GenericStatusTypeRepository;
 import com.eps.module.api.epsone.site.repository.SiteRepository;
 import com.eps.module.api.epsone.warehouse.repository.WarehouseRepository;
+import com.eps.module.asset.Asset;
 import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
+import com.eps.module.common.bulk.lookup.BulkLookupContext;
 import com.eps.module.common.bulk.validator.BulkRowValidator;
+import com.eps.module.site.Site;
+import com.eps.module.status.GenericStatusType;
+import com.eps.module.warehouse.Datacenter;
+import com.eps.module.warehouse.Warehouse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -27,8 +33,44 @@ public class AssetPlacementBulkUploadValidator implements BulkRowValidator<Asset
     private final WarehouseRepository warehouseRepository;
     private final GenericStatusTypeRepository genericStatusTypeRepository;
 
+    // Reference data shared with AssetPlacementBulkUploadProcessor through the upload's lookup context
+    public static final BulkLookupContext.Key<Asset> ASSETS = BulkLookupContext.Key.ignoreCase("asset");
+    public static final BulkLookupContext.Key<Site> SITES = BulkLookupContext.Key.exact("site");
+    public static final BulkLookupContext.Key<Datacenter> DATACENTERS = BulkLookupContext.Key.exact("datacenter");
+    public static final BulkLookupContext.Key<Warehouse> WAREHOUSES = BulkLookupContext.Key.exact("warehouse");
+    public static final BulkLookupContext.Key<GenericStatusType> STATUS_TYPES = BulkLookupContext.Key.ignoreCase("statusType");
+
+    @Override
+    public void prefetch(List<AssetPlacementBulkUploadDto> rows, BulkLookupContext context) {
+        context.register(ASSETS, assetRepository::findByAssetTagIdIgnoreCaseIn, Asset::getAssetTagId);
+        context.register(SITES, siteRepository::findBySiteCodeIn, Site::getSiteCode);
+        context.register(DATACENTERS, datacenterRepository::findByDatacenterCodeIn, Datacenter::getDatacenterCode);
+        context.register(WAREHOUSES, warehouseRepository::findByWarehouseCodeIn, Warehouse::getWarehouseCode);
+        context.register(STATUS_TYPES, genericStatusTypeRepository::findByStatusCodeIgnoreCaseIn, GenericStatusType::getStatusCode);
+
+        context.prefetch(ASSETS, rows, AssetPlacementBulkUploadDto::getAssetTagId);
+        context.prefetch(SITES, rows, AssetPlacementBulkUploadDto::getLocationCode);
+        context.prefetch(DATACENTERS, rows, AssetPlacementBulkUploadDto::getLocationCode);
+        context.prefetch(WAREHOUSES, rows, AssetPlacementBulkUploadDto::getLocationCode);
+        context.prefetch(STATUS_TYPES, rows, AssetPlacementBulkUploadDto::getPlacementStatusCode);
+    }
+
+    /**
+     * Lookup context holding the reference data of a single row, for callers outside a bulk upload
+     */
+    public BulkLookupContext lookupsFor(AssetPlacementBulkUploadDto dto) {
+        BulkLookupContext context = new BulkLookupContext();
+        prefetch(List.of(dto), context);
+        return context;
+    }
+
     @Override
     public List<BulkUploadErrorDto> validate(AssetPlacementBulkUploadDto dto, int rowNumber) {
+        return validate(dto, rowNumber, lookupsFor(dto));
+    }
+
+    @Override
+    public List<BulkUploadErrorDto> validate(AssetPlacementBulkUploadDto dto, int rowNumber, BulkLookupContext lookups) {
         List<BulkUploadErrorDto> errors = new ArrayList<>();
 
         // Validate Asset Tag ID (required)
@@ -40,7 +82,7 @@ public class AssetPlacementBulkUploadValidator implements BulkRowValidator<Asset
                     .build());
         } else {
             // Check if asset exists
-            if (!assetRepository.existsByAssetTagIdIgnoreCase(dto.getAssetTagId().trim())) {
+            if (!lookups.contains(ASSETS, dto.getAssetTagId())) {
                 errors.add(BulkUploadErrorDto.builder()
                         .rowNumber(rowNumber)
                         .fieldName("Asset Tag ID")
@@ -59,9 +101,9 @@ public class AssetPlacementBulkUploadValidator implements BulkRowValidator<Asset
         } else {
             String locationCode = dto.getLocationCode().trim();
             // Check if location exists in any of the three types
-            boolean locationExists = siteRepository.existsBySiteCode(locationCode) ||
-                    datacenterRepository.findByDatacenterCode(locationCode).isPresent() ||
-                    warehouseRepository.findByWarehouseCode(locationCode).isPresent();
+            boolean locationExists = lookups.contains(SITES, locationCode) ||
+                    lookups.contains(DATACENTERS, locationCode) ||
+                    lookups.contains(WAREHOUSES, locationCode);
             
             if (!locationExists) {
                 errors.add(BulkUploadErrorDto.builder()
@@ -80,7 +122,7 @@ public class AssetPlacementBulkUploadValidator implements BulkRowValidator<Asset
                     .errorMessage(AssetPlacementErrorMessages.PLACEMENT_STATUS_CODE_REQUIRED)
                     .build());
         } else {
-            if (!genericStatusTypeRepository.existsByStatusCode(dto.getPlacementStatusCode().trim())) {
+            if (!lookups.contains(STATUS_TYPES, dto.getPlacementStatusCode())) {
                 errors.add(BulkUploadErrorDto.builder()
                         .rowNumber(rowNumber)
                         .fieldName("Placement Status Code")
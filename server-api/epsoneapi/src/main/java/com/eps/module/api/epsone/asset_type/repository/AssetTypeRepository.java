@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -42,4 +43,10 @@ public interface AssetTypeRepository extends JpaRepository<AssetType, Long> {
      */
     @Query("SELECT at FROM AssetType at WHERE LOWER(at.typeName) = LOWER(:typeName)")
     java.util.Optional<AssetType> findByTypeNameIgnoreCase(@Param("typeName") String typeName);
+
+    /**
+     * Find asset types by lower-cased names - for bulk upload lookups
+     */
+    @Query("SELECT at FROM AssetType at WHERE LOWER(at.typeName) IN :typeNames")
+    List<AssetType> findByTypeNameIgnoreCaseIn(@Param("typeNames") Collection<String> typeNames);
 }
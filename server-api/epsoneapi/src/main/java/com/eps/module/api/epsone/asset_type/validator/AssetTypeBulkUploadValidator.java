@@ -10,7 +10,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -91,4 +93,12 @@ public class AssetTypeBulkUploadValidator implements BulkRowValidator<AssetTypeB
         
         return false;
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(AssetTypeBulkUploadDto dto) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Type Name", BulkRowValidator.ignoreCase(dto.getTypeName()));
+        values.put("Type Code", BulkRowValidator.ignoreCase(dto.getTypeCode()));
+        return values;
+    }
 }
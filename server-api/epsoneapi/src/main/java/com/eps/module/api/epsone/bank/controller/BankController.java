@@ -21,6 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -101,7 +102,7 @@ public class BankController {
 
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> exportData() throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportData() throws IOException {
         log.info("GET /api/banks/export - Exporting all banks");
         return bulkUploadHelper.export(bankService);
     }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,4 +55,10 @@ public interface BankRepository extends JpaRepository<Bank, Long> {
      */
     @Query("SELECT b FROM Bank b ORDER BY b.bankName ASC")
     List<Bank> findAllForExport();
+
+    /**
+     * Find banks by lower-cased names - for bulk upload lookups
+     */
+    @Query("SELECT b FROM Bank b WHERE LOWER(b.bankName) IN :bankNames")
+    List<Bank> findByBankNameIgnoreCaseIn(@Param("bankNames") Collection<String> bankNames);
 }
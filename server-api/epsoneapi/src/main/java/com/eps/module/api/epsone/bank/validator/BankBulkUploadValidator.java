@@ -9,7 +9,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -119,4 +121,14 @@ public class BankBulkUploadValidator implements BulkRowValidator<BankBulkUploadD
         // Check for duplicate bank name (case-insensitive)
         return bankRepository.findByBankNameIgnoreCase(dto.getBankName()).isPresent();
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(BankBulkUploadDto dto) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Bank Name", BulkRowValidator.ignoreCase(dto.getBankName()));
+        values.put("RBI Bank Code", dto.getRbiBankCode());
+        values.put("EPS Bank Code", dto.getEpsBankCode());
+        values.put("Bank Code Alt", dto.getBankCodeAlt());
+        return values;
+    }
 }
@@ -0,0 +1,30 @@
+package com.eps.module.api.epsone.bulk_workbook.controller;
+
+import com.eps.module.auth.rbac.annotation.RequireAdmin;
+import com.eps.module.common.bulk.job.BulkUploadMode;
+import com.eps.module.common.bulk.workbook.BulkWorkbookImporter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/bulk-workbook")
+@RequiredArgsConstructor
+public class BulkWorkbookController {
+
+    private final BulkWorkbookImporter bulkWorkbookImporter;
+
+    @RequireAdmin
+    @PostMapping(value = "/upload", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter uploadWorkbook(@RequestParam("file") MultipartFile file,
+                                     @RequestParam(defaultValue = "INSERT") BulkUploadMode mode) throws IOException {
+        log.info("POST /api/bulk-workbook/upload - Starting workbook import with file: {}", file.getOriginalFilename());
+        return bulkWorkbookImporter.importWorkbook(file, mode);
+    }
+}
@@ -20,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -130,7 +131,7 @@ public class CityController {
 
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> exportToExcel() throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportToExcel() throws IOException {
         log.info("GET /api/cities/export - Exporting cities to Excel");
         return bulkUploadHelper.export(cityService);
     }
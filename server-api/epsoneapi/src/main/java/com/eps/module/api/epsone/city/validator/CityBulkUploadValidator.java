@@ -11,7 +11,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 @Slf4j
@@ -97,4 +99,11 @@ public class CityBulkUploadValidator implements BulkRowValidator<CityBulkUploadD
         
         return false;
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(CityBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("City Name", BulkRowValidator.ignoreCase(rowData.getCityName()));
+        return values;
+    }
 }
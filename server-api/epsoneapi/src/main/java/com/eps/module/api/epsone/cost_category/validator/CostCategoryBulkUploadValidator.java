@@ -9,7 +9,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -53,4 +55,11 @@ public class CostCategoryBulkUploadValidator implements BulkRowValidator<CostCat
     public boolean isDuplicate(CostCategoryBulkUploadDto rowData) {
         return costCategoryRepository.existsByCategoryNameIgnoreCase(rowData.getCategoryName());
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(CostCategoryBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Category Name", BulkRowValidator.ignoreCase(rowData.getCategoryName()));
+        return values;
+    }
 }
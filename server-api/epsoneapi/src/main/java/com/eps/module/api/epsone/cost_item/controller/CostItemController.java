@@ -16,6 +16,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -117,7 +118,7 @@ public class CostItemController {
 
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> exportCostItems() throws java.io.IOException {
+    public ResponseEntity<StreamingResponseBody> exportCostItems() throws java.io.IOException {
         log.info("GET /api/cost-items/export - Exporting all cost items to Excel");
         return bulkUploadHelper.export(costItemService);
     }
@@ -10,7 +10,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -69,4 +71,11 @@ public class CostItemBulkUploadValidator implements BulkRowValidator<CostItemBul
         // Check if cost item with same costItemFor already exists
         return costItemRepository.existsByCostItemForIgnoreCase(rowData.getCostItemFor());
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(CostItemBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Cost Item For", BulkRowValidator.ignoreCase(rowData.getCostItemFor()));
+        return values;
+    }
 }
@@ -15,6 +15,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -104,7 +105,7 @@ public class CostTypeController {
 
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> exportCostTypes() throws java.io.IOException {
+    public ResponseEntity<StreamingResponseBody> exportCostTypes() throws java.io.IOException {
         return bulkUploadHelper.export(costTypeService);
     }
 
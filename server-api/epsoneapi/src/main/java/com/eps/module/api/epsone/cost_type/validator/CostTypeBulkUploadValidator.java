@@ -10,7 +10,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -80,4 +82,11 @@ public class CostTypeBulkUploadValidator implements BulkRowValidator<CostTypeBul
         // Note: In a real scenario, you might want to check for duplicates within the same category
         return costTypeRepository.existsByTypeNameIgnoreCase(rowData.getTypeName());
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(CostTypeBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Type Name", BulkRowValidator.ignoreCase(rowData.getTypeName()));
+        return values;
+    }
 }
@@ -17,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -73,7 +74,7 @@ public class DatacenterController {
 
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> exportData() throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportData() throws IOException {
         log.info("GET /api/datacenters/export - Exporting all datacenters");
         return bulkUploadHelper.export(datacenterService);
     }
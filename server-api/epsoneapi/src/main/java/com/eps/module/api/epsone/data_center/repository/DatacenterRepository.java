@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -64,4 +65,6 @@ public interface DatacenterRepository extends JpaRepository<Datacenter, Long> {
             "LEFT JOIN FETCH c.state s " +
             "ORDER BY d.datacenterName ASC")
     List<Datacenter> findAllWithLocationDetails();
+
+    List<Datacenter> findByDatacenterCodeIn(Collection<String> datacenterCodes);
 }
@@ -10,7 +10,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -93,4 +95,12 @@ public class DatacenterBulkUploadValidator implements BulkRowValidator<Datacente
         // Check for duplicate datacenter name (case-insensitive)
         return datacenterRepository.findByDatacenterNameIgnoreCase(dto.getDatacenterName()).isPresent();
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(DatacenterBulkUploadDto dto) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Datacenter Name", BulkRowValidator.ignoreCase(dto.getDatacenterName()));
+        values.put("Datacenter Code", dto.getDatacenterCode());
+        return values;
+    }
 }
@@ -16,10 +16,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -55,7 +57,7 @@ public class ExpendituresInvoiceController {
 
     @GetMapping("/export")
     @RequirePermission("EXPENDITURE_INVOICE:EXPORT")
-    public ResponseEntity<byte[]> exportData() throws Exception {
+    public ResponseEntity<StreamingResponseBody> exportData() throws Exception {
         log.info("GET /api/expenditures/invoices/export - Exporting all data");
         return bulkUploadControllerHelper.export(expendituresInvoiceService);
     }
@@ -113,6 +115,12 @@ public class ExpendituresInvoiceController {
         return ResponseBuilder.success(responseList, "Expenditures invoices list fetched successfully");
     }
 
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllExpendituresInvoicesList() {
+        log.info("GET /api/expenditures/invoices/list - Streaming all expenditures invoices as NDJSON");
+        return expendituresInvoiceService.streamAllExpendituresInvoicesList();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<ExpendituresInvoiceResponseDto>> getExpendituresInvoiceById(@PathVariable Long id) {
         log.info("GET /api/expenditures/invoices/{} - Fetching expenditures invoice", id);
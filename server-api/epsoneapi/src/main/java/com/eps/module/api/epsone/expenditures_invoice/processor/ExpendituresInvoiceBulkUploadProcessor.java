@@ -10,6 +10,7 @@ import com.eps.module.api.epsone.invoice.repository.InvoiceRepository;
 import com.eps.module.api.epsone.managed_project.constant.ManagedProjectErrorMessages;
 import com.eps.module.api.epsone.managed_project.repository.ManagedProjectRepository;
 import com.eps.module.bank.ManagedProject;
+import com.eps.module.common.bulk.excel.ExcelDateParser;
 import com.eps.module.common.bulk.processor.BulkUploadProcessor;
 import com.eps.module.common.exception.ResourceNotFoundException;
 import com.eps.module.cost.CostItem;
@@ -21,8 +22,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -37,12 +36,8 @@ public class ExpendituresInvoiceBulkUploadProcessor extends BulkUploadProcessor<
     private final ManagedProjectRepository managedProjectRepository;
     private final ExpendituresInvoiceBulkUploadValidator validator;
 
-    private static final DateTimeFormatter[] DATE_FORMATTERS = {
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-            DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-            DateTimeFormatter.ofPattern("dd-MM-yyyy")
-    };
+    private static final ExcelDateParser DATE_PARSER =
+            ExcelDateParser.of("yyyy-MM-dd", "dd/MM/yyyy", "MM/dd/yyyy", "dd-MM-yyyy").withExcelSerials();
 
     @Override
     protected ExpendituresInvoiceBulkUploadValidator getValidator() {
@@ -108,32 +103,11 @@ public class ExpendituresInvoiceBulkUploadProcessor extends BulkUploadProcessor<
         if (dateStr == null || dateStr.trim().isEmpty()) {
             return null;
         }
-
-        String trimmed = dateStr.trim();
-
-        // Try to parse as Excel serial number first
-        try {
-            double excelSerialNumber = Double.parseDouble(trimmed);
-            if (excelSerialNumber >= 1 && excelSerialNumber < 100000) {
-                // Excel's epoch is 1899-12-30 (due to Excel's leap year bug)
-                return LocalDate.of(1899, 12, 30).plusDays((long) excelSerialNumber);
-            }
-        } catch (NumberFormatException e) {
-            // Not a number, try date formats
+        LocalDate date = DATE_PARSER.parse(dateStr);
+        if (date == null) {
+            log.warn("Failed to parse date: {} - This should have been caught by validation", dateStr);
         }
-
-        // Try standard date formats
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(trimmed, formatter);
-            } catch (DateTimeParseException e) {
-                // Try next formatter
-            }
-        }
-
-        // If all parsing fails, return null (validation already passed, so this shouldn't happen)
-        log.warn("Failed to parse date: {} - This should have been caught by validation", dateStr);
-        return null;
+        return date;
     }
 
     private String trimOrNull(String value) {
@@ -1,15 +1,19 @@
 package com.eps.module.api.epsone.expenditures_invoice.repository;
 
 import com.eps.module.cost.ExpendituresInvoice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExpendituresInvoiceRepository extends JpaRepository<ExpendituresInvoice, Long> {
@@ -104,4 +108,21 @@ public interface ExpendituresInvoiceRepository extends JpaRepository<Expenditure
             "LEFT JOIN FETCH mp.bank b " +
             "ORDER BY ei.id")
     List<ExpendituresInvoice> findAllForExport();
+
+    /**
+     * Stream all expenditures invoices with the relationships used by the response mapping for the NDJSON list endpoint
+     * Rows are fetched from a cursor in batches; must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT ei FROM ExpendituresInvoice ei " +
+            "LEFT JOIN FETCH ei.costItem ci " +
+            "LEFT JOIN FETCH ci.costType ct " +
+            "LEFT JOIN FETCH ct.costCategory cc " +
+            "LEFT JOIN FETCH ei.invoice i " +
+            "LEFT JOIN FETCH i.payee p " +
+            "LEFT JOIN FETCH p.payeeDetails pd " +
+            "LEFT JOIN FETCH ei.managedProject mp " +
+            "LEFT JOIN FETCH mp.bank b " +
+            "ORDER BY ei.id")
+    Stream<ExpendituresInvoice> streamAllWithDetails();
 }
@@ -7,6 +7,8 @@ import com.eps.module.common.bulk.service.BulkUploadService;
 import com.eps.module.cost.ExpendituresInvoice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,4 +31,9 @@ public interface ExpendituresInvoiceService extends BulkUploadService<Expenditur
     List<ExpendituresInvoiceResponseDto> getExpendituresInvoicesByInvoiceId(Long invoiceId);
 
     List<ExpendituresInvoiceResponseDto> getAllExpendituresInvoicesList();
+
+    /**
+     * Same records as {@link #getAllExpendituresInvoicesList()}, streamed as NDJSON
+     */
+    ResponseEntity<StreamingResponseBody> streamAllExpendituresInvoicesList();
 }
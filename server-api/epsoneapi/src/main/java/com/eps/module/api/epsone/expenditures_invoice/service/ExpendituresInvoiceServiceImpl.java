@@ -15,13 +15,16 @@ import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
 import com.eps.module.common.bulk.processor.BulkUploadProcessor;
 import com.eps.module.common.bulk.service.BaseBulkUploadService;
 import com.eps.module.common.exception.ResourceNotFoundException;
+import com.eps.module.common.response.NdjsonStreamer;
 import com.eps.module.cost.ExpendituresInvoice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -39,6 +42,7 @@ public class ExpendituresInvoiceServiceImpl extends BaseBulkUploadService<Expend
     private final InvoiceRepository invoiceRepository;
     private final ManagedProjectRepository managedProjectRepository;
     private final ExpendituresInvoiceBulkUploadProcessor expendituresInvoiceBulkUploadProcessor;
+    private final NdjsonStreamer ndjsonStreamer;
 
     // ========== Bulk Upload Methods ==========
 
@@ -57,6 +61,11 @@ public class ExpendituresInvoiceServiceImpl extends BaseBulkUploadService<Expend
         return "Expenditures Invoice";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "EXPENDITURE_INVOICE:BULK_UPLOAD";
+    }
+
     @Override
     public List<ExpendituresInvoice> getAllEntitiesForExport() {
         return expendituresInvoiceRepository.findAllForExport();
@@ -234,4 +243,9 @@ public class ExpendituresInvoiceServiceImpl extends BaseBulkUploadService<Expend
                 .map(expendituresInvoiceMapper::toResponseDto)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamAllExpendituresInvoicesList() {
+        return ndjsonStreamer.stream("ExpendituresInvoice", expendituresInvoiceRepository::streamAllWithDetails, expendituresInvoiceMapper::toResponseDto);
+    }
 }
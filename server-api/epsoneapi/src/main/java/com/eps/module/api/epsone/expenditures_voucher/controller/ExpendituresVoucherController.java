@@ -16,10 +16,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -55,7 +57,7 @@ public class ExpendituresVoucherController {
 
     @GetMapping("/export")
     @RequirePermission("EXPENDITURE_VOUCHER:EXPORT")
-    public ResponseEntity<byte[]> exportData() throws Exception {
+    public ResponseEntity<StreamingResponseBody> exportData() throws Exception {
         log.info("GET /api/expenditures/vouchers/export - Exporting all data");
         return bulkUploadControllerHelper.export(expendituresVoucherService);
     }
@@ -114,6 +116,12 @@ public class ExpendituresVoucherController {
         return ResponseBuilder.success(responseList, "Expenditures vouchers list fetched successfully");
     }
 
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllExpendituresVouchersList() {
+        log.info("GET /api/expenditures/vouchers/list - Streaming all expenditures vouchers as NDJSON");
+        return expendituresVoucherService.streamAllExpendituresVouchersList();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<ExpendituresVoucherResponseDto>> getExpendituresVoucherById(@PathVariable Long id) {
         log.info("GET /api/expenditures/vouchers/{} - Fetching expenditures voucher", id);
@@ -1,14 +1,18 @@
 package com.eps.module.api.epsone.expenditures_voucher.repository;
 
 import com.eps.module.cost.ExpendituresVoucher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExpendituresVoucherRepository extends JpaRepository<ExpendituresVoucher, Long> {
@@ -92,4 +96,21 @@ public interface ExpendituresVoucherRepository extends JpaRepository<Expenditure
             "LEFT JOIN FETCH mp.bank b " +
             "ORDER BY ev.id")
     List<ExpendituresVoucher> findAllForExport();
+
+    /**
+     * Stream all expenditures vouchers with the relationships used by the response mapping for the NDJSON list endpoint
+     * Rows are fetched from a cursor in batches; must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT ev FROM ExpendituresVoucher ev " +
+            "LEFT JOIN FETCH ev.costItem ci " +
+            "LEFT JOIN FETCH ci.costType ct " +
+            "LEFT JOIN FETCH ct.costCategory cc " +
+            "LEFT JOIN FETCH ev.voucher v " +
+            "LEFT JOIN FETCH v.payee p " +
+            "LEFT JOIN FETCH p.payeeDetails pd " +
+            "LEFT JOIN FETCH ev.managedProject mp " +
+            "LEFT JOIN FETCH mp.bank b " +
+            "ORDER BY ev.id")
+    Stream<ExpendituresVoucher> streamAllWithDetails();
 }
@@ -7,6 +7,8 @@ import com.eps.module.common.bulk.service.BulkUploadService;
 import com.eps.module.cost.ExpendituresVoucher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,4 +31,9 @@ public interface ExpendituresVoucherService extends BulkUploadService<Expenditur
     List<ExpendituresVoucherResponseDto> getExpendituresVouchersByVoucherId(Long voucherId);
 
     List<ExpendituresVoucherResponseDto> getAllExpendituresVouchersList();
+
+    /**
+     * Same records as {@link #getAllExpendituresVouchersList()}, streamed as NDJSON
+     */
+    ResponseEntity<StreamingResponseBody> streamAllExpendituresVouchersList();
 }
@@ -15,13 +15,16 @@ import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
 import com.eps.module.common.bulk.processor.BulkUploadProcessor;
 import com.eps.module.common.bulk.service.BaseBulkUploadService;
 import com.eps.module.common.exception.ResourceNotFoundException;
+import com.eps.module.common.response.NdjsonStreamer;
 import com.eps.module.cost.ExpendituresVoucher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -39,6 +42,7 @@ public class ExpendituresVoucherServiceImpl extends BaseBulkUploadService<Expend
     private final VoucherRepository voucherRepository;
     private final ManagedProjectRepository managedProjectRepository;
     private final ExpendituresVoucherBulkUploadProcessor expendituresVoucherBulkUploadProcessor;
+    private final NdjsonStreamer ndjsonStreamer;
 
     // ========== Bulk Upload Methods ==========
 
@@ -57,6 +61,11 @@ public class ExpendituresVoucherServiceImpl extends BaseBulkUploadService<Expend
         return "Expenditures Voucher";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "EXPENDITURE_VOUCHER:BULK_UPLOAD";
+    }
+
     @Override
     public List<ExpendituresVoucher> getAllEntitiesForExport() {
         return expendituresVoucherRepository.findAllForExport();
@@ -234,4 +243,9 @@ public class ExpendituresVoucherServiceImpl extends BaseBulkUploadService<Expend
                 .map(expendituresVoucherMapper::toResponseDto)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamAllExpendituresVouchersList() {
+        return ndjsonStreamer.stream("ExpendituresVoucher", expendituresVoucherRepository::streamAllWithDetails, expendituresVoucherMapper::toResponseDto);
+    }
 }
@@ -6,14 +6,13 @@ import com.eps.module.api.epsone.expenditures_voucher.dto.ExpendituresVoucherBul
 import com.eps.module.api.epsone.managed_project.repository.ManagedProjectRepository;
 import com.eps.module.api.epsone.voucher.repository.VoucherRepository;
 import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
+import com.eps.module.common.bulk.excel.ExcelDateParser;
 import com.eps.module.common.bulk.validator.BulkRowValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,12 +25,8 @@ public class ExpendituresVoucherBulkUploadValidator implements BulkRowValidator<
     private final VoucherRepository voucherRepository;
     private final ManagedProjectRepository managedProjectRepository;
 
-    private static final DateTimeFormatter[] DATE_FORMATTERS = {
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-            DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-            DateTimeFormatter.ofPattern("dd-MM-yyyy")
-    };
+    private static final ExcelDateParser DATE_PARSER =
+            ExcelDateParser.of("yyyy-MM-dd", "dd/MM/yyyy", "MM/dd/yyyy", "dd-MM-yyyy").withExcelSerials();
 
     @Override
     public List<BulkUploadErrorDto> validate(ExpendituresVoucherBulkUploadDto rowData, int rowNumber) {
@@ -88,25 +83,7 @@ public class ExpendituresVoucherBulkUploadValidator implements BulkRowValidator<
     }
 
     private boolean isValidDate(String dateStr) {
-        // First, try to parse as Excel serial number
-        try {
-            double excelSerialNumber = Double.parseDouble(dateStr);
-            // Excel dates are typically between 1 (1900-01-01) and 60000 (2064-01-06)
-            return excelSerialNumber >= 1 && excelSerialNumber < 100000;
-        } catch (NumberFormatException e) {
-            // Not a number, try date formats
-        }
-
-        // Try standard date formats
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                LocalDate.parse(dateStr, formatter);
-                return true;
-            } catch (DateTimeParseException e) {
-                // Try next formatter
-            }
-        }
-        return false;
+        return DATE_PARSER.parse(dateStr) != null;
     }
 
     private BulkUploadErrorDto createError(int rowNumber, String fieldName, String message, String rejectedValue) {
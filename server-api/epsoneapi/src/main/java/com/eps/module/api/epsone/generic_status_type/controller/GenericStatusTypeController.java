@@ -19,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -114,7 +115,7 @@ public class GenericStatusTypeController {
 
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> exportData() throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportData() throws IOException {
         log.info("GET /api/generic-status-types/export - Exporting all generic status types");
         return bulkUploadControllerHelper.export(genericStatusTypeService);
     }
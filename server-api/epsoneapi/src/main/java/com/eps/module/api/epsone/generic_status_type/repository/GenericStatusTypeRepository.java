@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -35,4 +36,7 @@ public interface GenericStatusTypeRepository extends JpaRepository<GenericStatus
 
     @Query("SELECT g FROM GenericStatusType g ORDER BY g.statusName ASC")
     List<GenericStatusType> findAllForExport();
+
+    @Query("SELECT g FROM GenericStatusType g WHERE LOWER(g.statusCode) IN :statusCodes")
+    List<GenericStatusType> findByStatusCodeIgnoreCaseIn(@Param("statusCodes") Collection<String> statusCodes);
 }
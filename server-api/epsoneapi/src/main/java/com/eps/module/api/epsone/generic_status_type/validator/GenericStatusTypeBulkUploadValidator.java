@@ -10,7 +10,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -88,4 +90,12 @@ public class GenericStatusTypeBulkUploadValidator implements BulkRowValidator<Ge
         
         return false;
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(GenericStatusTypeBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Status Name", BulkRowValidator.ignoreCase(rowData.getStatusName()));
+        values.put("Status Code", rowData.getStatusCode());
+        return values;
+    }
 }
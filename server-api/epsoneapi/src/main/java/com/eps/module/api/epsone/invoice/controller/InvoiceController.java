@@ -8,6 +8,8 @@ import com.eps.module.api.epsone.invoice.service.InvoiceService;
 import com.eps.module.auth.rbac.annotation.RequirePermission;
 import com.eps.module.common.bulk.controller.BulkUploadControllerHelper;
 import com.eps.module.common.bulk.dto.BulkUploadProgressDto;
+import com.eps.module.common.pagination.CursorPage;
+import com.eps.module.common.pagination.CursorPageRequest;
 import com.eps.module.common.response.ResponseBuilder;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -16,19 +18,27 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/invoices")
 @RequiredArgsConstructor
 public class InvoiceController {
 
+    /**
+     * Non-null properties the cursor endpoints can sort on
+     */
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "invoiceNumber", "invoiceDate", "createdAt", "updatedAt");
+
     private final InvoiceService invoiceService;
     private final BulkUploadControllerHelper bulkUploadControllerHelper;
 
@@ -77,6 +87,18 @@ public class InvoiceController {
         return ResponseBuilder.success(invoices, "Invoices retrieved successfully");
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<?> getAllInvoicesByCursor(
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "invoiceDate") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        CursorPageRequest request = CursorPageRequest.of(cursor, size, sortBy, sortDirection, estimateTotal, KEYSET_SORT_PROPERTIES);
+        CursorPage<InvoiceResponseDto> page = invoiceService.scrollInvoices(null, request);
+        return ResponseBuilder.success(page, "Invoices retrieved successfully");
+    }
+
     @GetMapping("/search")
     public ResponseEntity<?> searchInvoices(
             @RequestParam String searchTerm,
@@ -95,17 +117,35 @@ public class InvoiceController {
         return ResponseBuilder.success(invoices, "Invoice search completed");
     }
 
+    @GetMapping(value = "/search", params = "cursor")
+    public ResponseEntity<?> searchInvoicesByCursor(
+            @RequestParam(defaultValue = "") String searchTerm,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "invoiceDate") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        CursorPageRequest request = CursorPageRequest.of(cursor, size, sortBy, sortDirection, estimateTotal, KEYSET_SORT_PROPERTIES);
+        CursorPage<InvoiceResponseDto> page = invoiceService.scrollInvoices(searchTerm, request);
+        return ResponseBuilder.success(page, "Invoices search completed");
+    }
+
     @GetMapping("/list")
     public ResponseEntity<?> getInvoicesList() {
         List<InvoiceResponseDto> invoices = invoiceService.getInvoicesList();
         return ResponseBuilder.success(invoices, "Invoices list retrieved successfully");
     }
 
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamInvoicesList() {
+        return invoiceService.streamInvoicesList();
+    }
+
     // ========== Export Endpoint (must be before /{id}) ==========
 
     @GetMapping("/export")
     @RequirePermission("INVOICE:EXPORT")
-    public ResponseEntity<byte[]> exportData() throws Exception {
+    public ResponseEntity<StreamingResponseBody> exportData() throws Exception {
         return bulkUploadControllerHelper.export(invoiceService);
     }
 
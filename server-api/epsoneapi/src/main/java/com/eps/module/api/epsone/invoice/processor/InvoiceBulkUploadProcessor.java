@@ -7,6 +7,7 @@ import com.eps.module.api.epsone.payee_details.repository.PayeeDetailsRepository
 import com.eps.module.api.epsone.payee.repository.PayeeRepository;
 import com.eps.module.api.epsone.payee.constant.PayeeErrorMessages;
 import com.eps.module.api.epsone.payment_details.repository.PaymentDetailsRepository;
+import com.eps.module.common.bulk.excel.ExcelDateParser;
 import com.eps.module.common.bulk.processor.BulkUploadProcessor;
 import com.eps.module.common.exception.ResourceNotFoundException;
 import com.eps.module.payment.Invoice;
@@ -20,9 +21,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -36,12 +37,8 @@ public class InvoiceBulkUploadProcessor extends BulkUploadProcessor<InvoiceBulkU
     private final PaymentDetailsRepository paymentDetailsRepository;
     private final InvoiceBulkUploadValidator validator;
 
-    private static final DateTimeFormatter[] DATE_FORMATTERS = {
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-            DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-            DateTimeFormatter.ofPattern("dd-MM-yyyy")
-    };
+    private static final ExcelDateParser DATE_PARSER =
+            ExcelDateParser.of("yyyy-MM-dd", "dd/MM/yyyy", "MM/dd/yyyy", "dd-MM-yyyy").withExcelSerials();
 
     @Override
     protected InvoiceBulkUploadValidator getValidator() {
@@ -120,6 +117,26 @@ public class InvoiceBulkUploadProcessor extends BulkUploadProcessor<InvoiceBulkU
         invoiceRepository.save(entity);
     }
 
+    @Override
+    protected void saveEntities(List<Invoice> entities) {
+        invoiceRepository.saveAll(entities);
+    }
+
+    @Override
+    protected boolean supportsChunkedPersistence() {
+        return true;
+    }
+
+    @Override
+    protected String getNaturalKey(InvoiceBulkUploadDto dto) {
+        return dto.getInvoiceNumber() == null || dto.getInvoiceNumber().trim().isEmpty() ? null : dto.getInvoiceNumber().trim();
+    }
+
+    @Override
+    protected Collection<String> findExistingNaturalKeys(Collection<String> naturalKeys) {
+        return invoiceRepository.findExistingInvoiceNumbers(naturalKeys);
+    }
+
     @Override
     protected Map<String, Object> getRowDataAsMap(InvoiceBulkUploadDto dto) {
         Map<String, Object> rowData = new LinkedHashMap<>();
@@ -176,32 +193,11 @@ public class InvoiceBulkUploadProcessor extends BulkUploadProcessor<InvoiceBulkU
         if (dateStr == null || dateStr.trim().isEmpty()) {
             return null;
         }
-
-        String trimmed = dateStr.trim();
-        
-        // Try to parse as Excel serial number first
-        try {
-            double excelSerialNumber = Double.parseDouble(trimmed);
-            if (excelSerialNumber >= 1 && excelSerialNumber < 100000) {
-                // Excel's epoch is 1899-12-30 (due to Excel's leap year bug)
-                return LocalDate.of(1899, 12, 30).plusDays((long) excelSerialNumber);
-            }
-        } catch (NumberFormatException e) {
-            // Not a number, try date formats
-        }
-        
-        // Try standard date formats
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(trimmed, formatter);
-            } catch (DateTimeParseException e) {
-                // Try next formatter
-            }
+        LocalDate date = DATE_PARSER.parse(dateStr);
+        if (date == null) {
+            log.warn("Failed to parse date: {} - This should have been caught by validation", dateStr);
         }
-        
-        // If all parsing fails, return null (validation already passed, so this shouldn't happen)
-        log.warn("Failed to parse date: {} - This should have been caught by validation", dateStr);
-        return null;
+        return date;
     }
 
     private BigDecimal parseBigDecimal(String value) {
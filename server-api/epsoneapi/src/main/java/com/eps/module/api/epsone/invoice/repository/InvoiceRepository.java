@@ -1,17 +1,23 @@
 package com.eps.module.api.epsone.invoice.repository;
 
 import com.eps.module.payment.Invoice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice> {
 
     @Query("SELECT i FROM Invoice i " +
             "LEFT JOIN FETCH i.payee p " +
@@ -40,4 +46,23 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
             "LEFT JOIN FETCH i.paymentDetails pmd " +
             "ORDER BY i.id")
     List<Invoice> findAllForExport();
+
+    /**
+     * Return the given invoice numbers that are already taken - for bulk upload duplicate detection
+     */
+    @Query("SELECT i.invoiceNumber FROM Invoice i WHERE i.invoiceNumber IN :invoiceNumbers")
+    List<String> findExistingInvoiceNumbers(@Param("invoiceNumbers") Collection<String> invoiceNumbers);
+
+    /**
+     * Stream all invoices with the relationships used by the response mapping for the NDJSON list endpoint
+     * Rows are fetched from a cursor in batches; must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT i FROM Invoice i " +
+            "LEFT JOIN FETCH i.payee p " +
+            "LEFT JOIN FETCH p.payeeDetails pd " +
+            "LEFT JOIN FETCH p.payeeType pt " +
+            "LEFT JOIN FETCH i.paymentDetails pmd " +
+            "ORDER BY i.id")
+    Stream<Invoice> streamAllList();
 }
@@ -4,9 +4,13 @@ import com.eps.module.api.epsone.invoice.dto.InvoiceBulkUploadDto;
 import com.eps.module.api.epsone.invoice.dto.InvoiceRequestDto;
 import com.eps.module.api.epsone.invoice.dto.InvoiceResponseDto;
 import com.eps.module.common.bulk.service.BulkUploadService;
+import com.eps.module.common.pagination.CursorPage;
+import com.eps.module.common.pagination.CursorPageRequest;
 import com.eps.module.payment.Invoice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,8 +22,18 @@ public interface InvoiceService extends BulkUploadService<InvoiceBulkUploadDto,
 
     Page<InvoiceResponseDto> searchInvoices(String searchTerm, Pageable pageable);
 
+    /**
+     * Keyset-paginated listing; a blank search term lists every invoice
+     */
+    CursorPage<InvoiceResponseDto> scrollInvoices(String searchTerm, CursorPageRequest request);
+
     List<InvoiceResponseDto> getInvoicesList();
 
+    /**
+     * Same records as {@link #getInvoicesList()}, streamed as NDJSON
+     */
+    ResponseEntity<StreamingResponseBody> streamInvoicesList();
+
     List<InvoiceResponseDto> getInvoicesByPayeeId(Long payeeId);
 
     InvoiceResponseDto getInvoiceById(Long id);
@@ -15,6 +15,11 @@ import com.eps.module.common.bulk.processor.BulkUploadProcessor;
 import com.eps.module.common.bulk.service.BaseBulkUploadService;
 import com.eps.module.common.exception.ConflictException;
 import com.eps.module.common.exception.ResourceNotFoundException;
+import com.eps.module.common.pagination.CursorPage;
+import com.eps.module.common.pagination.CursorPageRequest;
+import com.eps.module.common.pagination.KeysetPaginator;
+import com.eps.module.common.pagination.SearchSpecifications;
+import com.eps.module.common.response.NdjsonStreamer;
 import com.eps.module.payment.Invoice;
 import com.eps.module.payment.Payee;
 import com.eps.module.payment.PaymentDetails;
@@ -22,8 +27,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -35,11 +42,25 @@ import java.util.stream.Collectors;
 @Slf4j
 public class InvoiceServiceImpl extends BaseBulkUploadService<InvoiceBulkUploadDto, Invoice> implements InvoiceService {
 
+    /**
+     * Properties matched by the free-text search of the keyset-paginated listing
+     */
+    private static final String[] SEARCH_PROPERTIES = {
+            "invoiceNumber",
+            "vendorName",
+            "orderNumber",
+            "payee.payeeDetails.payeeName",
+            "paymentStatus",
+            "paymentDetails.transactionNumber"
+    };
+
     private final InvoiceRepository invoiceRepository;
     private final PayeeRepository payeeRepository;
     private final PaymentDetailsRepository paymentDetailsRepository;
     private final InvoiceMapper invoiceMapper;
     private final InvoiceBulkUploadProcessor invoiceBulkUploadProcessor;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final KeysetPaginator keysetPaginator;
 
     // ========== Bulk Upload Methods ==========
 
@@ -58,6 +79,11 @@ public class InvoiceServiceImpl extends BaseBulkUploadService<InvoiceBulkUploadD
         return "Invoice";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "INVOICE:BULK_UPLOAD";
+    }
+
     @Override
     public List<Invoice> getAllEntitiesForExport() {
         return invoiceRepository.findAllForExport();
@@ -221,6 +247,15 @@ public class InvoiceServiceImpl extends BaseBulkUploadService<InvoiceBulkUploadD
         return invoices.map(invoiceMapper::toResponseDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<InvoiceResponseDto> scrollInvoices(String searchTerm, CursorPageRequest request) {
+        return keysetPaginator.page(invoiceRepository, Invoice.class,
+                SearchSpecifications.containsIgnoreCase(searchTerm, SEARCH_PROPERTIES), request,
+                invoiceMapper::toResponseDto,
+                "payee.payeeDetails", "payee.payeeType", "paymentDetails");
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<InvoiceResponseDto> getInvoicesList() {
@@ -230,6 +265,11 @@ public class InvoiceServiceImpl extends BaseBulkUploadService<InvoiceBulkUploadD
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamInvoicesList() {
+        return ndjsonStreamer.stream("Invoice", invoiceRepository::streamAllList, invoiceMapper::toResponseDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<InvoiceResponseDto> getInvoicesByPayeeId(Long payeeId) {
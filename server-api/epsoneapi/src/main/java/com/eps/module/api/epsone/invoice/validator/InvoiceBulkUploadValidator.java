@@ -6,6 +6,7 @@ import com.eps.module.api.epsone.invoice.repository.InvoiceRepository;
 import com.eps.module.api.epsone.payee_details.repository.PayeeDetailsRepository;
 import com.eps.module.api.epsone.payment_details.repository.PaymentDetailsRepository;
 import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
+import com.eps.module.common.bulk.excel.ExcelDateParser;
 import com.eps.module.common.bulk.validator.BulkRowValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,8 +14,6 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,12 +26,8 @@ public class InvoiceBulkUploadValidator implements BulkRowValidator<InvoiceBulkU
     private final PayeeDetailsRepository payeeDetailsRepository;
     private final PaymentDetailsRepository paymentDetailsRepository;
 
-    private static final DateTimeFormatter[] DATE_FORMATTERS = {
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-            DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-            DateTimeFormatter.ofPattern("dd-MM-yyyy")
-    };
+    private static final ExcelDateParser DATE_PARSER =
+            ExcelDateParser.of("yyyy-MM-dd", "dd/MM/yyyy", "MM/dd/yyyy", "dd-MM-yyyy").withExcelSerials();
 
     @Override
     public List<BulkUploadErrorDto> validate(InvoiceBulkUploadDto rowData, int rowNumber) {
@@ -46,9 +41,7 @@ public class InvoiceBulkUploadValidator implements BulkRowValidator<InvoiceBulkU
             if (invoiceNumber.length() > 100) {
                 errors.add(createError(rowNumber, "Invoice Number", InvoiceErrorMessages.INVOICE_NUMBER_TOO_LONG, invoiceNumber));
             }
-            if (invoiceRepository.existsByInvoiceNumber(invoiceNumber)) {
-                errors.add(createError(rowNumber, "Invoice Number", String.format(InvoiceErrorMessages.INVOICE_NUMBER_EXISTS, invoiceNumber), invoiceNumber));
-            }
+            // Existing numbers and numbers repeated in the file are reported by the processor's duplicate check
         }
 
         // Validate Invoice Date (Required)
@@ -153,25 +146,7 @@ public class InvoiceBulkUploadValidator implements BulkRowValidator<InvoiceBulkU
     }
 
     private boolean isValidDate(String dateStr) {
-        // First, try to parse as Excel serial number
-        try {
-            double excelSerialNumber = Double.parseDouble(dateStr);
-            // Excel dates are typically between 1 (1900-01-01) and 60000 (2064-01-06)
-            return excelSerialNumber >= 1 && excelSerialNumber < 100000;
-        } catch (NumberFormatException e) {
-            // Not a number, try date formats
-        }
-        
-        // Try standard date formats
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                LocalDate.parse(dateStr, formatter);
-                return true;
-            } catch (DateTimeParseException e) {
-                // Try next formatter
-            }
-        }
-        return false;
+        return DATE_PARSER.parse(dateStr) != null;
     }
 
     private void validateOptionalDate(String dateStr, String fieldName, int rowNumber, List<BulkUploadErrorDto> errors) {
@@ -0,0 +1,43 @@
+package com.eps.module.api.epsone.key_rotation;
+
+import com.eps.module.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Progress of re-encrypting one table with the current key, updated in the transaction of every batch
+ */
+@Entity
+@Table(name = "reencryption_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReEncryptionCheckpoint extends BaseEntity {
+
+    @Id
+    @Column(name = "target_name", length = 100)
+    private String targetName;
+
+    /**
+     * Key version the table is being re-encrypted with; progress for an earlier version is discarded
+     */
+    @Column(name = "key_version", nullable = false)
+    private Integer keyVersion;
+
+    /**
+     * Highest row ID visited; the next batch starts after it
+     */
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "rows_scanned", nullable = false)
+    private Long rowsScanned;
+
+    @Column(name = "rows_reencrypted", nullable = false)
+    private Long rowsReEncrypted;
+
+    @Column(nullable = false)
+    private Boolean completed;
+}
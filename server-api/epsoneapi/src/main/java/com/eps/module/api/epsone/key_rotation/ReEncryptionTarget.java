@@ -0,0 +1,31 @@
+package com.eps.module.api.epsone.key_rotation;
+
+/**
+ * A table holding ciphertext, re-encrypted with the current key by the {@link ReEncryptionWorker}
+ */
+public interface ReEncryptionTarget {
+
+    /**
+     * Name the checkpoint and metrics of the table are kept under
+     */
+    String getName();
+
+    /**
+     * Re-encrypt the next rows after the given ID, in ID order, that hold ciphertext of an older key version.
+     * Runs in the worker's transaction; rows that cannot be decrypted are skipped.
+     *
+     * @param afterId   ID of the last row visited by the previous batch, 0 for the first
+     * @param batchSize most rows to read
+     * @return the rows read and re-encrypted; no rows read means the table is done
+     */
+    Batch reEncrypt(long afterId, int batchSize);
+
+    /**
+     * Outcome of one batch
+     * @param rowsRead        rows read, all of which held ciphertext of an older version
+     * @param rowsReEncrypted rows rewritten with the current key; rows changed concurrently are left to their writer
+     * @param lastId          ID of the last row read
+     */
+    record Batch(int rowsRead, int rowsReEncrypted, long lastId) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.eps.module.api.epsone.key_rotation;
+
+import com.eps.module.crypto.service.CryptoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-encrypts ciphertext of retired keys with the current key after a key rotation, while the application serves traffic.
+ * Each table is walked in ID order in small batches, each committed with its checkpoint, so a restart carries on
+ * where the last batch ended. Batches are throttled to a row rate to leave the database to production traffic.
+ * Progress is published as {@code crypto.reencryption.*} metrics, tagged with the table.
+ */
+@Slf4j
+@Component
+public class ReEncryptionWorker {
+
+    private final List<ReEncryptionTarget> targets;
+    private final ReEncryptionCheckpointRepository checkpointRepository;
+    private final CryptoService cryptoService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong running = new AtomicLong();
+    // Held here, since gauges only keep weak references to the values they report
+    private final Map<String, AtomicLong> lastIds = new ConcurrentHashMap<>();
+    private volatile boolean stopping;
+
+    @Value("${crypto.reencryption.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Rows read per batch and transaction
+     */
+    @Value("${crypto.reencryption.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Most rows read per second, across batches
+     */
+    @Value("${crypto.reencryption.rows-per-second:500}")
+    private int rowsPerSecond;
+
+    public ReEncryptionWorker(List<ReEncryptionTarget> targets, ReEncryptionCheckpointRepository checkpointRepository,
+                              CryptoService cryptoService, PlatformTransactionManager transactionManager,
+                              @Qualifier("taskExecutor") Executor taskExecutor, MeterRegistry meterRegistry) {
+        this.targets = targets;
+        this.checkpointRepository = checkpointRepository;
+        this.cryptoService = cryptoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Start re-encrypting in the background when retired keys are configured
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || cryptoService.getKeyVersions().size() < 2) {
+            return;
+        }
+        Gauge.builder("crypto.reencryption.running", running, AtomicLong::get)
+                .description("Tables being re-encrypted with the current key")
+                .register(meterRegistry);
+        log.info("Re-encrypting {} tables with key version {} at up to {} rows per second",
+                targets.size(), cryptoService.getCurrentKeyVersion(), rowsPerSecond);
+        taskExecutor.execute(() -> targets.forEach(this::reEncrypt));
+    }
+
+    @PreDestroy
+    void stop() {
+        stopping = true;
+    }
+
+    private void reEncrypt(ReEncryptionTarget target) {
+        int keyVersion = cryptoService.getCurrentKeyVersion();
+        String name = target.getName();
+
+        ReEncryptionCheckpoint start = transactionTemplate.execute(status -> checkpoint(name, keyVersion));
+        if (start == null || Boolean.TRUE.equals(start.getCompleted())) {
+            return;
+        }
+
+        AtomicLong lastId = lastIds.computeIfAbsent(name, key -> new AtomicLong());
+        lastId.set(start.getLastId());
+        Counter scanned = meterRegistry.counter("crypto.reencryption.rows.scanned", "table", name);
+        Counter reEncrypted = meterRegistry.counter("crypto.reencryption.rows.reencrypted", "table", name);
+        Timer batchTimer = meterRegistry.timer("crypto.reencryption.batch", "table", name);
+        Gauge.builder("crypto.reencryption.last.id", lastId, AtomicLong::get)
+                .description("ID of the last row visited by the re-encryption worker")
+                .tag("table", name)
+                .register(meterRegistry);
+
+        running.incrementAndGet();
+        log.info("Re-encrypting {} with key version {} after ID {}", name, keyVersion, lastId.get());
+        try {
+            while (!stopping) {
+                long batchStart = System.nanoTime();
+                ReEncryptionTarget.Batch batch = batchTimer.record(() -> transactionTemplate.execute(status -> {
+                    ReEncryptionTarget.Batch done = target.reEncrypt(lastId.get(), batchSize);
+                    ReEncryptionCheckpoint checkpoint = checkpoint(name, keyVersion);
+                    checkpoint.setLastId(done.rowsRead() > 0 ? done.lastId() : checkpoint.getLastId());
+                    checkpoint.setRowsScanned(checkpoint.getRowsScanned() + done.rowsRead());
+                    checkpoint.setRowsReEncrypted(checkpoint.getRowsReEncrypted() + done.rowsReEncrypted());
+                    checkpoint.setCompleted(done.rowsRead() == 0);
+                    checkpointRepository.save(checkpoint);
+                    return done;
+                }));
+                if (batch == null || batch.rowsRead() == 0) {
+                    log.info("Re-encryption of {} with key version {} completed", name, keyVersion);
+                    return;
+                }
+
+                lastId.set(batch.lastId());
+                scanned.increment(batch.rowsRead());
+                reEncrypted.increment(batch.rowsReEncrypted());
+                throttle(batchStart, batch.rowsRead());
+            }
+            log.info("Re-encryption of {} paused after ID {}", name, lastId.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Re-encryption of {} interrupted after ID {}", name, lastId.get());
+        } catch (Exception e) {
+            log.error("Re-encryption of {} failed after ID {}: {}", name, lastId.get(), e.getMessage(), e);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    /**
+     * Checkpoint of the table for the key version, started afresh if it was kept for another version.
+     * Runs in the caller's transaction.
+     */
+    private ReEncryptionCheckpoint checkpoint(String name, int keyVersion) {
+        ReEncryptionCheckpoint checkpoint = checkpointRepository.findById(name).orElse(null);
+        if (checkpoint != null && checkpoint.getKeyVersion() == keyVersion) {
+            return checkpoint;
+        }
+        if (checkpoint == null) {
+            checkpoint = ReEncryptionCheckpoint.builder().targetName(name).build();
+        }
+        checkpoint.setKeyVersion(keyVersion);
+        checkpoint.setLastId(0L);
+        checkpoint.setRowsScanned(0L);
+        checkpoint.setRowsReEncrypted(0L);
+        checkpoint.setCompleted(false);
+        return checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Sleep for whatever is left of the time the rows are allowed at the configured rate
+     */
+    private void throttle(long batchStartNanos, int rows) throws InterruptedException {
+        if (rowsPerSecond <= 0) {
+            return;
+        }
+        long allowedNanos = TimeUnit.SECONDS.toNanos(rows) / rowsPerSecond;
+        long remainingNanos = allowedNanos - (System.nanoTime() - batchStartNanos);
+        if (remainingNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(remainingNanos);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -119,7 +120,7 @@ public class LandlordController {
 
     @GetMapping("/export")
     @RequirePermission("LANDLORD:EXPORT")
-    public ResponseEntity<byte[]> exportData() throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportData() throws IOException {
         log.info("GET /api/landlords/export - Exporting all landlords");
         return bulkUploadControllerHelper.export(landlordService);
     }
@@ -147,6 +147,11 @@ public class LandlordServiceImpl extends BaseBulkUploadService<LandlordBulkUploa
         return "Landlord";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "LANDLORD:BULK_UPLOAD";
+    }
+
     @Override
     public List<Landlord> getAllEntitiesForExport() {
         return landlordRepository.findAllForExport();
@@ -12,7 +12,9 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -97,4 +99,11 @@ public class LandlordBulkUploadValidator implements BulkRowValidator<LandlordBul
     public boolean isDuplicate(LandlordBulkUploadDto dto) {
         return false;
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(LandlordBulkUploadDto dto) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Contact Number", dto.getContactNumber());
+        return values;
+    }
 }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -63,4 +64,10 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
      */
     @Query("SELECT l FROM Location l LEFT JOIN FETCH l.city c LEFT JOIN FETCH c.state ORDER BY l.locationName ASC")
     List<Location> findAllWithCityAndState();
+
+    /**
+     * Find locations by lower-cased names with city and state eagerly fetched - for bulk upload lookups
+     */
+    @Query("SELECT l FROM Location l LEFT JOIN FETCH l.city c LEFT JOIN FETCH c.state WHERE LOWER(l.locationName) IN :locationNames")
+    List<Location> findByLocationNameIgnoreCaseInWithCityAndState(@Param("locationNames") Collection<String> locationNames);
 }
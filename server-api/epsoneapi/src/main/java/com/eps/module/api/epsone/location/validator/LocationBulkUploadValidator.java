@@ -11,7 +11,9 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -144,6 +146,13 @@ public class LocationBulkUploadValidator implements BulkRowValidator<LocationBul
         return locationRepository.findByLocationName(dto.getLocationName()).isPresent();
     }
 
+    @Override
+    public Map<String, String> getUniqueValues(LocationBulkUploadDto dto) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Location Name", BulkRowValidator.ignoreCase(dto.getLocationName()));
+        return values;
+    }
+
     /**
      * Capitalize the first letter of each word in a string
      */
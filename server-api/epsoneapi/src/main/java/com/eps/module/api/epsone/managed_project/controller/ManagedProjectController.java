@@ -20,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -109,7 +110,7 @@ public class ManagedProjectController {
 
     @GetMapping("/export")
     @RequirePermission("MANAGED_PROJECT:EXPORT")
-    public ResponseEntity<byte[]> exportData() throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportData() throws IOException {
         log.info("GET /api/managed-projects/export - Exporting all Managed Projects");
         return bulkUploadHelper.export(managedProjectService);
     }
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,4 +52,6 @@ public interface ManagedProjectRepository extends JpaRepository<ManagedProject,
 
     @Query("SELECT mp FROM ManagedProject mp LEFT JOIN FETCH mp.bank ORDER BY mp.projectName ASC")
     List<ManagedProject> findAllForExport();
+
+    List<ManagedProject> findByProjectCodeIn(Collection<String> projectCodes);
 }
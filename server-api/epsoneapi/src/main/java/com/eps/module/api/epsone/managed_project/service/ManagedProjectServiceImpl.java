@@ -180,6 +180,11 @@ public class ManagedProjectServiceImpl extends BaseBulkUploadService<ManagedProj
         return "ManagedProject";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "MANAGED_PROJECT:BULK_UPLOAD";
+    }
+
     @Override
     public List<ManagedProject> getAllEntitiesForExport() {
         log.info("Fetching all Managed Projects for export");
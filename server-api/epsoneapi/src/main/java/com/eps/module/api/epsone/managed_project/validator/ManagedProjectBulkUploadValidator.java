@@ -10,7 +10,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -103,4 +105,12 @@ public class ManagedProjectBulkUploadValidator implements BulkRowValidator<Manag
 
         return false;
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(ManagedProjectBulkUploadDto dto) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Project Name", dto.getProjectName());
+        values.put("Project Code", dto.getProjectCode());
+        return values;
+    }
 }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +29,8 @@ public interface MovementTypeRepository extends JpaRepository<AssetMovementType,
     // Find movement type by exact name
     Optional<AssetMovementType> findByMovementType(String movementType);
 
+    List<AssetMovementType> findByMovementTypeIn(Collection<String> movementTypes);
+
     // Bulk Upload Methods
     @Query("SELECT mt FROM AssetMovementType mt ORDER BY mt.movementType ASC")
     List<AssetMovementType> findAllForExport();
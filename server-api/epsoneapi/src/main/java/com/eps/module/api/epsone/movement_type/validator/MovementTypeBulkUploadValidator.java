@@ -9,7 +9,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -48,6 +50,13 @@ public class MovementTypeBulkUploadValidator implements BulkRowValidator<Movemen
         return movementTypeRepository.existsByMovementTypeIgnoreCase(dto.getMovementType().trim());
     }
 
+    @Override
+    public Map<String, String> getUniqueValues(MovementTypeBulkUploadDto dto) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Movement Type", BulkRowValidator.ignoreCase(dto.getMovementType()));
+        return values;
+    }
+
     private BulkUploadErrorDto createError(int rowNumber, String message) {
         return BulkUploadErrorDto.builder()
                 .rowNumber(rowNumber)
@@ -227,6 +227,11 @@ public class PayeeServiceImpl extends BaseBulkUploadService<PayeeBulkUploadDto,
         return "Payee";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "PAYEE:BULK_UPLOAD";
+    }
+
     @Override
     public List<Payee> getAllEntitiesForExport() {
         return payeeRepository.findAllForExport();
@@ -14,7 +14,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
@@ -122,4 +124,11 @@ public class PayeeBulkUploadValidator implements BulkRowValidator<PayeeBulkUploa
         }
         return false;
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(PayeeBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Payee Name", BulkRowValidator.ignoreCase(rowData.getPayeeName()));
+        return values;
+    }
 }
@@ -15,10 +15,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -86,6 +88,12 @@ public class PayeeDetailsController {
         return ResponseBuilder.success(payeeDetailsList, "Payee details list retrieved successfully", HttpStatus.OK);
     }
 
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPayeeDetailsList() {
+        log.info("GET /api/payee-details/list - Streaming all payee details as NDJSON");
+        return payeeDetailsService.streamPayeeDetailsList();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<PayeeDetailsResponseDto>> getPayeeDetailsById(@PathVariable Long id) {
         log.info("Fetching payee details with ID: {}", id);
@@ -119,7 +127,7 @@ public class PayeeDetailsController {
     }
 
     @GetMapping("/export")
-    public ResponseEntity<byte[]> export() throws IOException {
+    public ResponseEntity<StreamingResponseBody> export() throws IOException {
         return bulkUploadHelper.export(payeeDetailsService);
     }
 
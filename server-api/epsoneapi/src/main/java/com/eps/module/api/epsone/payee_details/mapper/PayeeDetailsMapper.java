@@ -2,6 +2,7 @@ package com.eps.module.api.epsone.payee_details.mapper;
 
 import com.eps.module.api.epsone.payee_details.dto.PayeeDetailsRequestDto;
 import com.eps.module.api.epsone.payee_details.dto.PayeeDetailsResponseDto;
+import com.eps.module.api.epsone.payee_details.service.PayeeDetailsSearchIndexer;
 import com.eps.module.auth.audit.AuditFieldMapper;
 import com.eps.module.crypto.service.CryptoService;
 import com.eps.module.payment.PayeeDetails;
@@ -20,6 +21,9 @@ public abstract class PayeeDetailsMapper {
     @Autowired
     protected CryptoService cryptoService;
 
+    @Autowired
+    protected PayeeDetailsSearchIndexer payeeDetailsSearchIndexer;
+
     @Mapping(target = "bank", ignore = true)
     @Mapping(target = "panNumber", ignore = true)
     @Mapping(target = "panNumberHash", ignore = true)
@@ -29,6 +33,10 @@ public abstract class PayeeDetailsMapper {
     @Mapping(target = "beneficiaryNameHash", ignore = true)
     @Mapping(target = "accountNumber", ignore = true)
     @Mapping(target = "accountNumberHash", ignore = true)
+    @Mapping(target = "panNumberIndex", ignore = true)
+    @Mapping(target = "aadhaarNumberIndex", ignore = true)
+    @Mapping(target = "accountNumberIndex", ignore = true)
+    @Mapping(target = "accountNumberLast4Index", ignore = true)
     public abstract PayeeDetails toEntity(PayeeDetailsRequestDto dto);
 
     @AfterMapping
@@ -37,6 +45,7 @@ public abstract class PayeeDetailsMapper {
         encryptAndHashField(source.getAadhaarNumber(), target::setAadhaarNumber, target::setAadhaarNumberHash);
         encryptAndHashField(source.getBeneficiaryName(), target::setBeneficiaryName, target::setBeneficiaryNameHash);
         encryptAndHashField(source.getAccountNumber(), target::setAccountNumber, target::setAccountNumberHash);
+        payeeDetailsSearchIndexer.index(target, source.getPanNumber(), source.getAadhaarNumber(), source.getAccountNumber());
     }
 
     @Mapping(source = "bank.id", target = "bankId")
@@ -2,6 +2,7 @@ package com.eps.module.api.epsone.payee_details.processor;
 
 import com.eps.module.api.epsone.payee_details.dto.PayeeDetailsBulkUploadDto;
 import com.eps.module.api.epsone.payee_details.repository.PayeeDetailsRepository;
+import com.eps.module.api.epsone.payee_details.service.PayeeDetailsSearchIndexer;
 import com.eps.module.api.epsone.payee_details.validator.PayeeDetailsBulkUploadValidator;
 import com.eps.module.api.epsone.bank.repository.BankRepository;
 import com.eps.module.bank.Bank;
@@ -23,6 +24,7 @@ public class PayeeDetailsBulkUploadProcessor extends BulkUploadProcessor<PayeeDe
     private final BankRepository bankRepository;
     private final PayeeDetailsBulkUploadValidator validator;
     private final CryptoService cryptoService;
+    private final PayeeDetailsSearchIndexer payeeDetailsSearchIndexer;
 
     @Override
     protected BulkRowValidator<PayeeDetailsBulkUploadDto> getValidator() {
@@ -66,7 +68,9 @@ public class PayeeDetailsBulkUploadProcessor extends BulkUploadProcessor<PayeeDe
             builder.bank(bank);
         }
 
-        return builder.build();
+        PayeeDetails entity = builder.build();
+        payeeDetailsSearchIndexer.index(entity, dto.getPanNumber(), dto.getAadhaarNumber(), dto.getAccountNumber());
+        return entity;
     }
 
     @Override
@@ -1,28 +1,95 @@
 package com.eps.module.api.epsone.payee_details.repository;
 
 import com.eps.module.payment.PayeeDetails;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PayeeDetailsRepository extends JpaRepository<PayeeDetails, Long> {
 
     /**
-     * Search payee details by payee name, PAN, Aadhaar, beneficiary name, or account number
+     * Search payee details by payee name, or by the blind index of the PAN, Aadhaar or account number,
+     * or of the account number's last four characters.
+     * Each index comparison is answered by the column's index; a null index matches nothing.
      */
     @Query("SELECT pd FROM PayeeDetails pd WHERE " +
            "LOWER(pd.payeeName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(pd.panNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(pd.aadhaarNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(pd.beneficiaryName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(pd.accountNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<PayeeDetails> searchPayeeDetails(@Param("searchTerm") String searchTerm, Pageable pageable);
+           "pd.panNumberIndex = :panNumberIndex OR " +
+           "pd.aadhaarNumberIndex = :aadhaarNumberIndex OR " +
+           "pd.accountNumberIndex = :accountNumberIndex OR " +
+           "pd.accountNumberLast4Index = :accountNumberLast4Index")
+    Page<PayeeDetails> searchPayeeDetails(@Param("searchTerm") String searchTerm,
+                                          @Param("panNumberIndex") String panNumberIndex,
+                                          @Param("aadhaarNumberIndex") String aadhaarNumberIndex,
+                                          @Param("accountNumberIndex") String accountNumberIndex,
+                                          @Param("accountNumberLast4Index") String accountNumberLast4Index,
+                                          Pageable pageable);
+
+    /**
+     * Payee details after the given ID whose encrypted PAN, Aadhaar or account number has no blind index yet, in ID order
+     */
+    @Query("SELECT pd FROM PayeeDetails pd WHERE pd.id > :afterId AND (" +
+           "(pd.panNumber IS NOT NULL AND pd.panNumber <> '' AND pd.panNumberIndex IS NULL) OR " +
+           "(pd.aadhaarNumber IS NOT NULL AND pd.aadhaarNumber <> '' AND pd.aadhaarNumberIndex IS NULL) OR " +
+           "(pd.accountNumber IS NOT NULL AND pd.accountNumber <> '' AND pd.accountNumberIndex IS NULL)) " +
+           "ORDER BY pd.id ASC")
+    List<PayeeDetails> findMissingSearchIndex(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Set the blind indexes of one payee details row without touching its other columns
+     */
+    @Modifying
+    @Query("UPDATE PayeeDetails pd SET pd.panNumberIndex = :panNumberIndex, pd.aadhaarNumberIndex = :aadhaarNumberIndex, " +
+           "pd.accountNumberIndex = :accountNumberIndex, pd.accountNumberLast4Index = :accountNumberLast4Index WHERE pd.id = :id")
+    void updateSearchIndexes(@Param("id") Long id,
+                             @Param("panNumberIndex") String panNumberIndex,
+                             @Param("aadhaarNumberIndex") String aadhaarNumberIndex,
+                             @Param("accountNumberIndex") String accountNumberIndex,
+                             @Param("accountNumberLast4Index") String accountNumberLast4Index);
+
+    /**
+     * Payee details after the given ID holding ciphertext not tagged with the given key version prefix pattern, in ID order.
+     * The rows are locked until the transaction ends, so they cannot be updated while they are re-encrypted.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pd FROM PayeeDetails pd WHERE pd.id > :afterId AND (" +
+           "(pd.panNumber <> '' AND pd.panNumber NOT LIKE :currentKeyPattern) OR " +
+           "(pd.aadhaarNumber <> '' AND pd.aadhaarNumber NOT LIKE :currentKeyPattern) OR " +
+           "(pd.beneficiaryName <> '' AND pd.beneficiaryName NOT LIKE :currentKeyPattern) OR " +
+           "(pd.accountNumber <> '' AND pd.accountNumber NOT LIKE :currentKeyPattern)) " +
+           "ORDER BY pd.id ASC")
+    List<PayeeDetails> findForReEncryption(@Param("afterId") Long afterId, @Param("currentKeyPattern") String currentKeyPattern, Pageable pageable);
+
+    /**
+     * Replace the ciphertext and blind indexes of one payee details row without touching its other columns
+     */
+    @Modifying
+    @Query("UPDATE PayeeDetails pd SET pd.panNumber = :panNumber, pd.aadhaarNumber = :aadhaarNumber, " +
+           "pd.beneficiaryName = :beneficiaryName, pd.accountNumber = :accountNumber, " +
+           "pd.panNumberIndex = :panNumberIndex, pd.aadhaarNumberIndex = :aadhaarNumberIndex, " +
+           "pd.accountNumberIndex = :accountNumberIndex, pd.accountNumberLast4Index = :accountNumberLast4Index WHERE pd.id = :id")
+    void updateEncryptedFields(@Param("id") Long id,
+                               @Param("panNumber") String panNumber,
+                               @Param("aadhaarNumber") String aadhaarNumber,
+                               @Param("beneficiaryName") String beneficiaryName,
+                               @Param("accountNumber") String accountNumber,
+                               @Param("panNumberIndex") String panNumberIndex,
+                               @Param("aadhaarNumberIndex") String aadhaarNumberIndex,
+                               @Param("accountNumberIndex") String accountNumberIndex,
+                               @Param("accountNumberLast4Index") String accountNumberLast4Index);
 
     /**
      * Get all payee details as a list (no pagination) - for dropdowns
@@ -92,4 +159,12 @@ public interface PayeeDetailsRepository extends JpaRepository<PayeeDetails, Long
      */
     @Query("SELECT CASE WHEN COUNT(pd) > 0 THEN true ELSE false END FROM PayeeDetails pd WHERE LOWER(pd.payeeName) = LOWER(:payeeName)")
     boolean existsByPayeeNameIgnoreCase(@Param("payeeName") String payeeName);
+
+    /**
+     * Stream all payee details with their bank for the NDJSON list endpoint
+     * Rows are fetched from a cursor in batches; must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT pd FROM PayeeDetails pd LEFT JOIN FETCH pd.bank ORDER BY pd.payeeName ASC")
+    Stream<PayeeDetails> streamAllList();
 }
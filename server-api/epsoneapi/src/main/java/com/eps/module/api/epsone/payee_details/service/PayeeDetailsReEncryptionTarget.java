@@ -0,0 +1,75 @@
+package com.eps.module.api.epsone.payee_details.service;
+
+import com.eps.module.api.epsone.key_rotation.ReEncryptionTarget;
+import com.eps.module.api.epsone.payee_details.repository.PayeeDetailsRepository;
+import com.eps.module.crypto.exception.CryptoException;
+import com.eps.module.crypto.service.CryptoService;
+import com.eps.module.payment.PayeeDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Re-encrypts the PAN, Aadhaar, beneficiary name and account number of payee details with the current key,
+ * rebuilding the blind indexes from the same plaintext
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PayeeDetailsReEncryptionTarget implements ReEncryptionTarget {
+
+    private final PayeeDetailsRepository payeeDetailsRepository;
+    private final PayeeDetailsSearchIndexer payeeDetailsSearchIndexer;
+    private final CryptoService cryptoService;
+
+    @Override
+    public String getName() {
+        return "payee_details";
+    }
+
+    @Override
+    public Batch reEncrypt(long afterId, int batchSize) {
+        String currentKeyPattern = CryptoService.keyVersionPrefix(cryptoService.getCurrentKeyVersion()) + "%";
+        List<PayeeDetails> rows = payeeDetailsRepository.findForReEncryption(afterId, currentKeyPattern, PageRequest.ofSize(batchSize));
+
+        int reEncrypted = 0;
+        for (PayeeDetails row : rows) {
+            try {
+                String panNumber = decrypt(row.getPanNumber());
+                String aadhaarNumber = decrypt(row.getAadhaarNumber());
+                String accountNumber = decrypt(row.getAccountNumber());
+
+                PayeeDetails indexes = new PayeeDetails();
+                payeeDetailsSearchIndexer.index(indexes, panNumber, aadhaarNumber, accountNumber);
+                payeeDetailsRepository.updateEncryptedFields(row.getId(),
+                        reEncrypt(row.getPanNumber(), panNumber),
+                        reEncrypt(row.getAadhaarNumber(), aadhaarNumber),
+                        cryptoService.reEncrypt(row.getBeneficiaryName()),
+                        reEncrypt(row.getAccountNumber(), accountNumber),
+                        indexes.getPanNumberIndex(), indexes.getAadhaarNumberIndex(),
+                        indexes.getAccountNumberIndex(), indexes.getAccountNumberLast4Index());
+                reEncrypted++;
+            } catch (CryptoException e) {
+                log.warn("Payee details {} could not be re-encrypted: {}", row.getId(), e.getMessage());
+            }
+        }
+        return new Batch(rows.size(), reEncrypted, rows.isEmpty() ? afterId : rows.get(rows.size() - 1).getId());
+    }
+
+    private String decrypt(String encryptedValue) {
+        if (encryptedValue == null || encryptedValue.isEmpty()) {
+            return null;
+        }
+        return cryptoService.decrypt(encryptedValue);
+    }
+
+    /**
+     * The ciphertext under the current key, encrypting the plaintext already decrypted from it
+     */
+    private String reEncrypt(String encryptedValue, String plaintext) {
+        return cryptoService.needsReEncryption(encryptedValue) ? cryptoService.encrypt(plaintext) : encryptedValue;
+    }
+}
@@ -0,0 +1,126 @@
+package com.eps.module.api.epsone.payee_details.service;
+
+import com.eps.module.api.epsone.payee_details.repository.PayeeDetailsRepository;
+import com.eps.module.crypto.service.BlindIndexService;
+import com.eps.module.crypto.service.CryptoService;
+import com.eps.module.payment.PayeeDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Keeps the blind indexes of payee details, which let PAN, Aadhaar and account number searches
+ * use an index lookup instead of scanning the encrypted columns.
+ * Rows saved before the indexes existed are indexed once at startup.
+ */
+@Slf4j
+@Component
+public class PayeeDetailsSearchIndexer {
+
+    private static final String PAN_FIELD = "payee.pan";
+    private static final String AADHAAR_FIELD = "payee.aadhaar";
+    private static final String ACCOUNT_FIELD = "payee.account";
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final PayeeDetailsRepository payeeDetailsRepository;
+    private final BlindIndexService blindIndexService;
+    private final CryptoService cryptoService;
+    private final TransactionTemplate transactionTemplate;
+
+    public PayeeDetailsSearchIndexer(PayeeDetailsRepository payeeDetailsRepository, BlindIndexService blindIndexService,
+                                     CryptoService cryptoService, PlatformTransactionManager transactionManager) {
+        this.payeeDetailsRepository = payeeDetailsRepository;
+        this.blindIndexService = blindIndexService;
+        this.cryptoService = cryptoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Set the blind indexes of the given plaintext values; a null value leaves its indexes as they are
+     */
+    public void index(PayeeDetails target, String panNumber, String aadhaarNumber, String accountNumber) {
+        if (panNumber != null) {
+            target.setPanNumberIndex(blindIndexService.index(PAN_FIELD, panNumber));
+        }
+        if (aadhaarNumber != null) {
+            target.setAadhaarNumberIndex(blindIndexService.index(AADHAAR_FIELD, aadhaarNumber));
+        }
+        if (accountNumber != null) {
+            target.setAccountNumberIndex(blindIndexService.index(ACCOUNT_FIELD, accountNumber));
+            target.setAccountNumberLast4Index(blindIndexService.lastDigitsIndex(ACCOUNT_FIELD, accountNumber));
+        }
+    }
+
+    /**
+     * Blind indexes to look the search term up by, or null if the term cannot be a PAN, Aadhaar or account number.
+     * Those are letters and digits with at least one digit, ignoring spaces and dashes;
+     * a term of exactly four characters is also matched against the last four characters of account numbers.
+     */
+    public SearchIndexes searchIndexesOf(String searchTerm) {
+        String normalized = blindIndexService.normalize(searchTerm);
+        if (normalized == null || normalized.isEmpty()
+                || !normalized.chars().allMatch(c -> c >= 'A' && c <= 'Z' || c >= '0' && c <= '9')
+                || normalized.chars().noneMatch(Character::isDigit)) {
+            return null;
+        }
+        return new SearchIndexes(
+                blindIndexService.index(PAN_FIELD, normalized),
+                blindIndexService.index(AADHAAR_FIELD, normalized),
+                blindIndexService.index(ACCOUNT_FIELD, normalized),
+                normalized.length() == BlindIndexService.LAST_DIGITS_LENGTH
+                        ? blindIndexService.lastDigitsIndex(ACCOUNT_FIELD, normalized)
+                        : null);
+    }
+
+    /**
+     * Index the rows saved before the blind indexes existed, in batches of one transaction each.
+     * The indexes are written with an update query, so the rows' audit fields are left as they are.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long lastId = 0;
+        int indexed = 0;
+        while (true) {
+            long afterId = lastId;
+            List<PayeeDetails> batch = transactionTemplate.execute(status -> {
+                List<PayeeDetails> rows = payeeDetailsRepository.findMissingSearchIndex(afterId, PageRequest.ofSize(BACKFILL_BATCH_SIZE));
+                for (PayeeDetails row : rows) {
+                    // Computed on a detached copy, so the loaded row is not dirtied and flushed as well
+                    PayeeDetails indexes = new PayeeDetails();
+                    index(indexes, decrypt(row.getPanNumber()), decrypt(row.getAadhaarNumber()), decrypt(row.getAccountNumber()));
+                    payeeDetailsRepository.updateSearchIndexes(row.getId(), indexes.getPanNumberIndex(), indexes.getAadhaarNumberIndex(),
+                            indexes.getAccountNumberIndex(), indexes.getAccountNumberLast4Index());
+                }
+                return rows;
+            });
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            indexed += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        if (indexed > 0) {
+            log.info("Built search indexes for {} payee details", indexed);
+        }
+    }
+
+    private String decrypt(String encryptedValue) {
+        if (encryptedValue == null || encryptedValue.isEmpty()) {
+            return null;
+        }
+        return cryptoService.decrypt(encryptedValue);
+    }
+
+    /**
+     * Blind indexes of a search term, one per indexed column; a null index matches nothing
+     */
+    public record SearchIndexes(String panNumberIndex, String aadhaarNumberIndex, String accountNumberIndex,
+                                String accountNumberLast4Index) {
+    }
+}
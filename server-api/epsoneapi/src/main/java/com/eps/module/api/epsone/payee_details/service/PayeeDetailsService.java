@@ -7,6 +7,8 @@ import com.eps.module.common.bulk.service.BulkUploadService;
 import com.eps.module.payment.PayeeDetails;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,6 +22,11 @@ public interface PayeeDetailsService extends BulkUploadService<PayeeDetailsBulkU
 
     List<PayeeDetailsResponseDto> getPayeeDetailsList();
 
+    /**
+     * Same records as {@link #getPayeeDetailsList()}, streamed as NDJSON
+     */
+    ResponseEntity<StreamingResponseBody> streamPayeeDetailsList();
+
     PayeeDetailsResponseDto getPayeeDetailsById(Long id);
 
     PayeeDetailsResponseDto updatePayeeDetails(Long id, PayeeDetailsRequestDto requestDto);
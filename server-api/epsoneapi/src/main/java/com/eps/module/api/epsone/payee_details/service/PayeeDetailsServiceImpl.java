@@ -16,14 +16,18 @@ import com.eps.module.common.bulk.processor.BulkUploadProcessor;
 import com.eps.module.common.bulk.service.BaseBulkUploadService;
 import com.eps.module.common.exception.BadRequestException;
 import com.eps.module.common.exception.ResourceNotFoundException;
+import com.eps.module.common.response.NdjsonStreamer;
 import com.eps.module.crypto.service.CryptoService;
 import com.eps.module.payment.PayeeDetails;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -39,6 +43,8 @@ public class PayeeDetailsServiceImpl extends BaseBulkUploadService<PayeeDetailsB
     private final PayeeDetailsMapper payeeDetailsMapper;
     private final PayeeDetailsBulkUploadProcessor payeeDetailsBulkUploadProcessor;
     private final CryptoService cryptoService;
+    private final PayeeDetailsSearchIndexer payeeDetailsSearchIndexer;
+    private final NdjsonStreamer ndjsonStreamer;
 
     @Override
     @Transactional
@@ -94,7 +100,13 @@ public class PayeeDetailsServiceImpl extends BaseBulkUploadService<PayeeDetailsB
     @Override
     @Transactional(readOnly = true)
     public Page<PayeeDetailsResponseDto> searchPayeeDetails(String searchTerm, Pageable pageable) {
-        Page<PayeeDetails> payeeDetailsPage = payeeDetailsRepository.searchPayeeDetails(searchTerm, pageable);
+        // PAN, Aadhaar and account numbers are encrypted, so they are found by their blind indexes;
+        // a term that could be one of them may also be part of a payee name, e.g. "Shop 24"
+        PayeeDetailsSearchIndexer.SearchIndexes indexes = payeeDetailsSearchIndexer.searchIndexesOf(searchTerm);
+        Page<PayeeDetails> payeeDetailsPage = indexes != null
+                ? payeeDetailsRepository.searchPayeeDetails(searchTerm, indexes.panNumberIndex(), indexes.aadhaarNumberIndex(),
+                        indexes.accountNumberIndex(), indexes.accountNumberLast4Index(), pageable)
+                : payeeDetailsRepository.searchPayeeDetails(searchTerm, null, null, null, null, pageable);
         return payeeDetailsPage.map(payeeDetailsMapper::toDto);
     }
 
@@ -107,6 +119,11 @@ public class PayeeDetailsServiceImpl extends BaseBulkUploadService<PayeeDetailsB
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamPayeeDetailsList() {
+        return ndjsonStreamer.stream("PayeeDetails", payeeDetailsRepository::streamAllList, payeeDetailsMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PayeeDetailsResponseDto getPayeeDetailsById(Long id) {
@@ -184,6 +201,8 @@ public class PayeeDetailsServiceImpl extends BaseBulkUploadService<PayeeDetailsB
             existingPayeeDetails.setAccountNumber(accountData.encryptedValue());
             existingPayeeDetails.setAccountNumberHash(accountData.hash());
         }
+        payeeDetailsSearchIndexer.index(existingPayeeDetails,
+                requestDto.getPanNumber(), requestDto.getAadhaarNumber(), requestDto.getAccountNumber());
 
         PayeeDetails updatedPayeeDetails = payeeDetailsRepository.save(existingPayeeDetails);
         return payeeDetailsMapper.toDto(updatedPayeeDetails);
@@ -230,14 +249,43 @@ public class PayeeDetailsServiceImpl extends BaseBulkUploadService<PayeeDetailsB
 
     @Override
     public Function<PayeeDetails, PayeeDetailsBulkUploadDto> getEntityToDtoMapper() {
-        return entity -> PayeeDetailsBulkUploadDto.builder()
+        return entity -> toBulkUploadDto(entity,
+                decryptField(entity.getPanNumber()),
+                decryptField(entity.getAadhaarNumber()),
+                decryptField(entity.getBeneficiaryName()),
+                decryptField(entity.getAccountNumber()));
+    }
+
+    @Override
+    public List<PayeeDetailsBulkUploadDto> mapAllForExport(List<PayeeDetails> entities) {
+        // Decrypt the chunk's four encrypted fields in one batch
+        List<String> encrypted = new ArrayList<>(entities.size() * 4);
+        for (PayeeDetails entity : entities) {
+            encrypted.add(entity.getPanNumber());
+            encrypted.add(entity.getAadhaarNumber());
+            encrypted.add(entity.getBeneficiaryName());
+            encrypted.add(entity.getAccountNumber());
+        }
+        List<String> decrypted = cryptoService.decryptAll(encrypted);
+
+        List<PayeeDetailsBulkUploadDto> dtos = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            dtos.add(toBulkUploadDto(entities.get(i),
+                    decrypted.get(i * 4), decrypted.get(i * 4 + 1), decrypted.get(i * 4 + 2), decrypted.get(i * 4 + 3)));
+        }
+        return dtos;
+    }
+
+    private PayeeDetailsBulkUploadDto toBulkUploadDto(PayeeDetails entity, String panNumber, String aadhaarNumber,
+                                                      String beneficiaryName, String accountNumber) {
+        return PayeeDetailsBulkUploadDto.builder()
                 .payeeName(entity.getPayeeName())
-                .panNumber(decryptField(entity.getPanNumber()))
-                .aadhaarNumber(decryptField(entity.getAadhaarNumber()))
+                .panNumber(panNumber)
+                .aadhaarNumber(aadhaarNumber)
                 .bankName(entity.getBank() != null ? entity.getBank().getBankName() : null)
                 .ifscCode(entity.getIfscCode())
-                .beneficiaryName(decryptField(entity.getBeneficiaryName()))
-                .accountNumber(decryptField(entity.getAccountNumber()))
+                .beneficiaryName(beneficiaryName)
+                .accountNumber(accountNumber)
                 .build();
     }
 
@@ -12,7 +12,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -178,4 +180,16 @@ public class PayeeDetailsBulkUploadValidator implements BulkRowValidator<PayeeDe
         
         return false;
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(PayeeDetailsBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("PAN Number", rowData.getPanNumber());
+        values.put("Aadhaar Number", rowData.getAadhaarNumber());
+        // Account numbers are unique per bank
+        if (rowData.getAccountNumber() != null && rowData.getBankName() != null) {
+            values.put("Account Number", rowData.getAccountNumber().trim() + "@" + BulkRowValidator.ignoreCase(rowData.getBankName()));
+        }
+        return values;
+    }
 }
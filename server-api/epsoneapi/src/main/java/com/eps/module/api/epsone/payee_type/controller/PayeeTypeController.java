@@ -17,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -108,7 +109,7 @@ public class PayeeTypeController {
 
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> export() throws IOException {
+    public ResponseEntity<StreamingResponseBody> export() throws IOException {
         return bulkUploadHelper.export(payeeTypeService);
     }
 
@@ -9,7 +9,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -55,4 +57,11 @@ public class PayeeTypeBulkUploadValidator implements BulkRowValidator<PayeeTypeB
     public boolean isDuplicate(PayeeTypeBulkUploadDto rowData) {
         return payeeTypeRepository.existsByPayeeTypeIgnoreCase(rowData.getPayeeType());
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(PayeeTypeBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Payee Type", BulkRowValidator.ignoreCase(rowData.getPayeeType()));
+        return values;
+    }
 }
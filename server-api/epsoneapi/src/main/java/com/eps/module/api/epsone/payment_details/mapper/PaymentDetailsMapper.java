@@ -3,6 +3,7 @@ package com.eps.module.api.epsone.payment_details.mapper;
 import com.eps.module.auth.audit.AuditFieldMapper;
 import com.eps.module.api.epsone.payment_details.dto.PaymentDetailsRequestDto;
 import com.eps.module.api.epsone.payment_details.dto.PaymentDetailsResponseDto;
+import com.eps.module.api.epsone.payment_details.service.PaymentDetailsSearchIndexer;
 import com.eps.module.crypto.service.CryptoService;
 import com.eps.module.payment.PaymentDetails;
 import com.eps.module.payment.PaymentMethod;
@@ -20,6 +21,9 @@ public abstract class PaymentDetailsMapper {
     @Autowired
     protected AuditFieldMapper auditFieldMapper;
 
+    @Autowired
+    protected PaymentDetailsSearchIndexer paymentDetailsSearchIndexer;
+
     @Mapping(target = "paymentMethodId", source = "paymentMethod.id")
     @Mapping(target = "paymentMethodName", source = "paymentMethod.methodName")
     @Mapping(target = "vpa", source = "vpa", qualifiedByName = "decryptField")
@@ -36,6 +40,9 @@ public abstract class PaymentDetailsMapper {
     @Mapping(target = "beneficiaryNameHash", ignore = true)
     @Mapping(target = "beneficiaryAccountNumber", ignore = true)
     @Mapping(target = "beneficiaryAccountNumberHash", ignore = true)
+    @Mapping(target = "vpaIndex", ignore = true)
+    @Mapping(target = "beneficiaryAccountNumberIndex", ignore = true)
+    @Mapping(target = "beneficiaryAccountNumberLast4Index", ignore = true)
     public abstract PaymentDetails toEntity(PaymentDetailsRequestDto requestDto);
 
     @AfterMapping
@@ -47,6 +54,7 @@ public abstract class PaymentDetailsMapper {
         encryptAndHashField(source.getVpa(), target::setVpa, target::setVpaHash);
         encryptAndHashField(source.getBeneficiaryName(), target::setBeneficiaryName, target::setBeneficiaryNameHash);
         encryptAndHashField(source.getBeneficiaryAccountNumber(), target::setBeneficiaryAccountNumber, target::setBeneficiaryAccountNumberHash);
+        paymentDetailsSearchIndexer.index(target, source.getVpa(), source.getBeneficiaryAccountNumber());
         
         log.debug("After encryption - vpa: '{}', vpaHash: '{}'", target.getVpa(), target.getVpaHash());
         log.debug("After encryption - beneficiaryName: '{}', beneficiaryNameHash: '{}'", target.getBeneficiaryName(), target.getBeneficiaryNameHash());
@@ -61,6 +69,9 @@ public abstract class PaymentDetailsMapper {
     @Mapping(target = "beneficiaryNameHash", ignore = true)
     @Mapping(target = "beneficiaryAccountNumber", ignore = true)
     @Mapping(target = "beneficiaryAccountNumberHash", ignore = true)
+    @Mapping(target = "vpaIndex", ignore = true)
+    @Mapping(target = "beneficiaryAccountNumberIndex", ignore = true)
+    @Mapping(target = "beneficiaryAccountNumberLast4Index", ignore = true)
     public abstract void updateEntityFromDto(PaymentDetailsRequestDto requestDto, @MappingTarget PaymentDetails paymentDetails);
 
     @AfterMapping
@@ -74,6 +85,7 @@ public abstract class PaymentDetailsMapper {
         if (source.getBeneficiaryAccountNumber() != null) {
             encryptAndHashField(source.getBeneficiaryAccountNumber(), target::setBeneficiaryAccountNumber, target::setBeneficiaryAccountNumberHash);
         }
+        paymentDetailsSearchIndexer.index(target, source.getVpa(), source.getBeneficiaryAccountNumber());
     }
 
     @Named("mapPaymentMethod")
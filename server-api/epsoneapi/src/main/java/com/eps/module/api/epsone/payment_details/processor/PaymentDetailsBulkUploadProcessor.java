@@ -2,6 +2,7 @@ package com.eps.module.api.epsone.payment_details.processor;
 
 import com.eps.module.api.epsone.payment_details.dto.PaymentDetailsBulkUploadDto;
 import com.eps.module.api.epsone.payment_details.repository.PaymentDetailsRepository;
+import com.eps.module.api.epsone.payment_details.service.PaymentDetailsSearchIndexer;
 import com.eps.module.api.epsone.payment_details.validator.PaymentDetailsBulkUploadValidator;
 import com.eps.module.api.epsone.payment_method.repository.PaymentMethodRepository;
 import com.eps.module.common.bulk.processor.BulkUploadProcessor;
@@ -23,6 +24,7 @@ public class PaymentDetailsBulkUploadProcessor extends BulkUploadProcessor<Payme
     private final PaymentMethodRepository paymentMethodRepository;
     private final PaymentDetailsBulkUploadValidator validator;
     private final CryptoService cryptoService;
+    private final PaymentDetailsSearchIndexer paymentDetailsSearchIndexer;
 
     @Override
     protected BulkRowValidator<PaymentDetailsBulkUploadDto> getValidator() {
@@ -63,7 +65,9 @@ public class PaymentDetailsBulkUploadProcessor extends BulkUploadProcessor<Payme
             builder.beneficiaryAccountNumberHash(accountData.hash());
         }
 
-        return builder.build();
+        PaymentDetails entity = builder.build();
+        paymentDetailsSearchIndexer.index(entity, dto.getVpa(), dto.getBeneficiaryAccountNumber());
+        return entity;
     }
 
     @Override
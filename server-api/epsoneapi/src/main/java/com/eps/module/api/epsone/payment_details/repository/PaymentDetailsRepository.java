@@ -1,9 +1,12 @@
 package com.eps.module.api.epsone.payment_details.repository;
 
 import com.eps.module.payment.PaymentDetails;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,13 +16,82 @@ import java.util.List;
 @Repository
 public interface PaymentDetailsRepository extends JpaRepository<PaymentDetails, Long> {
 
+    /**
+     * Search payment details by payment method or transaction number, or by the blind index of the VPA,
+     * the beneficiary account number or its last four characters; a null index matches nothing
+     */
     @Query("SELECT pd FROM PaymentDetails pd LEFT JOIN FETCH pd.paymentMethod pm WHERE " +
             "LOWER(pm.methodName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(pd.transactionNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(pd.beneficiaryName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(pd.beneficiaryAccountNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(pd.vpa) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<PaymentDetails> searchPaymentDetails(@Param("searchTerm") String searchTerm, Pageable pageable);
+            "pd.vpaIndex = :vpaIndex OR " +
+            "pd.beneficiaryAccountNumberIndex = :beneficiaryAccountNumberIndex OR " +
+            "pd.beneficiaryAccountNumberLast4Index = :beneficiaryAccountNumberLast4Index")
+    Page<PaymentDetails> searchPaymentDetails(@Param("searchTerm") String searchTerm,
+                                              @Param("vpaIndex") String vpaIndex,
+                                              @Param("beneficiaryAccountNumberIndex") String beneficiaryAccountNumberIndex,
+                                              @Param("beneficiaryAccountNumberLast4Index") String beneficiaryAccountNumberLast4Index,
+                                              Pageable pageable);
+
+    /**
+     * Search payment details by the blind index of the VPA, the beneficiary account number or its last four characters only.
+     * Each comparison is answered by the column's index; a null index matches nothing.
+     */
+    @Query("SELECT pd FROM PaymentDetails pd LEFT JOIN FETCH pd.paymentMethod WHERE " +
+            "pd.vpaIndex = :vpaIndex OR " +
+            "pd.beneficiaryAccountNumberIndex = :beneficiaryAccountNumberIndex OR " +
+            "pd.beneficiaryAccountNumberLast4Index = :beneficiaryAccountNumberLast4Index")
+    Page<PaymentDetails> searchPaymentDetailsByIndex(@Param("vpaIndex") String vpaIndex,
+                                                     @Param("beneficiaryAccountNumberIndex") String beneficiaryAccountNumberIndex,
+                                                     @Param("beneficiaryAccountNumberLast4Index") String beneficiaryAccountNumberLast4Index,
+                                                     Pageable pageable);
+
+    /**
+     * Payment details after the given ID whose encrypted VPA or account number has no blind index yet, in ID order
+     */
+    @Query("SELECT pd FROM PaymentDetails pd WHERE pd.id > :afterId AND (" +
+            "(pd.vpa IS NOT NULL AND pd.vpa <> '' AND pd.vpaIndex IS NULL) OR " +
+            "(pd.beneficiaryAccountNumber IS NOT NULL AND pd.beneficiaryAccountNumber <> '' AND pd.beneficiaryAccountNumberIndex IS NULL)) " +
+            "ORDER BY pd.id ASC")
+    List<PaymentDetails> findMissingSearchIndex(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Set the blind indexes of one payment details row without touching its other columns
+     */
+    @Modifying
+    @Query("UPDATE PaymentDetails pd SET pd.vpaIndex = :vpaIndex, pd.beneficiaryAccountNumberIndex = :beneficiaryAccountNumberIndex, " +
+            "pd.beneficiaryAccountNumberLast4Index = :beneficiaryAccountNumberLast4Index WHERE pd.id = :id")
+    void updateSearchIndexes(@Param("id") Long id,
+                             @Param("vpaIndex") String vpaIndex,
+                             @Param("beneficiaryAccountNumberIndex") String beneficiaryAccountNumberIndex,
+                             @Param("beneficiaryAccountNumberLast4Index") String beneficiaryAccountNumberLast4Index);
+
+    /**
+     * Payment details after the given ID holding ciphertext not tagged with the given key version prefix pattern, in ID order.
+     * The rows are locked until the transaction ends, so they cannot be updated while they are re-encrypted.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pd FROM PaymentDetails pd WHERE pd.id > :afterId AND (" +
+            "(pd.vpa <> '' AND pd.vpa NOT LIKE :currentKeyPattern) OR " +
+            "(pd.beneficiaryName <> '' AND pd.beneficiaryName NOT LIKE :currentKeyPattern) OR " +
+            "(pd.beneficiaryAccountNumber <> '' AND pd.beneficiaryAccountNumber NOT LIKE :currentKeyPattern)) " +
+            "ORDER BY pd.id ASC")
+    List<PaymentDetails> findForReEncryption(@Param("afterId") Long afterId, @Param("currentKeyPattern") String currentKeyPattern, Pageable pageable);
+
+    /**
+     * Replace the ciphertext and blind indexes of one payment details row without touching its other columns
+     */
+    @Modifying
+    @Query("UPDATE PaymentDetails pd SET pd.vpa = :vpa, pd.beneficiaryName = :beneficiaryName, " +
+            "pd.beneficiaryAccountNumber = :beneficiaryAccountNumber, pd.vpaIndex = :vpaIndex, " +
+            "pd.beneficiaryAccountNumberIndex = :beneficiaryAccountNumberIndex, " +
+            "pd.beneficiaryAccountNumberLast4Index = :beneficiaryAccountNumberLast4Index WHERE pd.id = :id")
+    void updateEncryptedFields(@Param("id") Long id,
+                               @Param("vpa") String vpa,
+                               @Param("beneficiaryName") String beneficiaryName,
+                               @Param("beneficiaryAccountNumber") String beneficiaryAccountNumber,
+                               @Param("vpaIndex") String vpaIndex,
+                               @Param("beneficiaryAccountNumberIndex") String beneficiaryAccountNumberIndex,
+                               @Param("beneficiaryAccountNumberLast4Index") String beneficiaryAccountNumberLast4Index);
 
     @Query("SELECT pd FROM PaymentDetails pd LEFT JOIN FETCH pd.paymentMethod ORDER BY pd.id")
     List<PaymentDetails> findAllForExport();
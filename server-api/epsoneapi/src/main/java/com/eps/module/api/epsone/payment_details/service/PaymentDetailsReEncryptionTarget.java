@@ -0,0 +1,73 @@
+package com.eps.module.api.epsone.payment_details.service;
+
+import com.eps.module.api.epsone.key_rotation.ReEncryptionTarget;
+import com.eps.module.api.epsone.payment_details.repository.PaymentDetailsRepository;
+import com.eps.module.crypto.exception.CryptoException;
+import com.eps.module.crypto.service.CryptoService;
+import com.eps.module.payment.PaymentDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Re-encrypts the VPA, beneficiary name and account number of payment details with the current key,
+ * rebuilding the blind indexes from the same plaintext
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentDetailsReEncryptionTarget implements ReEncryptionTarget {
+
+    private final PaymentDetailsRepository paymentDetailsRepository;
+    private final PaymentDetailsSearchIndexer paymentDetailsSearchIndexer;
+    private final CryptoService cryptoService;
+
+    @Override
+    public String getName() {
+        return "payment_details";
+    }
+
+    @Override
+    public Batch reEncrypt(long afterId, int batchSize) {
+        String currentKeyPattern = CryptoService.keyVersionPrefix(cryptoService.getCurrentKeyVersion()) + "%";
+        List<PaymentDetails> rows = paymentDetailsRepository.findForReEncryption(afterId, currentKeyPattern, PageRequest.ofSize(batchSize));
+
+        int reEncrypted = 0;
+        for (PaymentDetails row : rows) {
+            try {
+                String vpa = decrypt(row.getVpa());
+                String beneficiaryAccountNumber = decrypt(row.getBeneficiaryAccountNumber());
+
+                PaymentDetails indexes = new PaymentDetails();
+                paymentDetailsSearchIndexer.index(indexes, vpa, beneficiaryAccountNumber);
+                paymentDetailsRepository.updateEncryptedFields(row.getId(),
+                        reEncrypt(row.getVpa(), vpa),
+                        cryptoService.reEncrypt(row.getBeneficiaryName()),
+                        reEncrypt(row.getBeneficiaryAccountNumber(), beneficiaryAccountNumber),
+                        indexes.getVpaIndex(), indexes.getBeneficiaryAccountNumberIndex(),
+                        indexes.getBeneficiaryAccountNumberLast4Index());
+                reEncrypted++;
+            } catch (CryptoException e) {
+                log.warn("Payment details {} could not be re-encrypted: {}", row.getId(), e.getMessage());
+            }
+        }
+        return new Batch(rows.size(), reEncrypted, rows.isEmpty() ? afterId : rows.get(rows.size() - 1).getId());
+    }
+
+    private String decrypt(String encryptedValue) {
+        if (encryptedValue == null || encryptedValue.isEmpty()) {
+            return null;
+        }
+        return cryptoService.decrypt(encryptedValue);
+    }
+
+    /**
+     * The ciphertext under the current key, encrypting the plaintext already decrypted from it
+     */
+    private String reEncrypt(String encryptedValue, String plaintext) {
+        return cryptoService.needsReEncryption(encryptedValue) ? cryptoService.encrypt(plaintext) : encryptedValue;
+    }
+}
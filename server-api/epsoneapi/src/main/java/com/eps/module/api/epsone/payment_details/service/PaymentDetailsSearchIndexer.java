@@ -0,0 +1,118 @@
+package com.eps.module.api.epsone.payment_details.service;
+
+import com.eps.module.api.epsone.payment_details.repository.PaymentDetailsRepository;
+import com.eps.module.crypto.service.BlindIndexService;
+import com.eps.module.crypto.service.CryptoService;
+import com.eps.module.payment.PaymentDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Keeps the blind indexes of payment details, which let VPA and beneficiary account number searches
+ * use an index lookup instead of matching the encrypted columns.
+ * Rows saved before the indexes existed are indexed once at startup.
+ */
+@Slf4j
+@Component
+public class PaymentDetailsSearchIndexer {
+
+    private static final String VPA_FIELD = "payment.vpa";
+    private static final String ACCOUNT_FIELD = "payment.account";
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final PaymentDetailsRepository paymentDetailsRepository;
+    private final BlindIndexService blindIndexService;
+    private final CryptoService cryptoService;
+    private final TransactionTemplate transactionTemplate;
+
+    public PaymentDetailsSearchIndexer(PaymentDetailsRepository paymentDetailsRepository, BlindIndexService blindIndexService,
+                                       CryptoService cryptoService, PlatformTransactionManager transactionManager) {
+        this.paymentDetailsRepository = paymentDetailsRepository;
+        this.blindIndexService = blindIndexService;
+        this.cryptoService = cryptoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Set the blind indexes of the given plaintext values; a null value leaves its indexes as they are
+     */
+    public void index(PaymentDetails target, String vpa, String beneficiaryAccountNumber) {
+        if (vpa != null) {
+            target.setVpaIndex(blindIndexService.index(VPA_FIELD, vpa));
+        }
+        if (beneficiaryAccountNumber != null) {
+            target.setBeneficiaryAccountNumberIndex(blindIndexService.index(ACCOUNT_FIELD, beneficiaryAccountNumber));
+            target.setBeneficiaryAccountNumberLast4Index(blindIndexService.lastDigitsIndex(ACCOUNT_FIELD, beneficiaryAccountNumber));
+        }
+    }
+
+    /**
+     * Blind indexes to look the search term up by; a term of exactly four characters
+     * is also matched against the last four characters of account numbers
+     */
+    public SearchIndexes searchIndexesOf(String searchTerm) {
+        String normalized = blindIndexService.normalize(searchTerm);
+        if (normalized == null || normalized.isEmpty()) {
+            return new SearchIndexes(null, null, null);
+        }
+        return new SearchIndexes(
+                blindIndexService.index(VPA_FIELD, normalized),
+                blindIndexService.index(ACCOUNT_FIELD, normalized),
+                normalized.length() == BlindIndexService.LAST_DIGITS_LENGTH
+                        ? blindIndexService.lastDigitsIndex(ACCOUNT_FIELD, normalized)
+                        : null);
+    }
+
+    /**
+     * Index the rows saved before the blind indexes existed, in batches of one transaction each.
+     * The indexes are written with an update query, so the rows' audit fields are left as they are.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long lastId = 0;
+        int indexed = 0;
+        while (true) {
+            long afterId = lastId;
+            List<PaymentDetails> batch = transactionTemplate.execute(status -> {
+                List<PaymentDetails> rows = paymentDetailsRepository.findMissingSearchIndex(afterId, PageRequest.ofSize(BACKFILL_BATCH_SIZE));
+                for (PaymentDetails row : rows) {
+                    // Computed on a detached copy, so the loaded row is not dirtied and flushed as well
+                    PaymentDetails indexes = new PaymentDetails();
+                    index(indexes, decrypt(row.getVpa()), decrypt(row.getBeneficiaryAccountNumber()));
+                    paymentDetailsRepository.updateSearchIndexes(row.getId(), indexes.getVpaIndex(),
+                            indexes.getBeneficiaryAccountNumberIndex(), indexes.getBeneficiaryAccountNumberLast4Index());
+                }
+                return rows;
+            });
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            indexed += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        if (indexed > 0) {
+            log.info("Built search indexes for {} payment details", indexed);
+        }
+    }
+
+    private String decrypt(String encryptedValue) {
+        if (encryptedValue == null || encryptedValue.isEmpty()) {
+            return null;
+        }
+        return cryptoService.decrypt(encryptedValue);
+    }
+
+    /**
+     * Blind indexes of a search term, one per indexed column; a null index matches nothing
+     */
+    public record SearchIndexes(String vpaIndex, String beneficiaryAccountNumberIndex,
+                                String beneficiaryAccountNumberLast4Index) {
+    }
+}
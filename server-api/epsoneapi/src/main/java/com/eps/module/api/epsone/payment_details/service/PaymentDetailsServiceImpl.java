@@ -25,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -40,6 +41,7 @@ public class PaymentDetailsServiceImpl extends BaseBulkUploadService<PaymentDeta
     private final PaymentDetailsMapper paymentDetailsMapper;
     private final PaymentDetailsBulkUploadProcessor paymentDetailsBulkUploadProcessor;
     private final CryptoService cryptoService;
+    private final PaymentDetailsSearchIndexer paymentDetailsSearchIndexer;
 
     @Override
     @Transactional
@@ -78,7 +80,14 @@ public class PaymentDetailsServiceImpl extends BaseBulkUploadService<PaymentDeta
     @Transactional(readOnly = true)
     public Page<PaymentDetailsResponseDto> searchPaymentDetails(String searchTerm, Pageable pageable) {
         log.info("Searching payment details with term: {}", searchTerm);
-        Page<PaymentDetails> paymentDetails = paymentDetailsRepository.searchPaymentDetails(searchTerm, pageable);
+        // VPAs and account numbers are encrypted, so they are found by their blind indexes;
+        // a term with an '@' can only be a VPA, so it skips the method name and transaction number scan
+        PaymentDetailsSearchIndexer.SearchIndexes indexes = paymentDetailsSearchIndexer.searchIndexesOf(searchTerm);
+        Page<PaymentDetails> paymentDetails = searchTerm != null && searchTerm.contains("@")
+                ? paymentDetailsRepository.searchPaymentDetailsByIndex(indexes.vpaIndex(),
+                        indexes.beneficiaryAccountNumberIndex(), indexes.beneficiaryAccountNumberLast4Index(), pageable)
+                : paymentDetailsRepository.searchPaymentDetails(searchTerm, indexes.vpaIndex(),
+                        indexes.beneficiaryAccountNumberIndex(), indexes.beneficiaryAccountNumberLast4Index(), pageable);
         return paymentDetails.map(paymentDetailsMapper::toResponseDto);
     }
 
@@ -151,6 +160,11 @@ public class PaymentDetailsServiceImpl extends BaseBulkUploadService<PaymentDeta
         return "PaymentDetails";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "PAYMENT:BULK_UPLOAD";
+    }
+
     @Override
     public List<PaymentDetails> getAllEntitiesForExport() {
         return paymentDetailsRepository.findAllForExport();
@@ -158,14 +172,40 @@ public class PaymentDetailsServiceImpl extends BaseBulkUploadService<PaymentDeta
 
     @Override
     public Function<PaymentDetails, PaymentDetailsBulkUploadDto> getEntityToDtoMapper() {
-        return entity -> PaymentDetailsBulkUploadDto.builder()
+        return entity -> toBulkUploadDto(entity,
+                decryptField(entity.getVpa()),
+                decryptField(entity.getBeneficiaryName()),
+                decryptField(entity.getBeneficiaryAccountNumber()));
+    }
+
+    @Override
+    public List<PaymentDetailsBulkUploadDto> mapAllForExport(List<PaymentDetails> entities) {
+        // Decrypt the chunk's three encrypted fields in one batch
+        List<String> encrypted = new ArrayList<>(entities.size() * 3);
+        for (PaymentDetails entity : entities) {
+            encrypted.add(entity.getVpa());
+            encrypted.add(entity.getBeneficiaryName());
+            encrypted.add(entity.getBeneficiaryAccountNumber());
+        }
+        List<String> decrypted = cryptoService.decryptAll(encrypted);
+
+        List<PaymentDetailsBulkUploadDto> dtos = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            dtos.add(toBulkUploadDto(entities.get(i), decrypted.get(i * 3), decrypted.get(i * 3 + 1), decrypted.get(i * 3 + 2)));
+        }
+        return dtos;
+    }
+
+    private PaymentDetailsBulkUploadDto toBulkUploadDto(PaymentDetails entity, String vpa, String beneficiaryName,
+                                                        String beneficiaryAccountNumber) {
+        return PaymentDetailsBulkUploadDto.builder()
                 .paymentMethodName(entity.getPaymentMethod() != null ? entity.getPaymentMethod().getMethodName() : null)
                 .paymentDate(entity.getPaymentDate())
                 .paymentAmount(entity.getPaymentAmount())
                 .transactionNumber(entity.getTransactionNumber())
-                .vpa(decryptField(entity.getVpa()))
-                .beneficiaryName(decryptField(entity.getBeneficiaryName()))
-                .beneficiaryAccountNumber(decryptField(entity.getBeneficiaryAccountNumber()))
+                .vpa(vpa)
+                .beneficiaryName(beneficiaryName)
+                .beneficiaryAccountNumber(beneficiaryAccountNumber)
                 .paymentRemarks(entity.getPaymentRemarks())
                 .build();
     }
@@ -18,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -107,7 +108,7 @@ public class PaymentMethodController {
 
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> exportPaymentMethods() throws java.io.IOException {
+    public ResponseEntity<StreamingResponseBody> exportPaymentMethods() throws java.io.IOException {
         return bulkUploadControllerHelper.export(paymentMethodService);
     }
 
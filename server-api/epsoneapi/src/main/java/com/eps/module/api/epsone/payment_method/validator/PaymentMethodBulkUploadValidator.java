@@ -9,7 +9,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -45,4 +47,11 @@ public class PaymentMethodBulkUploadValidator implements BulkRowValidator<Paymen
     public boolean isDuplicate(PaymentMethodBulkUploadDto rowData) {
         return paymentMethodRepository.existsByMethodNameIgnoreCase(rowData.getMethodName());
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(PaymentMethodBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Method Name", BulkRowValidator.ignoreCase(rowData.getMethodName()));
+        return values;
+    }
 }
@@ -11,7 +11,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -125,4 +127,11 @@ public class PersonDetailsBulkUploadValidator implements BulkRowValidator<Person
         }
         return false;
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(PersonDetailsBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Contact Number", rowData.getContactNumber());
+        return values;
+    }
 }
@@ -20,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -138,7 +139,7 @@ public class PersonDetailsController {
 
     @GetMapping("/export")
     @RequirePermission("PERSON_DETAILS:EXPORT")
-    public ResponseEntity<byte[]> exportData() throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportData() throws IOException {
         log.info("GET /api/person-details/export - Exporting all person details");
         return bulkUploadControllerHelper.export(personDetailsService);
     }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,4 +51,6 @@ public interface PersonDetailsRepository extends JpaRepository<PersonDetails, Lo
            "LOWER(TRIM(CONCAT(COALESCE(pd.firstName, ''), ' ', COALESCE(pd.middleName, ''), ' ', COALESCE(pd.lastName, '')))) " +
            "= LOWER(TRIM(:fullName))")
     Optional<PersonDetails> findByFullNameExact(@Param("fullName") String fullName);
+
+    List<PersonDetails> findByContactNumberIn(Collection<String> contactNumbers);
 }
@@ -185,6 +185,11 @@ public class PersonDetailsServiceImpl extends BaseBulkUploadService<PersonDetail
         return "PersonDetails";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "PERSON_DETAILS:BULK_UPLOAD";
+    }
+
     @Override
     public List<PersonDetails> getAllEntitiesForExport() {
         return personDetailsRepository.findAllForExport();
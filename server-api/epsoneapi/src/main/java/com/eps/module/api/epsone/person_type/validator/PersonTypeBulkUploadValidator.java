@@ -9,7 +9,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -55,4 +57,11 @@ public class PersonTypeBulkUploadValidator implements BulkRowValidator<PersonTyp
     public boolean isDuplicate(PersonTypeBulkUploadDto rowData) {
         return personTypeRepository.existsByTypeNameIgnoreCase(rowData.getTypeName());
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(PersonTypeBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Type Name", BulkRowValidator.ignoreCase(rowData.getTypeName()));
+        return values;
+    }
 }
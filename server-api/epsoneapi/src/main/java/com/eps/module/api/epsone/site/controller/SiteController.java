@@ -6,6 +6,9 @@ import com.eps.module.api.epsone.site.service.SiteService;
 import com.eps.module.auth.rbac.annotation.RequirePermission;
 import com.eps.module.common.bulk.controller.BulkUploadControllerHelper;
 import com.eps.module.common.bulk.dto.BulkUploadProgressDto;
+import com.eps.module.common.bulk.job.BulkUploadMode;
+import com.eps.module.common.pagination.CursorPage;
+import com.eps.module.common.pagination.CursorPageRequest;
 import com.eps.module.common.response.ApiResponse;
 import com.eps.module.common.response.ResponseBuilder;
 import jakarta.validation.Valid;
@@ -21,8 +24,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -30,6 +35,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SiteController {
 
+    /**
+     * Non-null properties the cursor endpoints can sort on
+     */
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "siteCode", "createdAt", "updatedAt");
+
     private final SiteService siteService;
     private final BulkUploadControllerHelper bulkUploadControllerHelper;
 
@@ -56,6 +66,19 @@ public class SiteController {
         return ResponseBuilder.success(sites, "Sites retrieved successfully");
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<SiteResponseDto>>> getAllSitesByCursor(
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        log.info("GET /api/sites - Fetching sites with cursor pagination");
+        CursorPageRequest request = CursorPageRequest.of(cursor, size, sanitizeSortBy(sortBy), sortDirection, estimateTotal, KEYSET_SORT_PROPERTIES);
+        CursorPage<SiteResponseDto> page = siteService.scrollSites(null, request);
+        return ResponseBuilder.success(page, "Sites retrieved successfully");
+    }
+
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<Page<SiteResponseDto>>> searchSites(
             @RequestParam String searchTerm,
@@ -72,6 +95,20 @@ public class SiteController {
         return ResponseBuilder.success(sites, "Sites search completed successfully");
     }
 
+    @GetMapping(value = "/search", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<SiteResponseDto>>> searchSitesByCursor(
+            @RequestParam(defaultValue = "") String searchTerm,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        log.info("GET /api/sites/search - Searching sites with cursor pagination, term: {}", searchTerm);
+        CursorPageRequest request = CursorPageRequest.of(cursor, size, sanitizeSortBy(sortBy), sortDirection, estimateTotal, KEYSET_SORT_PROPERTIES);
+        CursorPage<SiteResponseDto> page = siteService.scrollSites(searchTerm, request);
+        return ResponseBuilder.success(page, "Sites search completed");
+    }
+
     /**
      * Map client-facing sortBy values to real entity properties to avoid invalid paths in JPQL.
      * Extend this mapping if the frontend sends other friendly names.
@@ -97,15 +134,28 @@ public class SiteController {
         return ResponseBuilder.success(sites, "Sites list retrieved successfully");
     }
 
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSitesList() {
+        log.info("GET /api/sites/list - Streaming all sites as NDJSON");
+        return siteService.streamSiteList();
+    }
+
     // ========== Export Endpoint (must be before /{id}) ==========
 
     @GetMapping("/export")
     @RequirePermission("SITE:EXPORT")
-    public ResponseEntity<byte[]> exportData() throws Exception {
+    public ResponseEntity<StreamingResponseBody> exportData() throws Exception {
         log.info("GET /api/sites/export - Exporting all sites");
         return bulkUploadControllerHelper.export(siteService);
     }
 
+    @GetMapping("/export/csv")
+    @RequirePermission("SITE:EXPORT")
+    public ResponseEntity<StreamingResponseBody> exportCsv() throws Exception {
+        log.info("GET /api/sites/export/csv - Exporting all sites to CSV");
+        return bulkUploadControllerHelper.exportCsv(siteService);
+    }
+
     // ========== CRUD Endpoints ==========
 
     @GetMapping("/{id}")
@@ -137,9 +187,19 @@ public class SiteController {
 
     @PostMapping(value = "/bulk-upload", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     @RequirePermission("SITE:BULK_UPLOAD")
-    public SseEmitter bulkUpload(@RequestParam("file") MultipartFile file) throws Exception {
+    public SseEmitter bulkUpload(@RequestParam("file") MultipartFile file,
+                                 @RequestParam(defaultValue = "INSERT") BulkUploadMode mode) throws Exception {
         log.info("POST /api/sites/bulk-upload - Bulk uploading sites");
-        return bulkUploadControllerHelper.bulkUpload(file, siteService);
+        return bulkUploadControllerHelper.bulkUpload(file, mode, siteService);
+    }
+
+    @PostMapping("/bulk-upload/validate")
+    @RequirePermission("SITE:BULK_UPLOAD")
+    public ResponseEntity<ApiResponse<BulkUploadProgressDto>> validateBulkUpload(@RequestParam("file") MultipartFile file,
+                                                                                @RequestParam(defaultValue = "INSERT") BulkUploadMode mode) throws Exception {
+        log.info("POST /api/sites/bulk-upload/validate - Validating site bulk upload");
+        BulkUploadProgressDto result = bulkUploadControllerHelper.validate(file, mode, siteService);
+        return ResponseBuilder.success(result, "Bulk upload validated successfully");
     }
 
     @GetMapping("/bulk-upload/template")
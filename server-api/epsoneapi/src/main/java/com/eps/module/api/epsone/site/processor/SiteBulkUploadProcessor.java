@@ -1,18 +1,17 @@
 package com.eps.module.api.epsone.site.processor;
 
-import com.eps.module.api.epsone.generic_status_type.repository.GenericStatusTypeRepository;
-import com.eps.module.api.epsone.location.repository.LocationRepository;
-import com.eps.module.api.epsone.managed_project.repository.ManagedProjectRepository;
-import com.eps.module.api.epsone.person_details.repository.PersonDetailsRepository;
+import com.eps.module.api.epsone.asset.validator.AssetBulkUploadValidator;
 import com.eps.module.api.epsone.site.constant.SiteErrorMessages;
 import com.eps.module.api.epsone.site.dto.SiteBulkUploadDto;
 import com.eps.module.api.epsone.site.repository.SiteRepository;
-import com.eps.module.api.epsone.site_category.repository.SiteCategoryRepository;
 import com.eps.module.api.epsone.site_code.service.SiteCodeGeneratorService;
-import com.eps.module.api.epsone.site_type.repository.SiteTypeRepository;
 import com.eps.module.api.epsone.site.validator.SiteBulkUploadValidator;
 import com.eps.module.bank.ManagedProject;
+import com.eps.module.common.bulk.excel.ExcelDateParser;
+import com.eps.module.common.bulk.lookup.BulkLookupContext;
 import com.eps.module.common.bulk.processor.BulkUploadProcessor;
+import com.eps.module.common.bulk.staging.StagingColumn;
+import com.eps.module.common.bulk.staging.StagingTable;
 import com.eps.module.common.bulk.validator.BulkRowValidator;
 import com.eps.module.location.Location;
 import com.eps.module.person.PersonDetails;
@@ -26,8 +25,9 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -37,23 +37,64 @@ import java.util.Optional;
 public class SiteBulkUploadProcessor extends BulkUploadProcessor<SiteBulkUploadDto, Site> {
 
     private final SiteRepository siteRepository;
-    private final ManagedProjectRepository managedProjectRepository;
-    private final LocationRepository locationRepository;
-    private final SiteCategoryRepository siteCategoryRepository;
-    private final SiteTypeRepository siteTypeRepository;
-    private final GenericStatusTypeRepository genericStatusTypeRepository;
-    private final PersonDetailsRepository personDetailsRepository;
     private final SiteCodeGeneratorService siteCodeGeneratorService;
     private final SiteBulkUploadValidator validator;
 
+    /**
+     * Upserts match stored sites by site code; blank cells keep the stored value
+     */
+    private static final StagingTable<Site> STAGING_TABLE = new StagingTable<>(Site.class, "site", "site_code", List.of(
+            StagingColumn.reference("project_id", Site::getProject, ManagedProject::getId),
+            StagingColumn.of("project_phase", "varchar(100)", Site::getProjectPhase),
+            StagingColumn.of("site_code", "varchar(50)", Site::getSiteCode),
+            StagingColumn.of("old_site_code", "varchar(50)", Site::getOldSiteCode),
+            StagingColumn.of("previous_msp_term_id", "varchar(50)", Site::getPreviousMspTermId),
+            StagingColumn.reference("site_category_id", Site::getSiteCategory, SiteCategory::getId),
+            StagingColumn.reference("location_id", Site::getLocation, Location::getId),
+            StagingColumn.of("location_class", "varchar(50)", Site::getLocationClass),
+            StagingColumn.reference("site_type_id", Site::getSiteType, SiteType::getId),
+            StagingColumn.reference("site_status_id", Site::getSiteStatus, GenericStatusType::getId),
+            StagingColumn.of("tech_live_date", "date", Site::getTechLiveDate),
+            StagingColumn.of("cash_live_date", "date", Site::getCashLiveDate),
+            StagingColumn.of("site_close_date", "date", Site::getSiteCloseDate),
+            StagingColumn.of("possession_date", "date", Site::getPossessionDate),
+            StagingColumn.of("actual_possession_date", "date", Site::getActualPossessionDate),
+            StagingColumn.of("grouting_status", "varchar(50)", Site::getGroutingStatus),
+            StagingColumn.of("it_stabilizer", "varchar(50)", Site::getItStabilizer),
+            StagingColumn.of("ramp_status", "varchar(50)", Site::getRampStatus),
+            StagingColumn.of("ups_battery_backup_capacity", "varchar(50)", Site::getUpsBatteryBackupCapacity),
+            StagingColumn.of("connectivity_type", "varchar(50)", Site::getConnectivityType),
+            StagingColumn.of("ac_units", "varchar(50)", Site::getAcUnits),
+            StagingColumn.of("main_door_glass_width", "numeric(10,2)", Site::getMainDoorGlassWidth),
+            StagingColumn.of("fixed_glass_width", "numeric(10,2)", Site::getFixedGlassWidth),
+            StagingColumn.of("signboard_size", "varchar(50)", Site::getSignboardSize),
+            StagingColumn.of("branding_size", "varchar(50)", Site::getBrandingSize),
+            StagingColumn.reference("channel_manager_contact_id", Site::getChannelManagerContact, PersonDetails::getId),
+            StagingColumn.reference("regional_manager_contact_id", Site::getRegionalManagerContact, PersonDetails::getId),
+            StagingColumn.reference("state_head_contact_id", Site::getStateHeadContact, PersonDetails::getId),
+            StagingColumn.reference("bank_person_contact_id", Site::getBankPersonContact, PersonDetails::getId),
+            StagingColumn.reference("master_franchisee_contact_id", Site::getMasterFranchiseeContact, PersonDetails::getId),
+            StagingColumn.of("gateway_ip", "varchar(45)", Site::getGatewayIp),
+            StagingColumn.of("atm_ip", "varchar(45)", Site::getAtmIp),
+            StagingColumn.of("subnet_mask", "varchar(45)", Site::getSubnetMask),
+            StagingColumn.of("nat_ip", "varchar(45)", Site::getNatIp),
+            StagingColumn.of("tls_port", "varchar(20)", Site::getTlsPort),
+            StagingColumn.of("switch_ip", "varchar(45)", Site::getSwitchIp),
+            StagingColumn.of("tls_domain_name", "varchar(255)", Site::getTlsDomainName),
+            StagingColumn.of("ej_docket", "varchar(100)", Site::getEjDocket),
+            StagingColumn.of("tss_docket", "varchar(100)", Site::getTssDocket),
+            StagingColumn.of("otc_activation_status", "varchar(50)", Site::getOtcActivationStatus),
+            StagingColumn.of("otc_activation_date", "date", Site::getOtcActivationDate),
+            StagingColumn.of("cra_name", "varchar(255)", Site::getCraName),
+            StagingColumn.of("cassette_swap_status", "varchar(50)", Site::getCassetteSwapStatus),
+            StagingColumn.of("cassette_type_1", "varchar(50)", Site::getCassetteType1),
+            StagingColumn.of("cassette_type_2", "varchar(50)", Site::getCassetteType2),
+            StagingColumn.of("cassette_type_3", "varchar(50)", Site::getCassetteType3),
+            StagingColumn.of("cassette_type_4", "varchar(50)", Site::getCassetteType4)
+    ));
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter[] ACCEPTED_DATE_FORMATTERS = new DateTimeFormatter[] {
-        DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-        DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-        DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-        DateTimeFormatter.ofPattern("yyyy/MM/dd")
-    };
+    private static final ExcelDateParser DATE_PARSER = ExcelDateParser.standard();
 
     @Override
     protected BulkRowValidator<SiteBulkUploadDto> getValidator() {
@@ -62,19 +103,24 @@ public class SiteBulkUploadProcessor extends BulkUploadProcessor<SiteBulkUploadD
 
     @Override
     protected Site convertToEntity(SiteBulkUploadDto dto) {
+        return convertToEntity(dto, validator.lookupsFor(dto));
+    }
+
+    @Override
+    protected Site convertToEntity(SiteBulkUploadDto dto, BulkLookupContext lookups) {
         log.info("=== Converting DTO to Entity - Site Code from Excel: '{}', Project: '{}', Location: '{}'", 
                 dto.getSiteCode(), dto.getProjectCode(), dto.getLocationName());
         
         Site.SiteBuilder builder = Site.builder();
 
         // Get required relationships
-        ManagedProject project = managedProjectRepository
-                .findByProjectCode(dto.getProjectCode())
+        ManagedProject project = lookups
+                .find(SiteBulkUploadValidator.PROJECTS, dto.getProjectCode())
                 .orElse(null);
         
-        // Use method that eagerly fetches city and state to avoid lazy initialization issues
-        Location location = locationRepository
-                .findByLocationNameWithCityAndState(dto.getLocationName())
+        // Locations are loaded with city and state eagerly fetched to avoid lazy initialization issues
+        Location location = lookups
+                .find(SiteBulkUploadValidator.LOCATIONS, dto.getLocationName())
                 .orElse(null);
 
         builder.project(project);
@@ -124,37 +170,31 @@ public class SiteBulkUploadProcessor extends BulkUploadProcessor<SiteBulkUploadD
             }
         } else {
             // User provided a site code - use it as-is (should have been validated already)
-            // If this is a duplicate, validator should have caught it and this code shouldn't run
+            // Duplicates were already filtered out by the batched natural key check
             String trimmedCode = siteCode.trim().toUpperCase();
             
-            // Double-check for duplicates (safety check - should never happen if validator works correctly)
-            if (siteRepository.existsBySiteCode(trimmedCode)) {
-                log.error("CRITICAL: Duplicate site code '{}' reached processor despite validation. This should not happen!", trimmedCode);
-                throw new IllegalStateException(SiteErrorMessages.DUPLICATE_SITE_CODE + trimmedCode + SiteErrorMessages.DUPLICATE_SITE_CODE_SUFFIX);
-            }
-            
             builder.siteCode(trimmedCode);
             log.debug("Using provided site code: {}", trimmedCode);
         }
 
         // Set optional relationships
         if (dto.getSiteCategoryName() != null && !dto.getSiteCategoryName().trim().isEmpty()) {
-            SiteCategory category = siteCategoryRepository
-                    .findByCategoryNameIgnoreCase(dto.getSiteCategoryName())
+            SiteCategory category = lookups
+                    .find(SiteBulkUploadValidator.SITE_CATEGORIES, dto.getSiteCategoryName())
                     .orElse(null);
             builder.siteCategory(category);
         }
 
         if (dto.getSiteTypeName() != null && !dto.getSiteTypeName().trim().isEmpty()) {
-            SiteType type = siteTypeRepository
-                    .findByTypeNameIgnoreCase(dto.getSiteTypeName())
+            SiteType type = lookups
+                    .find(SiteBulkUploadValidator.SITE_TYPES, dto.getSiteTypeName())
                     .orElse(null);
             builder.siteType(type);
         }
 
         if (dto.getSiteStatusCode() != null && !dto.getSiteStatusCode().trim().isEmpty()) {
-            GenericStatusType status = genericStatusTypeRepository
-                    .findByStatusCodeIgnoreCase(dto.getSiteStatusCode())
+            GenericStatusType status = lookups
+                    .find(SiteBulkUploadValidator.STATUS_TYPES, dto.getSiteStatusCode())
                     .orElse(null);
             builder.siteStatus(status);
         }
@@ -204,11 +244,11 @@ public class SiteBulkUploadProcessor extends BulkUploadProcessor<SiteBulkUploadD
         builder.switchIp(dto.getSwitchIp());
 
         // Set person contacts by phone number
-        findPersonByContactNumber(dto.getChannelManagerContact()).ifPresent(person -> builder.channelManagerContact(person));
-        findPersonByContactNumber(dto.getRegionalManagerContact()).ifPresent(person -> builder.regionalManagerContact(person));
-        findPersonByContactNumber(dto.getStateHeadContact()).ifPresent(person -> builder.stateHeadContact(person));
-        findPersonByContactNumber(dto.getBankPersonContact()).ifPresent(person -> builder.bankPersonContact(person));
-        findPersonByContactNumber(dto.getMasterFranchiseeContact()).ifPresent(person -> builder.masterFranchiseeContact(person));
+        findPersonByContactNumber(lookups, dto.getChannelManagerContact()).ifPresent(person -> builder.channelManagerContact(person));
+        findPersonByContactNumber(lookups, dto.getRegionalManagerContact()).ifPresent(person -> builder.regionalManagerContact(person));
+        findPersonByContactNumber(lookups, dto.getStateHeadContact()).ifPresent(person -> builder.stateHeadContact(person));
+        findPersonByContactNumber(lookups, dto.getBankPersonContact()).ifPresent(person -> builder.bankPersonContact(person));
+        findPersonByContactNumber(lookups, dto.getMasterFranchiseeContact()).ifPresent(person -> builder.masterFranchiseeContact(person));
 
         return builder.build();
     }
@@ -218,6 +258,42 @@ public class SiteBulkUploadProcessor extends BulkUploadProcessor<SiteBulkUploadD
         siteRepository.save(entity);
     }
 
+    @Override
+    protected void saveEntities(List<Site> entities) {
+        siteRepository.saveAll(entities);
+    }
+
+    /**
+     * Later sheets of a workbook import resolve these sites by site code without a query
+     */
+    @Override
+    protected void rememberSaved(List<Site> entities, BulkLookupContext lookups) {
+        for (Site site : entities) {
+            lookups.remember(AssetBulkUploadValidator.SITES, site.getSiteCode(), site);
+        }
+    }
+
+    @Override
+    protected StagingTable<Site> stagingTable() {
+        return STAGING_TABLE;
+    }
+
+    @Override
+    protected boolean supportsChunkedPersistence() {
+        return true;
+    }
+
+    @Override
+    protected String getNaturalKey(SiteBulkUploadDto dto) {
+        // Rows without a site code get one generated, so they cannot clash
+        return dto.getSiteCode() == null || dto.getSiteCode().trim().isEmpty() ? null : dto.getSiteCode().trim().toUpperCase();
+    }
+
+    @Override
+    protected Collection<String> findExistingNaturalKeys(Collection<String> naturalKeys) {
+        return siteRepository.findExistingSiteCodes(naturalKeys);
+    }
+
     @Override
     protected Map<String, Object> getRowDataAsMap(SiteBulkUploadDto dto) {
         Map<String, Object> rowData = new HashMap<>();
@@ -284,32 +360,11 @@ public class SiteBulkUploadProcessor extends BulkUploadProcessor<SiteBulkUploadD
         if (dateStr == null || dateStr.trim().isEmpty()) {
             return null;
         }
-        String s = dateStr.trim();
-
-        // Try accepted formatters
-        for (DateTimeFormatter fmt : ACCEPTED_DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(s, fmt);
-            } catch (DateTimeParseException ignored) {
-            }
-        }
-
-        // Try Excel numeric serial (e.g. 44927)
-        if (s.matches("^\\d+(?:\\.\\d+)?$")) {
-            try {
-                double serial = Double.parseDouble(s);
-                if (serial >= 1 && serial < 100000) {
-                    // Excel's epoch is 1899-12-30 (due to Excel's leap year bug)
-                    return LocalDate.of(1899, 12, 30).plusDays((long) Math.floor(serial));
-                }
-            } catch (NumberFormatException e) {
-                log.warn("Failed to parse excel serial date: {}", dateStr);
-            }
+        LocalDate date = DATE_PARSER.parse(dateStr);
+        if (date == null) {
+            log.warn("Failed to parse date: {} - This should have been caught by validation", dateStr);
         }
-
-        // If all parsing fails, return null (validation already passed)
-        log.warn("Failed to parse date: {} - This should have been caught by validation", dateStr);
-        return null;
+        return date;
     }
 
     private java.math.BigDecimal parseDecimal(String value) {
@@ -324,7 +379,7 @@ public class SiteBulkUploadProcessor extends BulkUploadProcessor<SiteBulkUploadD
         }
     }
 
-    private Optional<PersonDetails> findPersonByContactNumber(String contactNumber) {
+    private Optional<PersonDetails> findPersonByContactNumber(BulkLookupContext lookups, String contactNumber) {
         if (contactNumber == null || contactNumber.trim().isEmpty()) {
             return Optional.empty();
         }
@@ -338,7 +393,7 @@ public class SiteBulkUploadProcessor extends BulkUploadProcessor<SiteBulkUploadD
         }
         
         // Find person by contact number (unique)
-        Optional<PersonDetails> person = personDetailsRepository.findByContactNumber(trimmed);
+        Optional<PersonDetails> person = lookups.find(SiteBulkUploadValidator.PERSONS, trimmed);
         
         if (person.isEmpty()) {
             log.warn("No person found with contact number '{}', skipping assignment", trimmed);
@@ -1,18 +1,24 @@
 package com.eps.module.api.epsone.site.repository;
 
 import com.eps.module.site.Site;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface SiteRepository extends JpaRepository<Site, Long> {
+public interface SiteRepository extends JpaRepository<Site, Long>, JpaSpecificationExecutor<Site> {
 
     @Query("SELECT s FROM Site s " +
            "LEFT JOIN FETCH s.project p " +
@@ -78,6 +84,28 @@ public interface SiteRepository extends JpaRepository<Site, Long> {
            "ORDER BY s.siteCode ASC")
     List<Site> findAllSitesList();
 
+    /**
+     * Stream all sites with the relationships used by the export mapping
+     * Rows are fetched from a cursor in batches; must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s FROM Site s " +
+           "LEFT JOIN FETCH s.project p " +
+           "LEFT JOIN FETCH p.bank " +
+           "LEFT JOIN FETCH s.siteCategory " +
+           "LEFT JOIN FETCH s.location l " +
+           "LEFT JOIN FETCH l.city c " +
+           "LEFT JOIN FETCH c.state " +
+           "LEFT JOIN FETCH s.siteType " +
+           "LEFT JOIN FETCH s.siteStatus " +
+           "LEFT JOIN FETCH s.channelManagerContact " +
+           "LEFT JOIN FETCH s.regionalManagerContact " +
+           "LEFT JOIN FETCH s.stateHeadContact " +
+           "LEFT JOIN FETCH s.bankPersonContact " +
+           "LEFT JOIN FETCH s.masterFranchiseeContact " +
+           "ORDER BY s.siteCode ASC")
+    Stream<Site> streamAllForExport();
+
     Optional<Site> findBySiteCode(String siteCode);
     
     Optional<Site> findBySiteCodeIgnoreCase(String siteCode);
@@ -112,4 +140,12 @@ public interface SiteRepository extends JpaRepository<Site, Long> {
 
     @Query("SELECT COUNT(sawe) FROM SiteActivityWorkExpenditure sawe WHERE sawe.site.id = :siteId")
     long countSiteActivityWorkExpenditureBySiteId(@Param("siteId") Long siteId);
+
+    List<Site> findBySiteCodeIn(Collection<String> siteCodes);
+
+    /**
+     * Return the given site codes that are already taken - for bulk upload duplicate detection
+     */
+    @Query("SELECT s.siteCode FROM Site s WHERE s.siteCode IN :siteCodes")
+    List<String> findExistingSiteCodes(@Param("siteCodes") Collection<String> siteCodes);
 }
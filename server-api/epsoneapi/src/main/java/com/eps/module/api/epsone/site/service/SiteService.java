@@ -4,9 +4,13 @@ import com.eps.module.api.epsone.site.dto.SiteBulkUploadDto;
 import com.eps.module.api.epsone.site.dto.SiteRequestDto;
 import com.eps.module.api.epsone.site.dto.SiteResponseDto;
 import com.eps.module.common.bulk.service.BulkUploadService;
+import com.eps.module.common.pagination.CursorPage;
+import com.eps.module.common.pagination.CursorPageRequest;
 import com.eps.module.site.Site;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,8 +22,18 @@ public interface SiteService extends BulkUploadService<SiteBulkUploadDto, Site>
 
     Page<SiteResponseDto> searchSites(String searchTerm, Pageable pageable);
 
+    /**
+     * Keyset-paginated listing; a blank search term lists every site
+     */
+    CursorPage<SiteResponseDto> scrollSites(String searchTerm, CursorPageRequest request);
+
     List<SiteResponseDto> getSiteList();
 
+    /**
+     * Same records as {@link #getSiteList()}, streamed as NDJSON
+     */
+    ResponseEntity<StreamingResponseBody> streamSiteList();
+
     SiteResponseDto getSiteById(Long id);
 
     SiteResponseDto updateSite(Long id, SiteRequestDto requestDto);
@@ -20,6 +20,11 @@ import com.eps.module.common.bulk.processor.BulkUploadProcessor;
 import com.eps.module.common.bulk.service.BaseBulkUploadService;
 import com.eps.module.common.exception.ConflictException;
 import com.eps.module.common.exception.ResourceNotFoundException;
+import com.eps.module.common.pagination.CursorPage;
+import com.eps.module.common.pagination.CursorPageRequest;
+import com.eps.module.common.pagination.KeysetPaginator;
+import com.eps.module.common.pagination.SearchSpecifications;
+import com.eps.module.common.response.NdjsonStreamer;
 import com.eps.module.location.Location;
 import com.eps.module.person.PersonDetails;
 import com.eps.module.site.Site;
@@ -30,18 +35,35 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SiteServiceImpl extends BaseBulkUploadService<SiteBulkUploadDto, Site> implements SiteService {
 
+    /**
+     * Properties matched by the free-text search of the keyset-paginated listing
+     */
+    private static final String[] SEARCH_PROPERTIES = {
+            "siteCode",
+            "oldSiteCode",
+            "projectPhase",
+            "project.projectName",
+            "siteCategory.categoryName",
+            "location.locationName",
+            "location.city.state.stateName",
+            "siteType.typeName"
+    };
+
     private final SiteRepository siteRepository;
     private final ManagedProjectRepository managedProjectRepository;
     private final SiteCategoryRepository siteCategoryRepository;
@@ -51,6 +73,8 @@ public class SiteServiceImpl extends BaseBulkUploadService<SiteBulkUploadDto, Si
     private final PersonDetailsRepository personDetailsRepository;
     private final SiteMapper siteMapper;
     private final SiteBulkUploadProcessor siteBulkUploadProcessor;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional
@@ -170,6 +194,15 @@ public class SiteServiceImpl extends BaseBulkUploadService<SiteBulkUploadDto, Si
         return sites.map(siteMapper::toResponseDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SiteResponseDto> scrollSites(String searchTerm, CursorPageRequest request) {
+        return keysetPaginator.page(siteRepository, Site.class,
+                SearchSpecifications.containsIgnoreCase(searchTerm, SEARCH_PROPERTIES), request,
+                siteMapper::toResponseDto,
+                "project.bank", "siteCategory", "location.city.state", "siteType", "siteStatus");
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<SiteResponseDto> getSiteList() {
@@ -179,6 +212,12 @@ public class SiteServiceImpl extends BaseBulkUploadService<SiteBulkUploadDto, Si
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamSiteList() {
+        // The export query fetches the same relationships in the same order as the list query
+        return ndjsonStreamer.stream("Site", siteRepository::streamAllForExport, siteMapper::toResponseDto);
+    }
+
     private void setOptionalForeignKeys(Site site, SiteRequestDto requestDto) {
         // Set project if provided
         if (requestDto.getProjectId() != null) {
@@ -285,11 +324,21 @@ public class SiteServiceImpl extends BaseBulkUploadService<SiteBulkUploadDto, Si
         return "Site";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "SITE:BULK_UPLOAD";
+    }
+
     @Override
     public List<Site> getAllEntitiesForExport() {
         return siteRepository.findAllSitesList();
     }
 
+    @Override
+    public Stream<Site> streamAllEntitiesForExport() {
+        return siteRepository.streamAllForExport();
+    }
+
     @Override
     public Function<Site, SiteBulkUploadDto> getEntityToDtoMapper() {
         return entity -> SiteBulkUploadDto.builder()
@@ -9,15 +9,22 @@ import com.eps.module.api.epsone.site.dto.SiteBulkUploadDto;
 import com.eps.module.api.epsone.site.repository.SiteRepository;
 import com.eps.module.api.epsone.site_category.repository.SiteCategoryRepository;
 import com.eps.module.api.epsone.site_type.repository.SiteTypeRepository;
+import com.eps.module.bank.ManagedProject;
 import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
+import com.eps.module.common.bulk.excel.ExcelDateParser;
+import com.eps.module.common.bulk.lookup.BulkLookupContext;
 import com.eps.module.common.bulk.validator.BulkRowValidator;
+import com.eps.module.location.Location;
+import com.eps.module.person.PersonDetails;
+import com.eps.module.site.SiteCategory;
+import com.eps.module.site.SiteType;
+import com.eps.module.status.GenericStatusType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -35,21 +42,63 @@ public class SiteBulkUploadValidator implements BulkRowValidator<SiteBulkUploadD
     private final GenericStatusTypeRepository genericStatusTypeRepository;
     private final PersonDetailsRepository personDetailsRepository;
 
+    // Reference data shared with SiteBulkUploadProcessor through the upload's lookup context
+    public static final BulkLookupContext.Key<ManagedProject> PROJECTS = BulkLookupContext.Key.exact("managedProject");
+    public static final BulkLookupContext.Key<Location> LOCATIONS = BulkLookupContext.Key.ignoreCase("location");
+    public static final BulkLookupContext.Key<SiteCategory> SITE_CATEGORIES = BulkLookupContext.Key.ignoreCase("siteCategory");
+    public static final BulkLookupContext.Key<SiteType> SITE_TYPES = BulkLookupContext.Key.ignoreCase("siteType");
+    public static final BulkLookupContext.Key<GenericStatusType> STATUS_TYPES = BulkLookupContext.Key.ignoreCase("statusType");
+    public static final BulkLookupContext.Key<PersonDetails> PERSONS = BulkLookupContext.Key.exact("personContact");
+
     private static final Pattern SITE_CODE_PATTERN = Pattern.compile("^[A-Z0-9]{5,50}$");
     private static final Pattern IP_PATTERN = Pattern.compile(
             "^(?:(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$"
     );
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter[] ACCEPTED_DATE_FORMATTERS = new DateTimeFormatter[] {
-        DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-        DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-        DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-        DateTimeFormatter.ofPattern("yyyy/MM/dd")
-    };
+    private static final ExcelDateParser DATE_PARSER = ExcelDateParser.standard();
+
+    @Override
+    public void prefetch(List<SiteBulkUploadDto> rows, BulkLookupContext context) {
+        context.register(PROJECTS, managedProjectRepository::findByProjectCodeIn, ManagedProject::getProjectCode);
+        context.register(LOCATIONS, locationRepository::findByLocationNameIgnoreCaseInWithCityAndState, Location::getLocationName);
+        context.register(SITE_CATEGORIES, siteCategoryRepository::findByCategoryNameIgnoreCaseIn, SiteCategory::getCategoryName);
+        context.register(SITE_TYPES, siteTypeRepository::findByTypeNameIgnoreCaseIn, SiteType::getTypeName);
+        context.register(STATUS_TYPES, genericStatusTypeRepository::findByStatusCodeIgnoreCaseIn, GenericStatusType::getStatusCode);
+        context.register(PERSONS, personDetailsRepository::findByContactNumberIn, PersonDetails::getContactNumber);
+
+        context.prefetch(PROJECTS, rows, SiteBulkUploadDto::getProjectCode);
+        context.prefetch(LOCATIONS, rows, SiteBulkUploadDto::getLocationName);
+        context.prefetch(SITE_CATEGORIES, rows, SiteBulkUploadDto::getSiteCategoryName);
+        context.prefetch(SITE_TYPES, rows, SiteBulkUploadDto::getSiteTypeName);
+        context.prefetch(STATUS_TYPES, rows, SiteBulkUploadDto::getSiteStatusCode);
+
+        List<String> contactNumbers = new ArrayList<>();
+        for (SiteBulkUploadDto row : rows) {
+            contactNumbers.add(row.getChannelManagerContact());
+            contactNumbers.add(row.getRegionalManagerContact());
+            contactNumbers.add(row.getStateHeadContact());
+            contactNumbers.add(row.getBankPersonContact());
+            contactNumbers.add(row.getMasterFranchiseeContact());
+        }
+        context.prefetch(PERSONS, contactNumbers);
+    }
+
+    /**
+     * Lookup context holding the reference data of a single row, for callers outside a bulk upload
+     */
+    public BulkLookupContext lookupsFor(SiteBulkUploadDto rowData) {
+        BulkLookupContext context = new BulkLookupContext();
+        prefetch(List.of(rowData), context);
+        return context;
+    }
 
     @Override
     public List<BulkUploadErrorDto> validate(SiteBulkUploadDto rowData, int rowNumber) {
+        return validate(rowData, rowNumber, lookupsFor(rowData));
+    }
+
+    @Override
+    public List<BulkUploadErrorDto> validate(SiteBulkUploadDto rowData, int rowNumber, BulkLookupContext lookups) {
         List<BulkUploadErrorDto> errors = new ArrayList<>();
         
         log.debug("=== Validating row {} - Site Code: '{}', Project: '{}', Location: '{}'", 
@@ -58,7 +107,7 @@ public class SiteBulkUploadValidator implements BulkRowValidator<SiteBulkUploadD
         // Validate Project Code (required)
         if (rowData.getProjectCode() == null || rowData.getProjectCode().trim().isEmpty()) {
             errors.add(createError(rowNumber, "VALIDATION_ERROR", SiteErrorMessages.PROJECT_CODE_REQUIRED));
-        } else if (!managedProjectRepository.findByProjectCode(rowData.getProjectCode()).isPresent()) {
+        } else if (!lookups.contains(PROJECTS, rowData.getProjectCode())) {
             errors.add(createError(rowNumber, "REFERENCE_ERROR", 
                     String.format(SiteErrorMessages.PROJECT_NOT_FOUND_CODE, rowData.getProjectCode())));
         }
@@ -66,7 +115,7 @@ public class SiteBulkUploadValidator implements BulkRowValidator<SiteBulkUploadD
         // Validate Location Name (required)
         if (rowData.getLocationName() == null || rowData.getLocationName().trim().isEmpty()) {
             errors.add(createError(rowNumber, "VALIDATION_ERROR", SiteErrorMessages.LOCATION_NAME_REQUIRED));
-        } else if (!locationRepository.findByLocationNameIgnoreCase(rowData.getLocationName()).isPresent()) {
+        } else if (!lookups.contains(LOCATIONS, rowData.getLocationName())) {
             errors.add(createError(rowNumber, "REFERENCE_ERROR", 
                     String.format(SiteErrorMessages.LOCATION_NOT_FOUND_NAME, rowData.getLocationName())));
         }
@@ -80,18 +129,15 @@ public class SiteBulkUploadValidator implements BulkRowValidator<SiteBulkUploadD
                 log.warn("Site code '{}' does not match pattern", siteCode);
                 errors.add(createError(rowNumber, "VALIDATION_ERROR", 
                         SiteErrorMessages.SITE_CODE_INVALID_FORMAT));
-            } else if (siteRepository.existsBySiteCode(siteCode)) {
-                log.warn("Duplicate site code detected: '{}'", siteCode);
-                errors.add(createError(rowNumber, "DUPLICATE_ERROR", 
-                        String.format(SiteErrorMessages.SITE_CODE_EXISTS, siteCode)));
             }
+            // Existing codes and codes repeated in the file are reported by the processor's duplicate check
         } else {
             log.debug("No site code provided - will be auto-generated");
         }
 
         // Validate Site Category (optional)
         if (rowData.getSiteCategoryName() != null && !rowData.getSiteCategoryName().trim().isEmpty()) {
-            if (!siteCategoryRepository.findByCategoryNameIgnoreCase(rowData.getSiteCategoryName()).isPresent()) {
+            if (!lookups.contains(SITE_CATEGORIES, rowData.getSiteCategoryName())) {
                 errors.add(createError(rowNumber, "REFERENCE_ERROR", 
                         String.format(SiteErrorMessages.SITE_CATEGORY_NOT_FOUND_NAME, rowData.getSiteCategoryName())));
             }
@@ -99,7 +145,7 @@ public class SiteBulkUploadValidator implements BulkRowValidator<SiteBulkUploadD
 
         // Validate Site Type (optional)
         if (rowData.getSiteTypeName() != null && !rowData.getSiteTypeName().trim().isEmpty()) {
-            if (!siteTypeRepository.findByTypeNameIgnoreCase(rowData.getSiteTypeName()).isPresent()) {
+            if (!lookups.contains(SITE_TYPES, rowData.getSiteTypeName())) {
                 errors.add(createError(rowNumber, "REFERENCE_ERROR", 
                         String.format(SiteErrorMessages.SITE_TYPE_NOT_FOUND_NAME, rowData.getSiteTypeName())));
             }
@@ -107,7 +153,7 @@ public class SiteBulkUploadValidator implements BulkRowValidator<SiteBulkUploadD
 
         // Validate Site Status (optional)
         if (rowData.getSiteStatusCode() != null && !rowData.getSiteStatusCode().trim().isEmpty()) {
-            if (!genericStatusTypeRepository.findByStatusCodeIgnoreCase(rowData.getSiteStatusCode()).isPresent()) {
+            if (!lookups.contains(STATUS_TYPES, rowData.getSiteStatusCode())) {
                 errors.add(createError(rowNumber, "REFERENCE_ERROR", 
                         String.format(SiteErrorMessages.SITE_STATUS_NOT_FOUND_CODE, rowData.getSiteStatusCode())));
             }
@@ -158,11 +204,11 @@ public class SiteBulkUploadValidator implements BulkRowValidator<SiteBulkUploadD
         validateLength(rowData.getCassetteType4(), "Cassette Type 4", 50, rowNumber, errors);
 
         // Validate person contacts by phone number (optional)
-        validatePersonContact(rowData.getChannelManagerContact(), "Channel Manager Contact", rowNumber, errors);
-        validatePersonContact(rowData.getRegionalManagerContact(), "Regional Manager Contact", rowNumber, errors);
-        validatePersonContact(rowData.getStateHeadContact(), "State Head Contact", rowNumber, errors);
-        validatePersonContact(rowData.getBankPersonContact(), "Bank Person Contact", rowNumber, errors);
-        validatePersonContact(rowData.getMasterFranchiseeContact(), "Master Franchisee Contact", rowNumber, errors);
+        validatePersonContact(rowData.getChannelManagerContact(), "Channel Manager Contact", rowNumber, lookups, errors);
+        validatePersonContact(rowData.getRegionalManagerContact(), "Regional Manager Contact", rowNumber, lookups, errors);
+        validatePersonContact(rowData.getStateHeadContact(), "State Head Contact", rowNumber, lookups, errors);
+        validatePersonContact(rowData.getBankPersonContact(), "Bank Person Contact", rowNumber, lookups, errors);
+        validatePersonContact(rowData.getMasterFranchiseeContact(), "Master Franchisee Contact", rowNumber, lookups, errors);
 
         return errors;
     }
@@ -178,29 +224,7 @@ public class SiteBulkUploadValidator implements BulkRowValidator<SiteBulkUploadD
     }
 
     private void validateDate(String dateStr, String fieldName, int rowNumber, List<BulkUploadErrorDto> errors) {
-        if (dateStr != null && !dateStr.trim().isEmpty()) {
-            String s = dateStr.trim();
-
-            // Try the accepted formatters
-            for (DateTimeFormatter fmt : ACCEPTED_DATE_FORMATTERS) {
-                try {
-                    LocalDate.parse(s, fmt);
-                    return; // valid
-                } catch (DateTimeParseException ignored) {
-                }
-            }
-
-            // Accept Excel numeric date serials (e.g. 44927)
-            if (s.matches("^\\d+(?:\\.\\d+)?$")) {
-                try {
-                    double serial = Double.parseDouble(s);
-                    if (serial >= 1 && serial < 100000) {
-                        return; // valid Excel serial number
-                    }
-                } catch (NumberFormatException ignored) {
-                }
-            }
-
+        if (!DATE_PARSER.isValid(dateStr)) {
             errors.add(createError(rowNumber, "VALIDATION_ERROR",
                     String.format(SiteErrorMessages.DATE_FORMAT_INVALID, fieldName)));
         }
@@ -237,7 +261,8 @@ public class SiteBulkUploadValidator implements BulkRowValidator<SiteBulkUploadD
         }
     }
 
-    private void validatePersonContact(String contactNumber, String fieldName, int rowNumber, List<BulkUploadErrorDto> errors) {
+    private void validatePersonContact(String contactNumber, String fieldName, int rowNumber, BulkLookupContext lookups,
+                                       List<BulkUploadErrorDto> errors) {
         if (contactNumber != null && !contactNumber.trim().isEmpty()) {
             String trimmed = contactNumber.trim();
             
@@ -249,7 +274,7 @@ public class SiteBulkUploadValidator implements BulkRowValidator<SiteBulkUploadD
             }
             
             // Check if person exists with this contact number
-            if (!personDetailsRepository.findByContactNumber(trimmed).isPresent()) {
+            if (!lookups.contains(PERSONS, trimmed)) {
                 errors.add(createError(rowNumber, "REFERENCE_ERROR", 
                         String.format(SiteErrorMessages.PERSON_CONTACT_NOT_FOUND, fieldName, trimmed)));
             }
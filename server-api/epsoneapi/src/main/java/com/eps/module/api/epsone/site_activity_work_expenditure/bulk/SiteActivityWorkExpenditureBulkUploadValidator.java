@@ -14,7 +14,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -142,4 +144,15 @@ public class SiteActivityWorkExpenditureBulkUploadValidator implements BulkRowVa
             return false;
         }
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(SiteActivityWorkExpenditureBulkUploadDto dto) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (dto.getSiteCode() != null && dto.getActivityName() != null
+                && dto.getVendorOrderNumber() != null && dto.getInvoiceNumber() != null) {
+            values.put("Site, Activity Work and Invoice", String.join("|", BulkRowValidator.ignoreCase(dto.getSiteCode()),
+                    dto.getActivityName().trim(), dto.getVendorOrderNumber().trim(), dto.getInvoiceNumber().trim()));
+        }
+        return values;
+    }
 }
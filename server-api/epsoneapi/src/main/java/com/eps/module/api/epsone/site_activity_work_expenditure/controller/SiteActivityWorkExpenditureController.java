@@ -20,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 
@@ -47,7 +48,7 @@ public class SiteActivityWorkExpenditureController {
     }
 
     @GetMapping("/bulk-upload/export")
-    public ResponseEntity<byte[]> export() throws Exception {
+    public ResponseEntity<StreamingResponseBody> export() throws Exception {
         log.info("GET /api/site-activity-work-expenditures/bulk-upload/export - Exporting all data");
         return bulkUploadHelper.export(service);
     }
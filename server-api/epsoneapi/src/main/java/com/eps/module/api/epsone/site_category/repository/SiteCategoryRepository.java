@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -32,4 +33,7 @@ public interface SiteCategoryRepository extends JpaRepository<SiteCategory, Long
 
     @Query("SELECT sc FROM SiteCategory sc ORDER BY sc.categoryName ASC")
     List<SiteCategory> findAllForExport();
+
+    @Query("SELECT sc FROM SiteCategory sc WHERE LOWER(sc.categoryName) IN :categoryNames")
+    List<SiteCategory> findByCategoryNameIgnoreCaseIn(@Param("categoryNames") Collection<String> categoryNames);
 }
@@ -10,7 +10,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -90,4 +92,12 @@ public class SiteCategoryBulkUploadValidator implements BulkRowValidator<SiteCat
         
         return false;
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(SiteCategoryBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Category Name", BulkRowValidator.ignoreCase(rowData.getCategoryName()));
+        values.put("Category Code", rowData.getCategoryCode());
+        return values;
+    }
 }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -26,4 +27,7 @@ public interface SiteTypeRepository extends JpaRepository<SiteType, Long> {
 
     @Query("SELECT st FROM SiteType st WHERE LOWER(st.typeName) = LOWER(:typeName)")
     java.util.Optional<SiteType> findByTypeNameIgnoreCase(@Param("typeName") String typeName);
+
+    @Query("SELECT st FROM SiteType st WHERE LOWER(st.typeName) IN :typeNames")
+    List<SiteType> findByTypeNameIgnoreCaseIn(@Param("typeNames") Collection<String> typeNames);
 }
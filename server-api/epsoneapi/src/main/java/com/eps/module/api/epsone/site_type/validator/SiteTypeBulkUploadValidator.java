@@ -10,7 +10,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -60,4 +62,11 @@ public class SiteTypeBulkUploadValidator implements BulkRowValidator<SiteTypeBul
         }
         return siteTypeRepository.existsByTypeNameIgnoreCase(dto.getTypeName().trim());
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(SiteTypeBulkUploadDto dto) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Type Name", BulkRowValidator.ignoreCase(dto.getTypeName()));
+        return values;
+    }
 }
@@ -20,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -124,7 +125,7 @@ public class StateController {
     
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> exportStates() throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportStates() throws IOException {
         log.info("GET /api/states/export - Exporting all states to Excel");
         return bulkUploadHelper.export(stateService);
     }
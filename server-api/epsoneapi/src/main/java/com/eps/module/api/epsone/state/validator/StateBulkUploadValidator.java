@@ -10,7 +10,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 @Slf4j
@@ -97,4 +99,12 @@ public class StateBulkUploadValidator implements BulkRowValidator<StateBulkUploa
         
         return existsByName || existsByCode;
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(StateBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("State Name", BulkRowValidator.ignoreCase(rowData.getStateName()));
+        values.put("State Code", BulkRowValidator.ignoreCase(rowData.getStateCode()));
+        return values;
+    }
 }
@@ -21,6 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -92,7 +93,7 @@ public class VendorCategoryController {
 
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> exportData() throws java.io.IOException {
+    public ResponseEntity<StreamingResponseBody> exportData() throws java.io.IOException {
         log.info("GET /api/vendor-categories/export - Exporting all vendor categories");
         return bulkUploadHelper.export(vendorCategoryService);
     }
@@ -9,7 +9,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -44,4 +46,11 @@ public class VendorCategoryBulkUploadValidator implements BulkRowValidator<Vendo
     public boolean isDuplicate(VendorCategoryBulkUploadDto rowData) {
         return vendorCategoryRepository.existsByCategoryNameIgnoreCase(rowData.getCategoryName());
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(VendorCategoryBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Category Name", BulkRowValidator.ignoreCase(rowData.getCategoryName()));
+        return values;
+    }
 }
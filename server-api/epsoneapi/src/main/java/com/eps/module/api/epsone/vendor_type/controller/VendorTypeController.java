@@ -19,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -122,7 +123,7 @@ public class VendorTypeController {
 
     @GetMapping("/export")
     @RequireAdmin
-    public ResponseEntity<byte[]> exportToExcel() throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportToExcel() throws IOException {
         log.info("GET /api/vendor-types/export - Exporting all vendor types to Excel");
         return vendorTypeService.exportToExcel();
     }
@@ -10,7 +10,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -81,4 +83,11 @@ public class VendorTypeBulkUploadValidator implements BulkRowValidator<VendorTyp
     public boolean isDuplicate(VendorTypeBulkUploadDto rowData) {
         return vendorTypeRepository.existsByTypeNameIgnoreCase(rowData.getTypeName());
     }
+
+    @Override
+    public Map<String, String> getUniqueValues(VendorTypeBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Type Name", BulkRowValidator.ignoreCase(rowData.getTypeName()));
+        return values;
+    }
 }
@@ -4,6 +4,7 @@ import com.eps.module.api.epsone.payee.repository.PayeeRepository;
 import com.eps.module.api.epsone.payment_details.repository.PaymentDetailsRepository;
 import com.eps.module.api.epsone.voucher.dto.VoucherBulkUploadDto;
 import com.eps.module.api.epsone.voucher.repository.VoucherRepository;
+import com.eps.module.common.bulk.excel.ExcelDateParser;
 import com.eps.module.common.bulk.processor.BulkUploadProcessor;
 import com.eps.module.common.bulk.validator.BulkRowValidator;
 import com.eps.module.common.exception.BadRequestException;
@@ -16,8 +17,7 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,12 +31,8 @@ public class VoucherBulkUploadProcessor extends BulkUploadProcessor<VoucherBulkU
     private final PayeeRepository payeeRepository;
     private final PaymentDetailsRepository paymentDetailsRepository;
 
-    private static final List<DateTimeFormatter> DATE_FORMATTERS = List.of(
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-            DateTimeFormatter.ofPattern("M/d/yyyy")
-    );
+    private static final ExcelDateParser DATE_PARSER =
+            ExcelDateParser.of("yyyy-MM-dd", "dd/MM/yyyy", "dd-MM-yyyy", "M/d/yyyy");
 
     @Override
     public BulkRowValidator<VoucherBulkUploadDto> getValidator() {
@@ -82,6 +78,27 @@ public class VoucherBulkUploadProcessor extends BulkUploadProcessor<VoucherBulkU
         voucherRepository.save(entity);
     }
 
+    @Override
+    protected void saveEntities(List<Voucher> entities) {
+        voucherRepository.saveAll(entities);
+    }
+
+    @Override
+    protected boolean supportsChunkedPersistence() {
+        return true;
+    }
+
+    @Override
+    protected String getNaturalKey(VoucherBulkUploadDto dto) {
+        // Voucher numbers are unique case-insensitively
+        return dto.getVoucherNumber() == null || dto.getVoucherNumber().trim().isEmpty() ? null : dto.getVoucherNumber().trim().toLowerCase();
+    }
+
+    @Override
+    protected Collection<String> findExistingNaturalKeys(Collection<String> naturalKeys) {
+        return voucherRepository.findExistingVoucherNumbersIgnoreCase(naturalKeys);
+    }
+
     @Override
     public Map<String, Object> getRowDataAsMap(VoucherBulkUploadDto dto) {
         Map<String, Object> rowData = new LinkedHashMap<>();
@@ -119,15 +136,11 @@ public class VoucherBulkUploadProcessor extends BulkUploadProcessor<VoucherBulkU
         if (dateStr == null || dateStr.trim().isEmpty()) {
             return null;
         }
-
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(dateStr.trim(), formatter);
-            } catch (DateTimeParseException ignored) {
-                // Try next formatter
-            }
+        LocalDate date = DATE_PARSER.parse(dateStr);
+        if (date == null) {
+            throw new BadRequestException("Unable to parse date: " + dateStr);
         }
-        throw new BadRequestException("Unable to parse date: " + dateStr);
+        return date;
     }
 
     private LocalDate parseOptionalDate(String dateStr) {
@@ -6,14 +6,13 @@ import com.eps.module.api.epsone.voucher.constant.VoucherErrorMessages;
 import com.eps.module.api.epsone.voucher.dto.VoucherBulkUploadDto;
 import com.eps.module.api.epsone.voucher.repository.VoucherRepository;
 import com.eps.module.common.bulk.dto.BulkUploadErrorDto;
+import com.eps.module.common.bulk.excel.ExcelDateParser;
 import com.eps.module.common.bulk.validator.BulkRowValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,12 +24,8 @@ public class VoucherBulkUploadValidator implements BulkRowValidator<VoucherBulkU
     private final PayeeRepository payeeRepository;
     private final PaymentDetailsRepository paymentDetailsRepository;
 
-    private static final List<DateTimeFormatter> DATE_FORMATTERS = List.of(
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-            DateTimeFormatter.ofPattern("M/d/yyyy")
-    );
+    private static final ExcelDateParser DATE_PARSER =
+            ExcelDateParser.of("yyyy-MM-dd", "dd/MM/yyyy", "dd-MM-yyyy", "M/d/yyyy");
 
     @Override
     public List<BulkUploadErrorDto> validate(VoucherBulkUploadDto dto, int rowNumber) {
@@ -120,19 +115,7 @@ public class VoucherBulkUploadValidator implements BulkRowValidator<VoucherBulkU
     }
 
     private boolean isValidDate(String dateStr) {
-        if (dateStr == null || dateStr.trim().isEmpty()) {
-            return false;
-        }
-        
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                LocalDate.parse(dateStr.trim(), formatter);
-                return true;
-            } catch (DateTimeParseException ignored) {
-                // Try next formatter
-            }
-        }
-        return false;
+        return DATE_PARSER.parse(dateStr) != null;
     }
 
     private boolean isValidBigDecimal(String value) {
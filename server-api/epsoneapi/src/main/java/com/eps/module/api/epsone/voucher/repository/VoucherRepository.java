@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -45,4 +46,10 @@ public interface VoucherRepository extends JpaRepository<Voucher, Long> {
            "LEFT JOIN FETCH v.paymentDetails pmd " +
            "ORDER BY v.id")
     List<Voucher> findAllForExport();
+
+    /**
+     * Return the given lower-cased voucher numbers that are already taken - for bulk upload duplicate detection
+     */
+    @Query("SELECT LOWER(v.voucherNumber) FROM Voucher v WHERE LOWER(v.voucherNumber) IN :voucherNumbers")
+    List<String> findExistingVoucherNumbersIgnoreCase(@Param("voucherNumbers") Collection<String> voucherNumbers);
 }
@@ -196,6 +196,11 @@ public class VoucherServiceImpl extends BaseBulkUploadService<VoucherBulkUploadD
         return "Voucher";
     }
 
+    @Override
+    public String getBulkUploadPermission() {
+        return "VOUCHER:BULK_UPLOAD";
+    }
+
     @Override
     public List<Voucher> getAllEntitiesForExport() {
         return voucherRepository.findAllForExport();
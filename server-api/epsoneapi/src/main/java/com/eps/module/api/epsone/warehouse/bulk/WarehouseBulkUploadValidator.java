@@ -11,7 +11,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -122,6 +124,18 @@ public class WarehouseBulkUploadValidator implements BulkRowValidator<WarehouseB
         return false;
     }
 
+    @Override
+    public Map<String, String> getUniqueValues(WarehouseBulkUploadDto rowData) {
+        Map<String, String> values = new LinkedHashMap<>();
+        // Same as isDuplicate: by warehouse code if provided, by warehouse name otherwise
+        if (!isBlank(rowData.getWarehouseCode())) {
+            values.put("Warehouse Code", rowData.getWarehouseCode());
+        } else {
+            values.put("Warehouse Name", rowData.getWarehouseName());
+        }
+        return values;
+    }
+
     private boolean isBlank(String value) {
         return value == null || value.trim().isEmpty();
     }
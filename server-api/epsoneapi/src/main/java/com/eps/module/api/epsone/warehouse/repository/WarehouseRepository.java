@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -68,4 +70,6 @@ public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
      */
     @Query("SELECT w FROM Warehouse w WHERE LOWER(w.warehouseName) = LOWER(:warehouseName)")
     Optional<Warehouse> findByWarehouseNameIgnoreCase(@Param("warehouseName") String warehouseName);
+
+    List<Warehouse> findByWarehouseCodeIn(Collection<String> warehouseCodes);
 }